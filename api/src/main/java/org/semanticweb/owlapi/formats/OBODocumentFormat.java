@@ -25,6 +25,11 @@ public class OBODocumentFormat extends OWLDocumentFormatImpl {
      * Boolean.FALSE. No parameter is interpreted as TRUE.
      */
     public static final String VALIDATION = "obo.validation";
+    /**
+     * Key for the number of threads used to translate and render the ontology. Currently
+     * supports Integer values. No parameter is interpreted as 1.
+     */
+    public static final String THREADS = "obo.threads";
 
     @Override
     public String getKey() {
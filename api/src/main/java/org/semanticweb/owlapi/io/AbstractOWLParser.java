@@ -12,7 +12,6 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.io;
 
-import java.io.Reader;
 import java.io.Serializable;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.xml.sax.InputSource;
@@ -35,8 +34,13 @@ public abstract class AbstractOWLParser implements OWLParser, Serializable {
     protected InputSource getInputSource(OWLOntologyDocumentSource source,
         OWLOntologyLoaderConfiguration config)
         throws OWLOntologyInputSourceException {
-        Reader in = DocumentSources.wrapInputAsReader(source, config);
-        InputSource is = new InputSource(in);
+        InputSource is;
+        if (source instanceof MappedFileDocumentSource) {
+            // the XML parser decodes the mapped bytes itself, according to the XML declaration
+            is = new InputSource(DocumentSources.wrapInput(source, config));
+        } else {
+            is = new InputSource(DocumentSources.wrapInputAsReader(source, config));
+        }
         is.setSystemId(source.getDocumentIRI().toString());
         return is;
     }
@@ -0,0 +1,238 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import javax.annotation.Nullable;
+
+/**
+ * A writer that encodes characters to UTF-8 straight into a byte buffer and writes the buffer to a
+ * channel or stream in large chunks; it replaces the {@code OutputStreamWriter} and
+ * {@code BufferedWriter} pair, which copy every character through two buffers. Runs of ASCII
+ * characters are copied without any encoding step. Malformed surrogates are written as {@code '?'},
+ * as the JDK encoder does.<br>
+ * The buffer is returned to a per thread pool when the writer is closed, and reused by the next
+ * writer created on the same thread. Instances are not thread safe.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+public class BufferedUTF8Writer extends Writer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<byte[]> POOL = new ThreadLocal<>();
+    @Nullable
+    private final WritableByteChannel channel;
+    @Nullable
+    private final OutputStream out;
+    private byte[] buffer;
+    private int size;
+    // high surrogate waiting for its low surrogate, 0 if none
+    private char pending;
+    private boolean closed;
+
+    /**
+     * @param channel channel to write to; the channel is closed when the writer is closed
+     */
+    public BufferedUTF8Writer(WritableByteChannel channel) {
+        this.channel = channel;
+        out = null;
+        buffer = borrow();
+    }
+
+    /**
+     * @param out stream to write to; the stream is closed when the writer is closed
+     */
+    public BufferedUTF8Writer(OutputStream out) {
+        channel = null;
+        this.out = out;
+        buffer = borrow();
+    }
+
+    private static byte[] borrow() {
+        byte[] b = POOL.get();
+        if (b == null) {
+            return new byte[BUFFER_SIZE];
+        }
+        POOL.remove();
+        return b;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Writer closed");
+        }
+    }
+
+    private void ensureRoom() throws IOException {
+        if (buffer.length - size < 4) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        ensureRoom();
+        encode((char) c);
+    }
+
+    @Override
+    public void write(String s, int off, int len) throws IOException {
+        ensureOpen();
+        int i = off;
+        int end = off + len;
+        while (i < end) {
+            ensureRoom();
+            char c = s.charAt(i++);
+            if (c < 0x80 && pending == 0) {
+                byte[] b = buffer;
+                int p = size;
+                b[p++] = (byte) c;
+                int limit = Math.min(end, i + b.length - p);
+                while (i < limit && (c = s.charAt(i)) < 0x80) {
+                    b[p++] = (byte) c;
+                    i++;
+                }
+                size = p;
+            } else {
+                encode(c);
+            }
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        int i = off;
+        int end = off + len;
+        while (i < end) {
+            ensureRoom();
+            char c = cbuf[i++];
+            if (c < 0x80 && pending == 0) {
+                byte[] b = buffer;
+                int p = size;
+                b[p++] = (byte) c;
+                int limit = Math.min(end, i + b.length - p);
+                while (i < limit && (c = cbuf[i]) < 0x80) {
+                    b[p++] = (byte) c;
+                    i++;
+                }
+                size = p;
+            } else {
+                encode(c);
+            }
+        }
+    }
+
+    @Override
+    public Writer append(@Nullable CharSequence csq) throws IOException {
+        if (csq instanceof String) {
+            write((String) csq);
+            return this;
+        }
+        CharSequence s = csq == null ? "null" : csq;
+        ensureOpen();
+        for (int i = 0; i < s.length(); i++) {
+            ensureRoom();
+            encode(s.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Encodes one character; the caller guarantees at least four free bytes in the buffer.
+     */
+    private void encode(char c) {
+        byte[] b = buffer;
+        if (pending != 0) {
+            char high = pending;
+            pending = 0;
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                b[size++] = (byte) (0xF0 | cp >> 18);
+                b[size++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                b[size++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                b[size++] = (byte) (0x80 | cp & 0x3F);
+                return;
+            }
+            b[size++] = '?';
+        }
+        if (c < 0x80) {
+            b[size++] = (byte) c;
+        } else if (c < 0x800) {
+            b[size++] = (byte) (0xC0 | c >> 6);
+            b[size++] = (byte) (0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c)) {
+            pending = c;
+        } else if (Character.isLowSurrogate(c)) {
+            b[size++] = '?';
+        } else {
+            b[size++] = (byte) (0xE0 | c >> 12);
+            b[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+            b[size++] = (byte) (0x80 | c & 0x3F);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (size == 0) {
+            return;
+        }
+        if (channel != null) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, size);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } else if (out != null) {
+            out.write(buffer, 0, size);
+        }
+        size = 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        flushBuffer();
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (pending != 0) {
+                pending = 0;
+                ensureRoom();
+                buffer[size++] = '?';
+            }
+            flushBuffer();
+        } finally {
+            closed = true;
+            POOL.set(buffer);
+            if (channel != null) {
+                channel.close();
+            } else if (out != null) {
+                out.close();
+            }
+        }
+    }
+}
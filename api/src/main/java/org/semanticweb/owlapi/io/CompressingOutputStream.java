@@ -0,0 +1,233 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.tukaani.xz.FilterOptions;
+import org.tukaani.xz.XZOutputStream;
+
+/**
+ * An output stream that compresses fixed size blocks of its content in parallel and writes them in
+ * order. Gzip output is a sequence of bgzip members, each holding at most 65280 bytes of content
+ * and recording its own compressed size, followed by the empty bgzip end of file member; any gzip
+ * reader can read it, and {@link DecompressingInputStream} can inflate it in parallel. XZ output is
+ * a sequence of XZ streams, one per 8MB block; XZ readers read concatenated streams as one, and
+ * seekable readers see one block per stream.<br>
+ * Flushing writes the blocks already compressed, but does not cut the block being filled.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+final class CompressingOutputStream extends OutputStream {
+
+    private static final int BGZIP_BLOCK = 0xff00;
+    private static final int BGZIP_MAX_SIZE = 64 * 1024;
+    private static final int XZ_BLOCK = 8 * 1024 * 1024;
+    private static final byte[] BGZIP_EOF = {0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff,
+        6, 0, 'B', 'C', 2, 0, 0x1b, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+    private final OutputStream out;
+    private final Compressor compressor;
+    private final byte[] trailer;
+    private final boolean compressEmpty;
+    private final ExecutorService pool;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private final int limit;
+    private byte[] block;
+    private int size;
+    private boolean started;
+    private boolean closed;
+
+    @FunctionalInterface
+    private interface Compressor {
+
+        byte[] compress(byte[] data, int length) throws IOException;
+    }
+
+    private CompressingOutputStream(OutputStream out, int threads, int blockSize,
+        Compressor compressor, byte[] trailer, boolean compressEmpty) {
+        this.out = out;
+        this.compressor = compressor;
+        this.trailer = trailer;
+        this.compressEmpty = compressEmpty;
+        block = new byte[blockSize];
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "owlapi-compression-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        limit = 2 * threads;
+    }
+
+    /**
+     * @param out stream to write the compressed content to
+     * @param threads number of compressing threads
+     * @return stream writing bgzip members to out
+     */
+    static OutputStream gzip(OutputStream out, int threads) {
+        return new CompressingOutputStream(out, threads, BGZIP_BLOCK,
+            CompressingOutputStream::bgzip, BGZIP_EOF, false);
+    }
+
+    /**
+     * @param out stream to write the compressed content to
+     * @param filterOptions XZ compression settings
+     * @param threads number of compressing threads
+     * @return stream writing XZ streams to out
+     */
+    static OutputStream xz(OutputStream out, FilterOptions[] filterOptions, int threads) {
+        return new CompressingOutputStream(out, threads, XZ_BLOCK,
+            (data, length) -> xz(data, length, filterOptions), new byte[0], true);
+    }
+
+    private static byte[] bgzip(byte[] data, int length) throws IOException {
+        byte[] member = new byte[BGZIP_MAX_SIZE];
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        int end = 18;
+        try {
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int n = deflater.deflate(member, end, member.length - 8 - end);
+                if (n == 0 && !deflater.finished()) {
+                    throw new IOException("Block does not fit in a bgzip member");
+                }
+                end += n;
+            }
+        } finally {
+            deflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        int total = end + 8;
+        byte[] header = {0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2,
+            0, (byte) (total - 1), (byte) (total - 1 >> 8)};
+        System.arraycopy(header, 0, member, 0, header.length);
+        writeInt(member, end, (int) crc.getValue());
+        writeInt(member, end + 4, length);
+        return Arrays.copyOf(member, total);
+    }
+
+    private static void writeInt(byte[] b, int i, int value) {
+        b[i] = (byte) value;
+        b[i + 1] = (byte) (value >> 8);
+        b[i + 2] = (byte) (value >> 16);
+        b[i + 3] = (byte) (value >> 24);
+    }
+
+    private static byte[] xz(byte[] data, int length, FilterOptions[] filterOptions)
+        throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(length / 4 + 64);
+        try (XZOutputStream xz = new XZOutputStream(bytes, filterOptions)) {
+            xz.write(data, 0, length);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void submit() throws IOException {
+        byte[] full = block;
+        int length = size;
+        block = new byte[block.length];
+        size = 0;
+        started = true;
+        pending.add(pool.submit(() -> compressor.compress(full, length)));
+        if (pending.size() >= limit) {
+            writeNext();
+        }
+    }
+
+    private void writeNext() throws IOException {
+        try {
+            out.write(pending.remove().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[size++] = (byte) b;
+        if (size == block.length) {
+            submit();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        int written = 0;
+        while (written < len) {
+            int n = Math.min(len - written, block.length - size);
+            System.arraycopy(b, off + written, block, size, n);
+            size += n;
+            written += n;
+            if (size == block.length) {
+                submit();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        while (!pending.isEmpty() && pending.peek().isDone()) {
+            writeNext();
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (size > 0 || !started && compressEmpty) {
+                submit();
+            }
+            while (!pending.isEmpty()) {
+                writeNext();
+            }
+            out.write(trailer);
+        } finally {
+            closed = true;
+            pool.shutdownNow();
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,522 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.io;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import javax.annotation.Nullable;
+
+import org.tukaani.xz.SeekableFileInputStream;
+import org.tukaani.xz.SeekableXZInputStream;
+import org.tukaani.xz.XZInputStream;
+
+/**
+ * An input stream that decompresses on background threads. A producer thread fills a bounded ring
+ * of buffers which the reading thread drains, so that inflating and parsing overlap. Gzip files
+ * made of bgzip members, which record their compressed size in the member header, and XZ files with
+ * more than one block are also inflated in parallel, one member or block per task; the results are
+ * queued in file order. The decompressed bytes held by running tasks and queued for the reader
+ * never exceed {@value #MAX_IN_FLIGHT} bytes; XZ files with larger blocks, and other files, are
+ * inflated by the producer thread alone.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+final class DecompressingInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int RING_SIZE = 4;
+    private static final int BGZIP_HEADER = 18;
+    private static final int BGZIP_MAX_SIZE = 64 * 1024;
+    // decompressed bytes of parallel tasks, running or queued for the reader
+    private static final int MAX_IN_FLIGHT = 64 * 1024 * 1024;
+    private static final int PERMIT_SIZE = 1024;
+    private static final Chunk END = new Chunk(new byte[0], 0, false, 0, null);
+    private final BlockingQueue<Chunk> ready;
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT / PERMIT_SIZE);
+    private final Queue<byte[]> free = new ConcurrentLinkedQueue<>();
+    private final Thread producer;
+    private volatile boolean closed;
+    @Nullable
+    private Chunk current;
+    private int position;
+
+    @FunctionalInterface
+    private interface Producer {
+
+        void produce(DecompressingInputStream target) throws IOException, InterruptedException;
+    }
+
+    private static final class Chunk {
+
+        final byte[] data;
+        final int length;
+        final boolean recycle;
+        final int permits;
+        @Nullable
+        final IOException error;
+
+        Chunk(byte[] data, int length, boolean recycle, int permits,
+            @Nullable IOException error) {
+            this.data = data;
+            this.length = length;
+            this.recycle = recycle;
+            this.permits = permits;
+            this.error = error;
+        }
+    }
+
+    private DecompressingInputStream(int ringSize, Producer task, Closeable resource) {
+        ready = new ArrayBlockingQueue<>(ringSize);
+        producer = new Thread(() -> run(task, resource), "owlapi-decompression");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /**
+     * @param file gzip file
+     * @param threads number of threads inflating the file; 0 or 1 inflates on the reading thread,
+     *        more than one on a producer thread, inflating bgzip members in parallel
+     * @return stream of the decompressed content
+     * @throws IOException if the file cannot be opened or is not in gzip format
+     */
+    static InputStream gzip(File file, int threads) throws IOException {
+        if (threads <= 1) {
+            return new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE);
+        }
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            if (bgzipSize(channel, 0) <= 0) {
+                InputStream in = new GZIPInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+                return new DecompressingInputStream(RING_SIZE, t -> t.drain(in), in);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new DecompressingInputStream(2 * threads, t -> t.bgzip(channel, threads), channel);
+    }
+
+    /**
+     * @param file XZ file
+     * @param threads number of threads decompressing the file; 0 or 1 decompresses on the reading
+     *        thread, more than one on a producer thread, decompressing blocks in parallel
+     * @return stream of the decompressed content
+     * @throws IOException if the file cannot be opened or is not in XZ format
+     */
+    static InputStream xz(File file, int threads) throws IOException {
+        if (threads <= 1) {
+            return new XZInputStream(new BufferedInputStream(new FileInputStream(file)));
+        }
+        SeekableXZInputStream seekable = openSeekable(file);
+        if (splittable(seekable)) {
+            return new DecompressingInputStream(2 * threads,
+                t -> t.xzBlocks(file, seekable, threads), seekable);
+        }
+        seekable.close();
+        InputStream in = new XZInputStream(new BufferedInputStream(new FileInputStream(file)));
+        return new DecompressingInputStream(RING_SIZE, t -> t.drain(in), in);
+    }
+
+    private static SeekableXZInputStream openSeekable(File file) throws IOException {
+        SeekableFileInputStream in = new SeekableFileInputStream(file);
+        try {
+            return new SeekableXZInputStream(in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static boolean splittable(SeekableXZInputStream in) {
+        if (in.getBlockCount() < 2) {
+            return false;
+        }
+        // at least two blocks must fit in memory at once for parallel decompression to pay off
+        for (int i = 0; i < in.getBlockCount(); i++) {
+            if (in.getBlockSize(i) > MAX_IN_FLIGHT / 2) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return size of the bgzip member at the position, 0 if there is no gzip member there, -1 if
+     *         the gzip member does not record its size
+     */
+    private static int bgzipSize(FileChannel channel, long start) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BGZIP_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()
+            && channel.read(header, start + header.position()) >= 0) {
+            // keep reading until the header is complete or the file ends
+        }
+        if (header.position() < 2 || (header.get(0) & 0xFF) != 0x1f
+            || (header.get(1) & 0xFF) != 0x8b) {
+            return 0;
+        }
+        // bgzip members have only the extra field flag set and a single BC subfield
+        if (header.position() < BGZIP_HEADER || header.get(2) != 8 || header.get(3) != 4
+            || header.getShort(10) != 6 || header.get(12) != 'B' || header.get(13) != 'C'
+            || header.getShort(14) != 2) {
+            return -1;
+        }
+        return (header.getShort(16) & 0xFFFF) + 1;
+    }
+
+    private void run(Producer task, Closeable resource) {
+        Chunk last = END;
+        try (Closeable c = resource) {
+            task.produce(this);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException e) {
+            last = new Chunk(END.data, 0, false, 0, e);
+        } catch (RuntimeException e) {
+            last = new Chunk(END.data, 0, false, 0, new IOException(e));
+        }
+        if (closed) {
+            return;
+        }
+        try {
+            ready.put(last);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void put(byte[] data, int length, boolean recycle, int permits)
+        throws InterruptedException {
+        ready.put(new Chunk(data, length, recycle, permits, null));
+    }
+
+    /**
+     * @param size number of decompressed bytes
+     * @return permits of the in flight budget covering the bytes
+     */
+    private static int permits(long size) {
+        return (int) Math.min(MAX_IN_FLIGHT / PERMIT_SIZE, (size + PERMIT_SIZE - 1) / PERMIT_SIZE);
+    }
+
+    private void drain(InputStream in) throws IOException, InterruptedException {
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            byte[] buffer = free.poll();
+            if (buffer == null) {
+                buffer = new byte[BUFFER_SIZE];
+            }
+            int length = 0;
+            int read = 0;
+            while (length < buffer.length && (read = in.read(buffer, length,
+                buffer.length - length)) >= 0) {
+                length += read;
+            }
+            if (length > 0) {
+                put(buffer, length, true, 0);
+            }
+            if (read < 0) {
+                return;
+            }
+        }
+    }
+
+    private void bgzip(FileChannel channel, int threads) throws IOException, InterruptedException {
+        long size = channel.size();
+        long start = 0;
+        try (InOrder inOrder = new InOrder(threads)) {
+            while (start < size) {
+                int memberSize = bgzipSize(channel, start);
+                if (memberSize == 0) {
+                    // trailing bytes that are not a gzip member are ignored, like GZIPInputStream
+                    break;
+                }
+                if (memberSize < 0) {
+                    inOrder.flush();
+                    channel.position(start);
+                    drain(new GZIPInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+                    return;
+                }
+                ByteBuffer member = ByteBuffer.allocate(memberSize);
+                while (member.hasRemaining()
+                    && channel.read(member, start + member.position()) >= 0) {
+                    // keep reading until the member is complete or the file ends
+                }
+                long offset = start;
+                inOrder.submit(() -> inflate(member.array(), member.position(), offset),
+                    BGZIP_MAX_SIZE);
+                start += memberSize;
+            }
+            inOrder.flush();
+        }
+    }
+
+    private static byte[] inflate(byte[] member, int length, long offset) throws IOException {
+        int start = BGZIP_HEADER;
+        int end = length - 8;
+        if (end < start) {
+            throw new ZipException("Truncated gzip member at byte offset " + offset);
+        }
+        int crc = readInt(member, end);
+        int size = readInt(member, end + 4);
+        if (size < 0 || size > BGZIP_MAX_SIZE) {
+            throw new ZipException("Corrupt gzip member at byte offset " + offset);
+        }
+        byte[] data = new byte[size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(member, start, end - start);
+            int inflated = 0;
+            while (inflated < size) {
+                int n = inflater.inflate(data, inflated, size - inflated);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                inflated += n;
+            }
+            CRC32 check = new CRC32();
+            check.update(data, 0, inflated);
+            if (inflated != size || (int) check.getValue() != crc) {
+                throw new ZipException("Corrupt gzip member at byte offset " + offset);
+            }
+            return data;
+        } catch (DataFormatException e) {
+            throw new ZipException(
+                "Corrupt gzip member at byte offset " + offset + ": " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int readInt(byte[] b, int i) {
+        return b[i] & 0xFF | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | b[i + 3] << 24;
+    }
+
+    private void xzBlocks(File file, SeekableXZInputStream first, int threads)
+        throws IOException, InterruptedException {
+        // seekable streams are not thread safe: each task borrows one, opening more as needed
+        Queue<SeekableXZInputStream> idle = new ConcurrentLinkedQueue<>();
+        Queue<SeekableXZInputStream> opened = new ConcurrentLinkedQueue<>();
+        idle.add(first);
+        // block sizes are read before any task borrows the first stream
+        long[] sizes = new long[first.getBlockCount()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = first.getBlockSize(i);
+        }
+        try (InOrder inOrder = new InOrder(threads)) {
+            for (int i = 0; i < sizes.length; i++) {
+                int block = i;
+                long blockSize = sizes[i];
+                inOrder.submit(() -> {
+                    SeekableXZInputStream in = idle.poll();
+                    if (in == null) {
+                        in = openSeekable(file);
+                        opened.add(in);
+                    }
+                    try {
+                        in.seekToBlock(block);
+                        byte[] data = new byte[(int) blockSize];
+                        int length = 0;
+                        int read;
+                        while (length < data.length
+                            && (read = in.read(data, length, data.length - length)) >= 0) {
+                            length += read;
+                        }
+                        if (length < data.length) {
+                            throw new IOException("Truncated XZ block " + block);
+                        }
+                        return data;
+                    } finally {
+                        idle.add(in);
+                    }
+                }, blockSize);
+            }
+            inOrder.flush();
+        } finally {
+            for (SeekableXZInputStream in : opened) {
+                in.close();
+            }
+        }
+    }
+
+    /**
+     * Runs decompression tasks on a thread pool and queues their results in submission order. Each
+     * task takes its decompressed size from the in flight budget before it is submitted, and the
+     * reader returns it once the result is consumed, so that a slow reader blocks the submitter.
+     */
+    private final class InOrder implements AutoCloseable {
+
+        private final ExecutorService pool;
+        private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        private final Deque<Integer> pendingPermits = new ArrayDeque<>();
+        private final int limit;
+
+        InOrder(int threads) {
+            pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "owlapi-decompression-worker");
+                t.setDaemon(true);
+                return t;
+            });
+            limit = 2 * threads;
+        }
+
+        void submit(Callable<byte[]> task, long size) throws IOException, InterruptedException {
+            int permits = permits(size);
+            while (!pending.isEmpty() && !inFlight.tryAcquire(permits)) {
+                // results waiting to be queued still hold budget: queue the oldest
+                deliver();
+            }
+            if (pending.isEmpty()) {
+                inFlight.acquire(permits);
+            }
+            pending.add(pool.submit(task));
+            pendingPermits.add(Integer.valueOf(permits));
+            if (pending.size() >= limit) {
+                deliver();
+            }
+        }
+
+        void flush() throws IOException, InterruptedException {
+            while (!pending.isEmpty()) {
+                deliver();
+            }
+        }
+
+        private void deliver() throws IOException, InterruptedException {
+            int permits = pendingPermits.remove().intValue();
+            try {
+                byte[] data = pending.remove().get();
+                if (data.length > 0) {
+                    put(data, data.length, false, permits);
+                } else {
+                    inFlight.release(permits);
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+
+        @Override
+        public void close() {
+            pool.shutdownNow();
+        }
+    }
+
+    private Chunk next() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        Chunk c = current;
+        while (c == null || position >= c.length && c != END && c.error == null) {
+            if (c != null) {
+                release(c);
+            }
+            try {
+                c = ready.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            current = c;
+            position = 0;
+        }
+        IOException error = c.error;
+        if (error != null) {
+            throw new IOException(error.getMessage(), error);
+        }
+        return c;
+    }
+
+    private void release(Chunk c) {
+        if (c.recycle) {
+            free.offer(c.data);
+        }
+        if (c.permits > 0) {
+            inFlight.release(c.permits);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        Chunk c = next();
+        if (c == END) {
+            return -1;
+        }
+        return c.data[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        Chunk c = next();
+        if (c == END) {
+            return -1;
+        }
+        int n = Math.min(len, c.length - position);
+        System.arraycopy(c.data, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        Chunk c = current;
+        return c == null || closed ? 0 : c.length - position;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        producer.interrupt();
+        ready.clear();
+        current = null;
+    }
+}
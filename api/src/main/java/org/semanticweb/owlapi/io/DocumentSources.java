@@ -67,7 +67,8 @@ public class DocumentSources {
     /**
      * Select the available input source and, if it is not already a Reader, wrap it in a Reader.
      * This method removes the duplication of code required for each caller to figure out if a
-     * reader or an inputstream is available. The returned Reader will be buffered.
+     * reader or an inputstream is available. The returned Reader will be buffered; readers of
+     * {@link MappedFileDocumentSource} decode straight from memory and are returned as they are.
      *
      * @param source ontology source
      * @param configuration loader configuration to use of the reader must be built form the input
@@ -82,6 +83,9 @@ public class DocumentSources {
         throws OWLOntologyInputSourceException {
         Optional<Reader> reader = source.getReader();
         if (reader.isPresent()) {
+            if (source instanceof MappedFileDocumentSource) {
+                return reader.get();
+            }
             return new BufferedReader(reader.get());
         }
         return new BufferedReader(
@@ -106,7 +110,9 @@ public class DocumentSources {
     }
 
     /**
-     * Select the available input source as an input stream. The input stream will be buffered.
+     * Select the available input source as an input stream. The input stream will be buffered;
+     * streams of {@link MappedFileDocumentSource} read straight from memory and are returned as
+     * they are.
      *
      * @param source ontology source
      * @param configuration loader configuration to use of the reader must be built form the input
@@ -144,6 +150,9 @@ public class DocumentSources {
             }
         }
         if (input.isPresent()) {
+            if (source instanceof MappedFileDocumentSource) {
+                return input.get();
+            }
             return new BufferedInputStream(input.get());
         }
         throw new OWLOntologyInputSourceException("No input reader can be found");
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Optional;
 import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
 import org.semanticweb.owlapi.model.IRI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,30 +34,61 @@ import org.slf4j.LoggerFactory;
  * @author ignazio
  * @since 3.4.8
  */
-public class GZipFileDocumentTarget implements OWLOntologyDocumentTarget {
+public class GZipFileDocumentTarget implements OWLOntologyDocumentTarget, AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GZipFileDocumentTarget.class);
     private final File out;
+    private final int threads;
+    @Nullable
+    private OutputStream outputStream;
 
     /**
      * @param os the actual file
      */
     public GZipFileDocumentTarget(File os) {
+        this(os, 0);
+    }
+
+    /**
+     * With 0 threads, the file is compressed on the saving thread as a single gzip member. With 1
+     * or more threads, blocks are compressed in parallel and written as bgzip members, which
+     * {@link GZipFileDocumentSource} can decompress in parallel; the file can be read by any gzip
+     * reader.
+     *
+     * @param os the actual file
+     * @param threads number of compression threads
+     */
+    public GZipFileDocumentTarget(File os, int threads) {
         out = checkNotNull(os, "os cannot be null");
+        this.threads = threads;
     }
 
     @Override
     public Optional<OutputStream> getOutputStream() {
         try {
-            return optional(new GZIPOutputStream(new FileOutputStream(out)));
+            if (threads > 0) {
+                outputStream = CompressingOutputStream.gzip(new FileOutputStream(out), threads);
+            } else {
+                outputStream = new GZIPOutputStream(new FileOutputStream(out));
+            }
         } catch (IOException e) {
             LOGGER.error("Cannot create output stream", e);
             return emptyOptional();
         }
+        return optional(outputStream);
     }
 
     @Override
     public Optional<IRI> getDocumentIRI() {
         return optional(IRI.create(out));
     }
+
+    @Override
+    public void close() throws Exception {
+        OutputStream toReturn = outputStream;
+        outputStream = null;
+        if (toReturn != null) {
+            toReturn.close();
+        }
+    }
 }
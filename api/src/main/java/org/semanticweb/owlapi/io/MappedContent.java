@@ -0,0 +1,132 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read only content of a memory mapped file, addressed with long offsets. A single mapping cannot
+ * exceed 2 GB, so files are mapped in regions of 1 GB; parsers that split their input into chunks
+ * can read files of any size.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+public final class MappedContent {
+
+    /** Files are mapped in regions of this size; a single mapping cannot exceed 2 GB. */
+    private static final int REGION_BITS = 30;
+    private final ByteBuffer[] regions;
+    private final int regionBits;
+    private final long regionMask;
+    private final long size;
+
+    private MappedContent(int regionBits, ByteBuffer[] regions) {
+        this.regions = regions;
+        this.regionBits = regionBits;
+        regionMask = (1L << regionBits) - 1;
+        long total = 0;
+        for (ByteBuffer region : regions) {
+            total += region.limit();
+        }
+        size = total;
+    }
+
+    /**
+     * @param channel file to map
+     * @return the whole content of the file
+     * @throws IOException if the file cannot be mapped
+     */
+    public static MappedContent map(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long region = 1L << REGION_BITS;
+        ByteBuffer[] regions = new ByteBuffer[(int) ((size + region - 1) / region)];
+        for (int i = 0; i < regions.length; i++) {
+            long start = i * region;
+            regions[i] = channel.map(MapMode.READ_ONLY, start, Math.min(region, size - start));
+        }
+        return new MappedContent(REGION_BITS, regions);
+    }
+
+    /**
+     * @param buffer content already mapped in one region, from offset zero to its limit; only
+     *        absolute reads are used
+     * @return content reading from the buffer
+     */
+    public static MappedContent of(ByteBuffer buffer) {
+        return new MappedContent(REGION_BITS, new ByteBuffer[] {buffer});
+    }
+
+    /**
+     * @param regionBits every region but the last is {@code 1 << regionBits} bytes long
+     * @param regions consecutive regions of the content
+     * @return content reading from the regions
+     */
+    static MappedContent of(int regionBits, ByteBuffer... regions) {
+        return new MappedContent(regionBits, regions);
+    }
+
+    /**
+     * @return number of bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @param offset offset of the byte, between zero and the size
+     * @return byte at the offset
+     */
+    public byte get(long offset) {
+        return regions[(int) (offset >>> regionBits)].get((int) (offset & regionMask));
+    }
+
+    /**
+     * @param start offset of the first byte
+     * @param end offset after the last byte; the range cannot be longer than 2 GB
+     * @return the bytes between the offsets, decoded from UTF-8
+     */
+    public String decode(long start, long end) {
+        if (start == end) {
+            return "";
+        }
+        int first = (int) (start >>> regionBits);
+        int last = (int) ((end - 1) >>> regionBits);
+        if (first == last) {
+            ByteBuffer slice = regions[first].duplicate();
+            slice.limit((int) ((end - 1) & regionMask) + 1);
+            slice.position((int) (start & regionMask));
+            return StandardCharsets.UTF_8.decode(slice).toString();
+        }
+        // the range crosses regions: multibyte sequences might be split between them
+        byte[] bytes = new byte[Math.toIntExact(end - start)];
+        int copied = 0;
+        for (int i = first; i <= last; i++) {
+            ByteBuffer slice = regions[i].duplicate();
+            if (i == first) {
+                slice.position((int) (start & regionMask));
+            }
+            if (i == last) {
+                slice.limit((int) ((end - 1) & regionMask) + 1);
+            }
+            int length = slice.remaining();
+            slice.get(bytes, copied, length);
+            copied += length;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,311 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.io;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.emptyOptional;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.optional;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file source that memory maps the file instead of reading it through file streams. The stream
+ * and the reader it provides read straight from the mapping: bytes are copied once into the
+ * caller's array, and characters are decoded from UTF-8 without an intermediate byte buffer, so
+ * the JavaCC providers and the SAX parsers do not need extra buffering layers. Parsers that can work
+ * on bytes can use {@link #map(OWLOntologyDocumentSource)} to get the whole mapped content, for
+ * files of any size.<br>
+ * The mapping is released when the buffer is garbage collected; on some platforms the file cannot
+ * be deleted or replaced until then. The stream and the reader of files too large to be mapped in
+ * one region, 2GB or more, read from a file stream.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+public class MappedFileDocumentSource extends FileDocumentSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedFileDocumentSource.class);
+    private final File file;
+    @Nullable
+    private ByteBuffer mapped;
+
+    /**
+     * @param file The file from which a concrete representation of an ontology will be obtained.
+     */
+    public MappedFileDocumentSource(File file) {
+        this(file, null, null);
+    }
+
+    /**
+     * @param file The file from which a concrete representation of an ontology will be obtained.
+     * @param format ontology format. Can be null.
+     */
+    public MappedFileDocumentSource(File file, @Nullable OWLDocumentFormat format) {
+        this(file, format, null);
+    }
+
+    /**
+     * @param file The file from which a concrete representation of an ontology will be obtained.
+     * @param format ontology format. Can be null.
+     * @param mime mime type
+     */
+    public MappedFileDocumentSource(File file, @Nullable OWLDocumentFormat format,
+        @Nullable String mime) {
+        super(file, format, mime);
+        this.file = file;
+    }
+
+    /**
+     * @param source document source
+     * @return the whole content of the source, mapped in memory, if the source is a local,
+     *         uncompressed file. The content starts at the beginning of the file, byte order
+     *         marks included; files larger than 2GB are mapped in several regions.
+     * @throws IOException if the file cannot be mapped
+     */
+    public static Optional<MappedContent> map(OWLOntologyDocumentSource source)
+        throws IOException {
+        if (source instanceof MappedFileDocumentSource) {
+            return ((MappedFileDocumentSource) source).mappedContent();
+        }
+        if (!(source instanceof FileDocumentSource || source instanceof IRIDocumentSource)
+            || !"file".equals(source.getDocumentIRI().getScheme())) {
+            return emptyOptional();
+        }
+        return uncompressed(mapRegions(new File(source.getDocumentIRI().toURI())));
+    }
+
+    @Nullable
+    private static ByteBuffer mapFile(File file) throws IOException {
+        if (!file.isFile() || file.length() > Integer.MAX_VALUE) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Nullable
+    private static MappedContent mapRegions(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return MappedContent.map(channel);
+        }
+    }
+
+    private static boolean compressed(byte first, byte second) {
+        // gzip and zip archives are decompressed by the stream based path
+        return first == 0x1F && second == (byte) 0x8B || first == 'P' && second == 'K';
+    }
+
+    private static Optional<ByteBuffer> uncompressed(@Nullable ByteBuffer buffer) {
+        if (buffer == null || buffer.limit() > 1 && compressed(buffer.get(0), buffer.get(1))) {
+            return emptyOptional();
+        }
+        return optional(buffer.duplicate());
+    }
+
+    private static Optional<MappedContent> uncompressed(@Nullable MappedContent content) {
+        if (content == null || content.size() > 1 && compressed(content.get(0), content.get(1))) {
+            return emptyOptional();
+        }
+        return optional(content);
+    }
+
+    private synchronized Optional<MappedContent> mappedContent() throws IOException {
+        if (file.length() > Integer.MAX_VALUE) {
+            return uncompressed(mapRegions(file));
+        }
+        return mapping().map(MappedContent::of);
+    }
+
+    private synchronized Optional<ByteBuffer> mapping() throws IOException {
+        if (mapped == null) {
+            mapped = mapFile(file);
+        }
+        return uncompressed(mapped);
+    }
+
+    /**
+     * @return the mapped content after the UTF-8 byte order mark, if any, or null if the file
+     *         cannot be mapped
+     */
+    @Nullable
+    private ByteBuffer content() {
+        try {
+            Optional<ByteBuffer> buffer = mapping();
+            if (!buffer.isPresent()) {
+                return null;
+            }
+            ByteBuffer b = buffer.get();
+            if (b.limit() > 2 && b.get(0) == (byte) 0xEF && b.get(1) == (byte) 0xBB
+                && b.get(2) == (byte) 0xBF) {
+                b.position(3);
+            }
+            return b;
+        } catch (IOException e) {
+            LOGGER.error("File cannot be mapped", e);
+            return null;
+        }
+    }
+
+    @Override
+    public Optional<InputStream> getInputStream() {
+        ByteBuffer content = content();
+        if (content == null) {
+            return super.getInputStream();
+        }
+        return optional(new ByteBufferInputStream(content));
+    }
+
+    @Override
+    public Optional<Reader> getReader() {
+        ByteBuffer content = content();
+        if (content == null) {
+            return super.getReader();
+        }
+        return optional(new ByteBufferReader(content));
+    }
+
+    /**
+     * Input stream over a byte buffer; reads copy bytes straight from the buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Reader decoding UTF-8 from a byte buffer. Reads of at least {@value #CHUNK} characters are
+     * decoded directly into the caller's array; smaller reads go through one internal buffer of
+     * that size. Malformed input is replaced, as {@link java.io.InputStreamReader} does.
+     */
+    private static final class ByteBufferReader extends Reader {
+
+        private static final int CHUNK = 8192;
+        private final ByteBuffer buffer;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final CharBuffer pending = CharBuffer.allocate(CHUNK);
+        private boolean flushed;
+
+        ByteBufferReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+            pending.flip();
+        }
+
+        @Override
+        public int read() {
+            if (!pending.hasRemaining() && !fillPending()) {
+                return -1;
+            }
+            return pending.get();
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!pending.hasRemaining() && len >= CHUNK) {
+                CharBuffer target = CharBuffer.wrap(cbuf, off, len);
+                decode(target);
+                int n = target.position() - off;
+                return n > 0 ? n : -1;
+            }
+            if (!pending.hasRemaining() && !fillPending()) {
+                return -1;
+            }
+            int n = Math.min(len, pending.remaining());
+            pending.get(cbuf, off, n);
+            return n;
+        }
+
+        private boolean fillPending() {
+            pending.clear();
+            decode(pending);
+            pending.flip();
+            return pending.hasRemaining();
+        }
+
+        private void decode(CharBuffer target) {
+            if (flushed) {
+                return;
+            }
+            CoderResult result = decoder.decode(buffer, target, true);
+            if (result.isUnderflow()) {
+                result = decoder.flush(target);
+                flushed = result.isUnderflow();
+            }
+        }
+
+        @Override
+        public void close() {
+            // the mapping is released by the garbage collector
+        }
+    }
+}
@@ -83,6 +83,18 @@ public interface OWLParser extends Serializable {
     OWLDocumentFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology,
         OWLOntologyLoaderConfiguration configuration);
 
+    /**
+     * @return true if the parser may read the imports closure of the ontology while parsing it, for
+     *         example to resolve the types of entities declared in imported ontologies. Imports
+     *         requested by such parsers are always loaded as soon as they are requested; parsers
+     *         that never read the closure can have their imports loaded in parallel once the parse
+     *         is complete.
+     * @since 5.1.21
+     */
+    default boolean readsImportsWhileParsing() {
+        return true;
+    }
+
     /**
      * @return a unique name for the parser, typically the simple class name
      */
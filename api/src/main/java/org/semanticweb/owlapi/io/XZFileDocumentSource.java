@@ -15,9 +15,7 @@ package org.semanticweb.owlapi.io;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.emptyOptional;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.optional;
 
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Optional;
@@ -26,7 +24,6 @@ import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.tukaani.xz.XZInputStream;
 
 /**
  * An ontology document source which can read from a XZ (LZMA) compressed File.
@@ -38,6 +35,7 @@ public class XZFileDocumentSource extends OWLOntologyDocumentSourceBase {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(XZFileDocumentSource.class);
     private final File file;
+    private final int threads;
 
     /**
      * Constructs an input source which will read an ontology from a
@@ -46,8 +44,21 @@ public class XZFileDocumentSource extends OWLOntologyDocumentSourceBase {
      * @param is The file that the ontology representation will be read from.
      */
     public XZFileDocumentSource(File is) {
+        this(is, 1);
+    }
+
+    /**
+     * Constructs an input source which will read an ontology from a
+     * representation from the specified file.
+     *
+     * @param is The file that the ontology representation will be read from.
+     * @param threads number of decompression threads; see
+     *        {@link #XZFileDocumentSource(File, IRI, OWLDocumentFormat, String, int)}
+     */
+    public XZFileDocumentSource(File is, int threads) {
         super("file:ontology", null, null);
         file = is;
+        this.threads = threads;
     }
 
     /**
@@ -61,14 +72,33 @@ public class XZFileDocumentSource extends OWLOntologyDocumentSourceBase {
      */
     public XZFileDocumentSource(File stream, IRI documentIRI, @Nullable OWLDocumentFormat format,
         @Nullable String mime) {
+        this(stream, documentIRI, format, mime, 1);
+    }
+
+    /**
+     * Constructs an input source which will read an ontology from a
+     * representation from the specified file. With 0 or 1 thread, the file is
+     * decompressed on the parsing thread; with more than 1, it is decompressed
+     * on a producer thread, so that decompression and parsing overlap, and
+     * files with multiple blocks are also decompressed in parallel.
+     *
+     * @param stream The file that the ontology representation will be read from.
+     * @param documentIRI The document IRI
+     * @param format ontology format
+     * @param mime mime type
+     * @param threads number of decompression threads
+     */
+    public XZFileDocumentSource(File stream, IRI documentIRI, @Nullable OWLDocumentFormat format,
+        @Nullable String mime, int threads) {
         super(documentIRI, format, mime);
         file = stream;
+        this.threads = threads;
     }
 
     @Override
     public Optional<InputStream> getInputStream() {
         try {
-            return optional(new XZInputStream(new BufferedInputStream(new FileInputStream(file))));
+            return optional(DecompressingInputStream.xz(file, threads));
         } catch (IOException e) {
             LOGGER.error("File cannot be found or opened", e);
             failedOnStreams.set(true);
@@ -42,6 +42,7 @@ public class XZFileDocumentTarget implements OWLOntologyDocumentTarget, AutoClos
     private static final Logger LOGGER = LoggerFactory.getLogger(XZFileDocumentTarget.class);
     private final File out;
     private final FilterOptions[] filterOptions;
+    private final int threads;
     @Nullable
     private OutputStream outputStream;
 
@@ -50,8 +51,23 @@ public class XZFileDocumentTarget implements OWLOntologyDocumentTarget, AutoClos
      * @param filterOptions Settings for XZ compression
      */
     public XZFileDocumentTarget(File os, FilterOptions... filterOptions) {
+        this(os, filterOptions, 0);
+    }
+
+    /**
+     * With 0 threads, the file is compressed on the saving thread as a single XZ stream. With 1 or
+     * more threads, 8MB blocks are compressed in parallel and written as concatenated XZ streams,
+     * which {@link XZFileDocumentSource} can decompress in parallel; the file can be read by any XZ
+     * reader.
+     *
+     * @param os the actual file
+     * @param filterOptions Settings for XZ compression
+     * @param threads number of compression threads
+     */
+    public XZFileDocumentTarget(File os, FilterOptions[] filterOptions, int threads) {
         out = os;
         this.filterOptions = filterOptions;
+        this.threads = threads;
     }
 
     /**
@@ -79,7 +95,12 @@ public class XZFileDocumentTarget implements OWLOntologyDocumentTarget, AutoClos
         try {
             BufferedOutputStream bufferedOutputStream =
                 new BufferedOutputStream(new FileOutputStream(out));
-            outputStream = new XZOutputStream(bufferedOutputStream, filterOptions);
+            if (threads > 0) {
+                outputStream =
+                    CompressingOutputStream.xz(bufferedOutputStream, filterOptions, threads);
+            } else {
+                outputStream = new XZOutputStream(bufferedOutputStream, filterOptions);
+            }
         } catch (IOException e) {
             LOGGER.error("Cannot create output stream", e);
             return emptyOptional();
@@ -16,18 +16,32 @@ import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ACCEP
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ALLOW_DUPLICATES_IN_CONSTRUCT_SETS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.AUTHORIZATION_VALUE;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BANNED_PARSERS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BULK_LOAD;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.CACHE_EVICTION_POLICY;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.CACHE_SCOPE;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.CACHE_SIZE;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.CONNECTION_TIMEOUT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ENTITY_EXPANSION_LIMIT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.FOLLOW_REDIRECTS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.IMPORTS_LOADING_THREADS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.IRI_DICTIONARY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LOAD_ANNOTATIONS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LOAD_IMPORTS_IN_PARALLEL;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_IMPORT_HANDLING_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_ONTOLOGY_HEADER_STRATEGY;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.OFF_HEAP_LITERALS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSE_WITH_STRICT_CONFIGURATION;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSING_THREADS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PRIMITIVE_ID_INDEXES;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PRIORITY_COLLECTION_SORTING;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RDF_SPILL_THRESHOLD;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RECORD_CACHE_STATS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPAIR_ILLEGAL_PUNNINGS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPORT_STACK_TRACES;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RETRIES_TO_ATTEMPT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.SKIP_MODULE_ANNOTATIONS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_OBO_TRANSLATION;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_RDF_TRANSLATION;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.TREAT_DUBLINCORE_AS_BUILTIN;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.TRIM_TO_SIZE;
 
@@ -270,6 +284,113 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
         return TRIM_TO_SIZE.getValue(Boolean.class, overrides).booleanValue();
     }
 
+    /**
+     * @return true if indexing should be deferred while the ontology is parsed
+     */
+    public boolean shouldBulkLoad() {
+        return BULK_LOAD.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return true if the indexes of an empty ontology being loaded should store int identifiers
+     */
+    public boolean shouldUsePrimitiveIdIndexes() {
+        return PRIMITIVE_ID_INDEXES.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return max number of elements in each data factory cache
+     */
+    public int getCacheSize() {
+        return CACHE_SIZE.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @return scope of the caches of data factories built with this configuration
+     */
+    public CacheScope getCacheScope() {
+        return CACHE_SCOPE.getValue(CacheScope.class, overrides);
+    }
+
+    /**
+     * @return eviction policy for the caches of data factories built with this configuration
+     */
+    public CacheEvictionPolicy getCacheEvictionPolicy() {
+        return CACHE_EVICTION_POLICY.getValue(CacheEvictionPolicy.class, overrides);
+    }
+
+    /**
+     * @return true if data factory caches should record hit and miss statistics
+     */
+    public boolean shouldRecordCacheStats() {
+        return RECORD_CACHE_STATS.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return true if data factories should keep the lexical forms of string literals off heap;
+     *         only honoured with {@link CacheScope#FACTORY} cache scope
+     */
+    public boolean shouldStoreLiteralsOffHeap() {
+        return OFF_HEAP_LITERALS.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return true if data factories should share one instance of equal entity IRIs
+     */
+    public boolean shouldUseIRIDictionary() {
+        return IRI_DICTIONARY.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return true if imports should be loaded after the importing document is parsed, parsing
+     *         independent imports concurrently; ignored for parsers that read imports while
+     *         parsing and for managers with custom ontology factories
+     * @see org.semanticweb.owlapi.io.OWLParser#readsImportsWhileParsing()
+     */
+    public boolean shouldLoadImportsInParallel() {
+        return LOAD_IMPORTS_IN_PARALLEL.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return number of threads used to load imports in parallel; zero or less means one thread
+     *         per available processor
+     */
+    public int getImportsLoadingThreads() {
+        return IMPORTS_LOADING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @return number of threads a parser that can split its input may use
+     */
+    public int getParsingThreads() {
+        return PARSING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @return true if RDF parsers should translate the triples of each named subject as soon as the
+     *         input moves on to a different subject, rather than buffering all triples until the
+     *         end of the document
+     */
+    public boolean shouldStreamRDFTranslation() {
+        return STREAMING_RDF_TRANSLATION.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return true if the OBO parser should translate each term frame as soon as it is parsed,
+     *         reading the document twice, rather than building the whole OBO document first
+     */
+    public boolean shouldStreamOBOTranslation() {
+        return STREAMING_OBO_TRANSLATION.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return number of untranslated triples kept in memory by streaming RDF translation before
+     *         they are spilled to disk; zero or less means triples are never spilled
+     */
+    public int getRDFSpillThreshold() {
+        return RDF_SPILL_THRESHOLD.getValue(Integer.class, overrides).intValue();
+    }
+
     /**
      * @param b true if HTTP compression should be accepted
      * @return a copy of this configuration with accepting HTTP compression set to the new value
@@ -503,6 +624,188 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
         return configuration;
     }
 
+    /**
+     * @param value new value for bulk load
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setBulkLoad(boolean value) {
+        if (shouldBulkLoad() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(BULK_LOAD, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for primitive id indexes
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setUsePrimitiveIdIndexes(boolean value) {
+        if (shouldUsePrimitiveIdIndexes() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(PRIMITIVE_ID_INDEXES, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for cache size
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setCacheSize(int value) {
+        if (getCacheSize() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(CACHE_SIZE, Integer.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for cache scope
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setCacheScope(CacheScope value) {
+        if (getCacheScope() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(CACHE_SCOPE, value);
+        return configuration;
+    }
+
+    /**
+     * @param value new value for cache eviction policy
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setCacheEvictionPolicy(CacheEvictionPolicy value) {
+        if (getCacheEvictionPolicy() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(CACHE_EVICTION_POLICY, value);
+        return configuration;
+    }
+
+    /**
+     * @param value new value for recording cache statistics
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setRecordCacheStats(boolean value) {
+        if (shouldRecordCacheStats() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(RECORD_CACHE_STATS, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for storing literals off heap
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setStoreLiteralsOffHeap(boolean value) {
+        if (shouldStoreLiteralsOffHeap() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(OFF_HEAP_LITERALS, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for sharing entity IRIs through a dictionary
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setUseIRIDictionary(boolean value) {
+        if (shouldUseIRIDictionary() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(IRI_DICTIONARY, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for loading imports in parallel
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setLoadImportsInParallel(boolean value) {
+        if (shouldLoadImportsInParallel() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(LOAD_IMPORTS_IN_PARALLEL, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for the number of threads loading imports in parallel
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setImportsLoadingThreads(int value) {
+        if (getImportsLoadingThreads() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(IMPORTS_LOADING_THREADS, Integer.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for the number of threads a parser may use
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setParsingThreads(int value) {
+        if (getParsingThreads() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(PARSING_THREADS, Integer.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for streaming OBO translation
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setStreamOBOTranslation(boolean value) {
+        if (shouldStreamOBOTranslation() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(STREAMING_OBO_TRANSLATION, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for streaming RDF translation
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setStreamRDFTranslation(boolean value) {
+        if (shouldStreamRDFTranslation() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(STREAMING_RDF_TRANSLATION, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @param value new value for the number of untranslated triples kept in memory
+     * @return An {@code OntologyConfigurator} with the new option set.
+     */
+    public OWLOntologyLoaderConfiguration setRDFSpillThreshold(int value) {
+        if (getRDFSpillThreshold() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(RDF_SPILL_THRESHOLD, Integer.valueOf(value));
+        return configuration;
+    }
+
     /**
      * @return true if module extraction should not add annotation axioms to the module.
      */
@@ -30,15 +30,19 @@ public class OWLOntologyWriterConfiguration implements Serializable {
     private boolean bannersEnabled = true;
     private int indentSize = 4;
     private boolean outputNamedGraphIRI = false;
+    private boolean streamingRDFRendering = false;
 
     private OWLOntologyWriterConfiguration copy() {
         OWLOntologyWriterConfiguration toReturn = new OWLOntologyWriterConfiguration();
         toReturn.indenting = indenting;
+        toReturn.indentSize = indentSize;
+        toReturn.bannersEnabled = bannersEnabled;
         toReturn.labelsAsBanner = labelsAsBanner;
         toReturn.useNamespaceEntities = useNamespaceEntities;
         toReturn.remapIds = remapIds;
         toReturn.saveIds = saveIds;
         toReturn.outputNamedGraphIRI = outputNamedGraphIRI;
+        toReturn.streamingRDFRendering = streamingRDFRendering;
         return toReturn;
     }
 
@@ -201,4 +205,25 @@ public class OWLOntologyWriterConfiguration implements Serializable {
     public boolean shouldOutputNamedGraphIRI() {
         return outputNamedGraphIRI;
     }
+
+    /**
+     * @param streaming True if RDF renderers should only keep the blank nodes and translated
+     *        axioms of the frame being written.
+     * @return new config object
+     */
+    public OWLOntologyWriterConfiguration withStreamingRDFRendering(boolean streaming) {
+        if (streamingRDFRendering == streaming) {
+            return this;
+        }
+        OWLOntologyWriterConfiguration copy = copy();
+        copy.streamingRDFRendering = streaming;
+        return copy;
+    }
+
+    /**
+     * @return should RDF renderers only keep the state of the frame being written
+     */
+    public boolean shouldStreamRDFRendering() {
+        return streamingRDFRendering;
+    }
 }
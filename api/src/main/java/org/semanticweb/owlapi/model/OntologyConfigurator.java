@@ -15,22 +15,33 @@ package org.semanticweb.owlapi.model;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ACCEPT_HTTP_COMPRESSION;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BANNED_PARSERS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BANNERS_ENABLED;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BULK_LOAD;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.CONNECTION_TIMEOUT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.FOLLOW_REDIRECTS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.IMPORTS_LOADING_THREADS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.INDENTING;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.INDENT_SIZE;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.IRI_DICTIONARY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LABELS_AS_BANNER;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LOAD_ANNOTATIONS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LOAD_IMPORTS_IN_PARALLEL;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_IMPORT_HANDLING_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_ONTOLOGY_HEADER_STRATEGY;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.OFF_HEAP_LITERALS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.OUTPUT_NAMED_GRAPH_IRI;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSE_WITH_STRICT_CONFIGURATION;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSING_THREADS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PRIMITIVE_ID_INDEXES;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PRIORITY_COLLECTION_SORTING;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RDF_SPILL_THRESHOLD;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REMAP_IDS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPAIR_ILLEGAL_PUNNINGS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPORT_STACK_TRACES;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RETRIES_TO_ATTEMPT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.SAVE_IDS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_OBO_TRANSLATION;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_RDF_RENDERING;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_RDF_TRANSLATION;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.TREAT_DUBLINCORE_AS_BUILTIN;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.USE_NAMESPACE_ENTITIES;
 
@@ -328,6 +339,173 @@ public class OntologyConfigurator implements Serializable {
         return this;
     }
 
+    /**
+     * @return true if the indexes of an empty ontology being loaded should store int identifiers
+     */
+    public boolean shouldUsePrimitiveIdIndexes() {
+        return PRIMITIVE_ID_INDEXES.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if the indexes of an empty ontology being loaded should store int identifiers
+     * @return A {@code OWLOntologyLoaderConfiguration} with the flag set to the new value.
+     */
+    public OntologyConfigurator withPrimitiveIdIndexes(boolean b) {
+        overrides.put(PRIMITIVE_ID_INDEXES, Boolean.valueOf(b));
+        return this;
+    }
+
+    /**
+     * @return true if indexing should be deferred while the ontology is parsed
+     */
+    public boolean shouldBulkLoad() {
+        return BULK_LOAD.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if indexing should be deferred while the ontology is parsed
+     * @return A {@code OWLOntologyLoaderConfiguration} with the option set to the new value.
+     */
+    public OntologyConfigurator withBulkLoad(boolean b) {
+        overrides.put(BULK_LOAD, Boolean.valueOf(b));
+        return this;
+    }
+
+    /**
+     * @return true if data factories should keep the lexical forms of string literals off heap;
+     *         only honoured with {@link CacheScope#FACTORY} cache scope
+     */
+    public boolean shouldStoreLiteralsOffHeap() {
+        return OFF_HEAP_LITERALS.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if data factories should keep the lexical forms of string literals off heap
+     * @return A {@code OWLOntologyLoaderConfiguration} with the option set to the new value.
+     */
+    public OntologyConfigurator withStoreLiteralsOffHeap(boolean b) {
+        overrides.put(OFF_HEAP_LITERALS, Boolean.valueOf(b));
+        return this;
+    }
+
+    /**
+     * @return true if data factories should share one instance of equal entity IRIs
+     */
+    public boolean shouldUseIRIDictionary() {
+        return IRI_DICTIONARY.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if data factories should share one instance of equal entity IRIs
+     * @return A {@code OWLOntologyLoaderConfiguration} with the option set to the new value.
+     */
+    public OntologyConfigurator withIRIDictionary(boolean b) {
+        overrides.put(IRI_DICTIONARY, Boolean.valueOf(b));
+        return this;
+    }
+
+    /**
+     * @return true if independent imports should be loaded concurrently
+     */
+    public boolean shouldLoadImportsInParallel() {
+        return LOAD_IMPORTS_IN_PARALLEL.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if independent imports should be loaded concurrently
+     * @return A {@code OWLOntologyLoaderConfiguration} with the option set to the new value.
+     */
+    public OntologyConfigurator withLoadImportsInParallel(boolean b) {
+        overrides.put(LOAD_IMPORTS_IN_PARALLEL, Boolean.valueOf(b));
+        return this;
+    }
+
+    /**
+     * @return number of threads used to load imports in parallel; zero or less means one thread
+     *         per available processor
+     */
+    public int getImportsLoadingThreads() {
+        return IMPORTS_LOADING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threads number of threads used to load imports in parallel; zero or less means one
+     *        thread per available processor
+     * @return A {@code OWLOntologyLoaderConfiguration} with the option set to the new value.
+     */
+    public OntologyConfigurator withImportsLoadingThreads(int threads) {
+        overrides.put(IMPORTS_LOADING_THREADS, Integer.valueOf(threads));
+        return this;
+    }
+
+    /**
+     * @return number of threads a parser that can split its input may use
+     */
+    public int getParsingThreads() {
+        return PARSING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threads number of threads a parser that can split its input may use
+     * @return A {@code OWLOntologyLoaderConfiguration} with the option set to the new value.
+     */
+    public OntologyConfigurator withParsingThreads(int threads) {
+        overrides.put(PARSING_THREADS, Integer.valueOf(threads));
+        return this;
+    }
+
+    /**
+     * @return true if RDF parsers should translate the triples of each named subject as soon as the
+     *         input moves on to a different subject
+     */
+    public boolean shouldStreamRDFTranslation() {
+        return STREAMING_RDF_TRANSLATION.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if RDF parsers should translate the triples of each named subject as soon as
+     *        the input moves on to a different subject
+     * @return A {@code OWLOntologyLoaderConfiguration} with the option set to the new value.
+     */
+    public OntologyConfigurator withStreamRDFTranslation(boolean b) {
+        overrides.put(STREAMING_RDF_TRANSLATION, Boolean.valueOf(b));
+        return this;
+    }
+
+    /**
+     * @return number of untranslated triples kept in memory by streaming RDF translation before
+     *         they are spilled to disk; zero or less means triples are never spilled
+     */
+    public int getRDFSpillThreshold() {
+        return RDF_SPILL_THRESHOLD.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threshold number of untranslated triples kept in memory by streaming RDF translation
+     *        before they are spilled to disk; zero or less means triples are never spilled
+     * @return A {@code OWLOntologyLoaderConfiguration} with the option set to the new value.
+     */
+    public OntologyConfigurator withRDFSpillThreshold(int threshold) {
+        overrides.put(RDF_SPILL_THRESHOLD, Integer.valueOf(threshold));
+        return this;
+    }
+
+    /**
+     * @return true if the OBO parser should translate each term frame as soon as it is parsed
+     */
+    public boolean shouldStreamOBOTranslation() {
+        return STREAMING_OBO_TRANSLATION.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param b true if the OBO parser should translate each term frame as soon as it is parsed
+     * @return A {@code OWLOntologyLoaderConfiguration} with the option set to the new value.
+     */
+    public OntologyConfigurator withStreamOBOTranslation(boolean b) {
+        overrides.put(STREAMING_OBO_TRANSLATION, Boolean.valueOf(b));
+        return this;
+    }
+
     /**
      * @return a new OWLOntologyLoaderConfiguration from the builder current settings
      */
@@ -345,7 +523,17 @@ public class OntologyConfigurator implements Serializable {
             .setStrict(shouldParseWithStrictConfiguration())
             .setTreatDublinCoreAsBuiltIn(shouldTreatDublinCoreAsBuiltin())
             .setBannedParsers(getBannedParsers())
-            .setRepairIllegalPunnings(shouldRepairIllegalPunnings());
+            .setRepairIllegalPunnings(shouldRepairIllegalPunnings())
+            .setUsePrimitiveIdIndexes(shouldUsePrimitiveIdIndexes())
+            .setBulkLoad(shouldBulkLoad())
+            .setStoreLiteralsOffHeap(shouldStoreLiteralsOffHeap())
+            .setUseIRIDictionary(shouldUseIRIDictionary())
+            .setLoadImportsInParallel(shouldLoadImportsInParallel())
+            .setImportsLoadingThreads(getImportsLoadingThreads())
+            .setParsingThreads(getParsingThreads())
+            .setStreamRDFTranslation(shouldStreamRDFTranslation())
+            .setRDFSpillThreshold(getRDFSpillThreshold())
+            .setStreamOBOTranslation(shouldStreamOBOTranslation());
     }
 
     /**
@@ -477,6 +665,23 @@ public class OntologyConfigurator implements Serializable {
         return OUTPUT_NAMED_GRAPH_IRI.getValue(Boolean.class, overrides).booleanValue();
     }
 
+    /**
+     * @param streaming True if RDF renderers should only keep the state of the frame being
+     *        written.
+     * @return new config object
+     */
+    public OntologyConfigurator withStreamingRDFRendering(boolean streaming) {
+        overrides.put(STREAMING_RDF_RENDERING, Boolean.valueOf(streaming));
+        return this;
+    }
+
+    /**
+     * @return should RDF renderers only keep the state of the frame being written
+     */
+    public boolean shouldStreamRDFRendering() {
+        return STREAMING_RDF_RENDERING.getValue(Boolean.class, overrides).booleanValue();
+    }
+
     /**
      * @return a new OWLOntologyWriterConfiguration from the builder current settings
      */
@@ -487,6 +692,7 @@ public class OntologyConfigurator implements Serializable {
             .withSaveIdsForAllAnonymousIndividuals(shouldSaveIds())
             .withUseNamespaceEntities(shouldUseNamespaceEntities())
             .withBannersEnabled(shouldUseBanners())
-            .withNamedGraphIRIEnabled(shouldOutputNamedGraphIRI());
+            .withNamedGraphIRIEnabled(shouldOutputNamedGraphIRI())
+            .withStreamingRDFRendering(shouldStreamRDFRendering());
     }
 }
@@ -9,6 +9,8 @@ import java.util.Properties;
 import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.ByName;
+import org.semanticweb.owlapi.model.CacheEvictionPolicy;
+import org.semanticweb.owlapi.model.CacheScope;
 import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
 import org.semanticweb.owlapi.model.MissingOntologyHeaderStrategy;
 import org.semanticweb.owlapi.model.PriorityCollectionSorting;
@@ -91,6 +93,64 @@ public enum ConfigurationOptions {
     ALLOW_DUPLICATES_IN_CONSTRUCT_SETS  (Boolean.FALSE),
     /**Max number of elements for caches.*/
     CACHE_SIZE                          (Integer.valueOf(2048)),
+    /** Whether data factories share
+     * their entity and annotation
+     * caches or own them.*/
+    CACHE_SCOPE                         (CacheScope.GLOBAL),
+    /** Eviction policy for data
+     * factory caches.*/
+    CACHE_EVICTION_POLICY               (CacheEvictionPolicy.SIZE),
+    /** True if data factory caches
+     * should record hit and miss
+     * statistics. Global caches with
+     * statistics are also published
+     * through JMX.*/
+    RECORD_CACHE_STATS                  (Boolean.FALSE),
+    /** True if data factories should
+     * keep the lexical forms of string
+     * literals outside the heap, in a
+     * store released with the data
+     * factory. Only honoured with
+     * FACTORY cache scope.*/
+    OFF_HEAP_LITERALS                   (Boolean.FALSE),
+    /** True if the imports closure
+     * of an ontology should be
+     * loaded after the importing
+     * document is parsed, parsing
+     * independent imports
+     * concurrently. Parsers that read
+     * imports while parsing still
+     * load them when requested.*/
+    LOAD_IMPORTS_IN_PARALLEL            (Boolean.FALSE),
+    /** Number of threads used to
+     * load imports in parallel;
+     * zero or less uses one thread
+     * per available processor.*/
+    IMPORTS_LOADING_THREADS             (Integer.valueOf(0)),
+    /** Number of threads a parser
+     * that can split its input may
+     * use; one parses on the calling
+     * thread only.*/
+    PARSING_THREADS                     (Integer.valueOf(1)),
+    /** True if RDF parsers should
+     * translate and release the
+     * triples of each named subject
+     * once the input moves on to a
+     * different subject.*/
+    STREAMING_RDF_TRANSLATION           (Boolean.FALSE),
+    /** Number of untranslated triples
+     * that streaming RDF translation
+     * keeps in memory before spilling
+     * them to disk; zero or less
+     * never spills.*/
+    RDF_SPILL_THRESHOLD                 (Integer.valueOf(0)),
+    /** True if the OBO parser should
+     * translate each term frame as soon
+     * as it is parsed, instead of
+     * building the whole OBO document
+     * first. The document is read
+     * twice.*/
+    STREAMING_OBO_TRANSLATION           (Boolean.FALSE),
     /** False if named graph IRIs should
      * not be created for formats like
      * TriG and RDF/JSON. This is the 
@@ -101,7 +161,37 @@ public enum ConfigurationOptions {
      * graph IRI can be set independently
      * or overridden with 
      * {@code OWLDocumentFormat::setParameter("namedGraphOverride", "desired value")}.*/
-    OUTPUT_NAMED_GRAPH_IRI              (Boolean.FALSE);
+    OUTPUT_NAMED_GRAPH_IRI              (Boolean.FALSE),
+    /** True if ontology indexes
+     * should store dense int ids for
+     * keys and axioms instead of
+     * object references. This reduces
+     * the heap used by the indexes of
+     * large ontologies, at the cost
+     * of decoding values on lookup.
+     * Read when an ontology is created
+     * and, through the loader
+     * configuration, before an empty
+     * ontology is parsed.*/
+    PRIMITIVE_ID_INDEXES                (Boolean.FALSE),
+    /** True if ontologies being
+     * loaded should only index axioms
+     * by type while parsing; all other
+     * indexes are built in one pass
+     * on first use.*/
+    BULK_LOAD                           (Boolean.FALSE),
+    /** True if RDF/XML and Turtle
+     * renderers should only keep the
+     * blank nodes and translated axioms
+     * of the frame being written,
+     * rather than of the whole
+     * document.*/
+    STREAMING_RDF_RENDERING             (Boolean.FALSE),
+    /** True if data factories should
+     * share one instance of equal
+     * entity IRIs through a weak
+     * dictionary of their own.*/
+    IRI_DICTIONARY                      (Boolean.FALSE);
     //@formatter:on
     private static final String PREFIX =
         "org.semanticweb.owlapi.model.parameters.ConfigurationOptions.";
@@ -12,18 +12,16 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.util;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.net.URL;
 import java.net.URLConnection;
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import org.semanticweb.owlapi.io.BufferedUTF8Writer;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentTarget;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
@@ -59,6 +57,17 @@ public abstract class AbstractOWLStorer implements OWLStorer {
         return conn.getOutputStream();
     }
 
+    /**
+     * @param out stream to write to
+     * @return UTF-8 writer for the stream; file streams are written through their channel
+     */
+    private static Writer writer(OutputStream out) {
+        if (out instanceof FileOutputStream) {
+            return new BufferedUTF8Writer(((FileOutputStream) out).getChannel());
+        }
+        return new BufferedUTF8Writer(out);
+    }
+
     @Override
     public void storeOntology(OWLOntology ontology, IRI documentIRI,
         OWLDocumentFormat ontologyFormat)
@@ -78,10 +87,11 @@ public abstract class AbstractOWLStorer implements OWLStorer {
     private void store(OWLOntology ontology, OWLDocumentFormat ontologyFormat,
         OutputStream tempOutputStream)
         throws OWLOntologyStorageException, IOException {
-        try (OutputStreamWriter osw = new OutputStreamWriter(tempOutputStream,
-            StandardCharsets.UTF_8);
-            BufferedWriter bw = new BufferedWriter(osw);
-            PrintWriter tempWriter = new PrintWriter(bw);) {
+        if (!ontologyFormat.isTextual()) {
+            storeOntology(ontology, tempOutputStream, ontologyFormat);
+            return;
+        }
+        try (PrintWriter tempWriter = new PrintWriter(writer(tempOutputStream))) {
             storeOntology(ontology, tempWriter, ontologyFormat);
             tempWriter.flush();
         }
@@ -136,9 +146,7 @@ public abstract class AbstractOWLStorer implements OWLStorer {
                     + format.getKey());
         }
         try {
-            PrintWriter writer = new PrintWriter(
-                new BufferedWriter(new OutputStreamWriter(outputStream,
-                    StandardCharsets.UTF_8)));
+            PrintWriter writer = new PrintWriter(writer(outputStream));
             storeOntology(ontology, writer, format);
             writer.flush();
         } catch (OWLRuntimeException e) {
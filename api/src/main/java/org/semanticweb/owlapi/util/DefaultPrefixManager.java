@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -37,7 +38,13 @@ import org.semanticweb.owlapi.vocab.Namespaces;
 public class DefaultPrefixManager
     implements PrefixManager, ShortFormProvider, IRIShortFormProvider {
 
+    // cached values for IRIs whose namespace has no prefix name; prefix names end with a colon
+    private static final String NO_PREFIX = "";
+    private static final String UNMAPPED = "?";
     private final Map<String, String> reverseprefix2NamespaceMap;
+    // namespace to prefix name; NO_PREFIX if no prefix can shorten IRIs in the namespace, UNMAPPED
+    // if the namespace has no prefix name but a prefix overlapping it might shorten some IRIs
+    private final Map<String, String> namespacePrefixNames = new ConcurrentHashMap<>();
     // XXX config
     private Map<String, String> prefix2NamespaceMap;
     private StringComparator comparator;
@@ -93,6 +100,7 @@ public class DefaultPrefixManager
     public void clear() {
         prefix2NamespaceMap.clear();
         reverseprefix2NamespaceMap.clear();
+        namespacePrefixNames.clear();
     }
 
     @Override
@@ -111,8 +119,12 @@ public class DefaultPrefixManager
     @Override
     @Nullable
     public String getPrefixIRI(IRI iri) {
-        String prefix = reverseprefix2NamespaceMap.get(iri.getNamespace());
-        if (prefix == null) {
+        String prefix = cachedPrefixName(iri.getNamespace());
+        if (NO_PREFIX.equals(prefix)) {
+            return null;
+        }
+        if (UNMAPPED.equals(prefix)) {
+            prefix = null;
             String iriString = iri.toString();
             String prefixed = null;
             for (String s : reverseprefix2NamespaceMap.keySet()) {
@@ -131,10 +143,54 @@ public class DefaultPrefixManager
         return iri.prefixedBy(prefix);
     }
 
+    /**
+     * Looks up the prefix name mapped to the namespace of an IRI. When the IRI has a non empty
+     * remainder, the prefix name followed by the remainder is the prefixed form of the IRI, so
+     * renderers can write the two parts without building the prefixed string. Lookups are cached
+     * per namespace until the mappings change.
+     *
+     * @param iri IRI to shorten
+     * @return the prefix name of the namespace of the IRI, or null if the namespace has none
+     */
+    @Nullable
+    public String getNamespacePrefixName(IRI iri) {
+        String prefix = cachedPrefixName(iri.getNamespace());
+        if (NO_PREFIX.equals(prefix) || UNMAPPED.equals(prefix)) {
+            return null;
+        }
+        return prefix;
+    }
+
+    private String cachedPrefixName(String namespace) {
+        String prefix = namespacePrefixNames.get(namespace);
+        if (prefix == null) {
+            prefix = prefixName(namespace);
+            namespacePrefixNames.put(namespace, prefix);
+        }
+        return prefix;
+    }
+
+    private String prefixName(String namespace) {
+        String prefix = reverseprefix2NamespaceMap.get(namespace);
+        if (prefix != null) {
+            return prefix;
+        }
+        for (String s : reverseprefix2NamespaceMap.keySet()) {
+            if (namespace.startsWith(s) || s.startsWith(namespace)) {
+                return UNMAPPED;
+            }
+        }
+        return NO_PREFIX;
+    }
+
     @Override
     public String getPrefixIRIIgnoreQName(IRI iri) {
-        String prefix = reverseprefix2NamespaceMap.get(iri.getNamespace());
-        if (prefix == null) {
+        String prefix = cachedPrefixName(iri.getNamespace());
+        if (NO_PREFIX.equals(prefix)) {
+            return null;
+        }
+        if (UNMAPPED.equals(prefix)) {
+            prefix = null;
             String iriString = iri.toString();
             String prefixed = null;
             for (String s : reverseprefix2NamespaceMap.keySet()) {
@@ -165,6 +221,7 @@ public class DefaultPrefixManager
         if (prefixToUnregister != null) {
             prefix2NamespaceMap.remove(":");
             reverseprefix2NamespaceMap.remove(prefixToUnregister, ":");
+            namespacePrefixNames.clear();
         }
         if (defaultPrefix == null) {
             return;
@@ -172,6 +229,7 @@ public class DefaultPrefixManager
         prefix2NamespaceMap.put(":", defaultPrefix);
         if (!reverseprefix2NamespaceMap.containsKey(defaultPrefix)) {
             reverseprefix2NamespaceMap.put(defaultPrefix, ":");
+            namespacePrefixNames.clear();
         }
     }
 
@@ -234,6 +292,7 @@ public class DefaultPrefixManager
         }
         prefix2NamespaceMap.put(_prefixName, prefix);
         reverseprefix2NamespaceMap.put(prefix, _prefixName);
+        namespacePrefixNames.clear();
     }
 
     @Override
@@ -246,6 +305,7 @@ public class DefaultPrefixManager
         });
         reverseprefix2NamespaceMap.remove(namespace);
         prefix2NamespaceMap.keySet().removeAll(toRemove);
+        namespacePrefixNames.clear();
     }
 
     @Override
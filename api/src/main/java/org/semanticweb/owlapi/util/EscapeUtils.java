@@ -14,6 +14,9 @@ package org.semanticweb.owlapi.util;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.2.0
@@ -52,6 +55,27 @@ public final class EscapeUtils {
         return verifyNotNull(sb.toString());
     }
 
+    /**
+     * Writes a string escaped as {@link #escapeString(String)} does, copying the runs of
+     * characters that need no escaping straight to the writer.
+     *
+     * @param s The string to be escaped
+     * @param w The writer to write the escaped string to
+     * @throws IOException if the writer fails
+     */
+    public static void escapeString(String s, Writer w) throws IOException {
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch == '\\' || ch == '\"') {
+                w.write(s, start, i - start);
+                w.write('\\');
+                start = i;
+            }
+        }
+        w.write(s, start, s.length() - start);
+    }
+
     /**
      * @param s string to unescape
      * @return the unescaped string
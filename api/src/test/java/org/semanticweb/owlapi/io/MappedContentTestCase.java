@@ -0,0 +1,50 @@
+package org.semanticweb.owlapi.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class MappedContentTestCase {
+
+    private static final String TEXT = "<a> <b> \"\u00e8\u20ac\u00df\" .\n<c> <d> <e> .\n";
+
+    /**
+     * @return the text split in regions of four bytes, so that characters span regions
+     */
+    private static MappedContent regions() {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer[] regions = new ByteBuffer[(bytes.length + 3) / 4];
+        for (int i = 0; i < regions.length; i++) {
+            regions[i] = ByteBuffer
+                .wrap(Arrays.copyOfRange(bytes, i * 4, Math.min(bytes.length, i * 4 + 4)));
+        }
+        return MappedContent.of(2, regions);
+    }
+
+    @Test
+    void shouldReadAcrossRegions() {
+        MappedContent content = regions();
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        assertEquals(bytes.length, content.size());
+        for (int i = 0; i < bytes.length; i++) {
+            assertEquals(bytes[i], content.get(i));
+        }
+    }
+
+    @Test
+    void shouldDecodeRangesAcrossRegions() {
+        MappedContent content = regions();
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        for (int start = 0; start < bytes.length; start++) {
+            for (int end = start; end <= bytes.length; end++) {
+                assertEquals(
+                    new String(Arrays.copyOfRange(bytes, start, end), StandardCharsets.UTF_8),
+                    content.decode(start, end));
+            }
+        }
+    }
+}
@@ -29,10 +29,13 @@ import org.semanticweb.owlapi.utilities.Injector;
 
 import uk.ac.manchester.cs.owl.owlapi.CompressionEnabled;
 import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologyManagerImpl;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.Concurrency;
 import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentOWLOntologyBuilder;
 import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
 import uk.ac.manchester.cs.owl.owlapi.concurrent.NonConcurrentDelegate;
 import uk.ac.manchester.cs.owl.owlapi.concurrent.NonConcurrentOWLOntologyBuilder;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.StripedReadWriteLock;
 
 /**
  * Provides a point of convenience for creating an {@code OWLOntologyManager} with commonly required
@@ -58,6 +61,8 @@ public class OWLManager implements OWLOntologyManagerFactory {
         // singletons.
         REENTRANT(ReadWriteLock.class, () -> new ReentrantReadWriteLock()),
         //
+        STRIPED(ReadWriteLock.class, () -> new StripedReadWriteLock()),
+        //
         NOOP(ReadWriteLock.class, new NoOpReadWriteLock());
 
         private Class<?> c;
@@ -102,6 +107,8 @@ public class OWLManager implements OWLOntologyManagerFactory {
 
     private static final Injector concurrentInjector =
         InjectorConstants.REENTRANT.init(configure(new Injector()));
+    private static final Injector stripedInjector =
+        InjectorConstants.STRIPED.init(configure(new Injector()));
     private static final Injector normalInjector =
         InjectorConstants.NOOP.init(configure(new Injector()));
 
@@ -119,6 +126,20 @@ public class OWLManager implements OWLOntologyManagerFactory {
         return normalInjector.inject(normalInjector.getImplementation(OWLOntologyManager.class));
     }
 
+    /**
+     * Creates an OWL ontology manager that is configured with standard parsers, storers etc. and
+     * uses the specified data factory. A data factory whose configuration has cache scope
+     * {@link org.semanticweb.owlapi.model.CacheScope#FACTORY} gives the manager its own entity and
+     * annotation caches, so that loads through other managers do not evict its entries.
+     *
+     * @param dataFactory data factory for the manager
+     * @return The new manager.
+     */
+    public static OWLOntologyManager createOWLOntologyManager(OWLDataFactory dataFactory) {
+        return normalInjector.inject(new OWLOntologyManagerImpl(dataFactory,
+            normalInjector.getImplementation(ReadWriteLock.class)));
+    }
+
     /**
      * Creates an OWL ontology manager that is configured with the standard parsers and storers and
      * provides locking for concurrent access.
@@ -130,6 +151,28 @@ public class OWLManager implements OWLOntologyManagerFactory {
             .inject(concurrentInjector.getImplementation(OWLOntologyManager.class));
     }
 
+    /**
+     * Creates an OWL ontology manager that is configured with the standard parsers and storers and
+     * provides the specified kind of locking. With {@link Concurrency#STRIPED}, changes that only
+     * add or remove axioms lock only the affected axiom types, so that, for example, a batch of
+     * ABox assertions does not block readers of TBox axioms.
+     *
+     * @param concurrency kind of locking required
+     * @return The new manager.
+     */
+    public static OWLOntologyManager createConcurrentOWLOntologyManager(Concurrency concurrency) {
+        switch (concurrency) {
+            case NON_CONCURRENT:
+                return createOWLOntologyManager();
+            case STRIPED:
+                return stripedInjector
+                    .inject(stripedInjector.getImplementation(OWLOntologyManager.class));
+            case CONCURRENT:
+            default:
+                return createConcurrentOWLOntologyManager();
+        }
+    }
+
     /**
      * Gets a global data factory that can be used to create OWL API objects.
      * 
@@ -1,18 +1,33 @@
 package org.semanticweb.owlapi.benchmarks;
 
 import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.util.Date;
+import org.obolibrary.obo2owl.OWLAPIObo2Owl;
+import org.obolibrary.oboformat.model.OBODoc;
 import org.obolibrary.oboformat.parser.OBOFormatParser;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 
+/**
+ * Parses the gazetteer and converts it to OWL; pass {@code offheap} as second argument to keep the
+ * lexical forms of string literals off heap, and compare the heap and direct memory used.
+ */
 @SuppressWarnings("javadoc")
 public class GazetteerMemoryBenchmark {
 
     public static void main(String[] args) throws Exception {
-        memoryProfile(FileSystems.getDefault().getPath("/Users/ignazio/gaz-fixed.obo"),
-            FileSystems.getDefault()
-                .getPath("gazetteer" + new Date() + ".hprof"));
+        String filename = args.length > 0 ? args[0] : "/Users/ignazio/gaz-fixed.obo";
+        boolean offHeap = args.length > 1 && "offheap".equals(args[1]);
+        memoryProfile(FileSystems.getDefault().getPath(filename),
+            FileSystems.getDefault().getPath("gazetteer" + new Date() + ".hprof"), offHeap);
     }
 
     public static void memoryProfile(Path ontologyPath, Path hprofPath) throws IOException {
@@ -20,4 +35,24 @@ public class GazetteerMemoryBenchmark {
         parser.parse(ontologyPath.toFile());
         MemoryBenchmark.getDiagnostics().dumpHeap(hprofPath.toString(), true);
     }
+
+    public static void memoryProfile(Path ontologyPath, Path hprofPath, boolean offHeap)
+        throws IOException, OWLOntologyCreationException {
+        OBODoc doc = new OBOFormatParser().parse(ontologyPath.toFile());
+        OWLDataFactory df = OWLManager.getOWLDataFactory(
+            new OWLOntologyLoaderConfiguration().setStoreLiteralsOffHeap(offHeap));
+        OWLOntology ontology =
+            new OWLAPIObo2Owl(OWLManager.createOWLOntologyManager(df)).convert(doc);
+        // drop the OBO document, only the OWL ontology is measured
+        doc = null;
+        System.gc();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+            .filter(b -> "direct".equals(b.getName())).mapToLong(BufferPoolMXBean::getMemoryUsed)
+            .sum();
+        System.out.println("GazetteerMemoryBenchmark offheap=" + offHeap + " axioms="
+            + ontology.getAxiomCount() + " heap=" + memory.getHeapMemoryUsage().getUsed()
+            + " direct=" + direct);
+        MemoryBenchmark.getDiagnostics().dumpHeap(hprofPath.toString(), true);
+    }
 }
@@ -0,0 +1,69 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.*;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.search.EntitySearcher;
+
+/**
+ * Measures read throughput of many threads sharing one concurrent ontology. Compare the 1 thread
+ * and 32 thread runs to see how lookups scale.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+public class MapPointerContentionBenchmark {
+
+    private static final int CLASSES = 100000;
+    private OWLOntology ontology;
+    private final List<OWLClass> classes = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createConcurrentOWLOntologyManager();
+        OWLDataFactory df = manager.getOWLDataFactory();
+        ontology = manager.createOntology(IRI.create("urn:test:", "contention"));
+        List<OWLAxiom> axioms = new ArrayList<>();
+        OWLClass previous = df.getOWLThing();
+        for (int i = 0; i < CLASSES; i++) {
+            OWLClass c = df.getOWLClass(IRI.create("urn:test:", "C" + i));
+            classes.add(c);
+            axioms.add(df.getOWLSubClassOfAxiom(c, previous));
+            axioms.add(df.getOWLAnnotationAssertionAxiom(df.getRDFSLabel(), c.getIRI(),
+                df.getOWLLiteral("class " + i)));
+            previous = c;
+        }
+        ontology.addAxioms(axioms);
+        // initialize the lazy indexes outside of the measurement
+        lookup(classes.get(0));
+    }
+
+    private long lookup(OWLClass c) {
+        return EntitySearcher.getSuperClasses(c, ontology).count()
+            + EntitySearcher.getSubClasses(c, ontology).count()
+            + EntitySearcher.getAnnotationObjects(c, ontology).count();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(1)
+    public long singleThreadLookups() {
+        return lookup(classes.get(ThreadLocalRandom.current().nextInt(CLASSES)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(32)
+    public long contendedLookups() {
+        return lookup(classes.get(ThreadLocalRandom.current().nextInt(CLASSES)));
+    }
+}
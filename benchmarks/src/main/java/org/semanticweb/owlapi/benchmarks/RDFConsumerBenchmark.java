@@ -0,0 +1,102 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.FileDocumentTarget;
+import org.semanticweb.owlapi.io.GZipStreamDocumentSource;
+import org.semanticweb.owlapi.io.RDFParserMetaData;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+/**
+ * Loads NCBITaxon as RDF/XML and Turtle, to measure the triple indexes of the RDF consumer. JMH
+ * reports the load time; triples per second and peak heap bytes per triple are printed at the end
+ * of each trial.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+public class RDFConsumerBenchmark {
+
+    @Param({"rdfxml", "turtle"})
+    public String format;
+    private File file;
+    private int triples;
+    private long loads;
+    private long nanos;
+    private long peakBytes;
+    private long heapBefore;
+
+    @Setup(Level.Trial)
+    public void setUp()
+        throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntology taxon = manager.loadOntologyFromOntologyDocument(
+            new GZipStreamDocumentSource(getClass().getResourceAsStream("/ncbitaxon.rdf.ofn.gz")));
+        OWLDocumentFormat documentFormat =
+            "turtle".equals(format) ? new TurtleDocumentFormat() : new RDFXMLDocumentFormat();
+        file = File.createTempFile("ncbitaxon", "." + format);
+        manager.saveOntology(taxon, documentFormat, new FileDocumentTarget(file));
+        manager.removeOntology(taxon);
+        OWLOntology loaded = load();
+        triples = loaded.getNonnullFormat().getOntologyLoaderMetaData()
+            .map(m -> Integer.valueOf(((RDFParserMetaData) m).getTripleCount()))
+            .orElse(Integer.valueOf(0)).intValue();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (loads > 0 && triples > 0) {
+            System.out.println("RDFConsumerBenchmark " + format + " triples=" + triples
+                + " triples/sec=" + triples * loads * TimeUnit.SECONDS.toNanos(1) / nanos
+                + " bytes/triple=" + peakBytes / triples);
+        }
+        file.delete();
+    }
+
+    private OWLOntology load() throws OWLOntologyCreationException {
+        return OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(
+            new FileDocumentSource(file), new OWLOntologyLoaderConfiguration().setStrict(false));
+    }
+
+    private static long heapPeak() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(p -> p.getType() == MemoryType.HEAP)
+            .mapToLong(p -> p.getPeakUsage().getUsed()).sum();
+    }
+
+    /**
+     * Collects garbage and resets the heap peaks outside the measured load, so that the heap used
+     * by earlier loads is not counted.
+     */
+    @Setup(Level.Invocation)
+    public void resetHeap() {
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        heapBefore = heapPeak();
+    }
+
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Benchmark
+    public OWLOntology loadTaxon() throws OWLOntologyCreationException {
+        long start = System.nanoTime();
+        OWLOntology ontology = load();
+        nanos += System.nanoTime() - start;
+        loads++;
+        peakBytes = Math.max(peakBytes, heapPeak() - heapBefore);
+        return ontology;
+    }
+}
@@ -0,0 +1,96 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.GZipStreamDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentTarget;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.model.OWLOntologyWriterConfiguration;
+
+/**
+ * Saves NCBITaxon as RDF/XML and Turtle, with and without streaming rendering. JMH reports the
+ * save time; axioms per second and peak heap bytes during the save are printed at the end of each
+ * trial.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+public class RDFRendererBenchmark {
+
+    @Param({"rdfxml", "turtle"})
+    public String format;
+    @Param({"false", "true"})
+    public boolean streaming;
+    private OWLOntology taxon;
+    private OWLDocumentFormat documentFormat;
+    private long saves;
+    private long nanos;
+    private long peakBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        manager.setOntologyWriterConfiguration(
+            new OWLOntologyWriterConfiguration().withStreamingRDFRendering(streaming));
+        taxon = manager.loadOntologyFromOntologyDocument(
+            new GZipStreamDocumentSource(getClass().getResourceAsStream("/ncbitaxon.rdf.ofn.gz")));
+        documentFormat =
+            "turtle".equals(format) ? new TurtleDocumentFormat() : new RDFXMLDocumentFormat();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (saves > 0) {
+            System.out.println("RDFRendererBenchmark " + format + " streaming=" + streaming
+                + " axioms=" + taxon.getAxiomCount() + " axioms/sec="
+                + taxon.getAxiomCount() * saves * TimeUnit.SECONDS.toNanos(1) / nanos
+                + " peak bytes=" + peakBytes);
+        }
+    }
+
+    private static final class NullOutputStream extends OutputStream {
+
+        NullOutputStream() {}
+
+        @Override
+        public void write(int b) {
+            // discarded
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            // discarded
+        }
+    }
+
+    private static long heapPeak() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(p -> p.getType() == MemoryType.HEAP)
+            .mapToLong(p -> p.getPeakUsage().getUsed()).sum();
+    }
+
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Benchmark
+    public void saveTaxon() throws OWLOntologyStorageException {
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        long before = heapPeak();
+        long start = System.nanoTime();
+        taxon.getOWLOntologyManager().saveOntology(taxon, documentFormat,
+            new StreamDocumentTarget(new NullOutputStream()));
+        nanos += System.nanoTime() - start;
+        saves++;
+        peakBytes = Math.max(peakBytes, heapPeak() - before);
+    }
+}
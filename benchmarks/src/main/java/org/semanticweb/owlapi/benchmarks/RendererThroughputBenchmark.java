@@ -0,0 +1,77 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.GZipStreamDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+/**
+ * Saves NCBITaxon to a file in each textual format. JMH reports the save time; bytes written per
+ * second are printed at the end of each trial.
+ */
+@SuppressWarnings("javadoc")
+@State(Scope.Benchmark)
+public class RendererThroughputBenchmark {
+
+    @Param({"functional", "manchester", "turtle", "rdfxml", "owlxml"})
+    public String format;
+    private OWLOntology taxon;
+    private OWLDocumentFormat documentFormat;
+    private File file;
+    private long saves;
+    private long nanos;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, OWLOntologyCreationException {
+        taxon = OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(
+            new GZipStreamDocumentSource(getClass().getResourceAsStream("/ncbitaxon.rdf.ofn.gz")));
+        switch (format) {
+            case "manchester":
+                documentFormat = new ManchesterSyntaxDocumentFormat();
+                break;
+            case "turtle":
+                documentFormat = new TurtleDocumentFormat();
+                break;
+            case "rdfxml":
+                documentFormat = new RDFXMLDocumentFormat();
+                break;
+            case "owlxml":
+                documentFormat = new OWLXMLDocumentFormat();
+                break;
+            default:
+                documentFormat = new FunctionalSyntaxDocumentFormat();
+        }
+        file = File.createTempFile("ncbitaxon", "." + format);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (saves > 0) {
+            System.out.println("RendererThroughputBenchmark " + format + " bytes=" + file.length()
+                + " bytes/sec=" + file.length() * saves * TimeUnit.SECONDS.toNanos(1) / nanos);
+        }
+        file.delete();
+    }
+
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Benchmark
+    public void saveTaxon() throws OWLOntologyStorageException {
+        long start = System.nanoTime();
+        taxon.getOWLOntologyManager().saveOntology(taxon, documentFormat, IRI.create(file));
+        nanos += System.nanoTime() - start;
+        saves++;
+    }
+}
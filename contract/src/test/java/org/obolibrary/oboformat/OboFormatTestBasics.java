@@ -60,6 +60,30 @@ class OboFormatTestBasics extends TestBase {
         }
     }
 
+    /**
+     * @param middle stanzas inserted after the first six thousand terms
+     * @return a document with eight thousand term stanzas, enough for several parsing chunks
+     */
+    protected static String manyStanzas(String middle) {
+        StringBuilder b = new StringBuilder("format-version: 1.2\nontology: many\n\n");
+        for (int i = 0; i < 8000; i++) {
+            // every hundredth stanza repeats an earlier id, to be merged into the first frame
+            int id = i % 100 == 99 ? i / 2 : i;
+            b.append("[Term]\nid: X:").append(id).append("\nname: term ").append(i)
+                .append("\nis_a: X:").append(id / 2).append(" ! parent\n\n");
+            if (i == 6000) {
+                b.append(middle);
+            }
+        }
+        return b.toString();
+    }
+
+    protected static OBODoc parse(String text, int threads) throws IOException {
+        OBOFormatParser parser = new OBOFormatParser();
+        parser.setParsingThreads(threads);
+        return parser.parse(new StringReader(text));
+    }
+
     protected OBODoc parseOBOFile(String fn) {
         return parseOBOFile(fn, false, Collections.emptyMap());
     }
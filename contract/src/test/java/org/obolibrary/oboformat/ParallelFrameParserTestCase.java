@@ -0,0 +1,40 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.obolibrary.oboformat.diff.OBODocDiffer;
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.obolibrary.oboformat.parser.OBOFormatParserException;
+
+class ParallelFrameParserTestCase extends OboFormatTestBasics {
+
+    @Test
+    void shouldParseStanzasOnSeveralThreads() throws IOException {
+        String text = manyStanzas("[Typedef]\nid: part_of\nis_transitive: true\n\n");
+        OBODoc sequential = parse(text, 1);
+        OBODoc parallel = parse(text, 3);
+        assertEquals(0, OBODocDiffer.getDiffs(sequential, parallel).size());
+        assertEquals(sequential.getTermFrames().size(), parallel.getTermFrames().size());
+        assertEquals(1, parallel.getTypedefFrames().size());
+        Frame merged = parallel.getTermFrame("X:49");
+        assert merged != null;
+        assertEquals(2, merged.getClauses(OboFormatTag.TAG_NAME).size());
+    }
+
+    @Test
+    void shouldReportErrorLineOnSeveralThreads() {
+        String text = manyStanzas("[Term]\nid: X:bad\nname: unclosed {qualifier\n\n");
+        OBOFormatParserException sequential =
+            assertThrows(OBOFormatParserException.class, () -> parse(text, 1));
+        OBOFormatParserException parallel =
+            assertThrows(OBOFormatParserException.class, () -> parse(text, 3));
+        assertEquals(sequential.getLineNo(), parallel.getLineNo());
+        assertEquals(sequential.getMessage(), parallel.getMessage());
+    }
+}
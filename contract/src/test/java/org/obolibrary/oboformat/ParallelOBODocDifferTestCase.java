@@ -0,0 +1,34 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.obolibrary.oboformat.diff.Diff;
+import org.obolibrary.oboformat.diff.OBODocDiffer;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.semanticweb.owlapi.apitest.TestFilenames;
+
+class ParallelOBODocDifferTestCase extends OboFormatTestBasics {
+
+    @Test
+    void shouldDiffOnSeveralThreadsAndWhileParsing() throws IOException {
+        OBODoc obodoc1 = parseOBOFile(TestFilenames.CARO_OBO);
+        OBODoc obodoc2 = parseOBOFile(TestFilenames.CARO_MODIFIED_OBO);
+        List<Diff> diffs = OBODocDiffer.getDiffs(obodoc1, obodoc2);
+        assertEquals(diffs.toString(), OBODocDiffer.getDiffs(obodoc1, obodoc2, 3).toString());
+        List<String> streamed = new ArrayList<>();
+        OBODocDiffer.getDiffs(new StringReader(readResource(TestFilenames.CARO_OBO)),
+            new StringReader(readResource(TestFilenames.CARO_MODIFIED_OBO)), 3,
+            d -> streamed.add(d.toString()));
+        List<String> expected = asList(diffs.stream().map(Diff::toString).sorted());
+        Collections.sort(streamed);
+        assertEquals(expected, streamed);
+    }
+}
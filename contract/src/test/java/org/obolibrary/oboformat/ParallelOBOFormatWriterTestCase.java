@@ -0,0 +1,25 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.formats.OBODocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+class ParallelOBOFormatWriterTestCase extends OboFormatTestBasics {
+
+    @Test
+    void shouldRenderFramesOnSeveralThreads() {
+        OWLOntology o = loadFrom(manyStanzas("[Typedef]\nid: part_of\nxref: BFO:0000050\n\n"),
+            new OBODocumentFormat(), new OWLOntologyLoaderConfiguration());
+        // merged duplicate frames have several names
+        OBODocumentFormat sequential = new OBODocumentFormat();
+        sequential.setParameter(OBODocumentFormat.VALIDATION, Boolean.FALSE);
+        OBODocumentFormat parallel = new OBODocumentFormat();
+        parallel.setParameter(OBODocumentFormat.VALIDATION, Boolean.FALSE);
+        parallel.setParameter(OBODocumentFormat.THREADS, Integer.valueOf(3));
+        assertEquals(saveOntology(o, sequential).toString(),
+            saveOntology(o, parallel).toString());
+    }
+}
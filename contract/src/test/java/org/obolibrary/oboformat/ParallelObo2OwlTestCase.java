@@ -0,0 +1,24 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.obolibrary.obo2owl.OWLAPIObo2Owl;
+import org.obolibrary.oboformat.model.OBODoc;
+
+class ParallelObo2OwlTestCase extends OboFormatTestBasics {
+
+    @Test
+    void shouldTranslateTermFramesOnSeveralThreads() throws IOException {
+        OBODoc doc = parse(manyStanzas("[Typedef]\nid: part_of\nxref: BFO:0000050\n\n[Term]\n"
+            + "id: X:part\nrelationship: part_of X:1 {cardinality=\"1\"}\n\n"), 1);
+        OWLAPIObo2Owl sequential = new OWLAPIObo2Owl(setupManager());
+        OWLAPIObo2Owl parallel = new OWLAPIObo2Owl(setupManager());
+        parallel.setTranslationThreads(3);
+        assertEquals(asUnorderedSet(convert(doc, sequential).axioms()),
+            asUnorderedSet(convert(doc, parallel).axioms()));
+    }
+}
@@ -0,0 +1,53 @@
+package org.obolibrary.oboformat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.formats.OBODocumentFormat;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+class StreamingObo2OwlTestCase extends OboFormatTestBasics {
+
+    @Test
+    void shouldTranslateTermFramesWhileParsing() {
+        // the typedef follows the term that refers to it
+        String text = manyStanzas("[Term]\nid: X:part\nrelationship: part_of X:1\n\n"
+            + "[Typedef]\nid: part_of\nxref: BFO:0000050\n\n");
+        OWLOntology buffered = loadFrom(text, new OBODocumentFormat(),
+            new OWLOntologyLoaderConfiguration());
+        OWLOntology streamed = loadFrom(text, new OBODocumentFormat(),
+            new OWLOntologyLoaderConfiguration().setStreamOBOTranslation(true));
+        assertEquals(asUnorderedSet(buffered.axioms()), asUnorderedSet(streamed.axioms()));
+        assertEquals(buffered.getOntologyID(), streamed.getOntologyID());
+    }
+
+    @Test
+    void shouldMergeDuplicateTermFramesWhileParsing() {
+        // the genus and the differentia of X:def are in two stanzas
+        String text = manyStanzas("[Term]\nid: X:def\nintersection_of: X:1\n\n[Typedef]\n"
+            + "id: part_of\nxref: BFO:0000050\n\n[Term]\nid: X:def\n"
+            + "intersection_of: part_of X:2\n\n");
+        OWLOntology buffered = loadFrom(text, new OBODocumentFormat(),
+            new OWLOntologyLoaderConfiguration());
+        OWLOntology streamed = loadFrom(text, new OBODocumentFormat(),
+            new OWLOntologyLoaderConfiguration().setStreamOBOTranslation(true));
+        assertEquals(1, buffered.getAxiomCount(AxiomType.EQUIVALENT_CLASSES));
+        assertEquals(asUnorderedSet(buffered.axioms()), asUnorderedSet(streamed.axioms()));
+    }
+
+    @Test
+    void shouldSetDefaultNamespaceAfterMergingDuplicateTermFrames() {
+        // only the second stanza of X:1 has a namespace, so the default one does not apply
+        String text = "format-version: 1.2\nontology: ns\ndefault-namespace: first\n\n"
+            + "[Term]\nid: X:1\nname: one\n\n[Term]\nid: X:2\n\n"
+            + "[Term]\nid: X:1\nnamespace: second\n\n";
+        OWLOntology buffered = loadFrom(text, new OBODocumentFormat(),
+            new OWLOntologyLoaderConfiguration());
+        OWLOntology streamed = loadFrom(text, new OBODocumentFormat(),
+            new OWLOntologyLoaderConfiguration().setStreamOBOTranslation(true));
+        assertEquals(asUnorderedSet(buffered.axioms()), asUnorderedSet(streamed.axioms()));
+    }
+}
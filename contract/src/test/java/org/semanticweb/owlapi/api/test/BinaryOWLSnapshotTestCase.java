@@ -0,0 +1,132 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.binary.parser.BinaryOWLParser;
+import org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentTarget;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+class BinaryOWLSnapshotTestCase extends TestBase {
+
+    private OWLOntology ontology() throws OWLException {
+        OWLOntology o = m.createOntology(IRI.create("http://www.binary.org/", "ontology"));
+        o.applyChange(new AddOntologyAnnotation(o, RDFSLabel("snapshot")));
+        o.addAxioms(new Builder().all());
+        return o;
+    }
+
+    private static byte[] save(OWLOntology o) throws OWLException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        o.saveOntology(new BinaryOWLDocumentFormat(), new StreamDocumentTarget(out));
+        return out.toByteArray();
+    }
+
+    private static StreamDocumentSource source(byte[] bytes) {
+        return new StreamDocumentSource(new ByteArrayInputStream(bytes),
+            IRI.create("urn:test:", "snapshot"), new BinaryOWLDocumentFormat(), null);
+    }
+
+    @Test
+    void shouldRoundTripThroughStream() throws OWLException {
+        OWLOntology o = ontology();
+        OWLOntology loaded = m1.loadOntologyFromOntologyDocument(source(save(o)));
+        assertEquals(o.getOntologyID(), loaded.getOntologyID());
+        assertEquals(o.annotationsAsList(), loaded.annotationsAsList());
+        assertTrue(equal(o, loaded));
+    }
+
+    @Test
+    void shouldRoundTripThroughMappedFile() throws OWLException {
+        OWLOntology o = ontology();
+        File file = new File(folder, "snapshot.owlb");
+        o.saveOntology(new BinaryOWLDocumentFormat(), IRI.create(file));
+        OWLOntology loaded = m1.loadOntologyFromOntologyDocument(
+            new FileDocumentSource(file, new BinaryOWLDocumentFormat()));
+        assertEquals(o.getOntologyID(), loaded.getOntologyID());
+        assertTrue(equal(o, loaded));
+    }
+
+    @Test
+    void shouldLoadImportsOfSnapshot() throws OWLException {
+        OWLOntology imported = m.createOntology(IRI.create("http://www.binary.org/", "imported"));
+        imported.addAxioms(new Builder().all());
+        File file = new File(folder, "imported.ofn");
+        imported.saveOntology(new FunctionalSyntaxDocumentFormat(), IRI.create(file));
+        OWLOntology o = m.createOntology(IRI.create("http://www.binary.org/", "importer"));
+        o.applyChange(new AddImport(o, ImportsDeclaration(IRI.create(file))));
+        OWLOntology loaded = m1.loadOntologyFromOntologyDocument(source(save(o)));
+        assertEquals(1, loaded.imports().count());
+        OWLOntology loadedImport = loaded.imports().iterator().next();
+        assertEquals(imported.getOntologyID(), loadedImport.getOntologyID());
+        assertTrue(equal(imported, loadedImport));
+    }
+
+    @Test
+    void shouldSkipAnnotationAxiomSections() throws OWLException {
+        OWLOntology o = ontology();
+        OWLOntology loaded = m1.loadOntologyFromOntologyDocument(
+            source(save(o)), new OWLOntologyLoaderConfiguration().setLoadAnnotationAxioms(false));
+        assertEquals(0, loaded.getAxiomCount(AxiomType.ANNOTATION_ASSERTION));
+        assertEquals(o.getLogicalAxiomCount(), loaded.getLogicalAxiomCount());
+        assertEquals(o.getAxiomCount(AxiomType.DECLARATION),
+            loaded.getAxiomCount(AxiomType.DECLARATION));
+    }
+
+    @Test
+    void shouldLeaveCharacterAndShortSourcesToOtherParsers() {
+        BinaryOWLParser parser = new BinaryOWLParser();
+        OWLParserException fromString = assertThrows(OWLParserException.class,
+            () -> parser.parse(new StringDocumentSource("Ontology: <urn:test:o>"),
+                m.createOntology(), config));
+        assertFalse(fromString.getCause() instanceof OWLOntologyInputSourceException);
+        OWLParserException fromShortStream = assertThrows(OWLParserException.class,
+            () -> parser.parse(source(new byte[] {1, 2}), m.createOntology(), config));
+        assertFalse(fromShortStream.getCause() instanceof IOException);
+    }
+
+    @Test
+    void shouldRemapAnonymousIndividualsPerDocument() throws OWLException {
+        OWLOntology o = m.createOntology();
+        OWLAnonymousIndividual node = AnonymousIndividual("_:node");
+        o.addAxioms(ClassAssertion(Class(iri("urn:test:", "A")), node),
+            ObjectPropertyAssertion(ObjectProperty(iri("urn:test:", "p")), node, node));
+        byte[] snapshot = save(o);
+        List<OWLAnonymousIndividual> first =
+            asList(m1.loadOntologyFromOntologyDocument(source(snapshot)).anonymousIndividuals());
+        OWLOntologyManager other = setupManager();
+        List<OWLAnonymousIndividual> second =
+            asList(other.loadOntologyFromOntologyDocument(source(snapshot)).anonymousIndividuals());
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertNotEquals(node, first.get(0));
+        assertNotEquals(first.get(0), second.get(0));
+    }
+}
@@ -0,0 +1,75 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.CacheScope;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import uk.ac.manchester.cs.owl.owlapi.HasCacheStatistics;
+
+class DataFactoryCacheTestCase {
+
+    private static final IRI A = IRI.create("http://www.cache.org#", "A");
+    private static final OWLOntologyLoaderConfiguration FACTORY_SCOPE =
+        new OWLOntologyLoaderConfiguration().setCacheScope(CacheScope.FACTORY)
+            .setRecordCacheStats(true);
+
+    @Test
+    void shouldKeepStatisticsPerFactory() {
+        OWLDataFactory first = OWLManager.getOWLDataFactory(FACTORY_SCOPE);
+        OWLDataFactory second = OWLManager.getOWLDataFactory(FACTORY_SCOPE);
+        assertSame(first.getOWLClass(A), first.getOWLClass(A));
+        second.getOWLObjectProperty(A);
+        Map<String, CacheStats> stats = ((HasCacheStatistics) first).cacheStatistics();
+        assertEquals(1, stats.get("classes").hitCount());
+        assertEquals(1, stats.get("classes").missCount());
+        assertEquals(0, stats.get("objectProperties").requestCount());
+        Map<String, CacheStats> other = ((HasCacheStatistics) second).cacheStatistics();
+        assertEquals(0, other.get("classes").requestCount());
+        assertEquals(1, other.get("objectProperties").missCount());
+    }
+
+    @Test
+    void shouldPublishStatisticsThroughJMX() throws JMException {
+        OWLDataFactory df = OWLManager.getOWLDataFactory(FACTORY_SCOPE);
+        df.getOWLClass(A);
+        df.getOWLClass(A);
+        HasCacheStatistics caches = (HasCacheStatistics) df;
+        ObjectName name = new ObjectName(
+            "org.semanticweb.owlapi:type=DataFactoryCache,scope=\"jmxtest\",name=classes");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        caches.registerCacheMBeans("jmxtest");
+        try {
+            assertTrue(server.isRegistered(name));
+            assertEquals(Long.valueOf(1), server.getAttribute(name, "HitCount"));
+        } finally {
+            caches.unregisterCacheMBeans();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void shouldCreateManagerWithDedicatedDataFactory() {
+        OWLDataFactory df = OWLManager.getOWLDataFactory(FACTORY_SCOPE);
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager(df);
+        assertSame(df, manager.getOWLDataFactory());
+        assertFalse(manager.getOntologyParsers().isEmpty());
+    }
+}
@@ -0,0 +1,74 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.OWLParserFactory;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.util.PriorityCollection;
+
+import uk.ac.manchester.cs.owl.owlapi.FormatSniffer;
+import uk.ac.manchester.cs.owl.owlapi.FormatSniffer.Syntax;
+
+class FormatSnifferTestCase extends TestBase {
+
+    static Stream<Arguments> documents() {
+        return Stream.of(
+            Arguments.of("<?xml version=\"1.0\"?>\n<!DOCTYPE rdf:RDF [\n<!ENTITY owl \"x\" >\n]>\n"
+                + "<rdf:RDF xmlns=\"http://e.org/\">", Syntax.RDFXML),
+            Arguments.of("<rdf:RDF>\n<owl:Ontology rdf:about=\"\"/>", Syntax.RDFXML),
+            Arguments.of("<?xml version=\"1.0\"?>\n<!-- comment -->\n"
+                + "<Ontology xmlns=\"http://www.w3.org/2002/07/owl#\" ontologyIRI=\"http://e.org\">",
+                Syntax.OWLXML),
+            Arguments.of("# comment\nPrefix(:=<http://e.org/>)\nOntology(<http://e.org>)",
+                Syntax.FUNCTIONAL),
+            Arguments.of("Ontology(<http://e.org>)", Syntax.FUNCTIONAL),
+            Arguments.of("Prefix: : <http://e.org/>\nOntology: <http://e.org>", Syntax.MANCHESTER),
+            Arguments.of("Ontology: <http://e.org>", Syntax.MANCHESTER),
+            Arguments.of("\uFEFF@prefix : <http://e.org/> .", Syntax.TURTLE),
+            Arguments.of("PREFIX ex: <http://e.org/>", Syntax.TURTLE),
+            Arguments.of("<http://e.org/a> <http://e.org/p> <http://e.org/b> .", Syntax.TURTLE),
+            Arguments.of("format-version: 1.2\nontology: test", Syntax.OBO),
+            Arguments.of("! comment\n[Term]\nid: X:1", Syntax.OBO));
+    }
+
+    @ParameterizedTest
+    @MethodSource("documents")
+    void shouldRecognizeSyntax(String document, Syntax expected) {
+        assertEquals(Optional.of(expected), FormatSniffer.sniff(document));
+    }
+
+    @Test
+    void shouldNotGuessUnknownSyntax() {
+        assertFalse(FormatSniffer.sniff("(implies A B)").isPresent());
+        assertFalse(FormatSniffer.sniff("   ").isPresent());
+    }
+
+    @Test
+    void shouldRankMatchingParsersFirst() {
+        PriorityCollection<OWLParserFactory> parsers =
+            FormatSniffer.rank(Syntax.MANCHESTER, m.getOntologyParsers());
+        assertEquals(m.getOntologyParsers().size(), parsers.size());
+        assertTrue(Syntax.MANCHESTER.matches(parsers.iterator().next()));
+    }
+
+    @Test
+    void shouldLoadWithoutFormat() throws OWLOntologyCreationException {
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new StringDocumentSource(
+            "Prefix: : <http://e.org/>\nOntology: <http://e.org>\nClass: A"));
+        assertTrue(o.getFormat() instanceof ManchesterSyntaxDocumentFormat);
+        assertEquals(1, o.classesInSignature().count());
+    }
+}
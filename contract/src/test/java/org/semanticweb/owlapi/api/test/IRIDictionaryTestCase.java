@@ -0,0 +1,70 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+class IRIDictionaryTestCase {
+
+    private static final String NS = "http://www.dictionary.org/ontology#";
+    private static final OWLOntologyLoaderConfiguration DICTIONARY =
+        new OWLOntologyLoaderConfiguration().setUseIRIDictionary(true);
+
+    @Test
+    void shouldShareEqualIRIsWithinAFactory() {
+        OWLDataFactory df = OWLManager.getOWLDataFactory(DICTIONARY);
+        OWLClass c = df.getOWLClass(IRI.create(new String(NS) + "Shared"));
+        IRI property = df.getOWLObjectProperty(IRI.create(new String(NS), new String("Shared")))
+            .getIRI();
+        assertSame(c.getIRI(), property);
+        assertSame(c, df.getOWLClass(IRI.create(new String(NS) + "Shared")));
+    }
+
+    @Test
+    void shouldKeepOneDictionaryPerFactory() {
+        IRI first = OWLManager.getOWLDataFactory(DICTIONARY)
+            .getOWLClass(IRI.create(new String(NS) + "PerFactory")).getIRI();
+        IRI second = OWLManager.getOWLDataFactory(DICTIONARY)
+            .getOWLClass(IRI.create(new String(NS) + "PerFactory")).getIRI();
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void shouldShareNothingWithoutDictionary() {
+        OWLDataFactory df = OWLManager.getOWLDataFactory();
+        IRI first = df.getOWLClass(IRI.create(new String(NS) + "Disabled")).getIRI();
+        IRI second = df.getOWLClass(IRI.create(new String(NS) + "Disabled")).getIRI();
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void shouldShareParsedIRIsInTheManagerOfTheFactory() throws OWLOntologyCreationException {
+        OWLOntologyManager m =
+            OWLManager.createOWLOntologyManager(OWLManager.getOWLDataFactory(DICTIONARY));
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new StringDocumentSource("Prefix(:=<"
+            + NS + ">)\nOntology(Declaration(Class(:A))\nSubClassOf(:A :B)\nSubClassOf(:C :A))"));
+        OWLClass declared =
+            o.axioms(AxiomType.DECLARATION).findAny().get().getEntity().asOWLClass();
+        List<OWLClass> used = asList(o.axioms(AxiomType.SUBCLASS_OF)
+            .flatMap(ax -> ax.classesInSignature()).filter(declared::equals));
+        assertEquals(2, used.size());
+        used.forEach(c -> assertSame(declared.getIRI(), c.getIRI()));
+    }
+}
@@ -0,0 +1,78 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.CacheScope;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+import uk.ac.manchester.cs.owl.owlapi.LiteralStore;
+import uk.ac.manchester.cs.owl.owlapi.OWLLiteralImplOffHeap;
+
+class OffHeapLiteralTestCase {
+
+    private static final String DEFINITION =
+        "A long definition, with non ASCII characters: \u00e8\u00e0\u00f9 \u4e2d\u6587.";
+    private final OWLDataFactory df = OWLManager.getOWLDataFactory(
+        new OWLOntologyLoaderConfiguration().setStoreLiteralsOffHeap(true)
+            .setCacheScope(CacheScope.FACTORY));
+    private final OWLDataFactory onHeap = OWLManager.getOWLDataFactory();
+
+    @Test
+    void shouldBeEqualToOnHeapLiterals() {
+        OWLLiteral stored = df.getOWLLiteral(DEFINITION);
+        assertTrue(stored instanceof OWLLiteralImplOffHeap);
+        assertEquals(DEFINITION, stored.getLiteral());
+        assertEquals(onHeap.getOWLLiteral(DEFINITION), stored);
+        assertEquals(onHeap.getOWLLiteral(DEFINITION).hashCode(), stored.hashCode());
+        OWLLiteral lang = df.getOWLLiteral(DEFINITION, "EN");
+        assertEquals(onHeap.getOWLLiteral(DEFINITION, "en"), lang);
+        assertEquals(onHeap.getOWLLiteral(DEFINITION, "en").hashCode(), lang.hashCode());
+        assertNotEquals(stored, lang);
+    }
+
+    @Test
+    void shouldKeepLiteralsOnHeapWithGlobalScope() {
+        OWLDataFactory global = OWLManager.getOWLDataFactory(
+            new OWLOntologyLoaderConfiguration().setStoreLiteralsOffHeap(true)
+                .setCacheScope(CacheScope.GLOBAL));
+        OWLLiteral literal = global.getOWLLiteral(DEFINITION);
+        assertFalse(literal instanceof OWLLiteralImplOffHeap);
+        assertEquals(onHeap.getOWLLiteral(DEFINITION), literal);
+    }
+
+    @Test
+    void shouldStoreEqualStringsOnce() {
+        LiteralStore store = new LiteralStore(64);
+        long first = store.store(DEFINITION);
+        store.store("short");
+        // longer than a chunk
+        String longString = DEFINITION + DEFINITION + DEFINITION;
+        long second = store.store(longString);
+        assertEquals(first, store.store(new String(DEFINITION)));
+        assertEquals(3, store.size());
+        assertEquals(DEFINITION, store.get(first));
+        assertEquals(longString, store.get(second));
+        assertEquals(longString.hashCode(), store.hash(second));
+    }
+
+    @Test
+    void shouldStoreManyStrings() {
+        LiteralStore store = new LiteralStore(256);
+        long[] handles = new long[5000];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = store.store("synonym " + i);
+        }
+        for (int i = 0; i < handles.length; i++) {
+            assertEquals("synonym " + i, store.get(handles[i]));
+            assertEquals(handles[i], store.store("synonym " + i));
+        }
+        assertEquals(handles.length, store.size());
+    }
+}
@@ -0,0 +1,156 @@
+package org.semanticweb.owlapi.api.test.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.UnloadableImportException;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.SimpleIRIMapper;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologyFactoryImpl;
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologyImpl;
+
+class ParallelImportsTestCase extends TestBase {
+
+    private static final String NS = "http://www.parallel.org/";
+    private final OWLOntologyLoaderConfiguration parallel =
+        config.setLoadImportsInParallel(true).setImportsLoadingThreads(2);
+
+    private File write(String name, String... imports) throws IOException {
+        StringBuilder b = new StringBuilder("Ontology(<").append(NS).append(name).append('>');
+        for (String i : imports) {
+            b.append("\nImport(<").append(NS).append(i).append(">)");
+        }
+        b.append("\nDeclaration(Class(<").append(NS).append(name.toUpperCase()).append(">)))");
+        File file = new File(folder, name + ".ofn");
+        Files.write(file.toPath(), b.toString().getBytes(StandardCharsets.UTF_8));
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS, name), IRI.create(file)));
+        return file;
+    }
+
+    private File writeManchester(String name, String imported) throws IOException {
+        String content = "Prefix: : <" + NS + ">\nOntology: <" + NS + name + ">\nImport: <" + NS
+            + imported + ">\nClass: :" + name.toUpperCase() + "\n    SubClassOf: :"
+            + imported.toUpperCase() + '\n';
+        File file = new File(folder, name + ".omn");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS, name), IRI.create(file)));
+        return file;
+    }
+
+    @Test
+    void shouldLoadImportsBeforeParsingManchesterSyntax()
+        throws IOException, OWLOntologyCreationException {
+        // the Manchester syntax parser needs the class declared in c to parse man
+        File root = write("root", "man");
+        writeManchester("man", "c");
+        write("c");
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new FileDocumentSource(root), parallel);
+        assertEquals(3, m.ontologies().count());
+        assertEquals(3, o.importsClosure().count());
+        OWLOntology man = m.getOntology(IRI.create(NS, "man"));
+        assertNotNull(man);
+        assertEquals(1, man.getAxiomCount(AxiomType.SUBCLASS_OF));
+        m.ontologies().forEach(ont -> {
+            assertSame(m, ont.getOWLOntologyManager());
+            ont.importsDeclarations().forEach(i -> assertNotNull(m.getImportedOntology(i)));
+        });
+    }
+
+    @Test
+    void shouldLoadImportsOfManchesterSyntaxRoot()
+        throws IOException, OWLOntologyCreationException {
+        File root = writeManchester("man", "c");
+        write("c");
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new FileDocumentSource(root), parallel);
+        assertEquals(2, o.importsClosure().count());
+        assertEquals(1, o.getAxiomCount(AxiomType.SUBCLASS_OF));
+    }
+
+    @Test
+    void shouldLoadClosureWithDiamondAndCycle()
+        throws IOException, OWLOntologyCreationException {
+        File root = write("root", "a", "b");
+        write("a", "c");
+        write("b", "c");
+        write("c", "a");
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new FileDocumentSource(root), parallel);
+        assertEquals(4, m.ontologies().count());
+        assertEquals(4, o.importsClosure().count());
+        assertEquals(4, o.getAxiomCount(Imports.INCLUDED));
+        m.ontologies().forEach(ont -> {
+            assertSame(m, ont.getOWLOntologyManager());
+            ont.importsDeclarations().forEach(i -> assertNotNull(m.getImportedOntology(i)));
+        });
+        assertEquals(2, m.getOntology(IRI.create(NS, "c")).importsClosure().count());
+    }
+
+    @Test
+    void shouldNotRegisterAnythingWhenAnImportIsMissing() throws IOException {
+        File root = write("root", "a", "missing");
+        write("a");
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS, "missing"),
+            IRI.create(new File(folder, "missing.ofn"))));
+        assertThrows(UnloadableImportException.class,
+            () -> m.loadOntologyFromOntologyDocument(new FileDocumentSource(root), parallel));
+        assertEquals(0, m.ontologies().count());
+    }
+
+    @Test
+    void shouldReportMissingImportsSilently()
+        throws IOException, OWLOntologyCreationException {
+        File root = write("root", "a", "missing");
+        write("a");
+        m.getIRIMappers().add(new SimpleIRIMapper(IRI.create(NS, "missing"),
+            IRI.create(new File(folder, "missing.ofn"))));
+        List<IRI> missing = new ArrayList<>();
+        m.addMissingImportListener(e -> missing.add(e.getImportedOntologyURI()));
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new FileDocumentSource(root), parallel
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT));
+        assertEquals(2, o.importsClosure().count());
+        assertEquals(1, missing.size());
+        assertTrue(missing.contains(IRI.create(NS, "missing")));
+    }
+
+    @Test
+    void shouldNotChangeTheLockOfTheManagerFactories()
+        throws IOException, OWLOntologyCreationException {
+        Set<ReadWriteLock> locks = Collections.newSetFromMap(new IdentityHashMap<>());
+        m.getOntologyFactories().set(new OWLOntologyFactoryImpl(OWLOntologyImpl::new) {
+            @Override
+            public void setLock(ReadWriteLock lock) {
+                locks.add(lock);
+            }
+        });
+        File root = write("root", "a", "b");
+        write("a", "c");
+        write("b", "c");
+        write("c");
+        OWLOntology o = m.loadOntologyFromOntologyDocument(new FileDocumentSource(root), parallel);
+        assertEquals(4, o.importsClosure().count());
+        assertEquals(1, locks.size());
+    }
+}
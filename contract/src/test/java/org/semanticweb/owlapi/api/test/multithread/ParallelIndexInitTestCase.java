@@ -0,0 +1,63 @@
+package org.semanticweb.owlapi.api.test.multithread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import uk.ac.manchester.cs.owl.owlapi.HasPrewarmIndexes;
+
+class ParallelIndexInitTestCase extends TestBase {
+
+    private static final String NS = "urn:test:parallel#";
+    // large enough for the lazy indexes to be built in parallel
+    private static final int CLASSES = 20000;
+    private final List<OWLClass> classes = new ArrayList<>();
+
+    private OWLOntology createLargeOntology() {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        OWLClass previous = Class(iri(NS, "C0"));
+        classes.add(previous);
+        for (int i = 1; i < CLASSES; i++) {
+            OWLClass c = Class(iri(NS, "C" + i));
+            classes.add(c);
+            axioms.add(SubClassOf(c, previous));
+            axioms.add(EquivalentClasses(c, ObjectSomeValuesFrom(P, previous)));
+            previous = c;
+        }
+        OWLOntology o = createAnon();
+        o.addAxioms(axioms);
+        return o;
+    }
+
+    private void assertIndexesComplete(OWLOntology o) {
+        for (int i = 1; i < CLASSES; i++) {
+            OWLClass c = classes.get(i);
+            assertEquals(1, o.subClassAxiomsForSubClass(c).count());
+            assertEquals(1, o.subClassAxiomsForSuperClass(classes.get(i - 1)).count());
+            assertEquals(1, o.equivalentClassesAxioms(c).count());
+            assertEquals(2, o.axioms(c).count());
+        }
+    }
+
+    @Test
+    void shouldBuildLargeIndexesOnFirstRead() {
+        assertIndexesComplete(createLargeOntology());
+    }
+
+    @Test
+    void shouldPrewarmIndexes() {
+        OWLOntology o = createLargeOntology();
+        ((HasPrewarmIndexes) o)
+            .prewarmIndexes(Arrays.asList(AxiomType.SUBCLASS_OF, AxiomType.EQUIVALENT_CLASSES));
+        assertIndexesComplete(o);
+    }
+}
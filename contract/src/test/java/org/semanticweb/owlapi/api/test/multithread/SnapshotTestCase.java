@@ -0,0 +1,101 @@
+package org.semanticweb.owlapi.api.test.multithread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import uk.ac.manchester.cs.owl.owlapi.HasSnapshots;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.Concurrency;
+
+class SnapshotTestCase extends TestBase {
+
+    private static final String NS = "http://www.snapshot.org#";
+    private final OWLClass a = Class(NS, "A");
+    private final OWLClass b = Class(NS, "B");
+    private final OWLClass c = Class(NS, "C");
+
+    private static void assertSnapshotsAreStable(OWLOntologyManager manager, OWLAxiom first,
+        OWLAxiom second) throws OWLOntologyCreationException {
+        OWLOntology ontology = manager.createOntology();
+        ontology.add(first);
+        HasSnapshots snapshots = (HasSnapshots) ontology;
+        OWLOntology snapshot = snapshots.snapshot();
+        assertSame(snapshot, snapshots.snapshot());
+        ontology.add(second);
+        assertEquals(1, snapshot.getAxiomCount());
+        assertTrue(snapshot.containsAxiom(first));
+        assertFalse(snapshot.containsAxiom(second));
+        assertEquals(1, snapshot.getAxiomCount(AxiomType.SUBCLASS_OF));
+        OWLOntology next = snapshots.snapshot();
+        assertNotSame(snapshot, next);
+        assertEquals(2, next.getAxiomCount());
+        assertEquals(ontology.getOntologyID(), next.getOntologyID());
+    }
+
+    @Test
+    void shouldNotSeeChangesAfterSnapshot() throws OWLOntologyCreationException {
+        assertSnapshotsAreStable(OWLManager.createConcurrentOWLOntologyManager(), SubClassOf(a, b),
+            SubClassOf(b, c));
+    }
+
+    @Test
+    void shouldNotSeeChangesAfterSnapshotWithStripedLocks() throws OWLOntologyCreationException {
+        assertSnapshotsAreStable(
+            OWLManager.createConcurrentOWLOntologyManager(Concurrency.STRIPED), SubClassOf(a, b),
+            SubClassOf(b, c));
+    }
+
+    @Test
+    void shouldKeepIndexesSharedWithSnapshot() throws OWLOntologyCreationException {
+        OWLOntology ontology = OWLManager.createConcurrentOWLOntologyManager().createOntology();
+        for (int i = 0; i < 5; i++) {
+            ontology.add(SubClassOf(a, Class(NS, "D" + i)));
+        }
+        assertEquals(5, ontology.subClassAxiomsForSubClass(a).count());
+        OWLOntology snapshot = ((HasSnapshots) ontology).snapshot();
+        ontology.remove(SubClassOf(a, Class(NS, "D0")));
+        ontology.add(SubClassOf(a, c));
+        ontology.add(SubClassOf(b, c));
+        assertEquals(5, snapshot.subClassAxiomsForSubClass(a).count());
+        assertTrue(snapshot.containsAxiom(SubClassOf(a, Class(NS, "D0"))));
+        assertFalse(
+            snapshot.subClassAxiomsForSubClass(a).anyMatch(x -> x.getSuperClass().equals(c)));
+        assertEquals(0, snapshot.subClassAxiomsForSubClass(b).count());
+        assertEquals(1, snapshot.subClassAxiomsForSuperClass(Class(NS, "D0")).count());
+        assertEquals(5, ontology.subClassAxiomsForSubClass(a).count());
+        assertEquals(0, ontology.subClassAxiomsForSuperClass(Class(NS, "D0")).count());
+        assertEquals(2, ontology.subClassAxiomsForSuperClass(c).count());
+    }
+
+    @Test
+    void shouldKeepIntIdentifierIndexesSharedWithSnapshot() throws OWLOntologyCreationException {
+        OWLOntology ontology = OWLManager.createConcurrentOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(
+                new StringDocumentSource("Prefix(:=<" + NS + ">)\nOntology(SubClassOf(:A :D0)\n"
+                    + "SubClassOf(:A :D1)\nSubClassOf(:A :D2))"),
+                config.setUsePrimitiveIdIndexes(true));
+        assertEquals(3, ontology.subClassAxiomsForSubClass(a).count());
+        OWLOntology snapshot = ((HasSnapshots) ontology).snapshot();
+        ontology.remove(SubClassOf(a, Class(NS, "D0")));
+        ontology.add(SubClassOf(a, c));
+        assertEquals(3, snapshot.subClassAxiomsForSubClass(a).count());
+        assertEquals(1, snapshot.subClassAxiomsForSuperClass(Class(NS, "D0")).count());
+        assertEquals(0, snapshot.subClassAxiomsForSuperClass(c).count());
+        assertEquals(3, ontology.subClassAxiomsForSubClass(a).count());
+        assertEquals(0, ontology.subClassAxiomsForSuperClass(Class(NS, "D0")).count());
+        assertEquals(1, ontology.subClassAxiomsForSuperClass(c).count());
+    }
+}
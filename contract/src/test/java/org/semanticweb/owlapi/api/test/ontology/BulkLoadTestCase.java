@@ -0,0 +1,88 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asUnorderedSet;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OntologyConfigurator;
+
+class BulkLoadTestCase extends TestBase {
+
+    private static final String NS = "http://www.bulkload.org/";
+    private static final String INPUT = "Prefix(:=<" + NS + ">)\n" + "Ontology(<" + NS + "o>\n"
+        + "Declaration(Class(:A)) Declaration(Class(:B)) Declaration(Class(:C))\n"
+        + "SubClassOf(:A :B) SubClassOf(:B :C)\n"
+        + "AnnotationAssertion(rdfs:label :A \"a\"))";
+
+    private OWLOntology load(String input, boolean bulk) {
+        return loadFrom(new StringDocumentSource(input),
+            new OWLOntologyLoaderConfiguration().setBulkLoad(bulk));
+    }
+
+    private OWLOntology load(boolean bulk) {
+        return load(INPUT, bulk);
+    }
+
+    @Test
+    void shouldIndexBulkLoadedAxiomsOnFirstRead() {
+        OWLOntology expected = load(false);
+        OWLOntology actual = load(true);
+        equal(expected, actual);
+        OWLClass a = Class(iri(NS, "A"));
+        OWLClass b = Class(iri(NS, "B"));
+        assertTrue(actual.isDeclared(a));
+        assertEquals(asUnorderedSet(expected.signature()), asUnorderedSet(actual.signature()));
+        assertEquals(asUnorderedSet(expected.subClassAxiomsForSubClass(b)),
+            asUnorderedSet(actual.subClassAxiomsForSubClass(b)));
+        assertEquals(asUnorderedSet(expected.referencingAxioms(a)),
+            asUnorderedSet(actual.referencingAxioms(a)));
+        actual.remove(SubClassOf(a, b));
+        assertEquals(0, actual.subClassAxiomsForSubClass(a).count());
+    }
+
+    @Test
+    void shouldIndexLargeBulkLoads() {
+        StringBuilder b = new StringBuilder("Prefix(:=<" + NS + ">)\nOntology(<" + NS + "o>\n");
+        for (int i = 0; i < 5000; i++) {
+            b.append("SubClassOf(:C").append(i).append(" :Root) SubClassOf(:C").append(i)
+                .append(" :C").append(i / 2).append(")\n");
+        }
+        String input = b.append(')').toString();
+        OWLOntology expected = load(input, false);
+        OWLOntology actual = load(input, true);
+        equal(expected, actual);
+        OWLClass root = Class(iri(NS, "Root"));
+        assertEquals(5000, actual.referencingAxioms(root).count());
+        assertEquals(asUnorderedSet(expected.signature()), asUnorderedSet(actual.signature()));
+        for (int i = 0; i < 5000; i += 97) {
+            OWLClass c = Class(iri(NS, "C" + i));
+            assertEquals(asUnorderedSet(expected.referencingAxioms(c)),
+                asUnorderedSet(actual.referencingAxioms(c)));
+        }
+    }
+
+    @Test
+    void shouldCopyLoaderOptionsFromConfigurator() {
+        OWLOntologyLoaderConfiguration c = new OntologyConfigurator().withBulkLoad(true)
+            .withStoreLiteralsOffHeap(true).withLoadImportsInParallel(true)
+            .withImportsLoadingThreads(3).withParsingThreads(4).withStreamRDFTranslation(true)
+            .withRDFSpillThreshold(1000).withStreamOBOTranslation(true)
+            .buildLoaderConfiguration();
+        assertTrue(c.shouldBulkLoad());
+        assertTrue(c.shouldStoreLiteralsOffHeap());
+        assertTrue(c.shouldLoadImportsInParallel());
+        assertEquals(3, c.getImportsLoadingThreads());
+        assertEquals(4, c.getParsingThreads());
+        assertTrue(c.shouldStreamRDFTranslation());
+        assertEquals(1000, c.getRDFSpillThreshold());
+        assertTrue(c.shouldStreamOBOTranslation());
+        assertFalse(new OntologyConfigurator().buildLoaderConfiguration().shouldBulkLoad());
+    }
+}
@@ -0,0 +1,78 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.GZipFileDocumentSource;
+import org.semanticweb.owlapi.io.GZipFileDocumentTarget;
+import org.semanticweb.owlapi.io.XZFileDocumentSource;
+import org.semanticweb.owlapi.io.XZFileDocumentTarget;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.tukaani.xz.FilterOptions;
+import org.tukaani.xz.LZMA2Options;
+
+class CompressedDocumentTestCase extends TestBase {
+
+    private static final String NS = "http://www.compressed.org/document#";
+
+    private OWLOntology ontology() {
+        // large enough to span several bgzip members
+        OWLOntology o = create(IRI.create(NS, "ontology"));
+        for (int i = 0; i < 3000; i++) {
+            OWLClass c = Class(IRI.create(NS, "C" + i));
+            o.add(Declaration(c), SubClassOf(c, Class(IRI.create(NS, "C" + (i + 1)))),
+                AnnotationAssertion(RDFSLabel(), c.getIRI(), Literal("label " + i, "en")));
+        }
+        return o;
+    }
+
+    @Test
+    void shouldRoundTripGZipWithThreads() throws Exception {
+        OWLOntology o = ontology();
+        for (int writers : new int[] {0, 2}) {
+            File file = new File(folder, "compressed" + writers + ".ofn.gz");
+            try (GZipFileDocumentTarget target = new GZipFileDocumentTarget(file, writers)) {
+                o.saveOntology(new FunctionalSyntaxDocumentFormat(), target);
+            }
+            for (int readers : new int[] {0, 1, 3}) {
+                equal(o, setupManager()
+                    .loadOntologyFromOntologyDocument(new GZipFileDocumentSource(file, readers)));
+            }
+        }
+    }
+
+    @Test
+    void shouldRoundTripXZWithThreads() throws Exception {
+        OWLOntology o = ontology();
+        for (int writers : new int[] {0, 2}) {
+            File file = new File(folder, "compressed" + writers + ".ofn.xz");
+            try (XZFileDocumentTarget target =
+                new XZFileDocumentTarget(file, new FilterOptions[] {new LZMA2Options()}, writers)) {
+                o.saveOntology(new FunctionalSyntaxDocumentFormat(), target);
+            }
+            for (int readers : new int[] {0, 1, 3}) {
+                equal(o, setupManager()
+                    .loadOntologyFromOntologyDocument(new XZFileDocumentSource(file, readers)));
+            }
+        }
+    }
+
+    @Test
+    void shouldDecompressOnReadingThreadWithOneThread() throws Exception {
+        File file = new File(folder, "single.ofn.gz");
+        try (GZipFileDocumentTarget target = new GZipFileDocumentTarget(file, 2)) {
+            ontology().saveOntology(new FunctionalSyntaxDocumentFormat(), target);
+        }
+        try (InputStream in = new GZipFileDocumentSource(file, 1).getInputStream().get()) {
+            assertTrue(in instanceof GZIPInputStream);
+        }
+    }
+}
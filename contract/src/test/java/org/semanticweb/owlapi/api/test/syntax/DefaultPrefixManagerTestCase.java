@@ -46,6 +46,27 @@ class DefaultPrefixManagerTestCase extends TestBase {
             pm.getPrefixIRIIgnoreQName(iri("http://xmlns.com/foaf/0.1/test:", "test")));
     }
 
+    @Test
+    void shouldUpdateCachedPrefixNamesWhenPrefixesChange() {
+        DefaultPrefixManager pm = new DefaultPrefixManager();
+        IRI iri = iri("http://xmlns.com/foaf/0.1/", "name");
+        assertNull(pm.getNamespacePrefixName(iri));
+        assertNull(pm.getPrefixIRI(iri));
+        pm.setPrefix("foaf:", "http://xmlns.com/foaf/0.1/");
+        assertEquals("foaf:", pm.getNamespacePrefixName(iri));
+        assertEquals("foaf:name", pm.getPrefixIRI(iri));
+        pm.unregisterNamespace("http://xmlns.com/foaf/0.1/");
+        assertNull(pm.getNamespacePrefixName(iri));
+        pm.setDefaultPrefix("http://xmlns.com/foaf/0.1/");
+        assertEquals(":", pm.getNamespacePrefixName(iri));
+        pm.clear();
+        assertNull(pm.getPrefixIRI(iri));
+        // a prefix overlapping the remainder shortens the IRI without naming the namespace
+        pm.setPrefix("p:", "http://xmlns.com/foaf/0.1/na");
+        assertNull(pm.getNamespacePrefixName(iri));
+        assertEquals("p:me", pm.getPrefixIRIIgnoreQName(iri));
+    }
+
     @Test
     void testContainsDefaultPrefixNames() {
         PrefixManager pm = new DefaultPrefixManager();
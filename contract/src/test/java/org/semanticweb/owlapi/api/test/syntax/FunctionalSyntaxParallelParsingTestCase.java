@@ -0,0 +1,83 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+class FunctionalSyntaxParallelParsingTestCase extends TestBase {
+
+    private static final String NS = "http://www.parallel.org/functional#";
+    private final OWLOntologyLoaderConfiguration parallel = config.setParsingThreads(4);
+
+    private OWLOntology load(File file, OWLOntologyLoaderConfiguration conf)
+        throws OWLOntologyCreationException {
+        return setupManager().loadOntologyFromOntologyDocument(new FileDocumentSource(file),
+            conf);
+    }
+
+    @Test
+    void shouldParseChunksLikeSingleThread()
+        throws OWLOntologyStorageException, OWLOntologyCreationException {
+        OWLOntology o = create(IRI.create(NS, "ontology"));
+        o.applyChange(
+            new AddOntologyAnnotation(o, Annotation(RDFSComment(), Literal("header ) # ("))));
+        OWLAnonymousIndividual shared = AnonymousIndividual();
+        for (int i = 0; i < 2000; i++) {
+            OWLClass c = Class(IRI.create(NS, "C" + i));
+            o.add(Declaration(c), SubClassOf(c, Class(IRI.create(NS, "C" + (i + 1)))),
+                AnnotationAssertion(RDFSLabel(), c.getIRI(),
+                    Literal("label (" + i + " # \"quoted\" \u00e9", "en")));
+            if (i % 500 == 0) {
+                o.add(ClassAssertion(c, shared));
+            }
+        }
+        File file = new File(folder, "parallel.ofn");
+        o.saveOntology(new FunctionalSyntaxDocumentFormat(), IRI.create(file));
+        OWLOntology loaded = load(file, parallel);
+        equal(o, loaded);
+        assertEquals(1, loaded.anonymousIndividuals().count());
+        assertEquals(o.getOntologyID(), loaded.getOntologyID());
+    }
+
+    @Test
+    void shouldSkipCommentsBetweenAxioms() throws IOException, OWLOntologyCreationException {
+        StringBuilder b = new StringBuilder("# comment (\nPrefix(:=<").append(NS)
+            .append(">)\nOntology(:ontology\n");
+        for (int i = 0; i < 1000; i++) {
+            b.append("SubClassOf(:C").append(i).append(" :D) # comment )\n# comment (\n");
+        }
+        b.append(")\n# end");
+        File file = new File(folder, "comments.ofn");
+        Files.write(file.toPath(), b.toString().getBytes(StandardCharsets.UTF_8));
+        OWLOntology single = load(file, config);
+        OWLOntology loaded = load(file, parallel);
+        assertEquals(1000, loaded.getAxiomCount());
+        equal(single, loaded);
+    }
+
+    @Test
+    void shouldFailOnUnbalancedAxioms() throws IOException {
+        File file = new File(folder, "unbalanced.ofn");
+        Files.write(file.toPath(),
+            ("Ontology(<" + NS + ">\nSubClassOf(<" + NS + "A> <" + NS + "B>\n)")
+                .getBytes(StandardCharsets.UTF_8));
+        assertThrows(OWLOntologyCreationException.class, () -> load(file, parallel));
+    }
+}
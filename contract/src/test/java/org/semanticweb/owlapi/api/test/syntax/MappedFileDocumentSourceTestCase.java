@@ -0,0 +1,79 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.MappedFileDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+class MappedFileDocumentSourceTestCase extends TestBase {
+
+    private static final String NS = "http://www.mapped.org/source#";
+
+    private OWLOntology ontology() {
+        OWLOntology o = create(IRI.create(NS, "ontology"));
+        for (int i = 0; i < 500; i++) {
+            OWLClass c = Class(IRI.create(NS, "C" + i));
+            o.add(Declaration(c), SubClassOf(c, Class(IRI.create(NS, "C" + (i + 1)))),
+                AnnotationAssertion(RDFSLabel(), c.getIRI(),
+                    Literal("label " + i + " \u00e9 \ud83d\ude00", "en")));
+        }
+        return o;
+    }
+
+    @Test
+    void shouldLoadAllSyntaxesFromMappedFiles()
+        throws OWLOntologyStorageException, OWLOntologyCreationException {
+        OWLOntology o = ontology();
+        OWLDocumentFormat[] formats = {new RDFXMLDocumentFormat(), new OWLXMLDocumentFormat(),
+            new FunctionalSyntaxDocumentFormat(), new TurtleDocumentFormat()};
+        for (OWLDocumentFormat format : formats) {
+            File file = new File(folder, "mapped." + format.getKey().replace('/', '_'));
+            o.saveOntology(format, IRI.create(file));
+            MappedFileDocumentSource source = new MappedFileDocumentSource(file);
+            equal(o, setupManager().loadOntologyFromOntologyDocument(source));
+        }
+    }
+
+    @Test
+    void shouldSkipByteOrderMarkAndDecodeSurrogatePairs() throws IOException {
+        String text =
+            "a\ud83d\ude00b\u00e9" + String.join("", Collections.nCopies(5000, "x\ud83d\ude01"));
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[body.length + 3];
+        content[0] = (byte) 0xEF;
+        content[1] = (byte) 0xBB;
+        content[2] = (byte) 0xBF;
+        System.arraycopy(body, 0, content, 3, body.length);
+        File file = new File(folder, "bom.txt");
+        Files.write(file.toPath(), content);
+        for (int size : new int[] {1, 3, 8192, 20000}) {
+            StringBuilder b = new StringBuilder();
+            try (Reader r = new MappedFileDocumentSource(file).getReader().get()) {
+                char[] chars = new char[size];
+                int n;
+                while ((n = r.read(chars, 0, size)) > -1) {
+                    b.append(chars, 0, n);
+                }
+            }
+            assertEquals(text, b.toString());
+        }
+    }
+}
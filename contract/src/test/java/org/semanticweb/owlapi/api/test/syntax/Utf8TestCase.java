@@ -12,10 +12,15 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.api.test.syntax;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.semanticweb.owlapi.search.EntitySearcher.getAnnotationObjects;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
@@ -23,6 +28,7 @@ import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
 import org.semanticweb.owlapi.apitest.TestFiles;
 import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
 import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.io.BufferedUTF8Writer;
 import org.semanticweb.owlapi.io.StreamDocumentSource;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -32,6 +38,29 @@ import org.semanticweb.owlapi.owlxml.parser.OWLXMLParser;
 
 class Utf8TestCase extends TestBase {
 
+    @Test
+    void shouldEncodeLikeOutputStreamWriter() throws IOException {
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 30000; i++) {
+            b.append("a\u00e9\u8655\ud83d\ude00");
+        }
+        // unpaired surrogates are replaced
+        String text = b.append("\ud83dx\ude00").toString();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (Writer w = new OutputStreamWriter(expected, StandardCharsets.UTF_8)) {
+            w.write(text);
+        }
+        for (int size : new int[] {1, 7, 8192}) {
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            try (Writer w = new BufferedUTF8Writer(actual)) {
+                for (int i = 0; i < text.length(); i += size) {
+                    w.write(text, i, Math.min(size, text.length() - i));
+                }
+            }
+            assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+        }
+    }
+
     @Test
     void testUTF8roundTrip() {
         saveOntology(loadFrom(TestFiles.roundtripUTF8String, new FunctionalSyntaxDocumentFormat()));
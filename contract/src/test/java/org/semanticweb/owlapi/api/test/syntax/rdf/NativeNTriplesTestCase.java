@@ -0,0 +1,110 @@
+package org.semanticweb.owlapi.api.test.syntax.rdf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.NativeNTriplesDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+class NativeNTriplesTestCase extends TestBase {
+
+    private static final String NS = "http://www.ntriples.org/native#";
+
+    private OWLOntology ontology(int size) {
+        OWLOntology o = create(IRI.create(NS, "ontology"));
+        OWLObjectProperty p = ObjectProperty(IRI.create(NS, "p"));
+        OWLAnonymousIndividual shared = AnonymousIndividual();
+        for (int i = 0; i < size; i++) {
+            OWLClass c = Class(IRI.create(NS, "C" + i));
+            OWLClass next = Class(IRI.create(NS, "C" + (i + 1)));
+            o.add(Declaration(c), SubClassOf(c, ObjectSomeValuesFrom(p, next)),
+                AnnotationAssertion(RDFSLabel(), c.getIRI(),
+                    Literal("label \"" + i + "\"\n\\ \u00e9 \ud83d\ude00", "en")),
+                AnnotationAssertion(RDFSComment(), c.getIRI(), Literal(i)));
+            if (i % 100 == 0) {
+                o.add(ClassAssertion(c, shared));
+            }
+        }
+        return o;
+    }
+
+    private OWLOntology load(File file, OWLOntologyLoaderConfiguration conf)
+        throws OWLOntologyCreationException {
+        return setupManager().loadOntologyFromOntologyDocument(
+            new FileDocumentSource(file, new NativeNTriplesDocumentFormat()), conf);
+    }
+
+    @Test
+    void shouldRoundTrip() {
+        OWLOntology o = ontology(50);
+        equal(o, roundTrip(o, new NativeNTriplesDocumentFormat()));
+    }
+
+    @Test
+    void shouldParseOnSeveralThreads()
+        throws OWLOntologyStorageException, OWLOntologyCreationException {
+        OWLOntology o = ontology(2000);
+        File file = new File(folder, "parallel.nt");
+        o.saveOntology(new NativeNTriplesDocumentFormat(), IRI.create(file));
+        OWLOntology loaded = load(file, config.setParsingThreads(4));
+        equal(o, loaded);
+        assertEquals(1, loaded.anonymousIndividuals().count());
+    }
+
+    @Test
+    void shouldIgnoreGraphLabelsAndComments() throws IOException, OWLOntologyCreationException {
+        File file = new File(folder, "quads.nq");
+        Files.write(file.toPath(), ("# comment\n<" + NS + "A> "
+            + "<http://www.w3.org/2000/01/rdf-schema#subClassOf> <" + NS + "B> <" + NS
+            + "graph> .\n\n<" + NS + "A> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> "
+            + "<http://www.w3.org/2002/07/owl#Class> . # comment\n<" + NS
+            + "B> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> "
+            + "<http://www.w3.org/2002/07/owl#Class> _:graph .\n<" + NS
+            + "A> <http://www.w3.org/2000/01/rdf-schema#label> \"\\u00E9\\t\"@fr .\n")
+                .getBytes(StandardCharsets.UTF_8));
+        OWLOntology loaded = load(file, config);
+        assertTrue(loaded.containsAxiom(
+            SubClassOf(Class(IRI.create(NS, "A")), Class(IRI.create(NS, "B")))));
+        assertTrue(loaded.containsAxiom(AnnotationAssertion(RDFSLabel(), IRI.create(NS, "A"),
+            Literal("\u00e9\t", "fr"))));
+    }
+
+    @Test
+    void shouldFailOnMalformedLines() throws IOException {
+        File file = new File(folder, "malformed.nt");
+        Files.write(file.toPath(),
+            ("<" + NS + "A> <" + NS + "p> \"unterminated .\n").getBytes(StandardCharsets.UTF_8));
+        assertThrows(OWLOntologyCreationException.class, () -> load(file, config));
+    }
+
+    @Test
+    void shouldReportLineNumbersOnSeveralThreads()
+        throws IOException, OWLOntologyStorageException {
+        File file = new File(folder, "malformed-parallel.nt");
+        ontology(2000).saveOntology(new NativeNTriplesDocumentFormat(), IRI.create(file));
+        int line = Files.readAllLines(file.toPath()).size() + 1;
+        Files.write(file.toPath(),
+            ("<" + NS + "A> <" + NS + "p> \"unterminated .\n").getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.APPEND);
+        OWLOntologyCreationException e = assertThrows(OWLOntologyCreationException.class,
+            () -> load(file, config.setParsingThreads(4)));
+        assertTrue(e.getMessage().contains("in line " + line), e.getMessage());
+    }
+}
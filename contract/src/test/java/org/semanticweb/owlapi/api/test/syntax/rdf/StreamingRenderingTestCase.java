@@ -0,0 +1,68 @@
+package org.semanticweb.owlapi.api.test.syntax.rdf;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+class StreamingRenderingTestCase extends TestBase {
+
+    private static final String NS = "http://www.streaming.org/render#";
+
+    @BeforeEach
+    void setUpStreaming() {
+        masterConfigurator.withStreamingRDFRendering(true);
+    }
+
+    @AfterEach
+    void tearDownStreaming() {
+        // make sure the static variable is reset after the test
+        masterConfigurator.withStreamingRDFRendering(false);
+    }
+
+    private OWLOntology ontology() {
+        OWLOntology o = create(IRI.create(NS, "ontology"));
+        OWLObjectProperty p = ObjectProperty(IRI.create(NS, "p"));
+        OWLAnonymousIndividual shared = AnonymousIndividual();
+        for (int i = 0; i < 50; i++) {
+            OWLClass c = Class(IRI.create(NS, "C" + i));
+            OWLClass next = Class(IRI.create(NS, "C" + (i + 1)));
+            OWLNamedIndividual x = NamedIndividual(IRI.create(NS, "i" + i));
+            OWLNamedIndividual y = NamedIndividual(IRI.create(NS, "i" + (i + 1)));
+            o.add(Declaration(c), Declaration(x),
+                SubClassOf(c, ObjectSomeValuesFrom(p, ObjectIntersectionOf(next,
+                    ObjectAllValuesFrom(p, ObjectComplementOf(c))))),
+                SubClassOf(Collections.singleton(Annotation(
+                    Collections.singleton(Annotation(RDFSLabel(), Literal("nested"))),
+                    RDFSComment(), Literal("annotated " + i))), c, next),
+                ClassAssertion(c, x), ObjectPropertyAssertion(p, x, shared),
+                ObjectPropertyAssertion(p, y, x), DifferentIndividuals(x, y));
+        }
+        o.add(ClassAssertion(Class(IRI.create(NS, "C0")), shared),
+            SubClassOf(ObjectSomeValuesFrom(p, Class(IRI.create(NS, "C1"))),
+                Class(IRI.create(NS, "C2"))));
+        return o;
+    }
+
+    @Test
+    void shouldRoundTripRDFXML() {
+        OWLOntology o = ontology();
+        equal(o, roundTrip(o, new RDFXMLDocumentFormat()));
+    }
+
+    @Test
+    void shouldRoundTripTurtle() {
+        OWLOntology o = ontology();
+        equal(o, roundTrip(o, new TurtleDocumentFormat()));
+    }
+}
@@ -0,0 +1,117 @@
+package org.semanticweb.owlapi.api.test.syntax.rdf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+class StreamingTranslationTestCase extends TestBase {
+
+    private static final String NS = "http://www.streaming.org/rdf#";
+    private final OWLOntologyLoaderConfiguration streaming =
+        config.setStreamRDFTranslation(true);
+
+    private OWLOntology ontology() {
+        OWLOntology o = create(IRI.create(NS, "ontology"));
+        OWLObjectProperty p = ObjectProperty(IRI.create(NS, "p"));
+        OWLDataProperty d = DataProperty(IRI.create(NS, "d"));
+        OWLAnnotationProperty ap = AnnotationProperty(IRI.create(NS, "ap"));
+        for (int i = 0; i < 200; i++) {
+            OWLClass c = Class(IRI.create(NS, "C" + i));
+            OWLNamedIndividual x = NamedIndividual(IRI.create(NS, "i" + i));
+            o.add(Declaration(c), Declaration(x),
+                SubClassOf(c, ObjectSomeValuesFrom(p, Class(IRI.create(NS, "C" + (i + 1))))),
+                AnnotationAssertion(RDFSLabel(), c.getIRI(), Literal("class " + i, "en")),
+                ClassAssertion(c, x),
+                ObjectPropertyAssertion(p, x, NamedIndividual(IRI.create(NS, "i" + (i + 1)))),
+                DataPropertyAssertion(d, x, Literal(i)),
+                AnnotationAssertion(ap, x.getIRI(), Literal("value " + i)));
+            if (i % 50 == 0) {
+                o.add(DataPropertyAssertion(
+                    Collections.singleton(Annotation(RDFSComment(), Literal("comment"))), d, x,
+                    Literal("annotated")));
+            }
+        }
+        return o;
+    }
+
+    @Test
+    void shouldTranslateRDFXMLLikeBufferedParsing() {
+        StringDocumentTarget saved = saveOntology(ontology(), new RDFXMLDocumentFormat());
+        OWLOntology buffered = loadWithConfig(saved, config);
+        equal(buffered, loadWithConfig(saved, streaming));
+        equal(buffered, loadWithConfig(saved, streaming.setRDFSpillThreshold(1)));
+    }
+
+    @Test
+    void shouldTranslateTurtleLikeBufferedParsing() {
+        StringDocumentTarget saved = saveOntology(ontology(), new TurtleDocumentFormat());
+        OWLOntology buffered = loadWithConfig(saved, config);
+        equal(buffered, loadWithConfig(saved, streaming));
+        equal(buffered, loadWithConfig(saved, streaming.setRDFSpillThreshold(1)));
+    }
+
+    @Test
+    void shouldDeleteSpilledTriplesWhenParsingFails() throws IOException {
+        // :q is not typed yet, so the triples of completed subjects are spilled before the error
+        StringBuilder b = new StringBuilder("@prefix : <" + NS + "> .\n"
+            + "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+            + "<" + NS + "ontology> a owl:Ontology .\n");
+        for (int i = 0; i < 20; i++) {
+            b.append(":i").append(i).append(" :q :j").append(i).append(" .\n");
+        }
+        String broken = b.append("< broken").toString();
+        int before = spillFiles();
+        assertThrows(OWLOntologyCreationException.class,
+            () -> m1.loadOntologyFromOntologyDocument(new StringDocumentSource(broken,
+                IRI.create(NS, "broken"), new TurtleDocumentFormat(), null),
+                streaming.setRDFSpillThreshold(1)));
+        assertEquals(before, spillFiles());
+    }
+
+    private static int spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return (int) files.filter(f -> f.getFileName().toString().startsWith("owlapi-triples"))
+                .count();
+        }
+    }
+
+    @Test
+    void shouldRetranslatePredicatesTypedAfterUse() {
+        // :q is an annotation property when :i is complete, and an object property by the end
+        String input = "@prefix : <" + NS + "> .\n"
+            + "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+            + "<" + NS + "ontology> a owl:Ontology .\n:q a owl:AnnotationProperty .\n"
+            + ":i :q :j .\n:q a owl:ObjectProperty .\n";
+        OWLOntology buffered = loadWithConfig(new StringDocumentSource(input), config);
+        OWLOntology loaded = loadWithConfig(new StringDocumentSource(input), streaming);
+        equal(buffered, loaded);
+        assertTrue(loaded.containsAxiom(ObjectPropertyAssertion(
+            ObjectProperty(IRI.create(NS, "q")), NamedIndividual(IRI.create(NS, "i")),
+            NamedIndividual(IRI.create(NS, "j")))));
+        assertEquals(0, loaded.getAxiomCount(AxiomType.ANNOTATION_ASSERTION));
+    }
+}
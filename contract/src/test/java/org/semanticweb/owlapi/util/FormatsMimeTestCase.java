@@ -57,7 +57,8 @@ class FormatsMimeTestCase {
             Arguments.of(new org.semanticweb.owlapi.rio.RioBinaryRdfParserFactory(),                                    "BinaryRDF",            "application/x-binary-rdf", l("application/x-binary-rdf")),
             Arguments.of(new org.semanticweb.owlapi.rio.RioJsonLDParserFactory(),                                       "JSON-LD",              "application/ld+json",      l("application/ld+json")),
             Arguments.of(new org.semanticweb.owlapi.rio.RioJsonParserFactory(),                                         "RDF/JSON",             "application/rdf+json",     l("application/rdf+json")),
-            Arguments.of(new org.semanticweb.owlapi.rio.RioTrixParserFactory(),                                         "TriX",                 "application/trix",         l("application/trix"))
+            Arguments.of(new org.semanticweb.owlapi.rio.RioTrixParserFactory(),                                         "TriX",                 "application/trix",         l("application/trix")),
+            Arguments.of(new org.semanticweb.owlapi.binary.parser.BinaryOWLParserFactory(),                             "Binary OWL Snapshot",  "application/x-owl-snapshot", l("application/x-owl-snapshot"))
             //@formatter:on
         );
     }
@@ -40,16 +40,26 @@ public class ClassAxiomByClassPointer extends MapPointer<OWLClass, OWLClassAxiom
     }
 
     @Override
-    public synchronized ClassAxiomByClassPointer init() {
-        if (isInitialized()) {
-            return this;
+    public ClassAxiomByClassPointer init() {
+        if (!isReady()) {
+            // the indexes this one is built from are initialized before its monitor is taken, so
+            // that the monitor is never held while they index deferred axioms
+            i.get(OWLClass.class, OWLEquivalentClassesAxiom.class).ifPresent(MapPointer::init);
+            i.get(OWLClass.class, OWLSubClassOfAxiom.class).ifPresent(MapPointer::init);
+            i.get(OWLClass.class, OWLDisjointClassesAxiom.class).ifPresent(MapPointer::init);
+            i.get(OWLClass.class, OWLDisjointUnionAxiom.class).ifPresent(MapPointer::init);
         }
         super.init();
+        return this;
+    }
+
+    @Override
+    protected void populate() {
+        super.populate();
         // special case: this map needs other maps to be initialized first
         i.get(OWLClass.class, OWLEquivalentClassesAxiom.class).get().forEach(this::put);
         i.get(OWLClass.class, OWLSubClassOfAxiom.class).get().forEach(this::put);
         i.get(OWLClass.class, OWLDisjointClassesAxiom.class).get().forEach(this::put);
         i.get(OWLClass.class, OWLDisjointUnionAxiom.class).get().forEach(this::put);
-        return this;
     }
 }
@@ -0,0 +1,251 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.semanticweb.owlapi.model.CacheEvictionPolicy;
+import org.semanticweb.owlapi.model.CacheScope;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * The entity and annotation caches used by {@link OWLDataFactoryInternalsImpl}. Caches with global
+ * scope are shared by all data factories and configured through system properties or
+ * {@code owlapi.properties}; caches with factory scope are configured by the loader configuration
+ * of their data factory.
+ *
+ * @author ignazio
+ */
+final class DataFactoryCaches {
+
+    private static final String GLOBAL = "global";
+    private final long size;
+    private final CacheEvictionPolicy policy;
+    private final boolean recordStats;
+    private final boolean global;
+    private final Map<String, Cache<?, ?>> caches = new LinkedHashMap<>();
+    @Nullable
+    private String registeredScope;
+    //@formatter:off
+    final LoadingCache<IRI, OWLAnnotationProperty>   annotationProperties;
+    /**
+     * Annotations Cache uses a loading cache as a size limited Interner; the value of the loader is
+     * simply the key. As with an interner, each access constructs a new object that is discarded if
+     * the key is used. Most annotations will only be used once; however some annotations may be
+     * reused extremely frequently. for ontologies in the OBO family, a few annotations will be
+     * reused extremely frequently.
+     */
+    final LoadingCache<OWLAnnotation, OWLAnnotation> annotations;
+    final LoadingCache<IRI, OWLClass>                classes;
+    final LoadingCache<IRI, OWLObjectProperty>       objectProperties;
+    final LoadingCache<IRI, OWLDataProperty>         dataProperties;
+    final LoadingCache<IRI, OWLDatatype>             datatypes;
+    final LoadingCache<IRI, OWLNamedIndividual>      individuals;
+    //@formatter:on
+
+    private DataFactoryCaches(long size, CacheEvictionPolicy policy, boolean recordStats,
+        boolean global) {
+        this.size = size;
+        this.policy = policy;
+        this.recordStats = recordStats;
+        this.global = global;
+        annotationProperties = build("annotationProperties", OWLAnnotationPropertyImpl::new);
+        annotations = build("annotations", DataFactoryCaches::ann);
+        classes = build("classes", OWLClassImpl::new);
+        objectProperties = build("objectProperties", OWLObjectPropertyImpl::new);
+        dataProperties = build("dataProperties", OWLDataPropertyImpl::new);
+        datatypes = build("datatypes", OWLDatatypeImpl::new);
+        individuals = build("individuals", OWLNamedIndividualImpl::new);
+    }
+
+    /**
+     * @return the caches shared by all data factories with global cache scope
+     */
+    static DataFactoryCaches global() {
+        return GlobalCaches.CACHES;
+    }
+
+    /**
+     * @param config configuration of the data factory
+     * @return the global caches, or new caches for the data factory, depending on the cache scope
+     */
+    static DataFactoryCaches forConfiguration(OWLOntologyLoaderConfiguration config) {
+        if (config.getCacheScope() == CacheScope.GLOBAL) {
+            return global();
+        }
+        return new DataFactoryCaches(config.getCacheSize(), config.getCacheEvictionPolicy(),
+            config.shouldRecordCacheStats(), false);
+    }
+
+    private static OWLAnnotation ann(OWLAnnotation o) {
+        return o;
+    }
+
+    private <K, V> LoadingCache<K, V> build(String name, CacheLoader<K, V> loader) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().weakKeys();
+        switch (policy) {
+            case WEAK_VALUES:
+                builder.weakValues();
+                break;
+            case SOFT_VALUES:
+                builder.softValues();
+                break;
+            case SIZE:
+            default:
+                builder.maximumSize(size);
+        }
+        if (recordStats) {
+            builder.recordStats();
+        }
+        LoadingCache<K, V> cache = builder.build(loader);
+        caches.put(name, cache);
+        return cache;
+    }
+
+    void purge() {
+        caches.values().forEach(Cache::invalidateAll);
+    }
+
+    Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+
+    synchronized void registerMBeans(String scope) {
+        String name = global ? GLOBAL : scope;
+        if (name.equals(registeredScope)) {
+            return;
+        }
+        unregisterMBeans(true);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (Map.Entry<String, Cache<?, ?>> e : caches.entrySet()) {
+                ObjectName objectName = objectName(name, e.getKey());
+                if (!server.isRegistered(objectName)) {
+                    server.registerMBean(new CacheBean(e.getValue()), objectName);
+                }
+            }
+        } catch (JMException e) {
+            throw new OWLRuntimeException(e);
+        }
+        registeredScope = name;
+    }
+
+    synchronized void unregisterMBeans() {
+        unregisterMBeans(false);
+    }
+
+    private void unregisterMBeans(boolean includeGlobal) {
+        String name = registeredScope;
+        if (name == null || global && !includeGlobal) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (String cache : caches.keySet()) {
+                ObjectName objectName = objectName(name, cache);
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+            }
+        } catch (JMException e) {
+            throw new OWLRuntimeException(e);
+        }
+        registeredScope = null;
+    }
+
+    private static ObjectName objectName(String scope, String cache) throws JMException {
+        return new ObjectName("org.semanticweb.owlapi:type=DataFactoryCache,scope="
+            + ObjectName.quote(scope) + ",name=" + cache);
+    }
+
+    private static class GlobalCaches {
+
+        static final DataFactoryCaches CACHES = create();
+
+        private static DataFactoryCaches create() {
+            Map<ConfigurationOptions, Object> none = Collections.emptyMap();
+            boolean stats =
+                ConfigurationOptions.RECORD_CACHE_STATS.getValue(Boolean.class, none).booleanValue();
+            DataFactoryCaches caches = new DataFactoryCaches(
+                ConfigurationOptions.CACHE_SIZE.getValue(Integer.class, none).longValue(),
+                ConfigurationOptions.CACHE_EVICTION_POLICY.getValue(CacheEvictionPolicy.class,
+                    none),
+                stats, true);
+            if (stats) {
+                // global caches live as long as the JVM, so publishing them cannot leak
+                caches.registerMBeans(GLOBAL);
+            }
+            return caches;
+        }
+    }
+
+    private static class CacheBean implements DataFactoryCacheMXBean {
+
+        private final Cache<?, ?> cache;
+
+        CacheBean(Cache<?, ?> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public long getHitCount() {
+            return cache.stats().hitCount();
+        }
+
+        @Override
+        public long getMissCount() {
+            return cache.stats().missCount();
+        }
+
+        @Override
+        public double getHitRate() {
+            return cache.stats().hitRate();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return cache.stats().evictionCount();
+        }
+
+        @Override
+        public long getEstimatedSize() {
+            return cache.estimatedSize();
+        }
+    }
+}
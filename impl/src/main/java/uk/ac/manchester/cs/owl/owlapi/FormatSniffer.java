@@ -0,0 +1,262 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.emptyOptional;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.optional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLParserFactory;
+import org.semanticweb.owlapi.model.PriorityCollectionSorting;
+import org.semanticweb.owlapi.util.PriorityCollection;
+
+/**
+ * Guesses the syntax of a document from a short prefix of its content, so that the parsers for
+ * that syntax can be tried first instead of running every parser in turn over the whole document.
+ * Only the XML root element and the first tokens of the text syntaxes are inspected; documents
+ * that cannot be recognized are left to the usual trial and error.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+public final class FormatSniffer {
+
+    /** Number of bytes or chars read to guess the syntax. */
+    public static final int PREFIX_LENGTH = 8192;
+    private static final Pattern FUNCTIONAL = Pattern.compile("^(Prefix|Ontology)\\s*\\(");
+    // a leading triple needs its predicate on the same line, to tell it apart from XML elements
+    private static final Pattern TURTLE =
+        Pattern.compile("^(@prefix\\s|@base\\s|(?i:prefix)\\s+[\\w.-]*:|(?i:base)\\s+<"
+            + "|<[^>\\s]*>[ \\t]+(<|a[ \\t]|_:|[\\w.-]*:))");
+    private static final Pattern MANCHESTER = Pattern.compile("^(Prefix|Ontology|Import|Class"
+        + "|ObjectProperty|DataProperty|AnnotationProperty|Individual|Datatype)\\s*:");
+    private static final Pattern OBO = Pattern.compile("^(format-version|data-version|ontology"
+        + "|date|saved-by|auto-generated-by|default-namespace|subsetdef|synonymtypedef|import"
+        + "|remark)\\s*:|^\\[(Term|Typedef|Instance)\\]");
+    private static final Pattern XML_ROOT = Pattern.compile("<([\\w.-]+:)?([\\w.-]+)([^>]*)");
+
+    /**
+     * Syntaxes that can be recognized, with the format key and MIME type used to match parsers.
+     */
+    public enum Syntax {
+        //@formatter:off
+        /** RDF/XML. */               RDFXML     ("RDF/XML Syntax",          "application/rdf+xml"),
+        /** OWL/XML. */               OWLXML     ("OWL/XML Syntax",          "application/owl+xml"),
+        /** Functional syntax. */     FUNCTIONAL ("OWL Functional Syntax",   "text/owl-functional"),
+        /** Manchester syntax. */     MANCHESTER ("Manchester OWL Syntax",   "text/owl-manchester"),
+        /** Turtle and N-Triples. */  TURTLE     ("Turtle Syntax",           "text/turtle",
+                                                  "N-Triples"),
+        /** OBO. */                   OBO        ("OBO Format",              null);
+        //@formatter:on
+        private final String key;
+        @Nullable
+        private final String mimeType;
+        @Nullable
+        private final String subsetKey;
+
+        Syntax(String key, @Nullable String mimeType) {
+            this(key, mimeType, null);
+        }
+
+        /**
+         * @param subsetKey key of a syntax whose documents are also documents of this syntax;
+         *        parsers for the subset are matched as well
+         */
+        Syntax(String key, @Nullable String mimeType, @Nullable String subsetKey) {
+            this.key = key;
+            this.mimeType = mimeType;
+            this.subsetKey = subsetKey;
+        }
+
+        /**
+         * @param parser parser factory
+         * @return true if the parser reads this syntax
+         */
+        public boolean matches(OWLParserFactory parser) {
+            String type = mimeType;
+            String parserKey = parser.getSupportedFormat().getKey();
+            return parserKey.equals(key) || parserKey.equals(subsetKey)
+                || type != null && parser.handlesMimeType(type);
+        }
+    }
+
+    private FormatSniffer() {}
+
+    /**
+     * @param source document source; sources that cannot provide a stream or reader without
+     *        resolving their IRI are not inspected
+     * @return the syntax of the source, if it can be recognized
+     */
+    public static Optional<Syntax> sniff(OWLOntologyDocumentSource source) {
+        if (source.hasAlredyFailedOnStreams()) {
+            return emptyOptional();
+        }
+        try {
+            Optional<InputStream> stream = source.getInputStream();
+            if (stream.isPresent()) {
+                try (InputStream in = stream.get()) {
+                    byte[] bytes = new byte[PREFIX_LENGTH];
+                    int read = 0;
+                    int n;
+                    while (read < bytes.length
+                        && (n = in.read(bytes, read, bytes.length - read)) > -1) {
+                        read += n;
+                    }
+                    return sniff(new String(bytes, 0, read, StandardCharsets.UTF_8));
+                }
+            }
+            Optional<Reader> reader = source.getReader();
+            if (reader.isPresent()) {
+                try (Reader in = reader.get()) {
+                    char[] chars = new char[PREFIX_LENGTH];
+                    int read = 0;
+                    int n;
+                    while (read < chars.length
+                        && (n = in.read(chars, read, chars.length - read)) > -1) {
+                        read += n;
+                    }
+                    return sniff(new String(chars, 0, read));
+                }
+            }
+        } catch (@SuppressWarnings("unused") IOException e) {
+            // the parsers will report the problem
+        }
+        return emptyOptional();
+    }
+
+    /**
+     * @param prefix beginning of a document
+     * @return the syntax of the document, if it can be recognized
+     */
+    public static Optional<Syntax> sniff(String prefix) {
+        int start = skipComments(prefix, 0);
+        if (start == prefix.length()) {
+            return emptyOptional();
+        }
+        CharSequence text = prefix.subSequence(start, prefix.length());
+        if (prefix.startsWith("<?xml", start) || prefix.startsWith("<!", start)) {
+            return xmlRoot(prefix, start);
+        }
+        if (TURTLE.matcher(text).find()) {
+            return optional(Syntax.TURTLE);
+        }
+        if (prefix.charAt(start) == '<') {
+            return xmlRoot(prefix, start);
+        }
+        if (FUNCTIONAL.matcher(text).find()) {
+            return optional(Syntax.FUNCTIONAL);
+        }
+        if (MANCHESTER.matcher(text).find()) {
+            return optional(Syntax.MANCHESTER);
+        }
+        if (OBO.matcher(text).find()) {
+            return optional(Syntax.OBO);
+        }
+        return emptyOptional();
+    }
+
+    /**
+     * @param sniffed syntax of the document
+     * @param parsers candidate parsers
+     * @return the parsers for the syntax, followed by the others in their original order; the
+     *         others are kept in case the guess is wrong
+     */
+    public static PriorityCollection<OWLParserFactory> rank(Syntax sniffed,
+        PriorityCollection<OWLParserFactory> parsers) {
+        List<OWLParserFactory> matching = new ArrayList<>();
+        List<OWLParserFactory> others = new ArrayList<>();
+        for (OWLParserFactory p : parsers) {
+            (sniffed.matches(p) ? matching : others).add(p);
+        }
+        matching.addAll(others);
+        PriorityCollection<OWLParserFactory> ranked =
+            new PriorityCollection<>(PriorityCollectionSorting.NEVER);
+        // adding all elements at once keeps their order
+        ranked.add(matching);
+        return ranked;
+    }
+
+    private static int skipComments(String s, int from) {
+        int i = from;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (Character.isWhitespace(c) || c == '\uFEFF') {
+                i++;
+            } else if (c == '#' || c == '!') {
+                // Turtle, functional and Manchester comments start with #, OBO comments with !
+                while (i < s.length() && s.charAt(i) != '\n') {
+                    i++;
+                }
+            } else {
+                return i;
+            }
+        }
+        return i;
+    }
+
+    private static Optional<Syntax> xmlRoot(String s, int from) {
+        int i = from;
+        while (i < s.length()) {
+            if (s.startsWith("<?", i)) {
+                i = after(s, "?>", i);
+            } else if (s.startsWith("<!--", i)) {
+                i = after(s, "-->", i);
+            } else if (s.startsWith("<!", i)) {
+                // DOCTYPE, possibly with an internal subset of entity declarations
+                int subset = s.indexOf('[', i);
+                int end = s.indexOf('>', i);
+                if (subset > -1 && (end == -1 || subset < end)) {
+                    i = after(s, "]", subset);
+                }
+                i = after(s, ">", i);
+            } else if (s.charAt(i) == '<') {
+                return rootSyntax(s, i);
+            } else {
+                i++;
+            }
+        }
+        return emptyOptional();
+    }
+
+    private static int after(String s, String end, int from) {
+        int index = s.indexOf(end, from);
+        return index == -1 ? s.length() : index + end.length();
+    }
+
+    private static Optional<Syntax> rootSyntax(String s, int from) {
+        Matcher m = XML_ROOT.matcher(s);
+        if (!m.find(from) || m.start() != from) {
+            return emptyOptional();
+        }
+        String prefix = m.group(1);
+        String attributes = m.group(3);
+        // OWL/XML uses an unprefixed Ontology root and no RDF attributes; everything else is
+        // taken to be RDF/XML, whose root is rdf:RDF or a node element
+        if ("Ontology".equals(m.group(2)) && prefix == null && !attributes.contains("rdf:about")) {
+            return optional(Syntax.OWLXML);
+        }
+        return optional(Syntax.RDFXML);
+    }
+}
@@ -0,0 +1,31 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Implemented by data factories whose entity and annotation caches can record statistics.
+ */
+public interface HasCacheStatistics {
+
+    /**
+     * @return statistics for each cache, keyed by cache name; all counts are zero unless
+     *         statistics are being recorded
+     */
+    Map<String, CacheStats> cacheStatistics();
+
+    /**
+     * Publish the cache statistics through JMX. Caches with global scope are shared, and are
+     * published once under the scope name {@code global} regardless of the name specified.
+     *
+     * @param scope name to distinguish these caches from the caches of other data factories
+     */
+    void registerCacheMBeans(String scope);
+
+    /**
+     * Remove the JMX beans registered by {@link #registerCacheMBeans(String)}; global caches stay
+     * registered.
+     */
+    void unregisterCacheMBeans();
+}
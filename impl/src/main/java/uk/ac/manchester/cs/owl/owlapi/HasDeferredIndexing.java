@@ -0,0 +1,18 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+/**
+ * Implemented by ontologies that can postpone updating their secondary indexes, e.g., while an
+ * ontology is being parsed.
+ */
+@FunctionalInterface
+public interface HasDeferredIndexing {
+
+    /**
+     * Switch deferred indexing on or off. While indexing is deferred, new axioms are only recorded
+     * by type; the other indexes catch up in a single pass on the first read that needs them.
+     * Switching deferred indexing off does not index the pending axioms eagerly.
+     *
+     * @param defer true if indexing of new axioms should be deferred
+     */
+    void setDeferIndexing(boolean defer);
+}
@@ -0,0 +1,17 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+/**
+ * Implemented by ontologies whose indexes can be read without per index synchronization.
+ */
+@FunctionalInterface
+public interface HasLockFreeReads {
+
+    /**
+     * Switch the axiom indexes between monitor protected reads and lock free reads. Lock free
+     * reads are only safe if the caller guarantees that no write happens while reads are in
+     * progress, e.g., by holding a read/write lock around every access.
+     *
+     * @param lockFreeReads true if reads should not acquire index monitors
+     */
+    void setLockFreeReads(boolean lockFreeReads);
+}
@@ -0,0 +1,20 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Collection;
+
+import org.semanticweb.owlapi.model.AxiomType;
+
+/**
+ * Implemented by ontologies whose indexes are built lazily on first use.
+ */
+@FunctionalInterface
+public interface HasPrewarmIndexes {
+
+    /**
+     * Build the indexes for the specified axiom types in parallel, e.g., right after loading, so
+     * that the first queries do not stall while the indexes are built.
+     *
+     * @param types axiom types whose indexes should be built
+     */
+    void prewarmIndexes(Collection<AxiomType<?>> types);
+}
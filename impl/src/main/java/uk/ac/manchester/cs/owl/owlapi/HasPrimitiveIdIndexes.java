@@ -0,0 +1,17 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+/**
+ * Implemented by ontologies whose indexes can store int identifiers instead of objects.
+ */
+@FunctionalInterface
+public interface HasPrimitiveIdIndexes {
+
+    /**
+     * Switch the index storage. Only honoured while the ontology contains no axioms, e.g., right
+     * before an empty ontology is parsed.
+     *
+     * @param primitiveIds true if indexes should store int identifiers
+     * @return true if the storage is as requested on return
+     */
+    boolean setPrimitiveIdIndexes(boolean primitiveIds);
+}
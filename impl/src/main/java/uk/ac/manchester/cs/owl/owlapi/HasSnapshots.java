@@ -0,0 +1,26 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * Implemented by ontologies that can hand out immutable point-in-time views of their content.
+ */
+public interface HasSnapshots {
+
+    /**
+     * @return version of the ontology content; the version changes every time the ontology is
+     *         changed
+     */
+    long getVersion();
+
+    /**
+     * Snapshots are immutable and can be read without locks while writers keep changing the
+     * ontology. Axioms, annotations, import declarations and built indexes are shared with the
+     * ontology, and repeated calls without changes in between return the same snapshot. Snapshots
+     * are not managed: the manager does not list them. Imports are resolved through the manager, so
+     * the imports closure of a snapshot is live rather than frozen.
+     *
+     * @return a view of the ontology content at the current version
+     */
+    OWLOntology snapshot();
+}
@@ -0,0 +1,204 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportEvent;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.UnloadableImportException;
+import org.semanticweb.owlapi.model.parameters.OntologyCopy;
+
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
+
+/**
+ * Loads an imports closure concurrently. Each import is parsed by a worker manager that hands
+ * back the imports it finds instead of loading them, so the closure is discovered level by level
+ * while independent imports are parsed in parallel. Import IRIs already seen are not scheduled
+ * again, which stops cycles. The parsed ontologies are moved to the target manager only once the
+ * whole closure is loaded.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+class ImportsClosureLoader {
+
+    /** Worker managers and their ontologies are confined to one thread until moved. */
+    private static final ReadWriteLock WORKER_LOCK = new NoOpReadWriteLock();
+    private final OWLOntologyManagerImpl manager;
+    private final OWLOntologyLoaderConfiguration configuration;
+    private final Set<IRI> scheduled = new HashSet<>();
+    private final Deque<Task> pending = new ArrayDeque<>();
+    private final List<Task> loaded = new ArrayList<>();
+    private final List<OWLImportsDeclaration> declarations = new ArrayList<>();
+
+    /**
+     * @param manager manager receiving the loaded ontologies; its write lock must be held by the
+     *        calling thread
+     * @param configuration load configuration
+     */
+    ImportsClosureLoader(OWLOntologyManagerImpl manager,
+        OWLOntologyLoaderConfiguration configuration) {
+        this.manager = manager;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @param imports imports declared in the ontology just parsed
+     * @throws OWLOntologyCreationException if a loaded ontology cannot be moved to the manager
+     * @throws UnloadableImportException if an import cannot be loaded and the missing import
+     *         strategy is to throw an exception; no ontology is added to the manager in that case
+     */
+    void load(Collection<OWLImportsDeclaration> imports) throws OWLOntologyCreationException {
+        int threads = configuration.getImportsLoadingThreads();
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        // a pool of its own, so that parsing never competes with or blocks the common pool
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            imports.forEach(i -> schedule(i, executor));
+            while (!pending.isEmpty()) {
+                Task task = pending.poll();
+                try {
+                    task.join();
+                    loaded.add(task);
+                    task.worker.takeDeferredImports().forEach(i -> schedule(i, executor));
+                } catch (OWLOntologyCreationException e) {
+                    missing(task.declaration, e);
+                }
+            }
+        } finally {
+            pending.forEach(t -> t.future.cancel(true));
+            executor.shutdownNow();
+        }
+        register();
+    }
+
+    private void schedule(OWLImportsDeclaration declaration, Executor executor) {
+        declarations.add(declaration);
+        IRI iri = declaration.getIRI();
+        if (!scheduled.add(iri) || loadedID(iri).isPresent()) {
+            return;
+        }
+        OWLOntologyManagerImpl worker = manager.importsWorker(WORKER_LOCK);
+        pending.add(new Task(declaration, worker, CompletableFuture.supplyAsync(() -> {
+            try {
+                return worker.loadOntology(iri, true, configuration);
+            } catch (OWLOntologyCreationException e) {
+                throw new CompletionException(e);
+            }
+        }, executor)));
+    }
+
+    private void missing(OWLImportsDeclaration declaration, OWLOntologyCreationException e) {
+        if (configuration
+            .getMissingImportHandlingStrategy() == MissingImportHandlingStrategy.THROW_EXCEPTION) {
+            throw new UnloadableImportException(e, declaration);
+        }
+        manager.fireMissingImportEvent(new MissingImportEvent(declaration.getIRI(), e));
+    }
+
+    private Optional<OWLOntologyID> loadedID(IRI iri) {
+        return manager.ids().filter(id -> id.match(iri)).findAny();
+    }
+
+    private void register() throws OWLOntologyCreationException {
+        Map<IRI, OWLOntologyID> ids = new HashMap<>();
+        for (Task task : loaded) {
+            OWLOntology ontology = task.future.join();
+            ids.put(task.declaration.getIRI(), ontology.getOntologyID());
+            // imports of parsers that read them while parsing were loaded by the worker itself
+            manager.ontologyIDsByImportsDeclaration
+                .putAll(task.worker.ontologyIDsByImportsDeclaration);
+            task.worker.importedIRIs.forEach((iri, id) -> {
+                if (id instanceof OWLOntologyID) {
+                    manager.importedIRIs.put(iri, id);
+                }
+            });
+            for (OWLOntology o : asList(task.worker.ontologies())) {
+                OWLOntologyID id = o.getOntologyID();
+                // two import IRIs can resolve to the same ontology; keep the first copy
+                if (!manager.contains(id)) {
+                    manager.ontologyConfigurationsByOntologyID.put(id,
+                        task.worker.ontologyConfigurationsByOntologyID.getOrDefault(id,
+                            configuration));
+                    manager.copyOntology(o, OntologyCopy.MOVE);
+                }
+            }
+        }
+        for (OWLImportsDeclaration declaration : declarations) {
+            IRI iri = declaration.getIRI();
+            OWLOntologyID id = ids.get(iri);
+            if (id == null) {
+                id = loadedID(iri).orElse(null);
+            }
+            if (id != null) {
+                manager.ontologyIDsByImportsDeclaration.put(declaration, id);
+                manager.importedIRIs.put(iri, id);
+            }
+        }
+        manager.resetImportsClosureCache();
+    }
+
+    private static class Task {
+
+        final OWLImportsDeclaration declaration;
+        final OWLOntologyManagerImpl worker;
+        final CompletableFuture<OWLOntology> future;
+
+        Task(OWLImportsDeclaration declaration, OWLOntologyManagerImpl worker,
+            CompletableFuture<OWLOntology> future) {
+            this.declaration = declaration;
+            this.worker = worker;
+            this.future = future;
+        }
+
+        OWLOntology join() throws OWLOntologyCreationException {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof OWLOntologyCreationException) {
+                    throw (OWLOntologyCreationException) e.getCause();
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import com.carrotsearch.hppcrt.cursors.IntCursor;
+import com.carrotsearch.hppcrt.cursors.IntObjectCursor;
+import com.carrotsearch.hppcrt.cursors.ObjectCursor;
+import com.carrotsearch.hppcrt.maps.IntObjectHashMap;
+
+/**
+ * Pointer storage on dense int identifiers: keys and values are encoded through a
+ * {@link PointerIdDictionary} shared by all pointers of the same {@link Internals}, and each key
+ * maps to a sorted int array of value identifiers. Slot 0 of each array holds the number of values
+ * in use; the array may have spare capacity at the end. Each stored pair holds a reference to the
+ * identifiers of its key and value, so removed objects do not stay in the dictionary. Lookups
+ * return views that decode values while they are iterated, trading some work on reads for a much
+ * smaller resident index.
+ *
+ * @author ignazio
+ * @param <K> key
+ * @param <V> value
+ */
+class IntPointerStore<K, V> implements PointerStore<K, V> {
+
+    private final IntObjectHashMap<int[]> map = new IntObjectHashMap<>();
+    private final PointerIdDictionary ids;
+    private int size = 0;
+
+    /**
+     * @param ids dictionary for keys and values
+     */
+    IntPointerStore(PointerIdDictionary ids) {
+        this.ids = ids;
+    }
+
+    @Override
+    @Nullable
+    public Collection<V> get(K key) {
+        int[] values = values(key);
+        if (values == null) {
+            return null;
+        }
+        return new Values(values);
+    }
+
+    @Nullable
+    private int[] values(K key) {
+        int id = ids.find(key);
+        if (id < 0) {
+            return null;
+        }
+        return map.get(id);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return values(key) != null;
+    }
+
+    @Override
+    public boolean contains(K key, V value) {
+        int[] values = values(key);
+        if (values == null) {
+            return false;
+        }
+        int id = ids.find(value);
+        return id >= 0 && Arrays.binarySearch(values, 1, values[0] + 1, id) >= 0;
+    }
+
+    @Override
+    public int count(K key) {
+        int[] values = values(key);
+        if (values == null) {
+            return 0;
+        }
+        return values[0];
+    }
+
+    @Override
+    public boolean put(K key, V value) {
+        int keyId = ids.idFor(key);
+        int valueId = ids.idFor(value);
+        int[] values = map.get(keyId);
+        if (values == null) {
+            map.put(keyId, new int[] {1, valueId});
+            size++;
+            return true;
+        }
+        int n = values[0];
+        int position = Arrays.binarySearch(values, 1, n + 1, valueId);
+        if (position >= 0) {
+            ids.release(keyId);
+            ids.release(valueId);
+            return false;
+        }
+        int insertion = -position - 1;
+        if (values.length < n + 2) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+            map.put(keyId, values);
+        }
+        System.arraycopy(values, insertion, values, insertion + 1, n + 1 - insertion);
+        values[insertion] = valueId;
+        values[0] = n + 1;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(K key, V value) {
+        int keyId = ids.find(key);
+        int valueId = ids.find(value);
+        if (keyId < 0 || valueId < 0) {
+            return false;
+        }
+        int[] values = map.get(keyId);
+        if (values == null) {
+            return false;
+        }
+        int n = values[0];
+        int position = Arrays.binarySearch(values, 1, n + 1, valueId);
+        if (position < 0) {
+            return false;
+        }
+        size--;
+        if (n == 1) {
+            map.remove(keyId);
+        } else {
+            System.arraycopy(values, position + 1, values, position, n - position);
+            values[0] = n - 1;
+            if (n - 1 < values.length >> 2) {
+                map.put(keyId, Arrays.copyOf(values, n));
+            }
+        }
+        ids.release(keyId);
+        ids.release(valueId);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEachKey(Consumer<K> consumer) {
+        for (IntCursor c : map.keys()) {
+            consumer.accept(ids.lookup(c.value));
+        }
+    }
+
+    @Override
+    public void forEachValue(Consumer<V> consumer) {
+        for (ObjectCursor<int[]> c : map.values()) {
+            int[] values = c.value;
+            for (int i = 1; i <= values[0]; i++) {
+                consumer.accept(ids.lookup(values[i]));
+            }
+        }
+    }
+
+    @Override
+    public PointerStore<K, V> copy() {
+        IntPointerStore<K, V> copy = new IntPointerStore<>(ids);
+        for (IntObjectCursor<int[]> c : map) {
+            int[] values = Arrays.copyOf(c.value, c.value[0] + 1);
+            // the copy holds its own references, so removals on either side keep the ids alive
+            ids.retain(c.key, values);
+            copy.map.put(c.key, values);
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Values of one key, decoded on iteration. The view reads the array of the store and is only
+     * valid until the store is next changed.
+     */
+    final class Values extends AbstractCollection<V> {
+
+        private final int[] values;
+
+        Values(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public int size() {
+            return values[0];
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+
+                private int next = 1;
+
+                @Override
+                public boolean hasNext() {
+                    return next <= values[0];
+                }
+
+                @Override
+                public V next() {
+                    if (next > values[0]) {
+                        throw new NoSuchElementException();
+                    }
+                    return ids.lookup(values[next++]);
+                }
+            };
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("{");
+        forEachKey(k -> b.append(k).append('=').append(get(k)).append(", "));
+        return b.append('}').toString();
+    }
+}
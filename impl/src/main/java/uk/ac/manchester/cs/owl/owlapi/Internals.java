@@ -70,9 +70,14 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
@@ -130,6 +135,7 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
@@ -137,6 +143,7 @@ import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
 import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.semanticweb.owlapi.search.Filters;
 import org.semanticweb.owlapi.util.AbstractCollector;
@@ -155,6 +162,14 @@ public class Internals implements Serializable {
     private final RemoveAxiomVisitor removeChangeVisitor = new RemoveAxiomVisitor();
     private final ReferenceChecker refChecker = new ReferenceChecker();
     private final ReferencedAxiomsCollector refAxiomsCollector = new ReferencedAxiomsCollector();
+    @Nullable
+    private transient PointerIdDictionary pointerIds = buildPointerIds();
+    private transient volatile boolean lockFreeReads = false;
+    private transient volatile boolean deferIndexing = false;
+    /** Axioms added while indexing was deferred; only axiomsByType includes them. */
+    @Nullable
+    private transient volatile List<OWLAxiom> deferredAxioms;
+    private transient boolean indexingDeferredAxioms = false;
     protected transient MapPointer<OWLClassExpression, OWLClassAssertionAxiom>                          classAssertionAxiomsByClass                         = buildLazy(CLASS_ASSERTION, CLASSEXPRESSIONS, OWLClassAssertionAxiom.class);
     protected transient MapPointer<OWLAnnotationSubject, OWLAnnotationAssertionAxiom>                   annotationAssertionAxiomsBySubject                  = buildLazy(ANNOTATION_ASSERTION, ANNOTSUPERNAMED, OWLAnnotationAssertionAxiom.class);
     protected transient MapPointer<OWLClass, OWLSubClassOfAxiom>                                        subClassAxiomsBySubPosition                         = buildLazy(SUBCLASS_OF, CLASSSUBNAMED, OWLSubClassOfAxiom.class);
@@ -227,6 +242,13 @@ public class Internals implements Serializable {
     @SuppressWarnings("null")
     private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
+        pointerIds = buildPointerIds();
+        buildPointers();
+        axiomsForSerialization.forEach(this::addAxiom);
+        axiomsForSerialization = null;
+    }
+
+    private void buildPointers() {
         axiomsByType = build(OWLAxiom.class);
         owlClassReferences = build(OWLAxiom.class);
         owlObjectPropertyReferences = build(OWLAxiom.class);
@@ -310,8 +332,155 @@ public class Internals implements Serializable {
             buildLazy(DIFFERENT_INDIVIDUALS, ICOLLECTIONS, OWLDifferentIndividualsAxiom.class);
         sameIndividualsAxiomsByIndividual =
             buildLazy(SAME_INDIVIDUAL, ICOLLECTIONS, OWLSameIndividualAxiom.class);
-        axiomsForSerialization.forEach(this::addAxiom);
-        axiomsForSerialization = null;
+    }
+
+    /**
+     * Shares the indexes of another instance; used to take snapshots without copying the indexes.
+     * Built indexes are shared until the source next changes them, indexes that the source has not
+     * built yet are built by this instance on first use. Shared indexes storing int identifiers
+     * keep using the identifiers of the source.
+     *
+     * @param source internals to share; must not be changed until this method returns
+     * @return false, with nothing changed, if this instance is not empty
+     */
+    boolean shareIndexes(Internals source) {
+        if (!isEmpty()) {
+            return false;
+        }
+        source.indexDeferredAxioms();
+        source.generalClassAxioms.stream().forEach(generalClassAxioms::add);
+        source.propertyChainSubPropertyAxioms.stream()
+            .forEach(propertyChainSubPropertyAxioms::add);
+        axiomsByType = source.axiomsByType.share(this, axiomsByType);
+        owlClassReferences = source.owlClassReferences.share(this, owlClassReferences);
+        owlObjectPropertyReferences =
+            source.owlObjectPropertyReferences.share(this, owlObjectPropertyReferences);
+        owlDataPropertyReferences =
+            source.owlDataPropertyReferences.share(this, owlDataPropertyReferences);
+        owlIndividualReferences =
+            source.owlIndividualReferences.share(this, owlIndividualReferences);
+        owlAnonymousIndividualReferences =
+            source.owlAnonymousIndividualReferences.share(this, owlAnonymousIndividualReferences);
+        owlDatatypeReferences = source.owlDatatypeReferences.share(this, owlDatatypeReferences);
+        owlAnnotationPropertyReferences =
+            source.owlAnnotationPropertyReferences.share(this, owlAnnotationPropertyReferences);
+        declarationsByEntity = source.declarationsByEntity.share(this, declarationsByEntity);
+        classAssertionAxiomsByClass =
+            source.classAssertionAxiomsByClass.share(this, classAssertionAxiomsByClass);
+        annotationAssertionAxiomsBySubject =
+            source.annotationAssertionAxiomsBySubject
+                .share(this, annotationAssertionAxiomsBySubject);
+        subClassAxiomsBySubPosition =
+            source.subClassAxiomsBySubPosition.share(this, subClassAxiomsBySubPosition);
+        subClassAxiomsBySuperPosition =
+            source.subClassAxiomsBySuperPosition.share(this, subClassAxiomsBySuperPosition);
+        objectSubPropertyAxiomsBySubPosition =
+            source.objectSubPropertyAxiomsBySubPosition
+                .share(this, objectSubPropertyAxiomsBySubPosition);
+        objectSubPropertyAxiomsBySuperPosition =
+            source.objectSubPropertyAxiomsBySuperPosition
+                .share(this, objectSubPropertyAxiomsBySuperPosition);
+        dataSubPropertyAxiomsBySubPosition =
+            source.dataSubPropertyAxiomsBySubPosition
+                .share(this, dataSubPropertyAxiomsBySubPosition);
+        dataSubPropertyAxiomsBySuperPosition =
+            source.dataSubPropertyAxiomsBySuperPosition
+                .share(this, dataSubPropertyAxiomsBySuperPosition);
+        classAxiomsByClass = source.classAxiomsByClass.share(this, classAxiomsByClass);
+        equivalentClassesAxiomsByClass =
+            source.equivalentClassesAxiomsByClass.share(this, equivalentClassesAxiomsByClass);
+        disjointClassesAxiomsByClass =
+            source.disjointClassesAxiomsByClass.share(this, disjointClassesAxiomsByClass);
+        disjointUnionAxiomsByClass =
+            source.disjointUnionAxiomsByClass.share(this, disjointUnionAxiomsByClass);
+        hasKeyAxiomsByClass = source.hasKeyAxiomsByClass.share(this, hasKeyAxiomsByClass);
+        equivalentObjectPropertyAxiomsByProperty =
+            source.equivalentObjectPropertyAxiomsByProperty
+                .share(this, equivalentObjectPropertyAxiomsByProperty);
+        disjointObjectPropertyAxiomsByProperty =
+            source.disjointObjectPropertyAxiomsByProperty
+                .share(this, disjointObjectPropertyAxiomsByProperty);
+        objectPropertyDomainAxiomsByProperty =
+            source.objectPropertyDomainAxiomsByProperty
+                .share(this, objectPropertyDomainAxiomsByProperty);
+        objectPropertyRangeAxiomsByProperty =
+            source.objectPropertyRangeAxiomsByProperty
+                .share(this, objectPropertyRangeAxiomsByProperty);
+        functionalObjectPropertyAxiomsByProperty =
+            source.functionalObjectPropertyAxiomsByProperty
+                .share(this, functionalObjectPropertyAxiomsByProperty);
+        inverseFunctionalPropertyAxiomsByProperty =
+            source.inverseFunctionalPropertyAxiomsByProperty
+                .share(this, inverseFunctionalPropertyAxiomsByProperty);
+        symmetricPropertyAxiomsByProperty =
+            source.symmetricPropertyAxiomsByProperty.share(this, symmetricPropertyAxiomsByProperty);
+        asymmetricPropertyAxiomsByProperty =
+            source.asymmetricPropertyAxiomsByProperty
+                .share(this, asymmetricPropertyAxiomsByProperty);
+        reflexivePropertyAxiomsByProperty =
+            source.reflexivePropertyAxiomsByProperty.share(this, reflexivePropertyAxiomsByProperty);
+        irreflexivePropertyAxiomsByProperty =
+            source.irreflexivePropertyAxiomsByProperty
+                .share(this, irreflexivePropertyAxiomsByProperty);
+        transitivePropertyAxiomsByProperty =
+            source.transitivePropertyAxiomsByProperty
+                .share(this, transitivePropertyAxiomsByProperty);
+        inversePropertyAxiomsByProperty =
+            source.inversePropertyAxiomsByProperty.share(this, inversePropertyAxiomsByProperty);
+        equivalentDataPropertyAxiomsByProperty =
+            source.equivalentDataPropertyAxiomsByProperty
+                .share(this, equivalentDataPropertyAxiomsByProperty);
+        disjointDataPropertyAxiomsByProperty =
+            source.disjointDataPropertyAxiomsByProperty
+                .share(this, disjointDataPropertyAxiomsByProperty);
+        dataPropertyDomainAxiomsByProperty =
+            source.dataPropertyDomainAxiomsByProperty
+                .share(this, dataPropertyDomainAxiomsByProperty);
+        dataPropertyRangeAxiomsByProperty =
+            source.dataPropertyRangeAxiomsByProperty.share(this, dataPropertyRangeAxiomsByProperty);
+        functionalDataPropertyAxiomsByProperty =
+            source.functionalDataPropertyAxiomsByProperty
+                .share(this, functionalDataPropertyAxiomsByProperty);
+        classAssertionAxiomsByIndividual =
+            source.classAssertionAxiomsByIndividual.share(this, classAssertionAxiomsByIndividual);
+        objectPropertyAssertionsByIndividual =
+            source.objectPropertyAssertionsByIndividual
+                .share(this, objectPropertyAssertionsByIndividual);
+        dataPropertyAssertionsByIndividual =
+            source.dataPropertyAssertionsByIndividual
+                .share(this, dataPropertyAssertionsByIndividual);
+        negativeObjectPropertyAssertionAxiomsByIndividual =
+            source.negativeObjectPropertyAssertionAxiomsByIndividual
+                .share(this, negativeObjectPropertyAssertionAxiomsByIndividual);
+        negativeDataPropertyAssertionAxiomsByIndividual =
+            source.negativeDataPropertyAssertionAxiomsByIndividual
+                .share(this, negativeDataPropertyAssertionAxiomsByIndividual);
+        differentIndividualsAxiomsByIndividual =
+            source.differentIndividualsAxiomsByIndividual
+                .share(this, differentIndividualsAxiomsByIndividual);
+        sameIndividualsAxiomsByIndividual =
+            source.sameIndividualsAxiomsByIndividual.share(this, sameIndividualsAxiomsByIndividual);
+        return true;
+    }
+
+    /**
+     * Switch the pointers between int identifier storage and object storage. The pointers are
+     * rebuilt empty, so this only has an effect while no axioms have been added; the call is
+     * ignored otherwise.
+     *
+     * @param primitiveIds true if pointers should store int identifiers
+     * @return true if the storage is as requested on return
+     */
+    public boolean setPrimitiveIdIndexes(boolean primitiveIds) {
+        if (primitiveIds == (pointerIds != null)) {
+            return true;
+        }
+        if (!axiomsByType.isEmpty()) {
+            return false;
+        }
+        pointerIds = primitiveIds ? new PointerIdDictionary() : null;
+        buildPointers();
+        return true;
     }
 
     /**
@@ -341,6 +510,7 @@ public class Internals implements Serializable {
     }
 
     private void writeObject(ObjectOutputStream stream) throws IOException {
+        indexDeferredAxioms();
         axiomsForSerialization = asList(axiomsByType.getAllValues());
         stream.defaultWriteObject();
     }
@@ -616,6 +786,45 @@ public class Internals implements Serializable {
         return emptyOptional();
     }
 
+    /**
+     * @return true if pointers should be read without acquiring their monitors
+     */
+    public boolean isLockFreeReads() {
+        return lockFreeReads;
+    }
+
+    /**
+     * @param lockFreeReads true if pointers should be read without acquiring their monitors; only
+     *        safe if the owner of this instance excludes writers while reads are in progress
+     */
+    public void setLockFreeReads(boolean lockFreeReads) {
+        this.lockFreeReads = lockFreeReads;
+    }
+
+    @Nullable
+    private static PointerIdDictionary buildPointerIds() {
+        if (ConfigurationOptions.PRIMITIVE_ID_INDEXES
+            .getValue(Boolean.class, Collections.emptyMap()).booleanValue()) {
+            return new PointerIdDictionary();
+        }
+        return null;
+    }
+
+    /**
+     * @param valueWithness witness for the value type
+     * @param <K> key type
+     * @param <V> value type
+     * @return storage for a new pointer; pointers use int identifiers shared across this
+     *         instance if {@link ConfigurationOptions#PRIMITIVE_ID_INDEXES} is set
+     */
+    <K, V> PointerStore<K, V> buildStore(Class<V> valueWithness) {
+        PointerIdDictionary ids = pointerIds;
+        if (ids != null) {
+            return new IntPointerStore<>(ids);
+        }
+        return new ObjectPointerStore<>(valueWithness);
+    }
+
     protected <K, V extends OWLAxiom> MapPointer<K, V> build(Class<V> valueWithness) {
         return build(null, null, valueWithness);
     }
@@ -641,48 +850,203 @@ public class Internals implements Serializable {
     public boolean addAxiom(final OWLAxiom axiom) {
         checkNotNull(axiom, "axiom cannot be null");
         if (axiomsByType.put(axiom.getAxiomType(), axiom)) {
-            axiom.accept(addChangeVisitor);
-            AbstractCollector referenceAdder = new AbstractCollector() {
+            if (deferIndexing) {
+                defer(axiom);
+            } else {
+                index(axiom);
+            }
+            return true;
+        }
+        return false;
+    }
 
-                @Override
-                public void visit(OWLClass ce) {
-                    owlClassReferences.put(ce, axiom);
-                }
+    private synchronized void defer(OWLAxiom axiom) {
+        List<OWLAxiom> pending = deferredAxioms;
+        if (pending == null) {
+            pending = new ArrayList<>();
+            deferredAxioms = pending;
+            // built indexes now miss axioms; their next read indexes the pending axioms
+            indexPointers().forEach(MapPointer::stale);
+        }
+        pending.add(axiom);
+    }
 
-                @Override
-                public void visit(OWLObjectProperty property) {
-                    owlObjectPropertyReferences.put(property, axiom);
-                }
+    /**
+     * Update all indexes except axiomsByType with a new axiom.
+     *
+     * @param axiom axiom to index
+     */
+    private void index(final OWLAxiom axiom) {
+        axiom.accept(addChangeVisitor);
+        AbstractCollector referenceAdder = new AbstractCollector() {
 
-                @Override
-                public void visit(OWLDataProperty property) {
-                    owlDataPropertyReferences.put(property, axiom);
-                }
+            @Override
+            public void visit(OWLClass ce) {
+                owlClassReferences.put(ce, axiom);
+            }
 
-                @Override
-                public void visit(OWLNamedIndividual individual) {
-                    owlIndividualReferences.put(individual, axiom);
-                }
+            @Override
+            public void visit(OWLObjectProperty property) {
+                owlObjectPropertyReferences.put(property, axiom);
+            }
 
-                @Override
-                public void visit(OWLAnnotationProperty property) {
-                    owlAnnotationPropertyReferences.put(property, axiom);
-                }
+            @Override
+            public void visit(OWLDataProperty property) {
+                owlDataPropertyReferences.put(property, axiom);
+            }
 
-                @Override
-                public void visit(OWLDatatype node) {
-                    owlDatatypeReferences.put(node, axiom);
-                }
+            @Override
+            public void visit(OWLNamedIndividual individual) {
+                owlIndividualReferences.put(individual, axiom);
+            }
 
-                @Override
-                public void visit(OWLAnonymousIndividual individual) {
-                    owlAnonymousIndividualReferences.put(individual, axiom);
-                }
-            };
-            axiom.accept(referenceAdder);
-            return true;
+            @Override
+            public void visit(OWLAnnotationProperty property) {
+                owlAnnotationPropertyReferences.put(property, axiom);
+            }
+
+            @Override
+            public void visit(OWLDatatype node) {
+                owlDatatypeReferences.put(node, axiom);
+            }
+
+            @Override
+            public void visit(OWLAnonymousIndividual individual) {
+                owlAnonymousIndividualReferences.put(individual, axiom);
+            }
+        };
+        axiom.accept(referenceAdder);
+    }
+
+    /**
+     * While indexing is deferred, added axioms are only recorded by type; all other indexes are
+     * built in bulk the first time any of them is read, or an axiom is removed. The references of
+     * the pending axioms are collected on the indexing pool, so a bulk load followed by a read
+     * costs less than indexing each axiom as it is parsed.
+     *
+     * @param defer true if indexing of new axioms should be deferred
+     */
+    public void setDeferIndexing(boolean defer) {
+        deferIndexing = defer;
+    }
+
+    /**
+     * Index all the axioms added while indexing was deferred. Concurrent readers wait for the
+     * indexing to complete; reentrant calls from the indexing itself return immediately.
+     */
+    void indexDeferredAxioms() {
+        if (deferredAxioms != null) {
+            indexPendingAxioms();
         }
-        return false;
+    }
+
+    private synchronized void indexPendingAxioms() {
+        List<OWLAxiom> pending = deferredAxioms;
+        if (pending == null || indexingDeferredAxioms) {
+            return;
+        }
+        indexingDeferredAxioms = true;
+        try {
+            indexInBulk(pending);
+        } finally {
+            // readers check the list without locking: clear it only once all indexes are complete
+            deferredAxioms = null;
+            indexingDeferredAxioms = false;
+            indexPointers().forEach(MapPointer::refresh);
+        }
+    }
+
+    /**
+     * Update all indexes except axiomsByType with a batch of new axioms. The references are
+     * collected first, on the indexing pool for large batches, and each reference index then
+     * receives them in a single call; values collections are created at their final size.
+     *
+     * @param axioms axioms to index; must not contain duplicates
+     */
+    private void indexInBulk(List<OWLAxiom> axioms) {
+        axioms.forEach(ax -> ax.accept(addChangeVisitor));
+        ReferenceBatch references = ReferenceBatch.collect(axioms);
+        owlClassReferences.putAll(references.classes);
+        owlObjectPropertyReferences.putAll(references.objectProperties);
+        owlDataPropertyReferences.putAll(references.dataProperties);
+        owlIndividualReferences.putAll(references.individuals);
+        owlAnnotationPropertyReferences.putAll(references.annotationProperties);
+        owlDatatypeReferences.putAll(references.datatypes);
+        owlAnonymousIndividualReferences.putAll(references.anonymousIndividuals);
+    }
+
+    /**
+     * Builds the lazy indexes for the specified axiom types in parallel, so that the first queries
+     * after loading do not pay for building them. Indexes that are already built are left alone.
+     * Each index is built on a thread of its own; those threads are not indexing pool workers, so
+     * a pointer waiting on its own indexing subtasks never runs the build of another pointer.
+     *
+     * @param types axiom types whose indexes should be built
+     */
+    public void prewarmIndexes(Collection<AxiomType<?>> types) {
+        indexDeferredAxioms();
+        List<MapPointer<?, ?>> pointers = asList(lazyPointers()
+            .filter(p -> types.contains(p.getAxiomType()) && !p.isInitialized()));
+        if (pointers.isEmpty()) {
+            return;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(
+            Math.min(pointers.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            pointers.forEach(p -> tasks.add(pool.submit(() -> p.init())));
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        // built from the other class axiom indexes, so only once they are complete
+        if (types.contains(SUBCLASS_OF) || types.contains(EQUIVALENT_CLASSES)
+            || types.contains(DISJOINT_CLASSES) || types.contains(DISJOINT_UNION)) {
+            classAxiomsByClass.init();
+        }
+    }
+
+    /**
+     * @return all pointers except axiomsByType, which is never deferred
+     */
+    private Stream<MapPointer<?, ?>> indexPointers() {
+        return Stream.concat(
+            Stream.of(owlClassReferences, owlObjectPropertyReferences, owlDataPropertyReferences,
+                owlIndividualReferences, owlAnonymousIndividualReferences, owlDatatypeReferences,
+                owlAnnotationPropertyReferences, declarationsByEntity, classAxiomsByClass),
+            lazyPointers());
+    }
+
+    private Stream<MapPointer<?, ?>> lazyPointers() {
+        return Stream.of(classAssertionAxiomsByClass, annotationAssertionAxiomsBySubject,
+            subClassAxiomsBySubPosition, subClassAxiomsBySuperPosition,
+            objectSubPropertyAxiomsBySubPosition, objectSubPropertyAxiomsBySuperPosition,
+            dataSubPropertyAxiomsBySubPosition, dataSubPropertyAxiomsBySuperPosition,
+            equivalentClassesAxiomsByClass, disjointClassesAxiomsByClass,
+            disjointUnionAxiomsByClass, hasKeyAxiomsByClass,
+            equivalentObjectPropertyAxiomsByProperty, disjointObjectPropertyAxiomsByProperty,
+            objectPropertyDomainAxiomsByProperty, objectPropertyRangeAxiomsByProperty,
+            functionalObjectPropertyAxiomsByProperty, inverseFunctionalPropertyAxiomsByProperty,
+            symmetricPropertyAxiomsByProperty, asymmetricPropertyAxiomsByProperty,
+            reflexivePropertyAxiomsByProperty, irreflexivePropertyAxiomsByProperty,
+            transitivePropertyAxiomsByProperty, inversePropertyAxiomsByProperty,
+            equivalentDataPropertyAxiomsByProperty, disjointDataPropertyAxiomsByProperty,
+            dataPropertyDomainAxiomsByProperty, dataPropertyRangeAxiomsByProperty,
+            functionalDataPropertyAxiomsByProperty, classAssertionAxiomsByIndividual,
+            objectPropertyAssertionsByIndividual, dataPropertyAssertionsByIndividual,
+            negativeObjectPropertyAssertionAxiomsByIndividual,
+            negativeDataPropertyAssertionAxiomsByIndividual,
+            differentIndividualsAxiomsByIndividual, sameIndividualsAxiomsByIndividual);
     }
 
     /**
@@ -691,6 +1055,7 @@ public class Internals implements Serializable {
      */
     public boolean removeAxiom(final OWLAxiom axiom) {
         checkNotNull(axiom, "axiom cannot be null");
+        indexDeferredAxioms();
         if (axiomsByType.remove(axiom.getAxiomType(), axiom)) {
             axiom.accept(removeChangeVisitor);
             AbstractCollector referenceRemover = new AbstractCollector() {
@@ -880,6 +1245,7 @@ public class Internals implements Serializable {
      * @return copy of GCI axioms
      */
     public Stream<OWLClassAxiom> getGeneralClassAxioms() {
+        indexDeferredAxioms();
         // XXX watch out for performance issues
         return generalClassAxioms.stream().sorted();
     }
@@ -0,0 +1,191 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append only store for literal lexical forms. Strings are kept UTF-8 encoded in direct buffers, so
+ * they live outside the Java heap, and equal strings are stored once. Each entry records the hash
+ * code and length of the original string, so literals can be hashed and compared for equality
+ * without decoding; the string itself is decoded on access.
+ * <p>
+ * Entries are never removed; the memory is released when the store and all the literals using it
+ * are collected. Stores are therefore only owned by data factories with
+ * {@link org.semanticweb.owlapi.model.CacheScope#FACTORY FACTORY} cache scope, never shared across
+ * the JVM, and are best suited to ontologies that are loaded once and kept for a long time, such
+ * as large annotation heavy OBO ontologies.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+public final class LiteralStore {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    // entry header: hash code, char length, byte length
+    private static final int HEADER = 12;
+    private final int chunkSize;
+    // chunks are never moved, so handles stay valid when the store grows
+    private volatile ByteBuffer[] chunks = new ByteBuffer[16];
+    private int chunkCount;
+    // open addressing table of handles plus one; zero marks an empty slot
+    private long[] table = new long[1024];
+    private int entries;
+    private long storedBytes;
+
+    /**
+     * Creates a store allocating 1 MB buffers.
+     */
+    public LiteralStore() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize size of the direct buffers allocated by the store; strings longer than this
+     *        are stored in a buffer of their own
+     */
+    public LiteralStore(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param s string to store
+     * @return handle for the string; equal strings have equal handles
+     */
+    public synchronized long store(String s) {
+        int hash = s.hashCode();
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        while (table[slot] != 0) {
+            long handle = table[slot] - 1;
+            if (hash(handle) == hash && sameBytes(handle, bytes)) {
+                return handle;
+            }
+            slot = (slot + 1) & mask;
+        }
+        long handle = append(hash, s.length(), bytes);
+        table[slot] = handle + 1;
+        if (++entries * 2 > table.length) {
+            rehash();
+        }
+        return handle;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    private long append(int hash, int length, byte[] bytes) {
+        int size = HEADER + bytes.length;
+        ByteBuffer[] current = chunks;
+        ByteBuffer chunk = chunkCount == 0 ? null : current[chunkCount - 1];
+        if (chunk == null || chunk.remaining() < size) {
+            if (chunkCount == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, size));
+            current[chunkCount++] = chunk;
+        }
+        int offset = chunk.position();
+        chunk.putInt(hash).putInt(length).putInt(bytes.length).put(bytes);
+        storedBytes += size;
+        // the volatile write publishes the entry before its handle is returned
+        chunks = current;
+        return (long) (chunkCount - 1) << 32 | offset;
+    }
+
+    private void rehash() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        int mask = table.length - 1;
+        for (long h : old) {
+            if (h != 0) {
+                int slot = mix(hash(h - 1)) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = h;
+            }
+        }
+    }
+
+    private ByteBuffer chunk(long handle) {
+        return chunks[(int) (handle >>> 32)];
+    }
+
+    private static int offset(long handle) {
+        return (int) handle;
+    }
+
+    private boolean sameBytes(long handle, byte[] bytes) {
+        ByteBuffer chunk = chunk(handle);
+        int offset = offset(handle);
+        if (chunk.getInt(offset + 8) != bytes.length) {
+            return false;
+        }
+        int start = offset + HEADER;
+        for (int i = 0; i < bytes.length; i++) {
+            if (chunk.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param handle handle returned by {@link #store(String)}
+     * @return hash code of the stored string
+     */
+    public int hash(long handle) {
+        return chunk(handle).getInt(offset(handle));
+    }
+
+    /**
+     * @param handle handle returned by {@link #store(String)}
+     * @return length of the stored string, in chars
+     */
+    public int length(long handle) {
+        return chunk(handle).getInt(offset(handle) + 4);
+    }
+
+    /**
+     * @param handle handle returned by {@link #store(String)}
+     * @return the stored string, decoded from the store
+     */
+    public String get(long handle) {
+        ByteBuffer view = chunk(handle).duplicate();
+        int offset = offset(handle);
+        byte[] bytes = new byte[view.getInt(offset + 8)];
+        view.position(offset + HEADER);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return number of distinct strings in the store
+     */
+    public synchronized int size() {
+        return entries;
+    }
+
+    /**
+     * @return number of bytes used by the entries in the store
+     */
+    public synchronized long storedBytes() {
+        return storedBytes;
+    }
+}
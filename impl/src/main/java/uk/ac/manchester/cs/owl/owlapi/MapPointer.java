@@ -19,12 +19,19 @@ import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -39,8 +46,6 @@ import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
 import org.semanticweb.owlapi.util.SmallSet;
 
 import com.carrotsearch.hppcrt.cursors.ObjectCursor;
-import com.carrotsearch.hppcrt.maps.ObjectObjectHashMap;
-import com.carrotsearch.hppcrt.procedures.ObjectProcedure;
 import com.carrotsearch.hppcrt.sets.ObjectHashSet;
 
 import uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.InitCollectionVisitor;
@@ -56,17 +61,27 @@ import uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.InitVisitor;
  */
 public class MapPointer<K, V extends OWLAxiom> {
 
+    /**
+     * Lazy indexes over fewer axioms than this are populated on the calling thread.
+     */
+    static final int PARALLEL_INIT_THRESHOLD = 8192;
+    private static final int PARALLEL_INIT_CHUNK = 2048;
+
     @Nullable
     private final AxiomType<?> type;
     @Nullable
     private final OWLAxiomVisitorEx<?> visitor;
     private boolean initialized;
+    // set once the contents are complete; allows init() and lock free reads to skip the monitor
+    private volatile boolean ready;
     protected final Internals i;
     @Nullable
-    private SoftReference<Set<IRI>> iris;
-    private int size = 0;
-    private final ObjectObjectHashMap<K, Collection<V>> map = new ObjectObjectHashMap<>(17, 0.75F);
-    private final Class<V> valueWithness;
+    private volatile SoftReference<Set<IRI>> iris;
+    private PointerStore<K, V> map;
+    // true if the storage is also used by a pointer of a snapshot; copied before the next change
+    private boolean shared;
+    // true if initialized, but missing axioms whose indexing is deferred
+    private boolean stale;
 
     /**
      * @param t type of axioms contained
@@ -80,8 +95,44 @@ public class MapPointer<K, V extends OWLAxiom> {
         type = t;
         visitor = v;
         this.initialized = initialized;
+        ready = initialized;
         this.i = checkNotNull(i, "i cannot be null");
-        this.valueWithness = valueWithness;
+        map = i.buildStore(valueWithness);
+    }
+
+    private MapPointer(MapPointer<K, V> source, Internals i) {
+        type = source.type;
+        visitor = source.visitor;
+        initialized = true;
+        ready = true;
+        this.i = i;
+        iris = source.iris;
+        map = source.map;
+    }
+
+    /**
+     * Shares the content of this pointer with the internals of a snapshot. The storage is shared
+     * until this pointer is next changed, at which point this pointer switches to a copy; the
+     * returned pointer must never be changed.
+     *
+     * @param target internals the returned pointer belongs to
+     * @param lazy pointer to return if this pointer is not built yet; the target builds it from
+     *        its own axioms if needed
+     * @return pointer for the target
+     */
+    synchronized MapPointer<K, V> share(Internals target, MapPointer<K, V> lazy) {
+        if (!ready) {
+            return lazy;
+        }
+        shared = true;
+        return new MapPointer<>(this, target);
+    }
+
+    private void unshare() {
+        if (shared) {
+            map = map.copy();
+            shared = false;
+        }
     }
 
     /**
@@ -97,29 +148,31 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param e entity
      * @return true if an entity with the same iri as the input exists in the collection
      */
-    public synchronized boolean containsReference(K e) {
-        return map.containsKey(e);
+    public boolean containsReference(K e) {
+        return readBoolean(() -> map.containsKey(e));
     }
 
     /**
      * @param e IRI
      * @return true if an entity with the same iri as the input exists in the collection
      */
-    public synchronized boolean containsReference(IRI e) {
-        Set<IRI> set = null;
-        if (iris != null) {
-            set = iris.get();
-        }
-        if (set == null) {
-            set = initSet();
-        }
-        return set.contains(e);
+    public boolean containsReference(IRI e) {
+        return readBoolean(() -> {
+            SoftReference<Set<IRI>> ref = iris;
+            Set<IRI> set = null;
+            if (ref != null) {
+                set = ref.get();
+            }
+            if (set == null) {
+                set = initSet();
+            }
+            return set.contains(e);
+        });
     }
 
     private Set<IRI> initSet() {
         Set<IRI> set = CollectionFactory.createSet();
-        ObjectProcedure<K> consumer = k -> consumer(set, k);
-        map.keys().forEach(consumer);
+        map.forEachKey(k -> consumer(set, k));
         iris = new SoftReference<>(set);
         return set;
     }
@@ -140,28 +193,136 @@ public class MapPointer<K, V extends OWLAxiom> {
     }
 
     /**
+     * @return true if the contents are complete; reads then need no initialization
+     */
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks an initialized pointer as missing the axioms whose indexing the internals deferred;
+     * the next read makes the internals index them. Called holding the internals monitor.
+     */
+    synchronized void stale() {
+        if (initialized && ready) {
+            ready = false;
+            stale = true;
+        }
+    }
+
+    /**
+     * Marks a stale pointer as complete again. Called holding the internals monitor, once the
+     * deferred axioms are indexed.
+     */
+    synchronized void refresh() {
+        if (stale) {
+            stale = false;
+            ready = true;
+        }
+    }
+
+    /**
+     * Initializes the pointer at most once. Once initialization has completed, this method does
+     * not acquire the pointer monitor. Monitors are always taken in the same order: the internals
+     * monitor, to index deferred axioms, before the pointer monitor, which is never held while
+     * waiting for the internals monitor.
+     *
      * @return the map pointer
      */
-    @SuppressWarnings({"unchecked"})
-    public synchronized MapPointer<K, V> init() {
-        if (initialized) {
+    public MapPointer<K, V> init() {
+        if (ready) {
             return this;
         }
-        initialized = true;
+        if (this != i.getAxiomsByType()) {
+            // axiomsByType is always complete; the other indexes catch up before being built and
+            // after being marked stale
+            i.indexDeferredAxioms();
+            if (ready) {
+                return this;
+            }
+        }
+        synchronized (this) {
+            // a reentrant call during initialization finds initialized set and returns
+            if (!initialized) {
+                initialized = true;
+                populate();
+                ready = true;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Fills the pointer from the axioms in the internals. Called once, holding the pointer
+     * monitor, with initialized already set so that {@link #put(Object, OWLAxiom)} is enabled.
+     * Large indexes are built by a fork/join split over the axioms, each task filling a partial
+     * map; the partial maps are merged into the pointer at the end.
+     */
+    @SuppressWarnings({"unchecked"})
+    protected void populate() {
         if (visitor == null || type == null) {
-            return this;
+            return;
         }
         AxiomType<?> t = type;
         assert t != null;
+        List<V> axioms = new ArrayList<>();
+        i.getAxiomsByType().forEach(t, ax -> axioms.add((V) ax));
+        if (axioms.size() < PARALLEL_INIT_THRESHOLD || IndexingPool.POOL.getParallelism() < 2) {
+            axioms.forEach(ax -> keys(ax, k -> putInternal(k, ax)));
+            return;
+        }
+        IndexingPool.POOL.invoke(new PartialIndex<>(this, axioms, 0, axioms.size()))
+            .forEach((k, values) -> values.forEach(v -> putInternal(k, v)));
+    }
+
+    /**
+     * @return the axiom type indexed by this pointer, if the pointer is lazily built from one
+     */
+    @Nullable
+    AxiomType<?> getAxiomType() {
+        return type;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void keys(V axiom, Consumer<K> consumer) {
         if (visitor instanceof InitVisitor) {
-            InitVisitor<K> v = (InitVisitor<K>) visitor;
-            i.getAxiomsByType().forEach(t, ax -> putInternal(ax.accept(v), (V) ax));
+            K k = axiom.accept((InitVisitor<K>) visitor);
+            if (k != null) {
+                consumer.accept(k);
+            }
         } else if (visitor instanceof InitCollectionVisitor) {
-            InitCollectionVisitor<K> v = (InitCollectionVisitor<K>) visitor;
-            i.getAxiomsByType().forEach(t,
-                ax -> ax.accept(v).forEach(key -> putInternal(key, (V) ax)));
+            axiom.accept((InitCollectionVisitor<K>) visitor).forEach(consumer);
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        init();
+        if (i.isLockFreeReads()) {
+            return reader.get();
+        }
+        synchronized (this) {
+            return reader.get();
+        }
+    }
+
+    private boolean readBoolean(BooleanSupplier reader) {
+        init();
+        if (i.isLockFreeReads()) {
+            return reader.getAsBoolean();
+        }
+        synchronized (this) {
+            return reader.getAsBoolean();
+        }
+    }
+
+    private int readInt(IntSupplier reader) {
+        init();
+        if (i.isLockFreeReads()) {
+            return reader.getAsInt();
+        }
+        synchronized (this) {
+            return reader.getAsInt();
         }
-        return this;
     }
 
     @Override
@@ -172,20 +333,23 @@ public class MapPointer<K, V extends OWLAxiom> {
     /**
      * @return key set
      */
-    public synchronized Stream<K> keySet() {
-        init();
-        List<K> l = new ArrayList<>();
-        Consumer<ObjectCursor<K>> p = c -> l.add(c.value);
-        map.keys().forEach(p);
-        return l.stream();
+    public Stream<K> keySet() {
+        return read(() -> {
+            List<K> l = new ArrayList<>();
+            map.forEachKey(l::add);
+            return l.stream();
+        });
     }
 
     /**
      * @param key key to look up
      * @return value
      */
-    public synchronized Stream<V> getValues(K key) {
-        init();
+    public Stream<V> getValues(K key) {
+        return read(() -> valuesStream(key));
+    }
+
+    private Stream<V> valuesStream(K key) {
         Collection<V> t = map.get(key);
         if (t == null) {
             return Stream.empty();
@@ -193,7 +357,7 @@ public class MapPointer<K, V extends OWLAxiom> {
         if (t instanceof SmallSet) {
             return t.stream();
         }
-        if (t instanceof HPPCSet) {
+        if (t instanceof HPPCSet || t instanceof IntPointerStore.Values) {
             return new ArrayList<>(t).stream();
         }
         return t.stream();
@@ -203,9 +367,11 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param key key to look up
      * @param function consumer to apply
      */
-    public synchronized void forEach(K key, Consumer<V> function) {
-        init();
-        get(key).forEach(function);
+    public void forEach(K key, Consumer<V> function) {
+        readBoolean(() -> {
+            get(key).forEach(function);
+            return true;
+        });
     }
 
     /**
@@ -213,17 +379,19 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param function predicate to evaluate
      * @return value
      */
-    public synchronized boolean matchOnValues(K key, Predicate<V> function) {
-        init();
-        return get(key).anyMatch(function);
+    public boolean matchOnValues(K key, Predicate<V> function) {
+        return readBoolean(() -> get(key).anyMatch(function));
     }
 
     /**
      * @param key key to look up
      * @return value
      */
-    public synchronized Collection<V> getValuesAsCollection(K key) {
-        init();
+    public Collection<V> getValuesAsCollection(K key) {
+        return read(() -> valuesCollection(key));
+    }
+
+    private Collection<V> valuesCollection(K key) {
         Collection<V> t = map.get(key);
         if (t == null) {
             return Collections.emptyList();
@@ -231,7 +399,7 @@ public class MapPointer<K, V extends OWLAxiom> {
         if (t instanceof SmallSet) {
             return new ArrayList<>(t);
         }
-        if (t instanceof HPPCSet) {
+        if (t instanceof HPPCSet || t instanceof IntPointerStore.Values) {
             return new ArrayList<>(t);
         }
         return t;
@@ -241,17 +409,8 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param key key to look up
      * @return value
      */
-    public synchronized int countValues(K key) {
-        init();
-        return count(key);
-    }
-
-    private int count(K k) {
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return 0;
-        }
-        return t.size();
+    public int countValues(K key) {
+        return readInt(() -> map.count(key));
     }
 
     /**
@@ -261,20 +420,9 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @return value
      */
     @SuppressWarnings("unchecked")
-    public synchronized <O extends V> Stream<O> values(K key,
+    public <O extends V> Stream<O> values(K key,
         @SuppressWarnings("unused") Class<O> classType) {
-        init();
-        Collection<V> t = map.get(key);
-        if (t == null) {
-            return Stream.empty();
-        }
-        if (t instanceof SmallSet) {
-            return (Stream<O>) t.stream();
-        }
-        if (t instanceof HPPCSet) {
-            return (Stream<O>) new ArrayList<>(t).stream();
-        }
-        return (Stream<O>) t.stream();
+        return (Stream<O>) read(() -> valuesStream(key));
     }
 
     /**
@@ -283,8 +431,11 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param key key
      * @return set of values
      */
-    public synchronized <T> Collection<OWLAxiom> filterAxioms(OWLAxiomSearchFilter filter, T key) {
-        init();
+    public <T> Collection<OWLAxiom> filterAxioms(OWLAxiomSearchFilter filter, T key) {
+        return read(() -> filter(filter, key));
+    }
+
+    private <T> Collection<OWLAxiom> filter(OWLAxiomSearchFilter filter, T key) {
         List<OWLAxiom> toReturn = new ArrayList<>();
         for (AxiomType<?> at : filter.getAxiomTypes()) {
             // This method is only used for MapPointer<AxiomType, OWLAxiom>
@@ -308,9 +459,24 @@ public class MapPointer<K, V extends OWLAxiom> {
             return false;
         }
         iris = null;
+        unshare();
         return putInternal(key, value);
     }
 
+    /**
+     * Adds values for many keys under a single acquisition of the monitor.
+     *
+     * @param values values to add by key; the collections must not contain duplicates
+     */
+    public synchronized void putAll(Map<K, ? extends Collection<V>> values) {
+        if (!initialized) {
+            return;
+        }
+        iris = null;
+        unshare();
+        values.forEach((k, v) -> map.putAll(k, v));
+    }
+
     /**
      * @param key key to look up
      * @param value value to remove
@@ -321,6 +487,7 @@ public class MapPointer<K, V extends OWLAxiom> {
             return false;
         }
         iris = null;
+        unshare();
         return removeInternal(key, value);
     }
 
@@ -328,9 +495,8 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param key key to look up
      * @return true if there are values for key
      */
-    public synchronized boolean containsKey(K key) {
-        init();
-        return map.containsKey(key);
+    public boolean containsKey(K key) {
+        return readBoolean(() -> map.containsKey(key));
     }
 
     /**
@@ -338,106 +504,45 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param value value to look up
      * @return true if key and value are contained
      */
-    public synchronized boolean contains(K key, V value) {
-        init();
-        return containsEntry(key, value);
+    public boolean contains(K key, V value) {
+        return readBoolean(() -> map.contains(key, value));
     }
 
     /**
      * @return all values contained
      */
-    public synchronized Stream<V> getAllValues() {
-        init();
-        return values();
+    public Stream<V> getAllValues() {
+        return read(this::values);
     }
 
     /**
      * @return number of mapping contained
      */
-    public synchronized int size() {
-        init();
-        return size;
+    public int size() {
+        return readInt(map::size);
     }
 
     /**
      * @return true if empty
      */
-    public synchronized boolean isEmpty() {
-        init();
-        return size == 0;
+    public boolean isEmpty() {
+        return readInt(map::size) == 0;
     }
 
     private boolean putInternal(@Nullable K k, V v) {
         if (k == null) {
             return false;
         }
-        Collection<V> set = map.get(k);
-        if (set == null) {
-            set = Collections.singleton(v);
-            map.put(k, set);
-            size++;
-            return true;
-        }
-        if (set.size() == 1) {
-            if (set.contains(v)) {
-                return false;
-            } else {
-                set = new SmallSet<>(set);
-                map.put(k, set);
-            }
-        } else if (set.size() == 3) {
-            if (set.contains(v)) {
-                return false;
-            } else {
-                set = new HPPCSet<>(set, v, valueWithness);
-                map.put(k, set);
-                size++;
-                return true;
-            }
-        }
-        boolean added = set.add(v);
-        if (added) {
-            size++;
-        }
-        return added;
-    }
-
-    private boolean containsEntry(K k, V v) {
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return false;
-        }
-        return t.contains(v);
+        return map.put(k, v);
     }
 
     private boolean removeInternal(K k, V v) {
-        Collection<V> t = map.get(k);
-        if (t == null) {
-            return false;
-        }
-        if (t.size() == 1) {
-            if (t.contains(v)) {
-                map.remove(k);
-                size--;
-                return true;
-            } else {
-                return false;
-            }
-        }
-        boolean removed = t.remove(v);
-        if (removed) {
-            size--;
-        }
-        if (t.isEmpty()) {
-            map.remove(k);
-        }
-        return removed;
+        return map.remove(k, v);
     }
 
     private Stream<V> values() {
         List<V> l = new ArrayList<>();
-        Consumer<ObjectCursor<Collection<V>>> c = q -> l.addAll(q.value);
-        map.values().forEach(c);
+        map.forEachValue(l::add);
         return l.stream();
     }
 
@@ -448,6 +553,62 @@ public class MapPointer<K, V extends OWLAxiom> {
         }
         return t.stream();
     }
+
+    /**
+     * Pool used to build indexes. Index building holds pointer monitors, so it uses its own pool
+     * rather than the common pool: a worker waiting on a subtask must never pick up unrelated work
+     * that could read the index being built. Only tasks that compute keys or collect references,
+     * without taking any monitor, are submitted here; whole index builds run on their callers.
+     */
+    static final class IndexingPool {
+
+        static final ForkJoinPool POOL =
+            new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+        private IndexingPool() {}
+    }
+
+    /**
+     * Computes the keys for a range of axioms, splitting the range until it is small enough.
+     */
+    private static final class PartialIndex<K, V extends OWLAxiom>
+        extends RecursiveTask<Map<K, List<V>>> {
+
+        private final MapPointer<K, V> pointer;
+        private final List<V> axioms;
+        private final int from;
+        private final int to;
+
+        PartialIndex(MapPointer<K, V> pointer, List<V> axioms, int from, int to) {
+            this.pointer = pointer;
+            this.axioms = axioms;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<K, List<V>> compute() {
+            if (to - from <= PARALLEL_INIT_CHUNK) {
+                Map<K, List<V>> partial = new HashMap<>();
+                for (int index = from; index < to; index++) {
+                    V ax = axioms.get(index);
+                    pointer.keys(ax,
+                        k -> partial.computeIfAbsent(k, x -> new ArrayList<>()).add(ax));
+                }
+                return partial;
+            }
+            int middle = (from + to) >>> 1;
+            PartialIndex<K, V> left = new PartialIndex<>(pointer, axioms, from, middle);
+            left.fork();
+            Map<K, List<V>> right = new PartialIndex<>(pointer, axioms, middle, to).compute();
+            Map<K, List<V>> merged = left.join();
+            right.forEach((k, values) -> merged.merge(k, values, (a, b) -> {
+                a.addAll(b);
+                return a;
+            }));
+            return merged;
+        }
+    }
 }
 
 
@@ -1,7 +1,9 @@
 package uk.ac.manchester.cs.owl.owlapi;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
@@ -16,7 +18,8 @@ import org.semanticweb.owlapi.search.Filters;
  * @since 4.0.0
  */
 public abstract class OWLAxiomIndexImpl extends OWLObjectImpl
-    implements OWLAxiomIndex, HasTrimToSize {
+    implements OWLAxiomIndex, HasTrimToSize, HasLockFreeReads, HasDeferredIndexing,
+    HasPrewarmIndexes, HasPrimitiveIdIndexes {
 
     protected final Internals ints = new Internals();
 
@@ -26,6 +29,26 @@ public abstract class OWLAxiomIndexImpl extends OWLObjectImpl
         // ints.trimToSize();
     }
 
+    @Override
+    public void setLockFreeReads(boolean lockFreeReads) {
+        ints.setLockFreeReads(lockFreeReads);
+    }
+
+    @Override
+    public void setDeferIndexing(boolean defer) {
+        ints.setDeferIndexing(defer);
+    }
+
+    @Override
+    public boolean setPrimitiveIdIndexes(boolean primitiveIds) {
+        return ints.setPrimitiveIdIndexes(primitiveIds);
+    }
+
+    @Override
+    public void prewarmIndexes(Collection<AxiomType<?>> types) {
+        ints.prewarmIndexes(types);
+    }
+
     @Override
     public Stream<OWLDatatypeDefinitionAxiom> datatypeDefinitions(OWLDatatype datatype) {
         // XXX stream better?
@@ -41,6 +41,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -158,12 +159,15 @@ import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.semanticweb.owlapi.vocab.OWLFacet;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.0.0
  */
 @Singleton
-public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassProvider {
+public class OWLDataFactoryImpl
+    implements OWLDataFactory, Serializable, ClassProvider, HasCacheStatistics {
 
     private static final String LEXICAL_VALUE_CANNOT_BE_NULL = "lexicalValue cannot be null";
     private static final String LITERAL_CANNOT_BE_NULL = "literal cannot be null";
@@ -214,8 +218,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
     private static final String ENTITY_TYPE_CANNOT_BE_NULL = "entityType cannot be null";
     private static final String ANNOTATIONS_CANNOT_BE_NULL = "annotations cannot be null";
     private final boolean useCompression = false;
-    private transient OWLDataFactoryInternals dataFactoryInternals =
-        new OWLDataFactoryInternalsImpl(useCompression);
+    private transient OWLDataFactoryInternals dataFactoryInternals;
 
     private OWLOntologyLoaderConfiguration config;
 
@@ -232,6 +235,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
      */
     public OWLDataFactoryImpl(OWLOntologyLoaderConfiguration config) {
         this.config = config;
+        dataFactoryInternals = new OWLDataFactoryInternalsImpl(useCompression, config);
     }
 
     private static void checkAnnotations(Collection<OWLAnnotation> o) {
@@ -240,7 +244,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
 
     private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
-        dataFactoryInternals = new OWLDataFactoryInternalsImpl(useCompression);
+        dataFactoryInternals = new OWLDataFactoryInternalsImpl(useCompression, config);
     }
 
     @Override
@@ -248,6 +252,28 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable, ClassPr
         dataFactoryInternals.purge();
     }
 
+    @Override
+    public Map<String, CacheStats> cacheStatistics() {
+        if (dataFactoryInternals instanceof HasCacheStatistics) {
+            return ((HasCacheStatistics) dataFactoryInternals).cacheStatistics();
+        }
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public void registerCacheMBeans(String scope) {
+        if (dataFactoryInternals instanceof HasCacheStatistics) {
+            ((HasCacheStatistics) dataFactoryInternals).registerCacheMBeans(scope);
+        }
+    }
+
+    @Override
+    public void unregisterCacheMBeans() {
+        if (dataFactoryInternals instanceof HasCacheStatistics) {
+            ((HasCacheStatistics) dataFactoryInternals).unregisterCacheMBeans();
+        }
+    }
+
     @Override
     public <E extends OWLEntity> E getOWLEntity(EntityType<E> entityType, IRI iri) {
         checkNotNull(entityType, ENTITY_TYPE_CANNOT_BE_NULL);
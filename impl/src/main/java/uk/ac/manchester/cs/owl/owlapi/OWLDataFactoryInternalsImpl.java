@@ -13,8 +13,12 @@
 package uk.ac.manchester.cs.owl.owlapi;
 
 import java.util.Collections;
+import java.util.Map;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.CacheScope;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
@@ -24,46 +28,50 @@ import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 
-import com.github.benmanes.caffeine.cache.CacheLoader;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 /**
  * @author ignazio
  */
-public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCache {
+public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCache
+    implements HasCacheStatistics {
+
+    private final transient DataFactoryCaches caches;
+    @Nullable
+    private final transient IRIDictionary dictionary;
 
-    /**
-     * Annotations Cache uses a loading cache as a size limited Interner; the value of the loader is
-     * simply the key. As with an interner, each access constructs a new object that is discarded if
-     * the key is used. Most annotations will only be used once; however some annotations may be
-     * reused extremely frequently. for ontologies in the OBO family, a few annotations will be
-     * reused extremely frequently.
-     */
-    //@formatter:off
-    private static final LoadingCache<IRI, OWLAnnotationProperty>   annotationProperties = builder(OWLAnnotationPropertyImpl::new);
-    private static final LoadingCache<OWLAnnotation, OWLAnnotation> annotations =          builder(OWLDataFactoryInternalsImpl::ann);
-    private static final LoadingCache<IRI, OWLClass>                classes =              builder(OWLClassImpl::new);
-    private static final LoadingCache<IRI, OWLObjectProperty>       objectProperties =     builder(OWLObjectPropertyImpl::new);
-    private static final LoadingCache<IRI, OWLDataProperty>         dataProperties =       builder(OWLDataPropertyImpl::new);
-    private static final LoadingCache<IRI, OWLDatatype>             datatypes =            builder(OWLDatatypeImpl::new);
-    private static final LoadingCache<IRI, OWLNamedIndividual>      individuals =          builder(OWLNamedIndividualImpl::new);
-    //@formatter:on
     /**
      * @param useCompression true if literals should be compressed
      */
     public OWLDataFactoryInternalsImpl(boolean useCompression) {
         super(useCompression);
+        caches = DataFactoryCaches.global();
+        dictionary = null;
     }
 
-    private static OWLAnnotation ann(OWLAnnotation o) {
-        return o;
+    /**
+     * @param useCompression true if literals should be compressed
+     * @param config configuration; its cache scope decides whether the caches are shared with other
+     *        data factories, literals are only stored off heap with factory scope, and entity IRIs
+     *        are shared through a dictionary of this factory if the configuration asks for it
+     */
+    public OWLDataFactoryInternalsImpl(boolean useCompression,
+        OWLOntologyLoaderConfiguration config) {
+        super(useCompression, literalStore(config));
+        caches = DataFactoryCaches.forConfiguration(config);
+        dictionary = config.shouldUseIRIDictionary() ? new IRIDictionary() : null;
     }
 
-    private static <F, T> LoadingCache<F, T> builder(CacheLoader<F, T> f) {
-        return Caffeine.newBuilder().weakKeys().maximumSize(size()).build(f);
+    @Nullable
+    private static LiteralStore literalStore(OWLOntologyLoaderConfiguration config) {
+        // a store is only released with its owner, so it is never shared across the JVM
+        if (config.shouldStoreLiteralsOffHeap() && config.getCacheScope() == CacheScope.FACTORY) {
+            return new LiteralStore();
+        }
+        return null;
     }
 
     protected static long size() {
@@ -71,50 +79,64 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
             .longValue();
     }
 
+    @Override
+    public Map<String, CacheStats> cacheStatistics() {
+        return caches.stats();
+    }
+
+    @Override
+    public void registerCacheMBeans(String scope) {
+        caches.registerMBeans(scope);
+    }
+
+    @Override
+    public void unregisterCacheMBeans() {
+        caches.unregisterMBeans();
+    }
+
+    private IRI shared(IRI iri) {
+        IRIDictionary d = dictionary;
+        return d == null ? iri : d.intern(iri);
+    }
+
     @Override
     public OWLClass getOWLClass(IRI iri) {
-        return classes.get(iri);
+        return caches.classes.get(shared(iri));
     }
 
     @Override
     public void purge() {
-        classes.invalidateAll();
-        objectProperties.invalidateAll();
-        dataProperties.invalidateAll();
-        datatypes.invalidateAll();
-        individuals.invalidateAll();
-        annotationProperties.invalidateAll();
-        annotations.invalidateAll();
+        caches.purge();
     }
 
     @Override
     public OWLObjectProperty getOWLObjectProperty(IRI iri) {
-        return objectProperties.get(iri);
+        return caches.objectProperties.get(shared(iri));
     }
 
     @Override
     public OWLDataProperty getOWLDataProperty(IRI iri) {
-        return dataProperties.get(iri);
+        return caches.dataProperties.get(shared(iri));
     }
 
     @Override
     public OWLNamedIndividual getOWLNamedIndividual(IRI iri) {
-        return individuals.get(iri);
+        return caches.individuals.get(shared(iri));
     }
 
     @Override
     public OWLDatatype getOWLDatatype(IRI iri) {
-        return datatypes.get(iri);
+        return caches.datatypes.get(shared(iri));
     }
 
     @Override
     public OWLAnnotationProperty getOWLAnnotationProperty(IRI iri) {
-        return annotationProperties.get(iri);
+        return caches.annotationProperties.get(shared(iri));
     }
 
     @Override
     public OWLAnnotation getOWLAnnotation(OWLAnnotationProperty property, OWLAnnotationValue value,
         Stream<OWLAnnotation> anns) {
-        return annotations.get(new OWLAnnotationImpl(property, value, anns));
+        return caches.annotations.get(new OWLAnnotationImpl(property, value, anns));
     }
 }
@@ -44,13 +44,26 @@ import org.semanticweb.owlapi.model.OWLObjectProperty;
 public class OWLDataFactoryInternalsImplNoCache implements OWLDataFactoryInternals {
 
     private final boolean useCompression;
+    @Nullable
+    private final LiteralStore literalStore;
     private final OWLLiteral negativeFloatZero = getBasicLiteral("-0.0", XSDFLOAT);
 
     /**
      * @param useCompression true if compression of literals should be used
      */
     public OWLDataFactoryInternalsImplNoCache(boolean useCompression) {
+        this(useCompression, null);
+    }
+
+    /**
+     * @param useCompression true if compression of literals should be used
+     * @param literalStore store for the lexical forms of string literals; null if they should be
+     *        kept on the heap
+     */
+    public OWLDataFactoryInternalsImplNoCache(boolean useCompression,
+        @Nullable LiteralStore literalStore) {
         this.useCompression = useCompression;
+        this.literalStore = literalStore;
     }
 
     @Override
@@ -95,6 +108,9 @@ public class OWLDataFactoryInternalsImplNoCache implements OWLDataFactoryInterna
 
     @Override
     public OWLLiteral getOWLLiteral(String value) {
+        if (literalStore != null) {
+            return new OWLLiteralImplOffHeap(literalStore, value, "");
+        }
         if (useCompression) {
             return new OWLLiteralImpl(value, "", XSDSTRING);
         }
@@ -109,6 +125,9 @@ public class OWLDataFactoryInternalsImplNoCache implements OWLDataFactoryInterna
         } else {
             normalisedLang = lang.trim().toLowerCase(Locale.ENGLISH);
         }
+        if (literalStore != null) {
+            return new OWLLiteralImplOffHeap(literalStore, literal, normalisedLang);
+        }
         if (normalisedLang.isEmpty()) {
             if (useCompression) {
                 return new OWLLiteralImpl(literal, null, XSDSTRING);
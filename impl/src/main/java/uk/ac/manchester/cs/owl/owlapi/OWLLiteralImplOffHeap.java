@@ -0,0 +1,117 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+
+/**
+ * An OWLLiteral whose datatype is RDF_LANG_STRING or XSD_STRING and whose lexical form is kept in a
+ * {@link LiteralStore}, outside the Java heap.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+public class OWLLiteralImplOffHeap extends OWLObjectImpl implements OWLLiteral {
+
+    private final LiteralStore store;
+    private final long handle;
+    private final OWLDatatype datatype;
+    private final String lang;
+
+    /**
+     * @param store store for the lexical form
+     * @param literal the lexical form
+     * @param lang the language; can be null or empty
+     */
+    public OWLLiteralImplOffHeap(LiteralStore store, String literal, @Nullable String lang) {
+        this.store = store;
+        handle = store.store(literal);
+        if (lang == null || lang.isEmpty()) {
+            this.lang = "";
+            datatype = InternalizedEntities.XSDSTRING;
+        } else {
+            this.lang = lang.trim();
+            datatype = InternalizedEntities.LANGSTRING;
+        }
+    }
+
+    @Override
+    public String getLiteral() {
+        return store.get(handle);
+    }
+
+    @Override
+    public boolean hasLang() {
+        return !lang.isEmpty();
+    }
+
+    @Override
+    public boolean isRDFPlainLiteral() {
+        return false;
+    }
+
+    @Override
+    public String getLang() {
+        return lang;
+    }
+
+    @Override
+    public boolean hasLang(@Nullable String l) {
+        if (l == null || l.isEmpty()) {
+            return lang.isEmpty();
+        }
+        return lang.equalsIgnoreCase(l.trim());
+    }
+
+    @Override
+    public OWLDatatype getDatatype() {
+        return datatype;
+    }
+
+    @Override
+    public int initHashCode() {
+        // same value as OWLLiteralImplString and OWLLiteralImplPlain, without decoding
+        int hash = hashIndex();
+        hash = OWLObject.hashIteration(hash, getDatatype().hashCode());
+        hash = OWLObject.hashIteration(hash, store.hash(handle) * 65536);
+        return OWLObject.hashIteration(hash, getLang().hashCode());
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj instanceof OWLLiteralImplOffHeap && ((OWLLiteralImplOffHeap) obj).store == store) {
+            // equal strings share a handle in the same store
+            OWLLiteralImplOffHeap other = (OWLLiteralImplOffHeap) obj;
+            return handle == other.handle && lang.equals(other.lang);
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * Stores are not serializable; literals are serialized as the equivalent on heap literal.
+     *
+     * @return serial form of this literal
+     */
+    protected Object writeReplace() {
+        return new OWLLiteralImplPlain(getLiteral(), lang);
+    }
+}
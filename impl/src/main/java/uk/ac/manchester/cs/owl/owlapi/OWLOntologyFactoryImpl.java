@@ -47,6 +47,7 @@ import org.semanticweb.owlapi.model.UnloadableImportException;
 import org.semanticweb.owlapi.util.PriorityCollection;
 
 import uk.ac.manchester.cs.AcceptHeaderBuilder;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentOWLOntologyBuilder;
 
 /**
  * Matthew Horridge Stanford Center for Biomedical Informatics Research 10/04/15
@@ -178,6 +179,14 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
             new HashSet<>(Arrays.asList(configuration.getBannedParsers().split(" ")));
         PriorityCollection<OWLParserFactory> parsers =
             getParsers(documentSource, manager.getOntologyParsers());
+        if (!documentSource.getFormat().isPresent() && parsers.size() > 1) {
+            // try the parsers for the syntax guessed from the content first, rather than
+            // running every parser over the document until one succeeds
+            Optional<FormatSniffer.Syntax> syntax = FormatSniffer.sniff(documentSource);
+            if (syntax.isPresent()) {
+                parsers = FormatSniffer.rank(syntax.get(), parsers);
+            }
+        }
         // use the selection of parsers to set the accept headers explicitly, including weights
         if (documentSource.getAcceptHeaders().isPresent()) {
             documentSource.setAcceptHeaders(AcceptHeaderBuilder.headersFromParsers(parsers));
@@ -192,7 +201,7 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
                         ont = createOWLOntology(manager, ontologyID,
                             documentSource.getDocumentIRI(), handler);
                     }
-                    OWLDocumentFormat format = parser.parse(documentSource, ont, configuration);
+                    OWLDocumentFormat format = parse(documentSource, ont, configuration, parser);
                     handler.setOntologyFormat(ont, format);
                     return ont;
                 } catch (UnloadableImportException e) {
@@ -237,8 +246,51 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
             configuration);
     }
 
+    /**
+     * Parse into the ontology; in bulk load mode, indexes other than axioms by type are not
+     * updated until the first read after parsing. The index storage of an empty ontology follows
+     * the primitive id indexes option of the configuration. Imports are only deferred for parsers
+     * that do not read them while parsing.
+     */
+    private static OWLDocumentFormat parse(OWLOntologyDocumentSource documentSource,
+        OWLOntology ont, OWLOntologyLoaderConfiguration loaderConfiguration, OWLParser parser) {
+        OWLOntologyLoaderConfiguration configuration = loaderConfiguration;
+        if (configuration.shouldLoadImportsInParallel() && parser.readsImportsWhileParsing()) {
+            configuration = configuration.setLoadImportsInParallel(false);
+        }
+        if (ont instanceof HasPrimitiveIdIndexes) {
+            ((HasPrimitiveIdIndexes) ont)
+                .setPrimitiveIdIndexes(configuration.shouldUsePrimitiveIdIndexes());
+        }
+        boolean bulkLoad = configuration.shouldBulkLoad() && ont instanceof HasDeferredIndexing;
+        if (bulkLoad) {
+            ((HasDeferredIndexing) ont).setDeferIndexing(true);
+        }
+        try {
+            return parser.parse(documentSource, ont, configuration);
+        } finally {
+            if (bulkLoad) {
+                ((HasDeferredIndexing) ont).setDeferIndexing(false);
+            }
+        }
+    }
+
     @Override
     public void setLock(ReadWriteLock lock) {
         ontologyBuilder.setLock(lock);
     }
+
+    /**
+     * @param lock lock for the ontologies created by the new factory
+     * @return a factory whose ontologies use the specified lock; this factory and its builder are
+     *         not changed. Builders other than {@link ConcurrentOWLOntologyBuilder} do not use a
+     *         lock and are shared.
+     */
+    OWLOntologyFactoryImpl withLock(ReadWriteLock lock) {
+        if (ontologyBuilder instanceof ConcurrentOWLOntologyBuilder) {
+            return new OWLOntologyFactoryImpl(
+                ((ConcurrentOWLOntologyBuilder) ontologyBuilder).withLock(lock));
+        }
+        return new OWLOntologyFactoryImpl(ontologyBuilder);
+    }
 }
@@ -126,6 +126,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentPriorityCollection;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.StripedReadWriteLock;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
@@ -173,6 +174,10 @@ public class OWLOntologyManagerImpl
     private OntologyConfigurator configProvider = new OntologyConfigurator();
     private transient Optional<OWLOntologyLoaderConfiguration> loaderConfig = emptyOptional();
     private transient Optional<OWLOntologyWriterConfiguration> writerConfig = emptyOptional();
+    /** Imports found while parsing, when imports are loaded in parallel after the parse. */
+    private transient List<OWLImportsDeclaration> deferredImports = new ArrayList<>();
+    /** True for the managers parsing single imports on behalf of a parallel imports load. */
+    private transient boolean importsWorker;
 
     /**
      * @param dataFactory data factory
@@ -600,7 +605,9 @@ public class OWLOntologyManagerImpl
 
     @Override
     public ChangeDetails applyChangesAndGetDetails(List<? extends OWLOntologyChange> changes) {
-        writeLock.lock();
+        // with a striped lock, batches of axiom changes only lock the affected axiom types
+        Lock changesLock = StripedReadWriteLock.writeLock(lock, changes);
+        changesLock.lock();
         try {
             broadcastImpendingChanges(changes);
             AtomicBoolean rollbackRequested = new AtomicBoolean(false);
@@ -628,7 +635,7 @@ public class OWLOntologyManagerImpl
             broadcastOntologyChangesVetoed(changes, e);
             return new ChangeDetails(ChangeApplied.UNSUCCESSFULLY, Collections.emptyList());
         } finally {
-            writeLock.unlock();
+            changesLock.unlock();
         }
     }
 
@@ -793,7 +800,10 @@ public class OWLOntologyManagerImpl
             for (OWLOntologyFactory factory : ontologyFactories) {
                 if (factory.canCreateFromDocumentIRI(documentIRI)) {
                     documentIRIsByID.put(ontologyID, documentIRI);
-                    factory.setLock(lock);
+                    if (!importsWorker) {
+                        // the factories of a worker are its own and already use its lock
+                        factory.setLock(lock);
+                    }
                     return factory.createOWLOntology(this, ontologyID, documentIRI, this);
                 }
             }
@@ -1054,6 +1064,9 @@ public class OWLOntologyManagerImpl
             try {
                 OWLOntology o = load(documentSource, configuration);
                 if (o != null) {
+                    if (!importsWorker && loadCount.get() == 1 && !deferredImports.isEmpty()) {
+                        loadDeferredImports(o, configuration);
+                    }
                     idOfLoadedOntology = o.getOntologyID();
                     return o;
                 }
@@ -1070,6 +1083,9 @@ public class OWLOntologyManagerImpl
                 if (loadCount.decrementAndGet() == 0) {
                     broadcastChanges.set(true);
                     // Completed loading ontology and imports
+                    if (!importsWorker) {
+                        deferredImports.clear();
+                    }
                 }
                 fireFinishedLoadingEvent(idOfLoadedOntology, documentSource.getDocumentIRI(),
                     loadCount.get() > 0, ex);
@@ -1080,6 +1096,68 @@ public class OWLOntologyManagerImpl
         }
     }
 
+    /**
+     * Loads the imports closure of an ontology whose imports were deferred while parsing; the
+     * imported ontologies are added to this manager only if the whole closure can be loaded.
+     */
+    private void loadDeferredImports(OWLOntology o, OWLOntologyLoaderConfiguration configuration)
+        throws OWLOntologyCreationException {
+        List<OWLImportsDeclaration> imports = new ArrayList<>(deferredImports);
+        deferredImports.clear();
+        try {
+            new ImportsClosureLoader(this, configuration).load(imports);
+        } catch (UnloadableImportException e) {
+            removeOntology(o);
+            throw e;
+        }
+        if (configuration.shouldRepairIllegalPunnings()) {
+            // the imports were not available when the ontology was checked after parsing
+            fixIllegalPunnings(o);
+        }
+    }
+
+    /**
+     * @return true if every ontology factory can be copied for an imports worker, so that workers
+     *         never change the lock of the factories of this manager
+     */
+    private boolean canLoadImportsInParallel() {
+        for (OWLOntologyFactory factory : ontologyFactories) {
+            if (factory.getClass() != OWLOntologyFactoryImpl.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param workerLock lock for the worker
+     * @return a manager with the same mappers and parsers as this manager and copies of its
+     *         factories bound to the worker lock, which collects the imports of the ontology it
+     *         loads instead of loading them
+     */
+    OWLOntologyManagerImpl importsWorker(ReadWriteLock workerLock) {
+        OWLOntologyManagerImpl worker =
+            new OWLOntologyManagerImpl(dataFactory, workerLock, PriorityCollectionSorting.NEVER);
+        worker.importsWorker = true;
+        worker.documentMappers.set(documentMappers);
+        List<OWLOntologyFactory> factories = new ArrayList<>();
+        ontologyFactories
+            .forEach(f -> factories.add(((OWLOntologyFactoryImpl) f).withLock(workerLock)));
+        worker.ontologyFactories.set(factories);
+        worker.parserFactories.set(parserFactories);
+        worker.setOntologyConfigurator(getOntologyConfigurator());
+        return worker;
+    }
+
+    /**
+     * @return the imports collected while this worker loaded its ontology
+     */
+    List<OWLImportsDeclaration> takeDeferredImports() {
+        List<OWLImportsDeclaration> imports = new ArrayList<>(deferredImports);
+        deferredImports.clear();
+        return imports;
+    }
+
     @Nullable
     protected OWLOntology load(OWLOntologyDocumentSource documentSource,
         OWLOntologyLoaderConfiguration configuration) throws OWLOntologyCreationException {
@@ -1100,7 +1178,9 @@ public class OWLOntologyManagerImpl
                     // Note - there is no need to add the ontology here,
                     // because it will be added
                     // when the ontology is created.
-                    factory.setLock(lock);
+                    if (!importsWorker) {
+                        factory.setLock(lock);
+                    }
                     OWLOntology ontology =
                         factory.loadOWLOntology(this, documentSource, this, configuration);
                     if (configuration.shouldRepairIllegalPunnings()) {
@@ -1499,6 +1579,7 @@ public class OWLOntologyManagerImpl
         listenerMap = new ConcurrentHashMap<>();
         impendingChangeListenerMap = new ConcurrentHashMap<>();
         vetoListeners = new ArrayList<>();
+        deferredImports = new ArrayList<>();
     }
 
     private void writeObject(ObjectOutputStream stream) throws IOException {
@@ -1699,6 +1780,12 @@ public class OWLOntologyManagerImpl
             if (!configuration.isIgnoredImport(iri) && !importedIRIs.containsKey(iri)) {
                 // insert temporary value - we do not know the actual ID yet
                 importedIRIs.put(iri, new Object());
+                if (configuration.shouldLoadImportsInParallel() && loadCount.get() > 0
+                    && canLoadImportsInParallel()) {
+                    // loaded with the rest of the closure once the current document is parsed
+                    deferredImports.add(declaration);
+                    return;
+                }
                 try {
                     OWLOntology ont = loadImports(declaration, configuration);
                     if (ont != null) {
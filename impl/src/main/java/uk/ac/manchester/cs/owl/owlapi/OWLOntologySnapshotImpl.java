@@ -0,0 +1,60 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * An immutable view of the content of an ontology at a given version. If the source is an
+ * ontology of this package storing its indexes as objects, the snapshot shares the indexes that
+ * the source has built. The source copies the key table of a shared index the first time it
+ * changes that index, and each values collection the first time it changes that collection. Taking
+ * a snapshot therefore costs one pass over the indexes rather than over the axioms. Otherwise the
+ * axioms are copied and the lazy indexes are rebuilt on first use. Since no writer can ever touch
+ * the snapshot, its indexes are read without monitors.
+ * <p>
+ * The snapshot is not managed: its manager does not list it, and it cannot be changed. Imports
+ * are resolved through the manager of the source, so the imports closure of a snapshot is live: it
+ * reflects the imported ontologies as they are when it is queried.
+ *
+ * @author ignazio
+ */
+public class OWLOntologySnapshotImpl extends OWLImmutableOntologyImpl {
+
+    private final long version;
+
+    /**
+     * The caller must ensure the source is not changed while the snapshot is taken.
+     *
+     * @param source ontology to take a snapshot of
+     * @param version version of the source content
+     */
+    public OWLOntologySnapshotImpl(OWLOntology source, long version) {
+        super(source.getOWLOntologyManager(), source.getOntologyID());
+        this.version = version;
+        if (!(source instanceof OWLAxiomIndexImpl)
+            || !ints.shareIndexes(((OWLAxiomIndexImpl) source).ints)) {
+            source.axioms().forEach(ints::addAxiom);
+        }
+        source.importsDeclarations().forEach(ints::addImportsDeclaration);
+        source.annotations().forEach(ints::addOntologyAnnotation);
+        ints.setLockFreeReads(true);
+    }
+
+    /**
+     * @return version of the source content this snapshot was taken at
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,277 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.util.SmallSet;
+
+import com.carrotsearch.hppcrt.cursors.ObjectCursor;
+import com.carrotsearch.hppcrt.maps.ObjectObjectHashMap;
+
+/**
+ * Default pointer storage: keys and values are held as object references, with values collections
+ * sized to their content (singleton, {@link SmallSet}, {@link HPPCSet}). Once the store holds more
+ * than 1024 keys, the keys are spread over 64 maps by hash. A {@link #copy()} shares the maps and
+ * the values collections with its source; the copy duplicates a map the first time it writes to
+ * one of its keys, and a values collection the first time it modifies it, so writing after a copy
+ * costs a fraction of the store rather than all of it.
+ *
+ * @author ignazio
+ * @param <K> key
+ * @param <V> value
+ */
+class ObjectPointerStore<K, V> implements PointerStore<K, V> {
+
+    private static final int CHUNK_BITS = 6;
+    private static final int SPLIT_THRESHOLD = 1 << 10;
+    private ObjectObjectHashMap<K, Collection<V>>[] chunks;
+    private final Class<V> valueWithness;
+    private int size = 0;
+    private int keys = 0;
+    // chunks that can be modified in place; null if all of them can
+    @Nullable
+    private boolean[] ownedChunks;
+    // collections that can be modified in place; null if all of them can
+    @Nullable
+    private final Set<Collection<V>> owned;
+
+    /**
+     * @param valueWithness witness for the value type
+     */
+    ObjectPointerStore(Class<V> valueWithness) {
+        this.valueWithness = valueWithness;
+        chunks = newChunks(1);
+        chunks[0] = new ObjectObjectHashMap<>(17, 0.75F);
+        ownedChunks = null;
+        owned = null;
+    }
+
+    private ObjectPointerStore(ObjectPointerStore<K, V> source) {
+        valueWithness = source.valueWithness;
+        size = source.size;
+        keys = source.keys;
+        chunks = source.chunks.clone();
+        ownedChunks = new boolean[chunks.length];
+        owned = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> ObjectObjectHashMap<K, Collection<V>>[] newChunks(int n) {
+        return new ObjectObjectHashMap[n];
+    }
+
+    private static <K, V> ObjectObjectHashMap<K, Collection<V>> copyOf(
+        ObjectObjectHashMap<K, Collection<V>> chunk) {
+        ObjectObjectHashMap<K, Collection<V>> copy =
+            new ObjectObjectHashMap<>(chunk.size() + 17, 0.75F);
+        Consumer<ObjectCursor<K>> c = q -> copy.put(q.value, chunk.get(q.value));
+        chunk.keys().forEach(c);
+        return copy;
+    }
+
+    @Override
+    public PointerStore<K, V> copy() {
+        return new ObjectPointerStore<>(this);
+    }
+
+    private int index(Object k) {
+        if (chunks.length == 1) {
+            return 0;
+        }
+        return (k.hashCode() * 0x9E3779B9) >>> (32 - CHUNK_BITS);
+    }
+
+    private ObjectObjectHashMap<K, Collection<V>> chunk(Object k) {
+        return chunks[index(k)];
+    }
+
+    /**
+     * @return the map for the key, copied first if it is shared with another store
+     */
+    private ObjectObjectHashMap<K, Collection<V>> writableChunk(K k) {
+        int i = index(k);
+        boolean[] ownership = ownedChunks;
+        if (ownership != null && !ownership[i]) {
+            chunks[i] = copyOf(chunks[i]);
+            ownership[i] = true;
+        }
+        return chunks[i];
+    }
+
+    private void split() {
+        ObjectObjectHashMap<K, Collection<V>> all = chunks[0];
+        chunks = newChunks(1 << CHUNK_BITS);
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new ObjectObjectHashMap<>((keys >> CHUNK_BITS) + 17, 0.75F);
+        }
+        ownedChunks = null;
+        Consumer<ObjectCursor<K>> c = q -> chunk(q.value).put(q.value, all.get(q.value));
+        all.keys().forEach(c);
+    }
+
+    private void replace(K k, @Nullable Collection<V> previous, Collection<V> values) {
+        writableChunk(k).put(k, values);
+        if (previous == null && ++keys > SPLIT_THRESHOLD && chunks.length == 1) {
+            split();
+        }
+        if (owned != null) {
+            owned.remove(previous);
+            owned.add(values);
+        }
+    }
+
+    private void discard(K k, Collection<V> previous) {
+        writableChunk(k).remove(k);
+        keys--;
+        if (owned != null) {
+            owned.remove(previous);
+        }
+    }
+
+    /**
+     * @return the values collection for the key, copied first if it is shared with another store;
+     *         the collection is a {@link SmallSet} or an {@link HPPCSet}
+     */
+    private Collection<V> writable(K k, Collection<V> values) {
+        if (owned == null || owned.contains(values)) {
+            return values;
+        }
+        Collection<V> copy = values instanceof HPPCSet ? new HPPCSet<>(values, valueWithness)
+            : new SmallSet<>(values);
+        replace(k, values, copy);
+        return copy;
+    }
+
+    @Override
+    @Nullable
+    public Collection<V> get(K key) {
+        return chunk(key).get(key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return chunk(key).containsKey(key);
+    }
+
+    @Override
+    public boolean contains(K k, V v) {
+        Collection<V> t = chunk(k).get(k);
+        if (t == null) {
+            return false;
+        }
+        return t.contains(v);
+    }
+
+    @Override
+    public int count(K k) {
+        Collection<V> t = chunk(k).get(k);
+        if (t == null) {
+            return 0;
+        }
+        return t.size();
+    }
+
+    @Override
+    public boolean put(K k, V v) {
+        Collection<V> set = chunk(k).get(k);
+        if (set == null) {
+            replace(k, null, Collections.singleton(v));
+            size++;
+            return true;
+        }
+        if (set.contains(v)) {
+            return false;
+        }
+        if (set.size() == 1) {
+            Collection<V> small = new SmallSet<>(set);
+            replace(k, set, small);
+            set = small;
+        } else if (set.size() == 3) {
+            replace(k, set, new HPPCSet<>(set, v, valueWithness));
+            size++;
+            return true;
+        } else {
+            set = writable(k, set);
+        }
+        boolean added = set.add(v);
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+    @Override
+    public void putAll(K k, Collection<V> values) {
+        if (values.size() > 3 && !containsKey(k)) {
+            // create the final collection directly rather than growing it one value at a time
+            replace(k, null, new HPPCSet<>(values, valueWithness));
+            size += values.size();
+            return;
+        }
+        values.forEach(v -> put(k, v));
+    }
+
+    @Override
+    public boolean remove(K k, V v) {
+        Collection<V> t = chunk(k).get(k);
+        if (t == null || !t.contains(v)) {
+            return false;
+        }
+        size--;
+        if (t.size() == 1) {
+            discard(k, t);
+            return true;
+        }
+        t = writable(k, t);
+        t.remove(v);
+        if (t.isEmpty()) {
+            discard(k, t);
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEachKey(Consumer<K> consumer) {
+        Consumer<ObjectCursor<K>> c = q -> consumer.accept(q.value);
+        for (ObjectObjectHashMap<K, Collection<V>> chunk : chunks) {
+            chunk.keys().forEach(c);
+        }
+    }
+
+    @Override
+    public void forEachValue(Consumer<V> consumer) {
+        Consumer<ObjectCursor<Collection<V>>> c = q -> q.value.forEach(consumer);
+        for (ObjectObjectHashMap<K, Collection<V>> chunk : chunks) {
+            chunk.values().forEach(c);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("{");
+        forEachKey(k -> b.append(k).append('=').append(get(k)).append(", "));
+        return b.append('}').toString();
+    }
+}
@@ -0,0 +1,252 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+import javax.annotation.Nullable;
+
+/**
+ * Dense int identifiers for the keys and axioms stored in the pointers of one {@link Internals}
+ * instance. Each identifier is reference counted by the pointers using it; once the last pointer
+ * entry referring to an object is removed, the object is dropped and its identifier is reused for
+ * the next new object.
+ * <p>
+ * Writers are serialized; {@link #find(Object)} and {@link #lookup(int)} use optimistic reads and
+ * only wait for a writer if one was active while they were reading.
+ *
+ * @author ignazio
+ */
+class PointerIdDictionary {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private final StampedLock lock = new StampedLock();
+    // open addressing on identifier + 1, 0 marks a free slot; at most half full
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+    private Object[] objects = new Object[INITIAL_CAPACITY];
+    private int[] references = new int[INITIAL_CAPACITY];
+    private int[] released = new int[INITIAL_CAPACITY];
+    private int releasedCount = 0;
+    private int next = 0;
+    private int live = 0;
+
+    private static int hash(Object o) {
+        int h = o.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Probe for an object; safe on arrays read without the lock, since indexes are checked and the
+     * loop is bounded by the table length.
+     *
+     * @return slot holding the object, or -1 - the free slot where it would go
+     */
+    private static int slot(int[] t, Object[] objs, Object o) {
+        int mask = t.length - 1;
+        int slot = hash(o) & mask;
+        for (int n = 0; n < t.length; n++) {
+            int id = t[slot] - 1;
+            if (id < 0) {
+                return -1 - slot;
+            }
+            if (id < objs.length) {
+                Object candidate = objs[id];
+                if (candidate != null && candidate.equals(o)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * Take a reference to the identifier of an object. Every call must be balanced by a call to
+     * {@link #release(int)} once the caller stops using the identifier.
+     *
+     * @param o object to encode
+     * @return identifier for the object; a new identifier is assigned if the object is not in use
+     */
+    int idFor(Object o) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slot(table, objects, o);
+            if (slot >= 0) {
+                int id = table[slot] - 1;
+                references[id]++;
+                return id;
+            }
+            int id = releasedCount > 0 ? released[--releasedCount] : next++;
+            if (id == objects.length) {
+                objects = Arrays.copyOf(objects, id * 2);
+                references = Arrays.copyOf(references, id * 2);
+            }
+            objects[id] = o;
+            references[id] = 1;
+            table[-1 - slot] = id + 1;
+            live++;
+            if (live * 2 > table.length) {
+                rehash(table.length * 2);
+            }
+            return id;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Release a reference taken with {@link #idFor(Object)}; the identifier is recycled when no
+     * references are left.
+     *
+     * @param id identifier to release
+     */
+    void release(int id) {
+        long stamp = lock.writeLock();
+        try {
+            if (--references[id] > 0) {
+                return;
+            }
+            delete(slot(table, objects, objects[id]));
+            objects[id] = null;
+            if (releasedCount == released.length) {
+                released = Arrays.copyOf(released, releasedCount * 2);
+            }
+            released[releasedCount++] = id;
+            live--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Take one more reference to a key and to each of its values, as {@link #idFor(Object)} would
+     * for every pair, without looking the objects up.
+     *
+     * @param key identifier in use for the key
+     * @param values identifiers in use for the values, with their count in slot 0
+     */
+    void retain(int key, int[] values) {
+        long stamp = lock.writeLock();
+        try {
+            references[key] += values[0];
+            for (int i = 1; i <= values[0]; i++) {
+                references[values[i]]++;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] t = new int[capacity];
+        int mask = capacity - 1;
+        for (int entry : table) {
+            if (entry != 0) {
+                int slot = hash(objects[entry - 1]) & mask;
+                while (t[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                t[slot] = entry;
+            }
+        }
+        table = t;
+    }
+
+    /**
+     * Backward shift deletion: entries after the emptied slot move back if their probe sequence
+     * passes through it, so no tombstones are needed.
+     */
+    private void delete(int slot) {
+        int mask = table.length - 1;
+        int gap = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            int entry = table[i];
+            if (entry == 0) {
+                break;
+            }
+            int home = hash(objects[entry - 1]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                table[gap] = entry;
+                gap = i;
+            }
+        }
+        table[gap] = 0;
+    }
+
+    /**
+     * @param o object to look up
+     * @return identifier for the object, or -1 if the object has no identifier
+     */
+    int find(Object o) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            int[] t = table;
+            int slot = slot(t, objects, o);
+            int id = slot < 0 ? -1 : t[slot] - 1;
+            if (lock.validate(stamp)) {
+                return id;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            int slot = slot(table, objects, o);
+            return slot < 0 ? -1 : table[slot] - 1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @param id identifier to decode
+     * @param <T> expected type
+     * @return object with the identifier, or null if the identifier is not in use
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    <T> T lookup(int id) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            Object[] objs = objects;
+            Object o = id < objs.length ? objs[id] : null;
+            if (lock.validate(stamp)) {
+                return (T) o;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return id < objects.length ? (T) objects[id] : null;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return number of identifiers in use
+     */
+    int size() {
+        long stamp = lock.tryOptimisticRead();
+        int n = live;
+        if (lock.validate(stamp)) {
+            return n;
+        }
+        stamp = lock.readLock();
+        try {
+            return live;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
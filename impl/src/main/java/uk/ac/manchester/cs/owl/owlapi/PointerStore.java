@@ -0,0 +1,100 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Storage backing a {@link MapPointer}. Implementations are not thread safe; the owning pointer is
+ * responsible for synchronization.
+ *
+ * @author ignazio
+ * @param <K> key
+ * @param <V> value
+ */
+interface PointerStore<K, V> {
+
+    /**
+     * @param key key to look up
+     * @return values for the key, or null if the key is not present. The collection must not be
+     *         modified by callers, and may be a view that is only valid until the store changes.
+     */
+    @Nullable
+    Collection<V> get(K key);
+
+    /**
+     * @param key key to look up
+     * @return true if there are values for the key
+     */
+    boolean containsKey(K key);
+
+    /**
+     * @param key key to look up
+     * @param value value to look up
+     * @return true if the pair is contained
+     */
+    boolean contains(K key, V value);
+
+    /**
+     * @param key key to look up
+     * @return number of values for the key
+     */
+    int count(K key);
+
+    /**
+     * @param key key to add
+     * @param value value to add
+     * @return true if addition happens
+     */
+    boolean put(K key, V value);
+
+    /**
+     * @param key key to add
+     * @param values values to add; must not contain duplicates
+     */
+    default void putAll(K key, Collection<V> values) {
+        values.forEach(v -> put(key, v));
+    }
+
+    /**
+     * @param key key to look up
+     * @param value value to remove
+     * @return true if removal happens
+     */
+    boolean remove(K key, V value);
+
+    /**
+     * @return number of key/value pairs
+     */
+    int size();
+
+    /**
+     * @param consumer consumer for all keys
+     */
+    void forEachKey(Consumer<K> consumer);
+
+    /**
+     * @param consumer consumer for all values, in no specific order; values mapped to more than
+     *        one key are visited once per key
+     */
+    void forEachValue(Consumer<V> consumer);
+
+    /**
+     * @return a store with the same content, which can be modified without affecting this store;
+     *         this store must not be modified after the call
+     */
+    PointerStore<K, V> copy();
+}
@@ -0,0 +1,170 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.util.AbstractCollector;
+
+/**
+ * The references from a batch of axioms to the entities and anonymous individuals they contain,
+ * grouped by kind of entity and by entity. Used to update the reference indexes of an
+ * {@link Internals} in one call per index, rather than one call per reference.
+ *
+ * @author ignazio
+ */
+class ReferenceBatch {
+
+    final Map<OWLClass, List<OWLAxiom>> classes = new HashMap<>();
+    final Map<OWLObjectProperty, List<OWLAxiom>> objectProperties = new HashMap<>();
+    final Map<OWLDataProperty, List<OWLAxiom>> dataProperties = new HashMap<>();
+    final Map<OWLNamedIndividual, List<OWLAxiom>> individuals = new HashMap<>();
+    final Map<OWLAnnotationProperty, List<OWLAxiom>> annotationProperties = new HashMap<>();
+    final Map<OWLDatatype, List<OWLAxiom>> datatypes = new HashMap<>();
+    final Map<OWLAnonymousIndividual, List<OWLAxiom>> anonymousIndividuals = new HashMap<>();
+
+    /**
+     * Collects the references of the axioms; large batches are split over the indexing pool.
+     *
+     * @param axioms axioms to collect references from; must not contain duplicates
+     * @return references of the axioms
+     */
+    static ReferenceBatch collect(List<OWLAxiom> axioms) {
+        if (axioms.size() < MapPointer.PARALLEL_INIT_THRESHOLD
+            || MapPointer.IndexingPool.POOL.getParallelism() < 2) {
+            return collect(axioms, 0, axioms.size());
+        }
+        return MapPointer.IndexingPool.POOL.invoke(new PartialBatch(axioms, 0, axioms.size()));
+    }
+
+    static ReferenceBatch collect(List<OWLAxiom> axioms, int from, int to) {
+        ReferenceBatch batch = new ReferenceBatch();
+        for (int i = from; i < to; i++) {
+            OWLAxiom axiom = axioms.get(i);
+            axiom.accept(batch.new Collector(axiom));
+        }
+        return batch;
+    }
+
+    private static <K> void add(Map<K, List<OWLAxiom>> map, K k, OWLAxiom axiom) {
+        List<OWLAxiom> list = map.computeIfAbsent(k, x -> new ArrayList<>(2));
+        // axioms are visited one at a time, so repeated references from an axiom are adjacent
+        if (list.isEmpty() || list.get(list.size() - 1) != axiom) {
+            list.add(axiom);
+        }
+    }
+
+    private static <K> void merge(Map<K, List<OWLAxiom>> into, Map<K, List<OWLAxiom>> from) {
+        from.forEach((k, list) -> into.merge(k, list, (a, b) -> {
+            a.addAll(b);
+            return a;
+        }));
+    }
+
+    ReferenceBatch merge(ReferenceBatch other) {
+        merge(classes, other.classes);
+        merge(objectProperties, other.objectProperties);
+        merge(dataProperties, other.dataProperties);
+        merge(individuals, other.individuals);
+        merge(annotationProperties, other.annotationProperties);
+        merge(datatypes, other.datatypes);
+        merge(anonymousIndividuals, other.anonymousIndividuals);
+        return this;
+    }
+
+    private class Collector extends AbstractCollector {
+
+        private final OWLAxiom axiom;
+
+        Collector(OWLAxiom axiom) {
+            this.axiom = axiom;
+        }
+
+        @Override
+        public void visit(OWLClass ce) {
+            add(classes, ce, axiom);
+        }
+
+        @Override
+        public void visit(OWLObjectProperty property) {
+            add(objectProperties, property, axiom);
+        }
+
+        @Override
+        public void visit(OWLDataProperty property) {
+            add(dataProperties, property, axiom);
+        }
+
+        @Override
+        public void visit(OWLNamedIndividual individual) {
+            add(individuals, individual, axiom);
+        }
+
+        @Override
+        public void visit(OWLAnnotationProperty property) {
+            add(annotationProperties, property, axiom);
+        }
+
+        @Override
+        public void visit(OWLDatatype node) {
+            add(datatypes, node, axiom);
+        }
+
+        @Override
+        public void visit(OWLAnonymousIndividual individual) {
+            add(anonymousIndividuals, individual, axiom);
+        }
+    }
+
+    /**
+     * Collects the references for a range of axioms, splitting the range until it is small enough.
+     * Partial batches are merged in axiom order.
+     */
+    private static final class PartialBatch extends RecursiveTask<ReferenceBatch> {
+
+        private static final int CHUNK = 2048;
+        private final List<OWLAxiom> axioms;
+        private final int from;
+        private final int to;
+
+        PartialBatch(List<OWLAxiom> axioms, int from, int to) {
+            this.axioms = axioms;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ReferenceBatch compute() {
+            if (to - from <= CHUNK) {
+                return collect(axioms, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            PartialBatch left = new PartialBatch(axioms, from, middle);
+            left.fork();
+            ReferenceBatch right = new PartialBatch(axioms, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -10,5 +10,9 @@ public enum Concurrency {
     CONCURRENT, /**
      * Non concurrent implementation.
      */
-    NON_CONCURRENT
+    NON_CONCURRENT, /**
+     * Concurrent implementation with one lock stripe per axiom type; see
+     * {@link StripedReadWriteLock}.
+     */
+    STRIPED
 }
@@ -38,4 +38,13 @@ public class ConcurrentOWLOntologyBuilder implements OWLOntologyBuilder {
     public void setLock(ReadWriteLock lock) {
         readWriteLock = lock;
     }
+
+    /**
+     * @param lock lock for the ontologies created by the new builder
+     * @return a builder that wraps the same delegate and uses the specified lock; this builder is
+     *         not changed
+     */
+    public ConcurrentOWLOntologyBuilder withLock(ReadWriteLock lock) {
+        return new ConcurrentOWLOntologyBuilder(builder, lock);
+    }
 }
@@ -15,15 +15,19 @@ package uk.ac.manchester.cs.owl.owlapi.concurrent;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.BooleanSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -113,7 +117,13 @@ import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
 
+import uk.ac.manchester.cs.owl.owlapi.HasDeferredIndexing;
+import uk.ac.manchester.cs.owl.owlapi.HasLockFreeReads;
+import uk.ac.manchester.cs.owl.owlapi.HasPrewarmIndexes;
+import uk.ac.manchester.cs.owl.owlapi.HasPrimitiveIdIndexes;
+import uk.ac.manchester.cs.owl.owlapi.HasSnapshots;
 import uk.ac.manchester.cs.owl.owlapi.HasTrimToSize;
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologySnapshotImpl;
 
 /**
  * Matthew Horridge
@@ -125,10 +135,15 @@ import uk.ac.manchester.cs.owl.owlapi.HasTrimToSize;
  * Matthew Horridge Stanford Center for Biomedical Informatics Research 03/04/15
  */
 @SuppressWarnings({"deprecation"})
-public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToSize {
+public class ConcurrentOWLOntologyImpl
+    implements OWLMutableOntology, HasTrimToSize, HasSnapshots, HasDeferredIndexing,
+    HasPrewarmIndexes, HasPrimitiveIdIndexes {
 
     private final OWLOntology delegate;
     private ReadWriteLock lock;
+    private final AtomicLong version = new AtomicLong();
+    @Nullable
+    private volatile OWLOntologySnapshotImpl lastSnapshot;
 
     /**
      * Constructs a ConcurrentOWLOntology that provides concurrent access to a delegate
@@ -143,6 +158,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
     public ConcurrentOWLOntologyImpl(OWLOntology delegate, ReadWriteLock readWriteLock) {
         this.delegate = verifyNotNull(delegate);
         lock = verifyNotNull(readWriteLock);
+        updateLockFreeReads();
     }
 
     @Override
@@ -153,6 +169,26 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
     @Override
     public void setLock(ReadWriteLock lock) {
         this.lock = lock;
+        updateLockFreeReads();
+    }
+
+    /**
+     * Every access to the delegate goes through the read/write lock, so the delegate indexes do not
+     * need their own monitors for reads - unless the lock is a no-op lock, or a striped lock that
+     * lets readers and writers of different axiom types in at the same time.
+     */
+    private void updateLockFreeReads() {
+        if (delegate instanceof HasLockFreeReads) {
+            ((HasLockFreeReads) delegate).setLockFreeReads(
+                !(lock instanceof NoOpReadWriteLock || lock instanceof StripedReadWriteLock));
+        }
+    }
+
+    private Lock readLock(AxiomType<?> type) {
+        if (lock instanceof StripedReadWriteLock) {
+            return ((StripedReadWriteLock) lock).readLock(type);
+        }
+        return lock.readLock();
     }
 
     private <T> T withWriteLock(Supplier<T> t) {
@@ -161,6 +197,33 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         try {
             return t.get();
         } finally {
+            version.incrementAndGet();
+            writeLock.unlock();
+        }
+    }
+
+    private <T> T withWriteLock(List<? extends OWLOntologyChange> changes, Supplier<T> t) {
+        Lock writeLock = StripedReadWriteLock.writeLock(lock, changes);
+        writeLock.lock();
+        try {
+            return t.get();
+        } finally {
+            version.incrementAndGet();
+            writeLock.unlock();
+        }
+    }
+
+    private <T> T withAxiomWriteLock(Collection<? extends OWLAxiom> axioms, Supplier<T> t) {
+        if (!(lock instanceof StripedReadWriteLock)) {
+            return withWriteLock(t);
+        }
+        Lock writeLock = ((StripedReadWriteLock) lock).axiomWriteLock(
+            axioms.stream().map(OWLAxiom::getAxiomType).collect(Collectors.toSet()));
+        writeLock.lock();
+        try {
+            return t.get();
+        } finally {
+            version.incrementAndGet();
             writeLock.unlock();
         }
     }
@@ -185,6 +248,28 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         }
     }
 
+    private <T> T withReadLock(AxiomType<?> type, Supplier<T> t) {
+        Lock readLock = readLock(type);
+        readLock.lock();
+        try {
+            return t.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Streams are consumed after the read lock has been released, while the delegate indexes may
+     * be read without their monitors; the elements are therefore collected under the lock.
+     */
+    private <T> Stream<T> withStreamReadLock(Supplier<Stream<T>> t) {
+        return withReadLock(() -> t.get().collect(Collectors.toList()).stream());
+    }
+
+    private <T> Stream<T> withStreamReadLock(AxiomType<?> type, Supplier<Stream<T>> t) {
+        return withReadLock(type, () -> t.get().collect(Collectors.toList()).stream());
+    }
+
     private boolean withBooleanReadLock(BooleanSupplier t) {
         Lock readLock = lock.readLock();
         readLock.lock();
@@ -195,6 +280,16 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         }
     }
 
+    private boolean withBooleanReadLock(AxiomType<?> type, BooleanSupplier t) {
+        Lock readLock = readLock(type);
+        readLock.lock();
+        try {
+            return t.getAsBoolean();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     private int withIntReadLock(IntSupplier t) {
         Lock readLock = lock.readLock();
         readLock.lock();
@@ -205,6 +300,16 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         }
     }
 
+    private int withIntReadLock(AxiomType<?> type, IntSupplier t) {
+        Lock readLock = readLock(type);
+        readLock.lock();
+        try {
+            return t.getAsInt();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     private interface Store {
         void store() throws OWLOntologyStorageException;
     }
@@ -219,6 +324,60 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         }
     }
 
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public OWLOntology snapshot() {
+        OWLOntologySnapshotImpl last = lastSnapshot;
+        if (last != null && last.getVersion() == version.get()) {
+            return last;
+        }
+        // the read lock keeps writers out while the copy is made, so the version cannot move;
+        // concurrent readers wait for a single copy to be made
+        return withReadLock(() -> {
+            synchronized (version) {
+                OWLOntologySnapshotImpl current = lastSnapshot;
+                long v = version.get();
+                if (current == null || current.getVersion() != v) {
+                    current = new OWLOntologySnapshotImpl(delegate, v);
+                    lastSnapshot = current;
+                }
+                return current;
+            }
+        });
+    }
+
+    @Override
+    public void setDeferIndexing(boolean defer) {
+        if (delegate instanceof HasDeferredIndexing) {
+            callWriteLock(() -> ((HasDeferredIndexing) delegate).setDeferIndexing(defer));
+        }
+    }
+
+    @Override
+    public boolean setPrimitiveIdIndexes(boolean primitiveIds) {
+        if (delegate instanceof HasPrimitiveIdIndexes) {
+            return withWriteLock(() -> Boolean.valueOf(
+                ((HasPrimitiveIdIndexes) delegate).setPrimitiveIdIndexes(primitiveIds)))
+                    .booleanValue();
+        }
+        return false;
+    }
+
+    @Override
+    public void prewarmIndexes(Collection<AxiomType<?>> types) {
+        if (delegate instanceof HasPrewarmIndexes) {
+            // building an index does not change the contents; readers may proceed meanwhile
+            withReadLock(() -> {
+                ((HasPrewarmIndexes) delegate).prewarmIndexes(types);
+                return Boolean.TRUE;
+            });
+        }
+    }
+
     @Override
     public void trimToSize() {
         callWriteLock(this::trimToSizeInternal);
@@ -282,7 +441,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<IRI> directImportsDocuments() {
-        return withReadLock(delegate::directImportsDocuments);
+        return withStreamReadLock(delegate::directImportsDocuments);
     }
 
     @Override
@@ -292,7 +451,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLOntology> directImports() {
-        return withReadLock(delegate::directImports);
+        return withStreamReadLock(delegate::directImports);
     }
 
     @Override
@@ -302,7 +461,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLOntology> imports() {
-        return withReadLock(delegate::imports);
+        return withStreamReadLock(delegate::imports);
     }
 
     @Override
@@ -312,7 +471,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLOntology> importsClosure() {
-        return withReadLock(delegate::importsClosure);
+        return withStreamReadLock(delegate::importsClosure);
     }
 
     @Override
@@ -342,17 +501,17 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLAxiom> tboxAxioms(Imports imports) {
-        return withReadLock(() -> delegate.tboxAxioms(imports));
+        return withStreamReadLock(() -> delegate.tboxAxioms(imports));
     }
 
     @Override
     public Stream<OWLAxiom> aboxAxioms(Imports imports) {
-        return withReadLock(() -> delegate.aboxAxioms(imports));
+        return withStreamReadLock(() -> delegate.aboxAxioms(imports));
     }
 
     @Override
     public Stream<OWLAxiom> rboxAxioms(Imports imports) {
-        return withReadLock(() -> delegate.rboxAxioms(imports));
+        return withStreamReadLock(() -> delegate.rboxAxioms(imports));
     }
 
     @Override
@@ -372,17 +531,17 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLClassAxiom> generalClassAxioms() {
-        return withReadLock(delegate::generalClassAxioms);
+        return withStreamReadLock(delegate::generalClassAxioms);
     }
 
     @Override
     public Stream<OWLEntity> signature() {
-        return withReadLock(delegate::signature);
+        return withStreamReadLock(delegate::signature);
     }
 
     @Override
     public Stream<OWLEntity> signature(Imports imports) {
-        return withReadLock(() -> delegate.signature(imports));
+        return withStreamReadLock(() -> delegate.signature(imports));
     }
 
     @Override
@@ -549,34 +708,36 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public <T extends OWLAxiom> Set<T> getAxioms(AxiomType<T> axiomType, Imports imports) {
-        return withReadLock(() -> delegate.getAxioms(axiomType, imports));
+        return withReadLock(axiomType, () -> delegate.getAxioms(axiomType, imports));
     }
 
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(AxiomType<T> axiomType, Imports imports) {
-        return withReadLock(() -> delegate.axioms(axiomType, imports));
+        return withStreamReadLock(axiomType, () -> delegate.axioms(axiomType, imports));
     }
 
     @Override
     public <T extends OWLAxiom> int getAxiomCount(AxiomType<T> axiomType, Imports imports) {
-        return withIntReadLock(() -> delegate.getAxiomCount(axiomType, imports));
+        return withIntReadLock(axiomType, () -> delegate.getAxiomCount(axiomType, imports));
     }
 
     @Override
     public boolean containsAxiom(OWLAxiom owlAxiom, Imports imports,
         AxiomAnnotations axiomAnnotations) {
-        return withBooleanReadLock(
+        return withBooleanReadLock(owlAxiom.getAxiomType(),
             () -> delegate.containsAxiom(owlAxiom, imports, axiomAnnotations));
     }
 
     @Override
     public Set<OWLAxiom> getAxiomsIgnoreAnnotations(OWLAxiom owlAxiom, Imports imports) {
-        return withReadLock(() -> delegate.getAxiomsIgnoreAnnotations(owlAxiom, imports));
+        return withReadLock(owlAxiom.getAxiomType(),
+            () -> delegate.getAxiomsIgnoreAnnotations(owlAxiom, imports));
     }
 
     @Override
     public Stream<OWLAxiom> axiomsIgnoreAnnotations(OWLAxiom owlAxiom, Imports imports) {
-        return withReadLock(() -> delegate.axiomsIgnoreAnnotations(owlAxiom, imports));
+        return withStreamReadLock(owlAxiom.getAxiomType(),
+            () -> delegate.axiomsIgnoreAnnotations(owlAxiom, imports));
     }
 
     @Override
@@ -586,7 +747,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLAxiom> referencingAxioms(OWLPrimitive owlPrimitive, Imports imports) {
-        return withReadLock(() -> delegate.referencingAxioms(owlPrimitive, imports));
+        return withStreamReadLock(() -> delegate.referencingAxioms(owlPrimitive, imports));
     }
 
     @Override
@@ -628,8 +789,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLAxiom> axioms() {
-        // XXX investigate locking access to streams
-        return withReadLock(delegate::axioms);
+        return withStreamReadLock(delegate::axioms);
     }
 
     @Override
@@ -639,17 +799,17 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLLogicalAxiom> logicalAxioms() {
-        return withReadLock(delegate::logicalAxioms);
+        return withStreamReadLock(delegate::logicalAxioms);
     }
 
     @Override
     public <T extends OWLAxiom> Set<T> getAxioms(AxiomType<T> axiomType) {
-        return withReadLock(() -> delegate.getAxioms(axiomType));
+        return withReadLock(axiomType, () -> delegate.getAxioms(axiomType));
     }
 
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(AxiomType<T> axiomType) {
-        return withReadLock(() -> delegate.axioms(axiomType));
+        return withStreamReadLock(axiomType, () -> delegate.axioms(axiomType));
     }
 
     @Override
@@ -659,7 +819,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public boolean containsAxiom(OWLAxiom owlAxiom) {
-        return withBooleanReadLock(() -> delegate.containsAxiom(owlAxiom));
+        return withBooleanReadLock(owlAxiom.getAxiomType(), () -> delegate.containsAxiom(owlAxiom));
     }
 
     @Override
@@ -684,27 +844,30 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public <T extends OWLAxiom> Set<T> getAxioms(AxiomType<T> axiomType, boolean b) {
-        return withReadLock(() -> delegate.getAxioms(axiomType, b));
+        return withReadLock(axiomType, () -> delegate.getAxioms(axiomType, b));
     }
 
     @Override
     public <T extends OWLAxiom> int getAxiomCount(AxiomType<T> axiomType, boolean b) {
-        return withIntReadLock(() -> delegate.getAxiomCount(axiomType, b));
+        return withIntReadLock(axiomType, () -> delegate.getAxiomCount(axiomType, b));
     }
 
     @Override
     public boolean containsAxiom(OWLAxiom owlAxiom, boolean b) {
-        return withBooleanReadLock(() -> delegate.containsAxiom(owlAxiom, b));
+        return withBooleanReadLock(owlAxiom.getAxiomType(),
+            () -> delegate.containsAxiom(owlAxiom, b));
     }
 
     @Override
     public boolean containsAxiomIgnoreAnnotations(OWLAxiom owlAxiom, boolean b) {
-        return withBooleanReadLock(() -> delegate.containsAxiomIgnoreAnnotations(owlAxiom, b));
+        return withBooleanReadLock(owlAxiom.getAxiomType(),
+            () -> delegate.containsAxiomIgnoreAnnotations(owlAxiom, b));
     }
 
     @Override
     public Set<OWLAxiom> getAxiomsIgnoreAnnotations(OWLAxiom owlAxiom, boolean b) {
-        return withReadLock(() -> delegate.getAxiomsIgnoreAnnotations(owlAxiom, b));
+        return withReadLock(owlAxiom.getAxiomType(),
+            () -> delegate.getAxiomsIgnoreAnnotations(owlAxiom, b));
     }
 
     @Override
@@ -756,22 +919,25 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public <T extends OWLAxiom> int getAxiomCount(AxiomType<T> axiomType) {
-        return withIntReadLock(() -> delegate.getAxiomCount(axiomType));
+        return withIntReadLock(axiomType, () -> delegate.getAxiomCount(axiomType));
     }
 
     @Override
     public boolean containsAxiomIgnoreAnnotations(OWLAxiom owlAxiom) {
-        return withBooleanReadLock(() -> delegate.containsAxiomIgnoreAnnotations(owlAxiom));
+        return withBooleanReadLock(owlAxiom.getAxiomType(),
+            () -> delegate.containsAxiomIgnoreAnnotations(owlAxiom));
     }
 
     @Override
     public Set<OWLAxiom> getAxiomsIgnoreAnnotations(OWLAxiom owlAxiom) {
-        return withReadLock(() -> delegate.getAxiomsIgnoreAnnotations(owlAxiom));
+        return withReadLock(owlAxiom.getAxiomType(),
+            () -> delegate.getAxiomsIgnoreAnnotations(owlAxiom));
     }
 
     @Override
     public Stream<OWLAxiom> axiomsIgnoreAnnotations(OWLAxiom owlAxiom) {
-        return withReadLock(() -> delegate.axiomsIgnoreAnnotations(owlAxiom));
+        return withStreamReadLock(owlAxiom.getAxiomType(),
+            () -> delegate.axiomsIgnoreAnnotations(owlAxiom));
     }
 
     @Override
@@ -781,7 +947,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLAxiom> referencingAxioms(OWLPrimitive owlPrimitive) {
-        return withReadLock(() -> delegate.referencingAxioms(owlPrimitive));
+        return withStreamReadLock(() -> delegate.referencingAxioms(owlPrimitive));
     }
 
     @Override
@@ -817,33 +983,33 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLClassAxiom> axioms(OWLClass owlClass) {
-        return withReadLock(() -> delegate.axioms(owlClass));
+        return withStreamReadLock(() -> delegate.axioms(owlClass));
     }
 
     @Override
     public Stream<OWLObjectPropertyAxiom> axioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(() -> delegate.axioms(owlObjectPropertyExpression));
+        return withStreamReadLock(() -> delegate.axioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Stream<OWLDataPropertyAxiom> axioms(OWLDataProperty owlDataProperty) {
-        return withReadLock(() -> delegate.axioms(owlDataProperty));
+        return withStreamReadLock(() -> delegate.axioms(owlDataProperty));
     }
 
     @Override
     public Stream<OWLIndividualAxiom> axioms(OWLIndividual owlIndividual) {
-        return withReadLock(() -> delegate.axioms(owlIndividual));
+        return withStreamReadLock(() -> delegate.axioms(owlIndividual));
     }
 
     @Override
     public Stream<OWLAnnotationAxiom> axioms(OWLAnnotationProperty owlAnnotationProperty) {
-        return withReadLock(() -> delegate.axioms(owlAnnotationProperty));
+        return withStreamReadLock(() -> delegate.axioms(owlAnnotationProperty));
     }
 
     @Override
     public Stream<OWLDatatypeDefinitionAxiom> axioms(OWLDatatype owlDatatype) {
-        return withReadLock(() -> delegate.axioms(owlDatatype));
+        return withStreamReadLock(() -> delegate.axioms(owlDatatype));
     }
 
     @Override
@@ -873,12 +1039,12 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLAnonymousIndividual> referencedAnonymousIndividuals(Imports imports) {
-        return withReadLock(() -> delegate.referencedAnonymousIndividuals(imports));
+        return withStreamReadLock(() -> delegate.referencedAnonymousIndividuals(imports));
     }
 
     @Override
     public Stream<OWLAnonymousIndividual> referencedAnonymousIndividuals() {
-        return withReadLock(delegate::referencedAnonymousIndividuals);
+        return withStreamReadLock(delegate::referencedAnonymousIndividuals);
     }
 
     @Override
@@ -994,7 +1160,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLEntity> entitiesInSignature(IRI iri) {
-        return withReadLock(() -> delegate.entitiesInSignature(iri));
+        return withStreamReadLock(() -> delegate.entitiesInSignature(iri));
     }
 
     @Override
@@ -1091,7 +1257,7 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(Class<T> aClass, OWLObject owlObject,
         Imports imports, Navigation navigation) {
-        return withReadLock(() -> delegate.axioms(aClass, owlObject, imports, navigation));
+        return withStreamReadLock(() -> delegate.axioms(aClass, owlObject, imports, navigation));
     }
 
     @Override
@@ -1122,312 +1288,340 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
     public <T extends OWLAxiom> Stream<T> axioms(Class<T> aClass,
         Class<? extends OWLObject> aClass1, OWLObject owlObject, Imports imports,
         Navigation navigation) {
-        return withReadLock(() -> delegate.axioms(aClass, aClass1, owlObject, imports, navigation));
+        return withStreamReadLock(
+            () -> delegate.axioms(aClass, aClass1, owlObject, imports, navigation));
     }
 
     @Override
     public Set<OWLSubAnnotationPropertyOfAxiom> getSubAnnotationPropertyOfAxioms(
         OWLAnnotationProperty owlAnnotationProperty) {
-        return withReadLock(() -> delegate.getSubAnnotationPropertyOfAxioms(owlAnnotationProperty));
+        return withReadLock(AxiomType.SUB_ANNOTATION_PROPERTY_OF,
+            () -> delegate.getSubAnnotationPropertyOfAxioms(owlAnnotationProperty));
     }
 
     @Override
     public Set<OWLAnnotationPropertyDomainAxiom> getAnnotationPropertyDomainAxioms(
         OWLAnnotationProperty owlAnnotationProperty) {
-        return withReadLock(
+        return withReadLock(AxiomType.ANNOTATION_PROPERTY_DOMAIN,
             () -> delegate.getAnnotationPropertyDomainAxioms(owlAnnotationProperty));
     }
 
     @Override
     public Set<OWLAnnotationPropertyRangeAxiom> getAnnotationPropertyRangeAxioms(
         OWLAnnotationProperty owlAnnotationProperty) {
-        return withReadLock(() -> delegate.getAnnotationPropertyRangeAxioms(owlAnnotationProperty));
+        return withReadLock(AxiomType.ANNOTATION_PROPERTY_RANGE,
+            () -> delegate.getAnnotationPropertyRangeAxioms(owlAnnotationProperty));
     }
 
     @Override
     public Stream<OWLAnnotationPropertyDomainAxiom> annotationPropertyDomainAxioms(
         OWLAnnotationProperty owlAnnotationProperty) {
-        return withReadLock(() -> delegate.annotationPropertyDomainAxioms(owlAnnotationProperty));
+        return withStreamReadLock(AxiomType.ANNOTATION_PROPERTY_DOMAIN,
+            () -> delegate.annotationPropertyDomainAxioms(owlAnnotationProperty));
     }
 
     @Override
     public Stream<OWLAnnotationPropertyRangeAxiom> annotationPropertyRangeAxioms(
         OWLAnnotationProperty owlAnnotationProperty) {
-        return withReadLock(() -> delegate.annotationPropertyRangeAxioms(owlAnnotationProperty));
+        return withStreamReadLock(AxiomType.ANNOTATION_PROPERTY_RANGE,
+            () -> delegate.annotationPropertyRangeAxioms(owlAnnotationProperty));
     }
 
     @Override
     public Set<OWLDeclarationAxiom> getDeclarationAxioms(OWLEntity owlEntity) {
-        return withReadLock(() -> delegate.getDeclarationAxioms(owlEntity));
+        return withReadLock(AxiomType.DECLARATION, () -> delegate.getDeclarationAxioms(owlEntity));
     }
 
     @Override
     public Set<OWLAnnotationAssertionAxiom> getAnnotationAssertionAxioms(
         OWLAnnotationSubject owlAnnotationSubject) {
-        return withReadLock(() -> delegate.getAnnotationAssertionAxioms(owlAnnotationSubject));
+        return withReadLock(AxiomType.ANNOTATION_ASSERTION,
+            () -> delegate.getAnnotationAssertionAxioms(owlAnnotationSubject));
     }
 
     @Override
     public Set<OWLSubClassOfAxiom> getSubClassAxiomsForSubClass(OWLClass owlClass) {
-        return withReadLock(() -> delegate.getSubClassAxiomsForSubClass(owlClass));
+        return withReadLock(AxiomType.SUBCLASS_OF,
+            () -> delegate.getSubClassAxiomsForSubClass(owlClass));
     }
 
     @Override
     public Set<OWLSubClassOfAxiom> getSubClassAxiomsForSuperClass(OWLClass owlClass) {
-        return withReadLock(() -> delegate.getSubClassAxiomsForSuperClass(owlClass));
+        return withReadLock(AxiomType.SUBCLASS_OF,
+            () -> delegate.getSubClassAxiomsForSuperClass(owlClass));
     }
 
     @Override
     public Set<OWLEquivalentClassesAxiom> getEquivalentClassesAxioms(OWLClass owlClass) {
-        return withReadLock(() -> delegate.getEquivalentClassesAxioms(owlClass));
+        return withReadLock(AxiomType.EQUIVALENT_CLASSES,
+            () -> delegate.getEquivalentClassesAxioms(owlClass));
     }
 
     @Override
     public Set<OWLDisjointClassesAxiom> getDisjointClassesAxioms(OWLClass owlClass) {
-        return withReadLock(() -> delegate.getDisjointClassesAxioms(owlClass));
+        return withReadLock(AxiomType.DISJOINT_CLASSES,
+            () -> delegate.getDisjointClassesAxioms(owlClass));
     }
 
     @Override
     public Set<OWLDisjointUnionAxiom> getDisjointUnionAxioms(OWLClass owlClass) {
-        return withReadLock(() -> delegate.getDisjointUnionAxioms(owlClass));
+        return withReadLock(AxiomType.DISJOINT_UNION,
+            () -> delegate.getDisjointUnionAxioms(owlClass));
     }
 
     @Override
     public Set<OWLHasKeyAxiom> getHasKeyAxioms(OWLClass owlClass) {
-        return withReadLock(() -> delegate.getHasKeyAxioms(owlClass));
+        return withReadLock(AxiomType.HAS_KEY, () -> delegate.getHasKeyAxioms(owlClass));
     }
 
     @Override
     public Set<OWLSubObjectPropertyOfAxiom> getObjectSubPropertyAxiomsForSubProperty(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.SUB_OBJECT_PROPERTY,
             () -> delegate.getObjectSubPropertyAxiomsForSubProperty(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLSubObjectPropertyOfAxiom> getObjectSubPropertyAxiomsForSuperProperty(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.SUB_OBJECT_PROPERTY,
             () -> delegate.getObjectSubPropertyAxiomsForSuperProperty(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLObjectPropertyDomainAxiom> getObjectPropertyDomainAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.OBJECT_PROPERTY_DOMAIN,
             () -> delegate.getObjectPropertyDomainAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLObjectPropertyRangeAxiom> getObjectPropertyRangeAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.OBJECT_PROPERTY_RANGE,
             () -> delegate.getObjectPropertyRangeAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLInverseObjectPropertiesAxiom> getInverseObjectPropertyAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.INVERSE_OBJECT_PROPERTIES,
             () -> delegate.getInverseObjectPropertyAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLEquivalentObjectPropertiesAxiom> getEquivalentObjectPropertiesAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.EQUIVALENT_OBJECT_PROPERTIES,
             () -> delegate.getEquivalentObjectPropertiesAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLDisjointObjectPropertiesAxiom> getDisjointObjectPropertiesAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.DISJOINT_OBJECT_PROPERTIES,
             () -> delegate.getDisjointObjectPropertiesAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLFunctionalObjectPropertyAxiom> getFunctionalObjectPropertyAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.FUNCTIONAL_OBJECT_PROPERTY,
             () -> delegate.getFunctionalObjectPropertyAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLInverseFunctionalObjectPropertyAxiom> getInverseFunctionalObjectPropertyAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY,
             () -> delegate.getInverseFunctionalObjectPropertyAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLSymmetricObjectPropertyAxiom> getSymmetricObjectPropertyAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.SYMMETRIC_OBJECT_PROPERTY,
             () -> delegate.getSymmetricObjectPropertyAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLAsymmetricObjectPropertyAxiom> getAsymmetricObjectPropertyAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.ASYMMETRIC_OBJECT_PROPERTY,
             () -> delegate.getAsymmetricObjectPropertyAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLReflexiveObjectPropertyAxiom> getReflexiveObjectPropertyAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.REFLEXIVE_OBJECT_PROPERTY,
             () -> delegate.getReflexiveObjectPropertyAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLIrreflexiveObjectPropertyAxiom> getIrreflexiveObjectPropertyAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY,
             () -> delegate.getIrreflexiveObjectPropertyAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLTransitiveObjectPropertyAxiom> getTransitiveObjectPropertyAxioms(
         OWLObjectPropertyExpression owlObjectPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.TRANSITIVE_OBJECT_PROPERTY,
             () -> delegate.getTransitiveObjectPropertyAxioms(owlObjectPropertyExpression));
     }
 
     @Override
     public Set<OWLSubDataPropertyOfAxiom> getDataSubPropertyAxiomsForSubProperty(
         OWLDataProperty owlDataProperty) {
-        return withReadLock(() -> delegate.getDataSubPropertyAxiomsForSubProperty(owlDataProperty));
+        return withReadLock(AxiomType.SUB_DATA_PROPERTY,
+            () -> delegate.getDataSubPropertyAxiomsForSubProperty(owlDataProperty));
     }
 
     @Override
     public Set<OWLSubDataPropertyOfAxiom> getDataSubPropertyAxiomsForSuperProperty(
         OWLDataPropertyExpression owlDataPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.SUB_DATA_PROPERTY,
             () -> delegate.getDataSubPropertyAxiomsForSuperProperty(owlDataPropertyExpression));
     }
 
     @Override
     public Set<OWLDataPropertyDomainAxiom> getDataPropertyDomainAxioms(
         OWLDataProperty owlDataProperty) {
-        return withReadLock(() -> delegate.getDataPropertyDomainAxioms(owlDataProperty));
+        return withReadLock(AxiomType.DATA_PROPERTY_DOMAIN,
+            () -> delegate.getDataPropertyDomainAxioms(owlDataProperty));
     }
 
     @Override
     public Set<OWLDataPropertyRangeAxiom> getDataPropertyRangeAxioms(
         OWLDataProperty owlDataProperty) {
-        return withReadLock(() -> delegate.getDataPropertyRangeAxioms(owlDataProperty));
+        return withReadLock(AxiomType.DATA_PROPERTY_RANGE,
+            () -> delegate.getDataPropertyRangeAxioms(owlDataProperty));
     }
 
     @Override
     public Set<OWLEquivalentDataPropertiesAxiom> getEquivalentDataPropertiesAxioms(
         OWLDataProperty owlDataProperty) {
-        return withReadLock(() -> delegate.getEquivalentDataPropertiesAxioms(owlDataProperty));
+        return withReadLock(AxiomType.EQUIVALENT_DATA_PROPERTIES,
+            () -> delegate.getEquivalentDataPropertiesAxioms(owlDataProperty));
     }
 
     @Override
     public Set<OWLDisjointDataPropertiesAxiom> getDisjointDataPropertiesAxioms(
         OWLDataProperty owlDataProperty) {
-        return withReadLock(() -> delegate.getDisjointDataPropertiesAxioms(owlDataProperty));
+        return withReadLock(AxiomType.DISJOINT_DATA_PROPERTIES,
+            () -> delegate.getDisjointDataPropertiesAxioms(owlDataProperty));
     }
 
     @Override
     public Set<OWLFunctionalDataPropertyAxiom> getFunctionalDataPropertyAxioms(
         OWLDataPropertyExpression owlDataPropertyExpression) {
-        return withReadLock(
+        return withReadLock(AxiomType.FUNCTIONAL_DATA_PROPERTY,
             () -> delegate.getFunctionalDataPropertyAxioms(owlDataPropertyExpression));
     }
 
     @Override
     public Set<OWLClassAssertionAxiom> getClassAssertionAxioms(OWLIndividual owlIndividual) {
-        return withReadLock(() -> delegate.getClassAssertionAxioms(owlIndividual));
+        return withReadLock(AxiomType.CLASS_ASSERTION,
+            () -> delegate.getClassAssertionAxioms(owlIndividual));
     }
 
     @Override
     public Set<OWLClassAssertionAxiom> getClassAssertionAxioms(
         OWLClassExpression owlClassExpression) {
-        return withReadLock(() -> delegate.getClassAssertionAxioms(owlClassExpression));
+        return withReadLock(AxiomType.CLASS_ASSERTION,
+            () -> delegate.getClassAssertionAxioms(owlClassExpression));
     }
 
     @Override
     public Set<OWLDataPropertyAssertionAxiom> getDataPropertyAssertionAxioms(
         OWLIndividual owlIndividual) {
-        return withReadLock(() -> delegate.getDataPropertyAssertionAxioms(owlIndividual));
+        return withReadLock(AxiomType.DATA_PROPERTY_ASSERTION,
+            () -> delegate.getDataPropertyAssertionAxioms(owlIndividual));
     }
 
     @Override
     public Set<OWLObjectPropertyAssertionAxiom> getObjectPropertyAssertionAxioms(
         OWLIndividual owlIndividual) {
-        return withReadLock(() -> delegate.getObjectPropertyAssertionAxioms(owlIndividual));
+        return withReadLock(AxiomType.OBJECT_PROPERTY_ASSERTION,
+            () -> delegate.getObjectPropertyAssertionAxioms(owlIndividual));
     }
 
     @Override
     public Set<OWLNegativeObjectPropertyAssertionAxiom> getNegativeObjectPropertyAssertionAxioms(
         OWLIndividual owlIndividual) {
-        return withReadLock(() -> delegate.getNegativeObjectPropertyAssertionAxioms(owlIndividual));
+        return withReadLock(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION,
+            () -> delegate.getNegativeObjectPropertyAssertionAxioms(owlIndividual));
     }
 
     @Override
     public Set<OWLNegativeDataPropertyAssertionAxiom> getNegativeDataPropertyAssertionAxioms(
         OWLIndividual owlIndividual) {
-        return withReadLock(() -> delegate.getNegativeDataPropertyAssertionAxioms(owlIndividual));
+        return withReadLock(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION,
+            () -> delegate.getNegativeDataPropertyAssertionAxioms(owlIndividual));
     }
 
     @Override
     public Set<OWLSameIndividualAxiom> getSameIndividualAxioms(OWLIndividual owlIndividual) {
-        return withReadLock(() -> delegate.getSameIndividualAxioms(owlIndividual));
+        return withReadLock(AxiomType.SAME_INDIVIDUAL,
+            () -> delegate.getSameIndividualAxioms(owlIndividual));
     }
 
     @Override
     public Set<OWLDifferentIndividualsAxiom> getDifferentIndividualAxioms(
         OWLIndividual owlIndividual) {
-        return withReadLock(() -> delegate.getDifferentIndividualAxioms(owlIndividual));
+        return withReadLock(AxiomType.DIFFERENT_INDIVIDUALS,
+            () -> delegate.getDifferentIndividualAxioms(owlIndividual));
     }
 
     @Override
     public Set<OWLDatatypeDefinitionAxiom> getDatatypeDefinitions(OWLDatatype owlDatatype) {
-        return withReadLock(() -> delegate.getDatatypeDefinitions(owlDatatype));
+        return withReadLock(AxiomType.DATATYPE_DEFINITION,
+            () -> delegate.getDatatypeDefinitions(owlDatatype));
     }
 
     @Override
     public ChangeApplied applyChange(OWLOntologyChange owlOntologyChange) {
-        return withWriteLock(() -> getMutableOntology().applyChange(owlOntologyChange));
+        return withWriteLock(Collections.singletonList(owlOntologyChange),
+            () -> getMutableOntology().applyChange(owlOntologyChange));
     }
 
     @Override
     public ChangeDetails applyChangesAndGetDetails(List<? extends OWLOntologyChange> list) {
-        return withWriteLock(() -> getMutableOntology().applyChangesAndGetDetails(list));
+        return withWriteLock(list, () -> getMutableOntology().applyChangesAndGetDetails(list));
     }
 
     @Override
     public ChangeApplied addAxiom(OWLAxiom owlAxiom) {
-        return withWriteLock(() -> getMutableOntology().addAxiom(owlAxiom));
+        return withAxiomWriteLock(Collections.singletonList(owlAxiom),
+            () -> getMutableOntology().addAxiom(owlAxiom));
     }
 
     @Override
     public ChangeApplied addAxioms(Collection<? extends OWLAxiom> set) {
-        return withWriteLock(() -> getMutableOntology().addAxioms(set));
+        return withAxiomWriteLock(set, () -> getMutableOntology().addAxioms(set));
     }
 
     @Override
     public ChangeApplied addAxioms(OWLAxiom... set) {
-        return withWriteLock(() -> getMutableOntology().addAxioms(set));
+        return withAxiomWriteLock(Arrays.asList(set), () -> getMutableOntology().addAxioms(set));
     }
 
     @Override
     public ChangeApplied add(OWLAxiom owlAxiom) {
-        return withWriteLock(() -> getMutableOntology().add(owlAxiom));
+        return withAxiomWriteLock(Collections.singletonList(owlAxiom),
+            () -> getMutableOntology().add(owlAxiom));
     }
 
     @Override
     public ChangeApplied add(Collection<? extends OWLAxiom> set) {
-        return withWriteLock(() -> getMutableOntology().add(set));
+        return withAxiomWriteLock(set, () -> getMutableOntology().add(set));
     }
 
     @Override
     public ChangeApplied add(OWLAxiom... set) {
-        return withWriteLock(() -> getMutableOntology().add(set));
+        return withAxiomWriteLock(Arrays.asList(set), () -> getMutableOntology().add(set));
     }
 
     private OWLMutableOntology getMutableOntology() {
@@ -1436,108 +1630,116 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLImportsDeclaration> importsDeclarations() {
-        return withReadLock(delegate::importsDeclarations);
+        return withStreamReadLock(delegate::importsDeclarations);
     }
 
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(OWLAxiomSearchFilter filter, Object key,
         Imports includeImportsClosure) {
-        return withReadLock(() -> delegate.axioms(filter, key, includeImportsClosure));
+        return withStreamReadLock(() -> delegate.axioms(filter, key, includeImportsClosure));
     }
 
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(OWLAxiomSearchFilter filter, Object key) {
-        return withReadLock(() -> delegate.axioms(filter, key));
+        return withStreamReadLock(() -> delegate.axioms(filter, key));
     }
 
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(Class<T> type,
         Class<? extends OWLObject> explicitClass, OWLObject entity, Navigation forSubPosition) {
-        return withReadLock(() -> delegate.axioms(type, explicitClass, entity, forSubPosition));
+        return withStreamReadLock(
+            () -> delegate.axioms(type, explicitClass, entity, forSubPosition));
     }
 
     @Override
     public Stream<OWLSubAnnotationPropertyOfAxiom> subAnnotationPropertyOfAxioms(
         OWLAnnotationProperty subProperty) {
-        return withReadLock(() -> delegate.subAnnotationPropertyOfAxioms(subProperty));
+        return withStreamReadLock(AxiomType.SUB_ANNOTATION_PROPERTY_OF,
+            () -> delegate.subAnnotationPropertyOfAxioms(subProperty));
     }
 
     @Override
     public Stream<OWLDatatypeDefinitionAxiom> datatypeDefinitions(OWLDatatype datatype) {
-        return withReadLock(() -> delegate.datatypeDefinitions(datatype));
+        return withStreamReadLock(AxiomType.DATATYPE_DEFINITION,
+            () -> delegate.datatypeDefinitions(datatype));
     }
 
     @Override
     public ChangeApplied removeAxiom(OWLAxiom axiom) {
-        return withWriteLock(() -> delegate.removeAxiom(axiom));
+        return withAxiomWriteLock(Collections.singletonList(axiom),
+            () -> delegate.removeAxiom(axiom));
     }
 
     @Override
     public ChangeApplied removeAxioms(Collection<? extends OWLAxiom> axioms) {
-        return withWriteLock(() -> delegate.removeAxioms(axioms));
+        return withAxiomWriteLock(axioms, () -> delegate.removeAxioms(axioms));
     }
 
     @Override
     public ChangeApplied removeAxioms(OWLAxiom... axioms) {
-        return withWriteLock(() -> delegate.removeAxioms(axioms));
+        return withAxiomWriteLock(Arrays.asList(axioms), () -> delegate.removeAxioms(axioms));
     }
 
     @Override
     public ChangeApplied remove(OWLAxiom axiom) {
-        return withWriteLock(() -> delegate.remove(axiom));
+        return withAxiomWriteLock(Collections.singletonList(axiom), () -> delegate.remove(axiom));
     }
 
     @Override
     public ChangeApplied remove(Collection<? extends OWLAxiom> axioms) {
-        return withWriteLock(() -> delegate.remove(axioms));
+        return withAxiomWriteLock(axioms, () -> delegate.remove(axioms));
     }
 
     @Override
     public ChangeApplied remove(OWLAxiom... axioms) {
-        return withWriteLock(() -> delegate.remove(axioms));
+        return withAxiomWriteLock(Arrays.asList(axioms), () -> delegate.remove(axioms));
     }
 
     @Override
     public ChangeApplied applyDirectChange(OWLOntologyChange change) {
-        return withWriteLock(() -> delegate.applyDirectChange(change));
+        return withWriteLock(Collections.singletonList(change),
+            () -> delegate.applyDirectChange(change));
     }
 
     @Override
     public Stream<OWLDisjointObjectPropertiesAxiom> disjointObjectPropertiesAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.disjointObjectPropertiesAxioms(property));
+        return withStreamReadLock(AxiomType.DISJOINT_OBJECT_PROPERTIES,
+            () -> delegate.disjointObjectPropertiesAxioms(property));
     }
 
     @Override
     public Stream<OWLObjectProperty> objectPropertiesInSignature() {
-        return withReadLock(delegate::objectPropertiesInSignature);
+        return withStreamReadLock(delegate::objectPropertiesInSignature);
     }
 
     @Override
     public Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxioms(
         OWLAnnotationSubject entity) {
-        return withReadLock(() -> delegate.annotationAssertionAxioms(entity));
+        return withStreamReadLock(AxiomType.ANNOTATION_ASSERTION,
+            () -> delegate.annotationAssertionAxioms(entity));
     }
 
     @Override
     public Stream<OWLAnnotationAssertionAxiom> annotationAssertionAxioms(
         OWLAnnotationSubject entity, Imports imports) {
-        return withReadLock(() -> delegate.annotationAssertionAxioms(entity, imports));
+        return withStreamReadLock(AxiomType.ANNOTATION_ASSERTION,
+            () -> delegate.annotationAssertionAxioms(entity, imports));
     }
 
     @Override
     public Stream<OWLAnnotationProperty> annotationPropertiesInSignature() {
-        return withReadLock(delegate::annotationPropertiesInSignature);
+        return withStreamReadLock(delegate::annotationPropertiesInSignature);
     }
 
     @Override
     public Stream<OWLAnnotationProperty> annotationPropertiesInSignature(Imports imports) {
-        return withReadLock(() -> delegate.annotationPropertiesInSignature(imports));
+        return withStreamReadLock(() -> delegate.annotationPropertiesInSignature(imports));
     }
 
     @Override
     public Stream<OWLAnnotation> annotations() {
-        return withReadLock(delegate::annotations);
+        return withStreamReadLock(delegate::annotations);
     }
 
     @Override
@@ -1547,182 +1749,197 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLAnnotation> annotations(OWLAnnotationProperty p) {
-        return withReadLock(() -> delegate.annotations(p));
+        return withStreamReadLock(() -> delegate.annotations(p));
     }
 
     @Override
     public Stream<OWLAnnotation> annotations(Predicate<OWLAnnotation> p) {
-        return withReadLock(() -> delegate.annotations(p));
+        return withStreamReadLock(() -> delegate.annotations(p));
     }
 
     @Override
     public Stream<OWLAnonymousIndividual> anonymousIndividuals() {
-        return withReadLock(delegate::anonymousIndividuals);
+        return withStreamReadLock(delegate::anonymousIndividuals);
     }
 
     @Override
     public Stream<OWLAsymmetricObjectPropertyAxiom> asymmetricObjectPropertyAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.asymmetricObjectPropertyAxioms(property));
+        return withStreamReadLock(AxiomType.ASYMMETRIC_OBJECT_PROPERTY,
+            () -> delegate.asymmetricObjectPropertyAxioms(property));
     }
 
     @Override
     public <T extends OWLAxiom> Stream<T> axioms(Class<T> type, OWLObject entity,
         Navigation forSubPosition) {
-        return withReadLock(() -> delegate.axioms(type, entity, forSubPosition));
+        return withStreamReadLock(() -> delegate.axioms(type, entity, forSubPosition));
     }
 
     @Override
     public Stream<OWLAxiom> axioms(Imports imports) {
-        return withReadLock(() -> delegate.axioms(imports));
+        return withStreamReadLock(() -> delegate.axioms(imports));
     }
 
     @Override
     public Stream<OWLAnnotationAxiom> axioms(OWLAnnotationProperty property, Imports imports) {
-        return withReadLock(() -> delegate.axioms(property, imports));
+        return withStreamReadLock(() -> delegate.axioms(property, imports));
     }
 
     @Override
     public Stream<OWLClassAxiom> axioms(OWLClass cls, Imports imports) {
-        return withReadLock(() -> delegate.axioms(cls, imports));
+        return withStreamReadLock(() -> delegate.axioms(cls, imports));
     }
 
     @Override
     public Stream<OWLDataPropertyAxiom> axioms(OWLDataProperty property, Imports imports) {
-        return withReadLock(() -> delegate.axioms(property, imports));
+        return withStreamReadLock(() -> delegate.axioms(property, imports));
     }
 
     @Override
     public Stream<OWLDatatypeDefinitionAxiom> axioms(OWLDatatype datatype, Imports imports) {
-        return withReadLock(() -> delegate.axioms(datatype, imports));
+        return withStreamReadLock(() -> delegate.axioms(datatype, imports));
     }
 
     @Override
     public Stream<OWLIndividualAxiom> axioms(OWLIndividual individual, Imports imports) {
-        return withReadLock(() -> delegate.axioms(individual, imports));
+        return withStreamReadLock(() -> delegate.axioms(individual, imports));
     }
 
     @Override
     public Stream<OWLObjectPropertyAxiom> axioms(OWLObjectPropertyExpression property,
         Imports imports) {
-        return withReadLock(() -> delegate.axioms(property, imports));
+        return withStreamReadLock(() -> delegate.axioms(property, imports));
     }
 
     @Override
     public Stream<OWLClassAssertionAxiom> classAssertionAxioms(OWLClassExpression ce) {
-        return withReadLock(() -> delegate.classAssertionAxioms(ce));
+        return withStreamReadLock(AxiomType.CLASS_ASSERTION,
+            () -> delegate.classAssertionAxioms(ce));
     }
 
     @Override
     public Stream<OWLClassAssertionAxiom> classAssertionAxioms(OWLIndividual individual) {
-        return withReadLock(() -> delegate.classAssertionAxioms(individual));
+        return withStreamReadLock(AxiomType.CLASS_ASSERTION,
+            () -> delegate.classAssertionAxioms(individual));
     }
 
     @Override
     public Stream<OWLClass> classesInSignature() {
-        return withReadLock(delegate::classesInSignature);
+        return withStreamReadLock(delegate::classesInSignature);
     }
 
     @Override
     public Stream<OWLClass> classesInSignature(Imports imports) {
-        return withReadLock(() -> delegate.classesInSignature(imports));
+        return withStreamReadLock(() -> delegate.classesInSignature(imports));
     }
 
     @Override
     public Stream<OWLDataProperty> dataPropertiesInSignature() {
-        return withReadLock(delegate::dataPropertiesInSignature);
+        return withStreamReadLock(delegate::dataPropertiesInSignature);
     }
 
     @Override
     public Stream<OWLDataProperty> dataPropertiesInSignature(Imports imports) {
-        return withReadLock(() -> delegate.dataPropertiesInSignature(imports));
+        return withStreamReadLock(() -> delegate.dataPropertiesInSignature(imports));
     }
 
     @Override
     public Stream<OWLDataPropertyAssertionAxiom> dataPropertyAssertionAxioms(
         OWLIndividual individual) {
-        return withReadLock(() -> delegate.dataPropertyAssertionAxioms(individual));
+        return withStreamReadLock(AxiomType.DATA_PROPERTY_ASSERTION,
+            () -> delegate.dataPropertyAssertionAxioms(individual));
     }
 
     @Override
     public Stream<OWLDataPropertyDomainAxiom> dataPropertyDomainAxioms(OWLDataProperty property) {
-        return withReadLock(() -> delegate.dataPropertyDomainAxioms(property));
+        return withStreamReadLock(AxiomType.DATA_PROPERTY_DOMAIN,
+            () -> delegate.dataPropertyDomainAxioms(property));
     }
 
     @Override
     public Stream<OWLDataPropertyRangeAxiom> dataPropertyRangeAxioms(OWLDataProperty property) {
-        return withReadLock(() -> delegate.dataPropertyRangeAxioms(property));
+        return withStreamReadLock(AxiomType.DATA_PROPERTY_RANGE,
+            () -> delegate.dataPropertyRangeAxioms(property));
     }
 
     @Override
     public Stream<OWLSubDataPropertyOfAxiom> dataSubPropertyAxiomsForSubProperty(
         OWLDataProperty subProperty) {
-        return withReadLock(() -> delegate.dataSubPropertyAxiomsForSubProperty(subProperty));
+        return withStreamReadLock(AxiomType.SUB_DATA_PROPERTY,
+            () -> delegate.dataSubPropertyAxiomsForSubProperty(subProperty));
     }
 
     @Override
     public Stream<OWLSubDataPropertyOfAxiom> dataSubPropertyAxiomsForSuperProperty(
         OWLDataPropertyExpression superProperty) {
-        return withReadLock(() -> delegate.dataSubPropertyAxiomsForSuperProperty(superProperty));
+        return withStreamReadLock(AxiomType.SUB_DATA_PROPERTY,
+            () -> delegate.dataSubPropertyAxiomsForSuperProperty(superProperty));
     }
 
     @Override
     public Stream<OWLDatatype> datatypesInSignature() {
-        return withReadLock(delegate::datatypesInSignature);
+        return withStreamReadLock(delegate::datatypesInSignature);
     }
 
     @Override
     public Stream<OWLDatatype> datatypesInSignature(Imports imports) {
-        return withReadLock(() -> delegate.datatypesInSignature(imports));
+        return withStreamReadLock(() -> delegate.datatypesInSignature(imports));
     }
 
     @Override
     public Stream<OWLDeclarationAxiom> declarationAxioms(OWLEntity subject) {
-        return withReadLock(() -> delegate.declarationAxioms(subject));
+        return withStreamReadLock(AxiomType.DECLARATION, () -> delegate.declarationAxioms(subject));
     }
 
     @Override
     public Stream<OWLDifferentIndividualsAxiom> differentIndividualAxioms(
         OWLIndividual individual) {
-        return withReadLock(() -> delegate.differentIndividualAxioms(individual));
+        return withStreamReadLock(AxiomType.DIFFERENT_INDIVIDUALS,
+            () -> delegate.differentIndividualAxioms(individual));
     }
 
     @Override
     public Stream<OWLDisjointClassesAxiom> disjointClassesAxioms(OWLClass cls) {
-        return withReadLock(() -> delegate.disjointClassesAxioms(cls));
+        return withStreamReadLock(AxiomType.DISJOINT_CLASSES,
+            () -> delegate.disjointClassesAxioms(cls));
     }
 
     @Override
     public Stream<OWLDisjointDataPropertiesAxiom> disjointDataPropertiesAxioms(
         OWLDataProperty property) {
-        return withReadLock(() -> delegate.disjointDataPropertiesAxioms(property));
+        return withStreamReadLock(AxiomType.DISJOINT_DATA_PROPERTIES,
+            () -> delegate.disjointDataPropertiesAxioms(property));
     }
 
     @Override
     public Stream<OWLDisjointUnionAxiom> disjointUnionAxioms(OWLClass owlClass) {
-        return withReadLock(() -> delegate.disjointUnionAxioms(owlClass));
+        return withStreamReadLock(AxiomType.DISJOINT_UNION,
+            () -> delegate.disjointUnionAxioms(owlClass));
     }
 
     @Override
     public Stream<OWLEntity> entitiesInSignature(IRI iri, Imports imports) {
-        return withReadLock(() -> delegate.entitiesInSignature(iri, imports));
+        return withStreamReadLock(() -> delegate.entitiesInSignature(iri, imports));
     }
 
     @Override
     public Stream<OWLEquivalentClassesAxiom> equivalentClassesAxioms(OWLClass cls) {
-        return withReadLock(() -> delegate.equivalentClassesAxioms(cls));
+        return withStreamReadLock(AxiomType.EQUIVALENT_CLASSES,
+            () -> delegate.equivalentClassesAxioms(cls));
     }
 
     @Override
     public Stream<OWLEquivalentDataPropertiesAxiom> equivalentDataPropertiesAxioms(
         OWLDataProperty property) {
-        return withReadLock(() -> delegate.equivalentDataPropertiesAxioms(property));
+        return withStreamReadLock(AxiomType.EQUIVALENT_DATA_PROPERTIES,
+            () -> delegate.equivalentDataPropertiesAxioms(property));
     }
 
     @Override
     public Stream<OWLEquivalentObjectPropertiesAxiom> equivalentObjectPropertiesAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.equivalentObjectPropertiesAxioms(property));
+        return withStreamReadLock(AxiomType.EQUIVALENT_OBJECT_PROPERTIES,
+            () -> delegate.equivalentObjectPropertiesAxioms(property));
     }
 
     @Override
@@ -1734,19 +1951,22 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
     @Override
     public Stream<OWLFunctionalDataPropertyAxiom> functionalDataPropertyAxioms(
         OWLDataPropertyExpression property) {
-        return withReadLock(() -> delegate.functionalDataPropertyAxioms(property));
+        return withStreamReadLock(AxiomType.FUNCTIONAL_DATA_PROPERTY,
+            () -> delegate.functionalDataPropertyAxioms(property));
     }
 
     @Override
     public Stream<OWLFunctionalObjectPropertyAxiom> functionalObjectPropertyAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.functionalObjectPropertyAxioms(property));
+        return withStreamReadLock(AxiomType.FUNCTIONAL_OBJECT_PROPERTY,
+            () -> delegate.functionalObjectPropertyAxioms(property));
     }
 
     @Override
     public Set<OWLAnnotationAssertionAxiom> getAnnotationAssertionAxioms(
         OWLAnnotationSubject entity, Imports imports) {
-        return withReadLock(() -> delegate.getAnnotationAssertionAxioms(entity, imports));
+        return withReadLock(AxiomType.ANNOTATION_ASSERTION,
+            () -> delegate.getAnnotationAssertionAxioms(entity, imports));
     }
 
     @Override
@@ -1779,124 +1999,140 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
 
     @Override
     public Stream<OWLHasKeyAxiom> hasKeyAxioms(OWLClass cls) {
-        return withReadLock(() -> delegate.hasKeyAxioms(cls));
+        return withStreamReadLock(AxiomType.HAS_KEY, () -> delegate.hasKeyAxioms(cls));
     }
 
     @Override
     public Stream<OWLNamedIndividual> individualsInSignature() {
-        return withReadLock(delegate::individualsInSignature);
+        return withStreamReadLock(delegate::individualsInSignature);
     }
 
     @Override
     public Stream<OWLNamedIndividual> individualsInSignature(Imports imports) {
-        return withReadLock(() -> delegate.individualsInSignature(imports));
+        return withStreamReadLock(() -> delegate.individualsInSignature(imports));
     }
 
     @Override
     public Stream<OWLInverseFunctionalObjectPropertyAxiom> inverseFunctionalObjectPropertyAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.inverseFunctionalObjectPropertyAxioms(property));
+        return withStreamReadLock(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY,
+            () -> delegate.inverseFunctionalObjectPropertyAxioms(property));
     }
 
     @Override
     public Stream<OWLInverseObjectPropertiesAxiom> inverseObjectPropertyAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.inverseObjectPropertyAxioms(property));
+        return withStreamReadLock(AxiomType.INVERSE_OBJECT_PROPERTIES,
+            () -> delegate.inverseObjectPropertyAxioms(property));
     }
 
     @Override
     public Stream<OWLIrreflexiveObjectPropertyAxiom> irreflexiveObjectPropertyAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.irreflexiveObjectPropertyAxioms(property));
+        return withStreamReadLock(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY,
+            () -> delegate.irreflexiveObjectPropertyAxioms(property));
     }
 
     @Override
     public Stream<OWLLogicalAxiom> logicalAxioms(Imports imports) {
-        return withReadLock(() -> delegate.logicalAxioms(imports));
+        return withStreamReadLock(() -> delegate.logicalAxioms(imports));
     }
 
     @Override
     public Stream<OWLNegativeDataPropertyAssertionAxiom> negativeDataPropertyAssertionAxioms(
         OWLIndividual individual) {
-        return withReadLock(() -> delegate.negativeDataPropertyAssertionAxioms(individual));
+        return withStreamReadLock(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION,
+            () -> delegate.negativeDataPropertyAssertionAxioms(individual));
     }
 
     @Override
     public Stream<OWLNegativeObjectPropertyAssertionAxiom> negativeObjectPropertyAssertionAxioms(
         OWLIndividual individual) {
-        return withReadLock(() -> delegate.negativeObjectPropertyAssertionAxioms(individual));
+        return withStreamReadLock(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION,
+            () -> delegate.negativeObjectPropertyAssertionAxioms(individual));
     }
 
     @Override
     public Stream<OWLClassExpression> nestedClassExpressions() {
-        return withReadLock(delegate::nestedClassExpressions);
+        return withStreamReadLock(delegate::nestedClassExpressions);
     }
 
     @Override
     public Stream<OWLObjectProperty> objectPropertiesInSignature(Imports imports) {
-        return withReadLock(() -> delegate.objectPropertiesInSignature(imports));
+        return withStreamReadLock(() -> delegate.objectPropertiesInSignature(imports));
     }
 
     @Override
     public Stream<OWLObjectPropertyAssertionAxiom> objectPropertyAssertionAxioms(
         OWLIndividual individual) {
-        return withReadLock(() -> delegate.objectPropertyAssertionAxioms(individual));
+        return withStreamReadLock(AxiomType.OBJECT_PROPERTY_ASSERTION,
+            () -> delegate.objectPropertyAssertionAxioms(individual));
     }
 
     @Override
     public Stream<OWLObjectPropertyDomainAxiom> objectPropertyDomainAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.objectPropertyDomainAxioms(property));
+        return withStreamReadLock(AxiomType.OBJECT_PROPERTY_DOMAIN,
+            () -> delegate.objectPropertyDomainAxioms(property));
     }
 
     @Override
     public Stream<OWLObjectPropertyRangeAxiom> objectPropertyRangeAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.objectPropertyRangeAxioms(property));
+        return withStreamReadLock(AxiomType.OBJECT_PROPERTY_RANGE,
+            () -> delegate.objectPropertyRangeAxioms(property));
     }
 
     @Override
     public Stream<OWLSubObjectPropertyOfAxiom> objectSubPropertyAxiomsForSubProperty(
         OWLObjectPropertyExpression subProperty) {
-        return withReadLock(() -> delegate.objectSubPropertyAxiomsForSubProperty(subProperty));
+        return withStreamReadLock(AxiomType.SUB_OBJECT_PROPERTY,
+            () -> delegate.objectSubPropertyAxiomsForSubProperty(subProperty));
     }
 
     @Override
     public Stream<OWLSubObjectPropertyOfAxiom> objectSubPropertyAxiomsForSuperProperty(
         OWLObjectPropertyExpression superProperty) {
-        return withReadLock(() -> delegate.objectSubPropertyAxiomsForSuperProperty(superProperty));
+        return withStreamReadLock(AxiomType.SUB_OBJECT_PROPERTY,
+            () -> delegate.objectSubPropertyAxiomsForSuperProperty(superProperty));
     }
 
     @Override
     public Stream<OWLReflexiveObjectPropertyAxiom> reflexiveObjectPropertyAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.reflexiveObjectPropertyAxioms(property));
+        return withStreamReadLock(AxiomType.REFLEXIVE_OBJECT_PROPERTY,
+            () -> delegate.reflexiveObjectPropertyAxioms(property));
     }
 
     @Override
     public Stream<OWLSameIndividualAxiom> sameIndividualAxioms(OWLIndividual individual) {
-        return withReadLock(() -> delegate.sameIndividualAxioms(individual));
+        return withStreamReadLock(AxiomType.SAME_INDIVIDUAL,
+            () -> delegate.sameIndividualAxioms(individual));
     }
 
     @Override
     public Stream<OWLSubClassOfAxiom> subClassAxiomsForSubClass(OWLClass cls) {
-        return withReadLock(() -> delegate.subClassAxiomsForSubClass(cls));
+        return withStreamReadLock(AxiomType.SUBCLASS_OF,
+            () -> delegate.subClassAxiomsForSubClass(cls));
     }
 
     @Override
     public Stream<OWLSubClassOfAxiom> subClassAxiomsForSuperClass(OWLClass cls) {
-        return withReadLock(() -> delegate.subClassAxiomsForSuperClass(cls));
+        return withStreamReadLock(AxiomType.SUBCLASS_OF,
+            () -> delegate.subClassAxiomsForSuperClass(cls));
     }
 
     @Override
     public Stream<OWLSymmetricObjectPropertyAxiom> symmetricObjectPropertyAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.symmetricObjectPropertyAxioms(property));
+        return withStreamReadLock(AxiomType.SYMMETRIC_OBJECT_PROPERTY,
+            () -> delegate.symmetricObjectPropertyAxioms(property));
     }
 
     @Override
     public Stream<OWLTransitiveObjectPropertyAxiom> transitiveObjectPropertyAxioms(
         OWLObjectPropertyExpression property) {
-        return withReadLock(() -> delegate.transitiveObjectPropertyAxioms(property));
+        return withStreamReadLock(AxiomType.TRANSITIVE_OBJECT_PROPERTY,
+            () -> delegate.transitiveObjectPropertyAxioms(property));
     }
 }
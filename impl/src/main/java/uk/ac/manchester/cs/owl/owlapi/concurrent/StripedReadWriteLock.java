@@ -0,0 +1,339 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi.concurrent;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+
+/**
+ * A read/write lock with one stripe per axiom type. Reads restricted to the indexes of some axiom
+ * types use {@link #readLock(AxiomType)} or {@link #readLock(Collection)}, and changes that
+ * only add or remove axioms use {@link #axiomWriteLock(Collection)}: both only lock the stripes of
+ * those types, so a batch of ABox assertions does not stall readers of TBox indexes. Reads that
+ * span every index and structural changes use the locks returned by {@link #readLock()} and
+ * {@link #writeLock()}, which lock all the stripes.
+ * <p>
+ * Writers are serialized with each other, since the ontology internals are not safe for concurrent
+ * writers, and a writer never waits while holding stripes: if a stripe is busy, it releases the
+ * stripes it has taken, waits for the busy one and starts again. Readers therefore only ever wait
+ * for the single active writer, which cannot be waiting for them, and a read nested in another
+ * read on the same thread can safely acquire the stripes that the thread does not hold yet: a read
+ * that spans every index, nested in a read of one axiom type, still excludes the writers of all
+ * the other types. For the same reason, a write nested in another write on the same thread takes
+ * no further stripes; the outer write already excludes all the other writers and the readers of
+ * its own axiom types. Changes to other axiom types made on the thread applying an axiom change,
+ * such as those made by change listeners, are therefore not isolated from the readers of those
+ * types.
+ *
+ * @author ignazio
+ */
+public class StripedReadWriteLock implements ReadWriteLock, Serializable {
+
+    private static final int STRIPES =
+        AxiomType.AXIOM_TYPES.stream().mapToInt(AxiomType::getIndex).max().orElse(0) + 1;
+    private static final int[] ALL = new int[STRIPES];
+    static {
+        Arrays.setAll(ALL, i -> i);
+    }
+    private final ReentrantLock writers = new ReentrantLock();
+    private final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[STRIPES];
+    @Nullable
+    private transient volatile ThreadLocal<int[]> readHolds;
+    private final Lock readLock;
+    private final Lock writeLock;
+    private final Lock[] typedReadLocks = new Lock[STRIPES];
+
+    /**
+     * Default constructor.
+     */
+    public StripedReadWriteLock() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+        readLock = new LockSequence(false, ALL);
+        writeLock = new LockSequence(true, ALL);
+        for (int i = 0; i < STRIPES; i++) {
+            typedReadLocks[i] = new LockSequence(false, i);
+        }
+    }
+
+    @Override
+    public Lock readLock() {
+        return readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * @param type axiom type to read
+     * @return lock for reads that only access the index of the specified axiom type
+     */
+    public Lock readLock(AxiomType<?> type) {
+        return typedReadLocks[type.getIndex()];
+    }
+
+    /**
+     * @param types axiom types to read
+     * @return lock for reads that only access the indexes of the specified axiom types
+     */
+    public Lock readLock(Collection<? extends AxiomType<?>> types) {
+        return new LockSequence(false, stripes(types));
+    }
+
+    /**
+     * @param types axiom types that will be added or removed
+     * @return lock for changes that only add or remove axioms of the specified types
+     */
+    public Lock axiomWriteLock(Collection<? extends AxiomType<?>> types) {
+        return new LockSequence(true, stripes(types));
+    }
+
+    private static int[] stripes(Collection<? extends AxiomType<?>> types) {
+        // stripes are always acquired in ascending index order
+        return types.stream().mapToInt(AxiomType::getIndex).sorted().distinct().toArray();
+    }
+
+    /**
+     * @param lock lock in use
+     * @param changes changes to apply
+     * @return the write lock to hold while applying the changes: if the lock is striped and the
+     *         changes only add or remove axioms, the lock for the affected axiom types; the write
+     *         lock otherwise
+     */
+    public static Lock writeLock(ReadWriteLock lock, List<? extends OWLOntologyChange> changes) {
+        if (!(lock instanceof StripedReadWriteLock)) {
+            return lock.writeLock();
+        }
+        AxiomType<?>[] types = new AxiomType<?>[changes.size()];
+        for (int i = 0; i < types.length; i++) {
+            OWLOntologyChange change = changes.get(i);
+            if (!change.isAxiomChange()) {
+                return lock.writeLock();
+            }
+            types[i] = change.getAxiom().getAxiomType();
+        }
+        return ((StripedReadWriteLock) lock).axiomWriteLock(Arrays.asList(types));
+    }
+
+    /**
+     * @return number of read holds of each stripe by the current thread
+     */
+    int[] readHolds() {
+        ThreadLocal<int[]> local = readHolds;
+        if (local == null) {
+            synchronized (this) {
+                local = readHolds;
+                if (local == null) {
+                    local = ThreadLocal.withInitial(() -> new int[STRIPES]);
+                    readHolds = local;
+                }
+            }
+        }
+        return local.get();
+    }
+
+    private enum Wait {
+        FOREVER, INTERRUPTIBLY, NEVER, UNTIL_DEADLINE
+    }
+
+    /**
+     * A set of stripes locked together, in ascending order for readers and with back off for
+     * writers. Readers only acquire the stripes that the current thread does not already hold for
+     * reading, and release them with the last hold; nested writers only take the writers lock.
+     */
+    private class LockSequence implements Lock, Serializable {
+
+        private final boolean write;
+        private final int[] indexes;
+
+        LockSequence(boolean write, int... indexes) {
+            this.write = write;
+            this.indexes = indexes;
+        }
+
+        private Lock stripe(int index) {
+            return write ? stripes[index].writeLock() : stripes[index].readLock();
+        }
+
+        @Override
+        public void lock() {
+            try {
+                acquire(Wait.FOREVER, 0L);
+            } catch (InterruptedException e) {
+                // not thrown when waiting uninterruptibly
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            acquire(Wait.INTERRUPTIBLY, 0L);
+        }
+
+        @Override
+        public boolean tryLock() {
+            try {
+                return acquire(Wait.NEVER, 0L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return acquire(Wait.UNTIL_DEADLINE, System.nanoTime() + unit.toNanos(time));
+        }
+
+        private boolean acquire(Wait wait, long deadline) throws InterruptedException {
+            if (write) {
+                return acquireWrite(wait, deadline);
+            }
+            int[] holds = readHolds();
+            int[] missing = Arrays.stream(indexes).filter(i -> holds[i] == 0).toArray();
+            if (!acquireInOrder(missing, wait, deadline)) {
+                return false;
+            }
+            for (int i : indexes) {
+                holds[i]++;
+            }
+            return true;
+        }
+
+        private boolean acquireWrite(Wait wait, long deadline) throws InterruptedException {
+            if (!await(writers, wait, deadline)) {
+                return false;
+            }
+            if (writers.getHoldCount() > 1) {
+                return true;
+            }
+            boolean acquired = false;
+            try {
+                acquired = acquireWithBackOff(indexes, wait, deadline);
+            } finally {
+                if (!acquired) {
+                    writers.unlock();
+                }
+            }
+            return acquired;
+        }
+
+        private boolean acquireInOrder(int[] missing, Wait wait, long deadline)
+            throws InterruptedException {
+            for (int i = 0; i < missing.length; i++) {
+                boolean locked = false;
+                try {
+                    locked = await(stripe(missing[i]), wait, deadline);
+                } finally {
+                    if (!locked) {
+                        release(missing, i, -1);
+                    }
+                }
+                if (!locked) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean acquireWithBackOff(int[] stripes, Wait wait, long deadline)
+            throws InterruptedException {
+            if (stripes.length == 0) {
+                return true;
+            }
+            int blocking = 0;
+            while (await(stripe(stripes[blocking]), wait, deadline)) {
+                int busy = -1;
+                for (int i = 0; i < stripes.length && busy < 0; i++) {
+                    if (i != blocking && !stripe(stripes[i]).tryLock()) {
+                        busy = i;
+                    }
+                }
+                if (busy < 0) {
+                    return true;
+                }
+                // give the stripes back to the readers, then wait for the busy one
+                release(stripes, busy, blocking);
+                stripe(stripes[blocking]).unlock();
+                blocking = busy;
+            }
+            return false;
+        }
+
+        private boolean await(Lock l, Wait wait, long deadline) throws InterruptedException {
+            switch (wait) {
+                case FOREVER:
+                    l.lock();
+                    return true;
+                case INTERRUPTIBLY:
+                    l.lockInterruptibly();
+                    return true;
+                case UNTIL_DEADLINE:
+                    return l.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                case NEVER:
+                default:
+                    return l.tryLock();
+            }
+        }
+
+        /**
+         * Releases, in reverse order, the stripes in the first positions of the array, skipping
+         * the one at the excluded position.
+         */
+        private void release(int[] stripes, int end, int excluded) {
+            for (int i = end - 1; i >= 0; i--) {
+                if (i != excluded) {
+                    stripe(stripes[i]).unlock();
+                }
+            }
+        }
+
+        @Override
+        public void unlock() {
+            if (write) {
+                if (writers.getHoldCount() == 1) {
+                    release(indexes, indexes.length, -1);
+                }
+                writers.unlock();
+                return;
+            }
+            int[] holds = readHolds();
+            for (int i = indexes.length - 1; i >= 0; i--) {
+                if (--holds[indexes[i]] == 0) {
+                    stripe(indexes[i]).unlock();
+                }
+            }
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("Conditions are not supported by striped locks");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IntPointerStore_TestCase {
+
+    private final PointerIdDictionary ids = new PointerIdDictionary();
+    private final IntPointerStore<String, String> store = new IntPointerStore<>(ids);
+
+    @Test
+    void shouldAddAndFindValues() {
+        assertTrue(store.put("A", "x"));
+        assertTrue(store.put("A", "y"));
+        assertFalse(store.put("A", "x"));
+        assertTrue(store.put("B", "x"));
+        assertEquals(3, store.size());
+        assertEquals(2, store.count("A"));
+        assertTrue(store.contains("A", "y"));
+        assertFalse(store.contains("B", "y"));
+        assertFalse(store.contains("C", "x"));
+        assertEquals(new HashSet<>(Arrays.asList("x", "y")), new HashSet<>(store.get("A")));
+        assertNull(store.get("C"));
+    }
+
+    @Test
+    void shouldGrowAndShrinkValueArrays() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(store.put("A", "v" + i));
+        }
+        assertEquals(100, store.count("A"));
+        for (int i = 0; i < 99; i++) {
+            assertTrue(store.remove("A", "v" + i));
+        }
+        assertFalse(store.remove("A", "v0"));
+        assertEquals(1, store.count("A"));
+        assertTrue(store.contains("A", "v99"));
+        assertTrue(store.remove("A", "v99"));
+        assertFalse(store.containsKey("A"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void shouldShareIdentifiersAcrossStores() {
+        IntPointerStore<String, String> other = new IntPointerStore<>(ids);
+        store.put("A", "x");
+        other.put("x", "A");
+        assertEquals(2, ids.size());
+        List<String> keys = new ArrayList<>();
+        other.forEachKey(keys::add);
+        assertEquals(Arrays.asList("x"), keys);
+        List<String> values = new ArrayList<>();
+        store.forEachValue(values::add);
+        assertEquals(Arrays.asList("x"), values);
+    }
+
+    @Test
+    void shouldRecycleIdentifiersOfRemovedObjects() {
+        IntPointerStore<String, String> other = new IntPointerStore<>(ids);
+        store.put("A", "x");
+        other.put("x", "A");
+        assertFalse(store.put("A", "x"));
+        assertEquals(2, ids.size());
+        assertTrue(store.remove("A", "x"));
+        assertEquals(2, ids.size());
+        assertTrue(other.remove("x", "A"));
+        assertEquals(0, ids.size());
+        assertEquals(-1, ids.find("A"));
+        for (int i = 0; i < 1000; i++) {
+            store.put("K", "v" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            store.remove("K", "v" + i);
+        }
+        assertEquals(501, ids.size());
+        for (int i = 1; i < 1000; i += 2) {
+            assertTrue(store.contains("K", "v" + i));
+        }
+        store.put("B", "y");
+        assertTrue(ids.find("y") < 1001);
+    }
+
+    @Test
+    void shouldCopyWithoutReleasingIdentifiersOfTheSource() {
+        store.put("A", "x");
+        store.put("A", "y");
+        store.put("B", "x");
+        PointerStore<String, String> copy = store.copy();
+        assertTrue(copy.remove("A", "x"));
+        assertTrue(copy.remove("A", "y"));
+        assertTrue(copy.put("C", "z"));
+        assertEquals(3, store.size());
+        assertEquals(2, copy.size());
+        assertEquals(new HashSet<>(Arrays.asList("x", "y")), new HashSet<>(store.get("A")));
+        assertFalse(store.containsKey("C"));
+        assertTrue(store.remove("A", "x"));
+        assertTrue(store.remove("A", "y"));
+        assertTrue(store.remove("B", "x"));
+        // only the pairs left in the copy still hold identifiers
+        assertEquals(4, ids.size());
+        assertTrue(copy.contains("B", "x"));
+        assertEquals(-1, ids.find("y"));
+    }
+}
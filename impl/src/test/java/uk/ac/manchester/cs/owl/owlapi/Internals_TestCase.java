@@ -0,0 +1,70 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+
+class Internals_TestCase {
+
+    private static final String NS = "http://www.internals.org/#";
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+
+    private OWLClass c(int i) {
+        return df.getOWLClass(IRI.create(NS, "C" + i));
+    }
+
+    @Test
+    void shouldIndexAxiomsDeferredAfterARead() {
+        Internals i = new Internals();
+        i.setDeferIndexing(true);
+        i.addAxiom(df.getOWLSubClassOfAxiom(c(1), c(0)));
+        assertEquals(1, i.classAxiomsByClass.countValues(c(1)));
+        assertEquals(1, i.owlClassReferences.countValues(c(0)));
+        i.addAxiom(df.getOWLSubClassOfAxiom(c(1), c(2)));
+        i.addAxiom(df.getOWLEquivalentClassesAxiom(c(1), c(3)));
+        assertEquals(3, i.classAxiomsByClass.countValues(c(1)));
+        assertEquals(2, i.subClassAxiomsBySubPosition.countValues(c(1)));
+        assertEquals(1, i.owlClassReferences.countValues(c(3)));
+        i.setDeferIndexing(false);
+        assertEquals(3, i.owlClassReferences.countValues(c(1)));
+    }
+
+    @Test
+    void shouldBuildIndexesConcurrentlyAfterDeferredIndexing() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 50; round++) {
+                Internals i = new Internals();
+                i.setDeferIndexing(true);
+                for (int k = 1; k < 200; k++) {
+                    i.addAxiom(df.getOWLSubClassOfAxiom(c(k), c(k / 2)));
+                    i.addAxiom(df.getOWLDisjointClassesAxiom(c(k), c(k + 1000)));
+                }
+                i.setDeferIndexing(false);
+                List<Future<Integer>> reads = new ArrayList<>();
+                reads.add(pool.submit(() -> i.classAxiomsByClass.countValues(c(7))));
+                reads.add(pool.submit(() -> i.owlClassReferences.countValues(c(7))));
+                reads.add(pool.submit(() -> i.subClassAxiomsBySuperPosition.countValues(c(7))));
+                reads.add(pool.submit(() -> i.disjointClassesAxiomsByClass.countValues(c(7))));
+                assertEquals(2, reads.get(0).get(10, TimeUnit.SECONDS).intValue());
+                assertEquals(4, reads.get(1).get(10, TimeUnit.SECONDS).intValue());
+                assertEquals(2, reads.get(2).get(10, TimeUnit.SECONDS).intValue());
+                assertEquals(1, reads.get(3).get(10, TimeUnit.SECONDS).intValue());
+            }
+        } finally {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ObjectPointerStore_TestCase {
+
+    private final ObjectPointerStore<String, String> store =
+        new ObjectPointerStore<>(String.class);
+
+    @Test
+    void shouldKeepContentWhenSplittingKeys() {
+        for (int i = 0; i < 5000; i++) {
+            store.put("k" + i, "v" + i);
+            store.put("k" + i, "w" + i);
+        }
+        assertEquals(10000, store.size());
+        Set<String> keys = new HashSet<>();
+        store.forEachKey(keys::add);
+        assertEquals(5000, keys.size());
+        for (int i = 0; i < 5000; i += 2) {
+            assertTrue(store.remove("k" + i, "v" + i));
+            assertTrue(store.remove("k" + i, "w" + i));
+        }
+        assertEquals(5000, store.size());
+        assertFalse(store.containsKey("k0"));
+        assertTrue(store.contains("k1", "w1"));
+    }
+
+    @Test
+    void shouldNotChangeTheSourceOfACopy() {
+        for (int i = 0; i < 5000; i++) {
+            store.put("k" + i, "v" + i);
+        }
+        for (int i = 0; i < 5; i++) {
+            store.put("many", "v" + i);
+        }
+        PointerStore<String, String> copy = store.copy();
+        assertTrue(copy.remove("k1", "v1"));
+        assertTrue(copy.put("k2", "x"));
+        assertTrue(copy.put("new", "x"));
+        assertTrue(copy.remove("many", "v0"));
+        assertEquals(5005, store.size());
+        assertTrue(store.contains("k1", "v1"));
+        assertFalse(store.contains("k2", "x"));
+        assertFalse(store.containsKey("new"));
+        assertEquals(5, store.count("many"));
+        assertEquals(5005, copy.size());
+        assertFalse(copy.containsKey("k1"));
+        assertEquals(2, copy.count("k2"));
+        assertEquals(4, copy.count("many"));
+    }
+}
@@ -46,6 +46,8 @@ import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
 
+import uk.ac.manchester.cs.owl.owlapi.HasLockFreeReads;
+
 /**
  * Matthew Horridge Stanford Center for Biomedical Informatics Research 03/04/15
  */
@@ -115,6 +117,17 @@ class ConcurrentOWLOntologyImpl_TestCase {
         verify(readLock, never()).unlock();
     }
 
+    @Test
+    void shouldEnableLockFreeReadsOnDelegateIndexes() {
+        OWLMutableOntology indexed = mock(OWLMutableOntology.class,
+            Mockito.withSettings().extraInterfaces(HasLockFreeReads.class));
+        ConcurrentOWLOntologyImpl concurrent =
+            new ConcurrentOWLOntologyImpl(indexed, readWriteLock);
+        verify((HasLockFreeReads) indexed).setLockFreeReads(true);
+        concurrent.setLock(new NoOpReadWriteLock());
+        verify((HasLockFreeReads) indexed).setLockFreeReads(false);
+    }
+
     @Test
     void shouldDelegateTo_isEmpty_withReadLock() {
         ontology.isEmpty();
@@ -0,0 +1,162 @@
+package uk.ac.manchester.cs.owl.owlapi.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologyImpl;
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologyManagerImpl;
+
+class StripedReadWriteLock_TestCase {
+
+    private final StripedReadWriteLock lock = new StripedReadWriteLock();
+    private final ExecutorService other = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        other.shutdownNow();
+    }
+
+    private boolean canLockFromOtherThread(Lock l) throws Exception {
+        return other.submit(() -> {
+            if (l.tryLock()) {
+                l.unlock();
+                return Boolean.TRUE;
+            }
+            return Boolean.FALSE;
+        }).get().booleanValue();
+    }
+
+    @Test
+    void shouldLetReadersOfOtherAxiomTypesInDuringAxiomWrites() throws Exception {
+        Lock write = lock.axiomWriteLock(Collections.singleton(AxiomType.CLASS_ASSERTION));
+        write.lock();
+        try {
+            assertTrue(canLockFromOtherThread(lock.readLock(AxiomType.SUBCLASS_OF)));
+            assertFalse(canLockFromOtherThread(lock.readLock(AxiomType.CLASS_ASSERTION)));
+            assertFalse(canLockFromOtherThread(lock.readLock()));
+            assertFalse(canLockFromOtherThread(lock.writeLock()));
+        } finally {
+            write.unlock();
+        }
+        assertTrue(canLockFromOtherThread(lock.readLock(AxiomType.CLASS_ASSERTION)));
+    }
+
+    @Test
+    void shouldExcludeEverybodyDuringStructuralWrites() throws Exception {
+        lock.writeLock().lock();
+        try {
+            assertFalse(canLockFromOtherThread(lock.readLock(AxiomType.SUBCLASS_OF)));
+            assertFalse(canLockFromOtherThread(lock.readLock()));
+            assertFalse(canLockFromOtherThread(
+                lock.axiomWriteLock(Arrays.asList(AxiomType.DECLARATION, AxiomType.SUBCLASS_OF))));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        assertTrue(canLockFromOtherThread(lock.writeLock()));
+    }
+
+    @Test
+    void shouldAllowNestedLocksOnTheSameThread() throws Exception {
+        Lock write = lock.axiomWriteLock(Collections.singleton(AxiomType.SUBCLASS_OF));
+        write.lock();
+        try {
+            lock.readLock().lock();
+            lock.readLock(AxiomType.DECLARATION).lock();
+            lock.readLock(AxiomType.DECLARATION).unlock();
+            lock.readLock().unlock();
+            lock.writeLock().lock();
+            lock.writeLock().unlock();
+        } finally {
+            write.unlock();
+        }
+        assertTrue(canLockFromOtherThread(lock.writeLock()));
+    }
+
+    @Test
+    void shouldTakeTheMissingStripesForNestedReads() throws Exception {
+        Lock typed = lock.readLock(AxiomType.SUBCLASS_OF);
+        typed.lock();
+        try {
+            lock.readLock().lock();
+            try {
+                assertFalse(canLockFromOtherThread(
+                    lock.axiomWriteLock(Collections.singleton(AxiomType.CLASS_ASSERTION))));
+            } finally {
+                lock.readLock().unlock();
+            }
+            assertTrue(canLockFromOtherThread(
+                lock.axiomWriteLock(Collections.singleton(AxiomType.CLASS_ASSERTION))));
+            assertFalse(canLockFromOtherThread(
+                lock.axiomWriteLock(Collections.singleton(AxiomType.SUBCLASS_OF))));
+        } finally {
+            typed.unlock();
+        }
+        assertTrue(canLockFromOtherThread(lock.writeLock()));
+    }
+
+    @Test
+    void shouldLetTBoxReadersProgressWhileABoxWriterHoldsItsStripe() throws Exception {
+        OWLDataFactory df = new OWLDataFactoryImpl();
+        OWLOntology ontology = new ConcurrentOWLOntologyImpl(
+            new OWLOntologyImpl(new OWLOntologyManagerImpl(df, lock), new OWLOntologyID()), lock);
+        OWLClass a = df.getOWLClass("urn:test:", "A");
+        OWLClass b = df.getOWLClass("urn:test:", "B");
+        OWLNamedIndividual i = df.getOWLNamedIndividual("urn:test:", "i");
+        ontology.add(df.getOWLSubClassOfAxiom(a, b), df.getOWLClassAssertionAxiom(a, i));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            // an ABox writer in the middle of a batch
+            writer.submit(() -> {
+                Lock write =
+                    lock.axiomWriteLock(Collections.singleton(AxiomType.CLASS_ASSERTION));
+                write.lock();
+                try {
+                    writing.countDown();
+                    done.await();
+                } finally {
+                    write.unlock();
+                }
+                return null;
+            });
+            writing.await();
+            assertEquals(1, other.submit(() -> ontology.getSubClassAxiomsForSubClass(a).size())
+                .get(10, TimeUnit.SECONDS).intValue());
+            assertEquals(1, other.submit(() -> ontology.subClassAxiomsForSuperClass(b).count())
+                .get(10, TimeUnit.SECONDS).intValue());
+            Future<Integer> abox = other.submit(() -> ontology.getClassAssertionAxioms(i).size());
+            assertFalse(abox.isDone() || awaitDone(abox));
+            done.countDown();
+            assertEquals(1, abox.get(10, TimeUnit.SECONDS).intValue());
+        } finally {
+            done.countDown();
+            writer.shutdownNow();
+        }
+    }
+
+    private static boolean awaitDone(Future<?> future) throws InterruptedException {
+        Thread.sleep(200);
+        return future.isDone();
+    }
+}
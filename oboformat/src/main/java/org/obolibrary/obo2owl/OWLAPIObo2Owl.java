@@ -8,12 +8,17 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -22,13 +27,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
 import org.obolibrary.obo2owl.Obo2OWLConstants.Obo2OWLVocabulary;
 import org.obolibrary.oboformat.model.Clause;
 import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.Frame.FrameType;
 import org.obolibrary.oboformat.model.OBODoc;
 import org.obolibrary.oboformat.model.QualifierValue;
 import org.obolibrary.oboformat.model.Xref;
@@ -38,6 +50,9 @@ import org.obolibrary.oboformat.parser.OBOFormatException;
 import org.obolibrary.oboformat.parser.OBOFormatParser;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
 import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.io.DocumentSources;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
 import org.semanticweb.owlapi.io.OWLParserException;
 import org.semanticweb.owlapi.model.AddImport;
 import org.semanticweb.owlapi.model.AddOntologyAnnotation;
@@ -108,6 +123,7 @@ public class OWLAPIObo2Owl {
     private static final Logger LOG = LoggerFactory.getLogger(OWLAPIObo2Owl.class);
     private static final Set<String> SKIPPED_QUALIFIERS = Sets.newHashSet("gci_relation",
         "gci_filler", "cardinality", "minCardinality", "maxCardinality", "all_some", "all_only");
+    private static final int TERM_FRAME_BATCH = 1000;
     protected final Map<String, String> idSpaceMap;
     protected final Set<OWLAnnotationProperty> apToDeclare;
     protected final Map<String, OWLClass> clsToDeclare;
@@ -123,13 +139,18 @@ public class OWLAPIObo2Owl {
      * for this particular situation.
      */
     private Map<String, IRI> idToIRICache;
+    private int translationThreads = 1;
+    /**
+     * Axioms translated on the current thread, when term frames are translated on several threads.
+     */
+    private final ThreadLocal<List<OWLAxiom>> translatedAxioms = new ThreadLocal<>();
 
     /**
      * @param manager the manager
      */
     public OWLAPIObo2Owl(OWLOntologyManager manager) {
         idSpaceMap = new HashMap<>();
-        apToDeclare = new HashSet<>();
+        apToDeclare = ConcurrentHashMap.newKeySet();
         clsToDeclare = new HashMap<>();
         typedefToAnnotationProperty = new HashMap<>();
         init(manager);
@@ -336,6 +357,10 @@ public class OWLAPIObo2Owl {
         int cacheSize = ConfigurationOptions.CACHE_SIZE
             .getValue(Integer.class, Collections.emptyMap()).intValue();
         idToIRICache = new IDCache(cacheSize);
+        if (isParallel()) {
+            // the id to IRI conversion is recursive, so the cache is only locked for get and put
+            idToIRICache = Collections.synchronizedMap(idToIRICache);
+        }
 
         // clear all internal maps.
         idSpaceMap.clear();
@@ -362,6 +387,30 @@ public class OWLAPIObo2Owl {
         this.manager = manager;
     }
 
+    /**
+     * @return number of threads translating term frames
+     */
+    public int getTranslationThreads() {
+        return translationThreads;
+    }
+
+    /**
+     * Sets the number of threads translating term frames. With more than one thread, the header
+     * and typedef frames are translated on the calling thread; the term frames are then translated
+     * in batches on worker threads, and each batch of axioms is added to the ontology as soon as it
+     * is ready, in the order of the term frames. Subclasses always translate on the calling thread,
+     * so that their overrides are not called concurrently.
+     *
+     * @param threads number of threads translating term frames
+     */
+    public void setTranslationThreads(int threads) {
+        translationThreads = threads;
+    }
+
+    private boolean isParallel() {
+        return translationThreads > 1 && getClass() == OWLAPIObo2Owl.class;
+    }
+
     /**
      * Gets the obodoc.
      *
@@ -445,6 +494,53 @@ public class OWLAPIObo2Owl {
         return tr(in);
     }
 
+    /**
+     * Translates an OBO document frame by frame, without building the whole document. Term frames
+     * can refer to typedef frames further down the document, so the document is read twice: the
+     * first read keeps the header and typedef frames and the ids of the term stanzas, skipping the
+     * rest of the term stanzas without parsing them, and the second translates each term frame as
+     * soon as it is parsed. Term frames whose id appears more than once are kept and merged, as in
+     * a full parse, and translated at the end. Only the header and typedef frames, the term ids and
+     * the duplicate term frames stay in memory.
+     *
+     * @param source the document source; it must be possible to read it twice
+     * @param in the ontology to fill
+     * @param config the loader configuration
+     * @return the OWL ontology
+     * @throws IOException if the document cannot be read
+     * @throws OWLOntologyInputSourceException if the document source cannot be opened
+     */
+    public OWLOntology convert(OWLOntologyDocumentSource source, OWLOntology in,
+        OWLOntologyLoaderConfiguration config) throws IOException, OWLOntologyInputSourceException {
+        init(in.getOWLOntologyManager());
+        Set<String> ids = new HashSet<>();
+        Set<String> duplicateIds = new HashSet<>();
+        try (Reader r = DocumentSources.wrapInputAsReader(source, config)) {
+            obodoc = new OBOFormatParser().parse(r, EnumSet.of(FrameType.TYPEDEF), null, id -> {
+                if (!ids.add(id)) {
+                    duplicateIds.add(id);
+                }
+            });
+        }
+        ids.clear();
+        trHeaderAndTypedefFrames(in);
+        try (Reader r = DocumentSources.wrapInputAsReader(source, config)) {
+            trTermFrames(frames -> {
+                try {
+                    new OBOFormatParser().parse(r, EnumSet.of(FrameType.TERM), frames, duplicateIds)
+                        .getTermFrames().forEach(frames);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        trImports(in);
+        postProcess(in);
+        return in;
+    }
+
     /**
      * Translate ontology.
      *
@@ -452,6 +548,14 @@ public class OWLAPIObo2Owl {
      * @return the OWL ontology
      */
     protected OWLOntology tr(OWLOntology in) {
+        trHeaderAndTypedefFrames(in);
+        trTermFrames(obodoc.getTermFrames()::forEach);
+        trImports(in);
+        postProcess(in);
+        return in;
+    }
+
+    private void trHeaderAndTypedefFrames(OWLOntology in) {
         setOwlOntology(in);
         Frame hf = verifyNotNull(obodoc.getHeaderFrame());
         Clause ontClause = hf.getClause(OboFormatTag.TAG_ONTOLOGY);
@@ -496,7 +600,10 @@ public class OWLAPIObo2Owl {
         trHeaderFrame(hf);
         obodoc.getTypedefFrames().forEach(this::trTypedefToAnnotationProperty);
         obodoc.getTypedefFrames().forEach(this::trTypedefFrame);
-        obodoc.getTermFrames().forEach(this::trTermFrame);
+    }
+
+    private void trImports(OWLOntology in) {
+        Frame hf = verifyNotNull(obodoc.getHeaderFrame());
         // TODO - individuals
         for (Clause cl : hf.getClauses(OboFormatTag.TAG_IMPORT)) {
             String path = getURI(cl.getValue().toString());
@@ -507,8 +614,69 @@ public class OWLAPIObo2Owl {
             AddImport ai = new AddImport(in, owlImportsDeclaration);
             manager.applyChange(ai);
         }
-        postProcess(in);
-        return in;
+    }
+
+    /**
+     * Translates term frames, on the calling thread or in batches on worker threads; the axioms of
+     * each batch are added to the ontology on the calling thread, in the order of the batches.
+     *
+     * @param termFrames passes the term frames to translate to the given consumer
+     */
+    private void trTermFrames(Consumer<Consumer<Frame>> termFrames) {
+        if (!isParallel()) {
+            termFrames.accept(this::trTermFrame);
+            return;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(translationThreads);
+        Deque<Future<List<OWLAxiom>>> pending = new ArrayDeque<>();
+        try {
+            List<Frame> batch = new ArrayList<>(TERM_FRAME_BATCH);
+            termFrames.accept(f -> {
+                batch.add(f);
+                if (batch.size() == TERM_FRAME_BATCH) {
+                    pending.add(submit(pool, new ArrayList<>(batch)));
+                    batch.clear();
+                    if (pending.size() > translationThreads * 2) {
+                        addTranslated(pending.poll());
+                    }
+                }
+            });
+            if (!batch.isEmpty()) {
+                pending.add(submit(pool, batch));
+            }
+            while (!pending.isEmpty()) {
+                addTranslated(pending.poll());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Future<List<OWLAxiom>> submit(ExecutorService pool, List<Frame> batch) {
+        return pool.submit(() -> {
+            List<OWLAxiom> axioms = new ArrayList<>();
+            translatedAxioms.set(axioms);
+            try {
+                batch.forEach(this::trTermFrame);
+            } finally {
+                translatedAxioms.remove();
+            }
+            return axioms;
+        });
+    }
+
+    private void addTranslated(Future<List<OWLAxiom>> axioms) {
+        try {
+            getOwlOntology().add(axioms.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        }
     }
 
     /**
@@ -939,6 +1107,11 @@ public class OWLAPIObo2Owl {
             LOG.error("no axiom");
             return;
         }
+        List<OWLAxiom> translated = translatedAxioms.get();
+        if (translated != null) {
+            translated.addAll(axioms);
+            return;
+        }
         getOwlOntology().add(axioms);
     }
 
@@ -1382,8 +1555,7 @@ public class OWLAPIObo2Owl {
     protected OWLAnnotationProperty trTagToAnnotationProp(String tag) {
         IRI iri = trTagToIRI(tag);
         OWLAnnotationProperty ap = fac.getOWLAnnotationProperty(iri);
-        if (!apToDeclare.contains(ap)) {
-            apToDeclare.add(ap);
+        if (apToDeclare.add(ap)) {
             add(fac.getOWLDeclarationAxiom(ap));
             Obo2OWLVocabulary vocab = Obo2OWLConstants.getVocabularyObj(tag);
             if (vocab != null) {
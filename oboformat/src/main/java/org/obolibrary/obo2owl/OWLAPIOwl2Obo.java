@@ -11,17 +11,25 @@ import static org.semanticweb.owlapi.util.OWLAPIStreamUtils.asSet;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.text.ParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -119,6 +127,7 @@ public class OWLAPIOwl2Obo {
     private static final Set<String> SKIPPED_QUALIFIERS =
         new HashSet<>(Arrays.asList("gci_relation", "gci_filler", "cardinality", MIN_CARDINALITY,
             MAX_CARDINALITY, "all_some", "all_only"));
+    private static final int DECLARATION_BATCH = 1000;
     protected final Pattern absoluteURLPattern = Pattern.compile("<\\s*http.*?>");
     protected final Set<OWLAxiom> untranslatableAxioms = new HashSet<>();
     protected final Map<String, String> idSpaceMap = new HashMap<>();
@@ -134,6 +143,12 @@ public class OWLAPIOwl2Obo {
      * Mute untranslatable axiom warnings.
      */
     private boolean muteUntranslatableAxioms = false;
+    private int translationThreads = 1;
+    /**
+     * Untranslatable axioms found on the current thread, when declarations are translated on
+     * several threads.
+     */
+    private final ThreadLocal<List<OWLAxiom>> untranslated = new ThreadLocal<>();
 
     /**
      * @param translationManager the translation manager
@@ -728,7 +743,7 @@ public class OWLAPIOwl2Obo {
         tr(getOWLOntology());
         // declarations need to be sorted - otherwise there is a risk of id being processed before
         // altId, which causes spurious clauses.
-        accept(getOWLOntology().axioms(AxiomType.DECLARATION).sorted());
+        trDeclarations(getOWLOntology().axioms(AxiomType.DECLARATION).sorted());
         AxiomType.skipDeclarations().forEach(t -> accept(getOWLOntology().axioms(t)));
         if (!untranslatableAxioms.isEmpty() && !discardUntranslatable) {
             String axiomString = OwlStringTools.translate(untranslatableAxioms);
@@ -749,6 +764,108 @@ public class OWLAPIOwl2Obo {
         axioms.forEach(ax -> ax.accept(visitor));
     }
 
+    /**
+     * Translates declarations, on the calling thread or, for entities that are not alternative
+     * ids, in batches on worker threads. Frames are created on the calling thread in declaration
+     * order, and a frame is only translated on one thread at a time; alternative ids are added
+     * after all previous declarations have been translated, as in a sequential translation.
+     *
+     * @param declarations sorted declarations
+     */
+    private void trDeclarations(Stream<OWLDeclarationAxiom> declarations) {
+        if (!isParallel()) {
+            accept(declarations);
+            return;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(translationThreads);
+        Deque<Future<List<OWLAxiom>>> pending = new ArrayDeque<>();
+        Set<Frame> pendingFrames = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            List<DeclaredFrame> batch = new ArrayList<>(DECLARATION_BATCH);
+            Iterator<OWLDeclarationAxiom> it = declarations.iterator();
+            while (it.hasNext()) {
+                OWLEntity entity = it.next().getEntity();
+                if (entity.isBottomEntity() || entity.isTopEntity()) {
+                    continue;
+                }
+                List<OWLAnnotationAssertionAxiom> set =
+                    asList(owlOntology.annotationAssertionAxioms(entity.getIRI()));
+                if (set.isEmpty()) {
+                    continue;
+                }
+                Optional<OboAltIdCheckResult> altIdOptional = checkForOboAltId(set);
+                Frame f = altIdOptional.isPresent() ? null : frame(entity, set);
+                if (altIdOptional.isPresent() || f != null && pendingFrames.contains(f)) {
+                    submit(pool, pending, batch);
+                    while (!pending.isEmpty()) {
+                        addUntranslatable(pending.poll());
+                    }
+                    pendingFrames.clear();
+                }
+                if (altIdOptional.isPresent()) {
+                    addAltId(entity, altIdOptional.get());
+                } else if (f != null) {
+                    pendingFrames.add(f);
+                    batch.add(new DeclaredFrame(f, set));
+                    if (batch.size() == DECLARATION_BATCH) {
+                        submit(pool, pending, batch);
+                        if (pending.size() > translationThreads * 2) {
+                            addUntranslatable(pending.poll());
+                        }
+                    }
+                }
+            }
+            submit(pool, pending, batch);
+            while (!pending.isEmpty()) {
+                addUntranslatable(pending.poll());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void submit(ExecutorService pool, Deque<Future<List<OWLAxiom>>> pending,
+        List<DeclaredFrame> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<DeclaredFrame> frames = new ArrayList<>(batch);
+        batch.clear();
+        pending.add(pool.submit(() -> {
+            List<OWLAxiom> axioms = new ArrayList<>();
+            untranslated.set(axioms);
+            try {
+                frames.forEach(d -> d.annotations.forEach(a -> tr(a, d.frame)));
+            } finally {
+                untranslated.remove();
+            }
+            return axioms;
+        }));
+    }
+
+    private void addUntranslatable(Future<List<OWLAxiom>> axioms) {
+        try {
+            untranslatableAxioms.addAll(axioms.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        }
+    }
+
+    private void untranslatable(OWLAxiom ax) {
+        List<OWLAxiom> axioms = untranslated.get();
+        if (axioms != null) {
+            axioms.add(ax);
+        } else {
+            untranslatableAxioms.add(ax);
+        }
+    }
+
     /**
      * Preprocess.
      */
@@ -1248,7 +1365,7 @@ public class OWLAPIOwl2Obo {
     protected void tr(OWLAnnotationAssertionAxiom ax, Frame frame) {
         boolean success = tr(ax.getProperty(), ax.getValue(), asList(ax.annotations()), frame);
         if (!success) {
-            untranslatableAxioms.add(ax);
+            untranslatable(ax);
         }
     }
 
@@ -1759,40 +1876,50 @@ public class OWLAPIOwl2Obo {
         if (set.isEmpty()) {
             return;
         }
-        boolean isClass = entity.isOWLClass();
-        boolean isObjectProperty = entity.isOWLObjectProperty();
         // check whether the entity is an alt_id
         Optional<OboAltIdCheckResult> altIdOptional = checkForOboAltId(set);
         if (altIdOptional.isPresent()) {
-            // the entity will not be translated
-            // instead create the appropriate alt_id in the replaced_by frame
-            String currentId = getIdentifier(entity.getIRI());
-            addAltId(altIdOptional.get().replacedBy, currentId, isClass, isObjectProperty);
-            // add unrelated annotations to untranslatableAxioms axioms
-            untranslatableAxioms.addAll(altIdOptional.get().unrelated);
+            addAltId(entity, altIdOptional.get());
             return;
         }
         // translate
-        Frame f = null;
-        if (isClass) {
-            f = getTermFrame(entity.asOWLClass());
-        } else if (isObjectProperty) {
-            f = getTypedefFrame(entity.asOWLObjectProperty());
+        Frame f = frame(entity, set);
+        if (f != null) {
+            set.forEach(a -> tr(a, f));
+            add(f);
+        }
+    }
+
+    private void addAltId(OWLEntity entity, OboAltIdCheckResult altId) {
+        // the entity will not be translated
+        // instead create the appropriate alt_id in the replaced_by frame
+        String currentId = getIdentifier(entity.getIRI());
+        addAltId(altId.replacedBy, currentId, entity.isOWLClass(), entity.isOWLObjectProperty());
+        // add unrelated annotations to untranslatableAxioms axioms
+        untranslatableAxioms.addAll(altId.unrelated);
+    }
+
+    /**
+     * @param entity declared entity
+     * @param set annotation assertions on the entity
+     * @return the frame to translate the annotations into, or null if the entity has no frame
+     */
+    @Nullable
+    private Frame frame(OWLEntity entity, List<OWLAnnotationAssertionAxiom> set) {
+        if (entity.isOWLClass()) {
+            return getTermFrame(entity.asOWLClass());
+        } else if (entity.isOWLObjectProperty()) {
+            return getTypedefFrame(entity.asOWLObjectProperty());
         } else if (entity.isOWLAnnotationProperty()) {
             for (OWLAnnotationAssertionAxiom ax : set) {
                 OWLAnnotationProperty prop = ax.getProperty();
                 String tag = owlObjectToTag(prop);
                 if (OboFormatTag.TAG_IS_METADATA_TAG.getTag().equals(tag)) {
-                    f = getTypedefFrame(entity);
-                    break;
+                    return getTypedefFrame(entity);
                 }
             }
         }
-        if (f != null) {
-            Frame f1 = f;
-            set.forEach(a -> tr(a, f1));
-            add(f);
-        }
+        return null;
     }
 
     private void addAltId(String replacedBy, String altId, boolean isClass, boolean isProperty) {
@@ -1847,6 +1974,29 @@ public class OWLAPIOwl2Obo {
         this.muteUntranslatableAxioms = muteUntranslatableAxioms;
     }
 
+    /**
+     * @return number of threads translating declarations
+     */
+    public int getTranslationThreads() {
+        return translationThreads;
+    }
+
+    /**
+     * Sets the number of threads translating declarations. With more than one thread, the
+     * annotations of declared entities are translated into their frames in batches on worker
+     * threads; the resulting document is the same as with one thread. Subclasses always translate
+     * on the calling thread, so that their overrides are not called concurrently.
+     *
+     * @param threads number of threads translating declarations
+     */
+    public void setTranslationThreads(int threads) {
+        translationThreads = threads;
+    }
+
+    private boolean isParallel() {
+        return translationThreads > 1 && getClass() == OWLAPIOwl2Obo.class;
+    }
+
     /**
      * Gets the term frame.
      *
@@ -2150,12 +2300,12 @@ public class OWLAPIOwl2Obo {
     }
 
     protected void error(String message, OWLAxiom ax, boolean shouldLogComplaint) {
-        untranslatableAxioms.add(ax);
+        untranslatable(ax);
         error(message + ax, shouldLogComplaint);
     }
 
     protected void error(OWLAxiom ax, boolean shouldLogComplaint) {
-        untranslatableAxioms.add(ax);
+        untranslatable(ax);
         error("the axiom is not translated : " + ax, shouldLogComplaint);
     }
 
@@ -2177,6 +2327,20 @@ public class OWLAPIOwl2Obo {
         }
     }
 
+    /**
+     * A frame and the annotation assertions to translate into it.
+     */
+    private static class DeclaredFrame {
+
+        final Frame frame;
+        final List<OWLAnnotationAssertionAxiom> annotations;
+
+        DeclaredFrame(Frame frame, List<OWLAnnotationAssertionAxiom> annotations) {
+            this.frame = frame;
+            this.annotations = annotations;
+        }
+    }
+
     /**
      * Helper class: allow to return two values for the alternate id check.
      */
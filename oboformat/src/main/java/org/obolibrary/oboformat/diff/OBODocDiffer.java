@@ -2,16 +2,36 @@ package org.obolibrary.oboformat.diff;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
 import org.obolibrary.oboformat.model.Clause;
 import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.Frame.FrameType;
 import org.obolibrary.oboformat.model.OBODoc;
 import org.obolibrary.oboformat.model.Xref;
 import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.obolibrary.oboformat.parser.OBOFormatParser;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
 
 /**
  * Diffs two OBO Documents. Performs structural diffing only - does not use reasoning (use OWLDiff
@@ -21,6 +41,8 @@ import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
  */
 public class OBODocDiffer {
 
+    private static final int FRAME_BATCH = 1000;
+
     private OBODocDiffer() {}
 
     /**
@@ -29,56 +51,101 @@ public class OBODocDiffer {
      * @return list of diffs
      */
     public static List<Diff> getDiffs(OBODoc doc1, OBODoc doc2) {
+        return getDiffs(doc1, doc2, 1);
+    }
+
+    /**
+     * @param doc1 doc1
+     * @param doc2 doc2
+     * @param threads number of threads comparing frames; the diffs are the same as with one thread
+     * @return list of diffs
+     */
+    public static List<Diff> getDiffs(OBODoc doc1, OBODoc doc2, int threads) {
         List<Diff> diffs = new ArrayList<>();
         diffs.addAll(getDiffs("Header", verifyNotNull(doc1.getHeaderFrame()),
             verifyNotNull(doc2.getHeaderFrame())));
-        diffs.addAll(getDiffs("Term", doc1.getTermFrames(), doc2.getTermFrames()));
-        diffs.addAll(getDiffs("Typedef", doc1.getTypedefFrames(), doc2.getTypedefFrames()));
-        diffs.addAll(getDiffs("Instance", doc1.getInstanceFrames(), doc2.getInstanceFrames()));
+        try (FrameComparer comparer = new FrameComparer(threads, diffs::add)) {
+            getDiffs("Term", doc1.getTermFrames(), doc2.getTermFrames(), comparer);
+            getDiffs("Typedef", doc1.getTypedefFrames(), doc2.getTypedefFrames(), comparer);
+            getDiffs("Instance", doc1.getInstanceFrames(), doc2.getInstanceFrames(), comparer);
+            comparer.finish();
+        }
         return diffs;
     }
 
+    /**
+     * Diffs two OBO files without building the first document: its frames are compared to the
+     * second document as soon as they are parsed, and only the frames missing from the second
+     * document are kept. The diffs are the same as for the parsed documents, but the frame diffs
+     * come in the order of the first file and before the header diffs. A frame repeated in the
+     * first file is compared one stanza at a time instead of merged.
+     *
+     * @param reader1 reader for the first document
+     * @param reader2 reader for the second document
+     * @param threads number of threads comparing frames
+     * @param diffs consumer for the diffs, called on the calling thread
+     * @throws IOException if there was a problem reading from the readers
+     */
+    public static void getDiffs(Reader reader1, Reader reader2, int threads, Consumer<Diff> diffs)
+        throws IOException {
+        OBODoc doc2 = new OBOFormatParser().parse(reader2);
+        List<Frame> missingTerms = new ArrayList<>();
+        List<Frame> missingTypedefs = new ArrayList<>();
+        try (FrameComparer comparer = new FrameComparer(threads, diffs)) {
+            OBODoc doc1 = new OBOFormatParser().parse(reader1,
+                EnumSet.of(FrameType.TERM, FrameType.TYPEDEF), f1 -> {
+                    boolean isTerm = f1.getType() == FrameType.TERM;
+                    String id = verifyNotNull(f1.getId());
+                    Frame f2 = isTerm ? doc2.getTermFrame(id) : doc2.getTypedefFrame(id);
+                    if (f2 == null) {
+                        (isTerm ? missingTerms : missingTypedefs).add(f1);
+                    }
+                    comparer.compare(isTerm ? "Term" : "Typedef", f1, f2);
+                });
+            comparer.finish();
+            getDiffs("Header", verifyNotNull(doc1.getHeaderFrame()),
+                verifyNotNull(doc2.getHeaderFrame())).forEach(diffs);
+            missingTerms.forEach(f1 -> diffs.accept(new Diff("Term", "cannot find frame", f1, 2)));
+            missingTypedefs
+                .forEach(f1 -> diffs.accept(new Diff("Typedef", "cannot find frame", f1, 2)));
+        }
+    }
+
     // FRAME LISTS
-    private static List<Diff> getDiffsAsym(String ftype, Collection<Frame> fl1,
-        Collection<Frame> fl2, int n, boolean isCheckFrame) {
-        List<Diff> diffs = new ArrayList<>();
+    private static void getDiffsAsym(String ftype, Collection<Frame> fl1, Collection<Frame> fl2,
+        int n, boolean isCheckFrame, FrameComparer comparer) {
         Map<String, Frame> fm2 = new HashMap<>();
         fl2.forEach(f -> fm2.put(f.getId(), f));
         for (Frame f1 : fl1) {
-            if (fm2.containsKey(f1.getId())) {
-                Frame f2 = fm2.get(f1.getId());
-                if (isCheckFrame) {
-                    // we only need to do this once
-                    diffs.addAll(getDiffs(ftype, f1, f2));
-                }
-            } else {
-                diffs.add(new Diff(ftype, "cannot find frame", f1, n));
+            Frame f2 = fm2.get(f1.getId());
+            if (f2 == null) {
+                comparer.add(
+                    () -> Collections.singletonList(new Diff(ftype, "cannot find frame", f1, n)));
+            } else if (isCheckFrame) {
+                // we only need to do this once
+                comparer.compare(ftype, f1, f2);
             }
         }
-        return diffs;
     }
 
-    private static List<Diff> getDiffs(String ftype, Collection<Frame> fl1, Collection<Frame> fl2) {
-        List<Diff> diffs = getDiffsAsym(ftype, fl1, fl2, 1, true);
-        diffs.addAll(getDiffsAsym(ftype, fl1, fl2, 2, false));
-        return diffs;
+    private static void getDiffs(String ftype, Collection<Frame> fl1, Collection<Frame> fl2,
+        FrameComparer comparer) {
+        getDiffsAsym(ftype, fl1, fl2, 1, true, comparer);
+        getDiffsAsym(ftype, fl1, fl2, 2, false, comparer);
     }
 
     // FRAMES
-    private static List<Diff> getDiffsAsym(String ftype, Frame f1, Frame f2, int n) {
+    private static List<Diff> getDiffsAsym(String ftype, Frame f1, Frame f2,
+        Collection<Clause> clauses1, Collection<Clause> clauses2, int n) {
         List<Diff> diffs = new ArrayList<>();
-        for (Clause c : f1.getClauses()) {
-            boolean isMatched = false;
-            for (Clause c2 : f2.getClauses()) {
-                if (sameTag(c, c2) && c.equals(c2)) {
-                    isMatched = true;
-                    if (OboFormatTag.TAG_XREF.getTag().equals(c.getTag())) {
-                        String a1 = c.getValue(Xref.class).getAnnotation();
-                        String a2 = c2.getValue(Xref.class).getAnnotation();
-                        isMatched = a1 == null && a2 == null || a1 != null && a1.equals(a2);
-                    }
-                    break;
-                }
+        Map<Integer, List<Clause>> index = index(clauses2);
+        for (Clause c : clauses1) {
+            Clause c2 = match(c, clauses2, index);
+            boolean isMatched = c2 != null;
+            if (c2 != null && OboFormatTag.TAG_XREF.getTag().equals(c.getTag())) {
+                String a1 = c.getValue(Xref.class).getAnnotation();
+                String a2 = c2.getValue(Xref.class).getAnnotation();
+                isMatched = a1 == null && a2 == null || a1 != null && a1.equals(a2);
             }
             if (!isMatched) {
                 diffs.add(new Diff(ftype, "cannot_match_clause", f1, f2, c, n));
@@ -87,6 +154,75 @@ public class OBODocDiffer {
         return diffs;
     }
 
+    /**
+     * @return the first clause in clauses2 equal to c, or null if there is none
+     */
+    @Nullable
+    private static Clause match(Clause c, Collection<Clause> clauses2,
+        @Nullable Map<Integer, List<Clause>> index) {
+        Collection<Clause> candidates = clauses2;
+        if (index != null && !hasNullValue(c)) {
+            candidates = index.get(Integer.valueOf(fingerprint(c)));
+            if (candidates == null) {
+                return null;
+            }
+        }
+        for (Clause c2 : candidates) {
+            if (sameTag(c, c2) && c.equals(c2)) {
+                return c2;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return clauses by fingerprint, in their original order, or null if a clause has a null
+     *         value; such a clause equals any clause with one value and is only found by scanning
+     */
+    @Nullable
+    private static Map<Integer, List<Clause>> index(Collection<Clause> clauses) {
+        Map<Integer, List<Clause>> index = new HashMap<>();
+        for (Clause c : clauses) {
+            if (hasNullValue(c)) {
+                return null;
+            }
+            index.computeIfAbsent(Integer.valueOf(fingerprint(c)), k -> new ArrayList<>(1)).add(c);
+        }
+        return index;
+    }
+
+    private static boolean hasNullValue(Clause c) {
+        Collection<Object> values = c.getValues();
+        return values.size() == 1 && values.iterator().next() == null;
+    }
+
+    /**
+     * Clause.hashCode() is not consistent with Clause.equals(): single values compare booleans
+     * with their string forms, and xrefs and qualifiers are compared regardless of order. Equal
+     * clauses have the same fingerprint.
+     */
+    private static int fingerprint(Clause c) {
+        int h = Objects.hashCode(c.getTag());
+        Collection<Object> values = c.getValues();
+        if (values.size() == 1) {
+            Object v = values.iterator().next();
+            if ("true".equals(v) || Boolean.TRUE.equals(v)) {
+                v = Boolean.TRUE;
+            } else if ("false".equals(v) || Boolean.FALSE.equals(v)) {
+                v = Boolean.FALSE;
+            }
+            h = 31 * h + v.hashCode();
+        } else {
+            h = 31 * h + values.hashCode();
+        }
+        h = 31 * h + size(c.getXrefs());
+        return 31 * h + size(c.getQualifierValues());
+    }
+
+    private static int size(@Nullable Collection<?> c) {
+        return c == null ? 0 : c.size();
+    }
+
     private static boolean sameTag(Clause tag1, Clause tag2) {
         String tag = tag1.getTag();
         if (tag == null) {
@@ -95,9 +231,124 @@ public class OBODocDiffer {
         return tag.equals(tag2.getTag());
     }
 
+    /**
+     * @return true if the clauses are pairwise equal, in the same order
+     */
+    private static boolean sameClauses(Collection<Clause> clauses1, Collection<Clause> clauses2) {
+        if (clauses1.size() != clauses2.size()) {
+            return false;
+        }
+        Iterator<Clause> it = clauses2.iterator();
+        for (Clause c : clauses1) {
+            Clause c2 = it.next();
+            if (!c.equals(c2) || !c2.equals(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static List<Diff> getDiffs(String ftype, Frame f1, Frame f2) {
-        List<Diff> diffs = getDiffsAsym(ftype, f1, f2, 1);
-        diffs.addAll(getDiffsAsym(ftype, f2, f1, 2));
+        Collection<Clause> clauses1 = f1.getClauses();
+        Collection<Clause> clauses2 = f2.getClauses();
+        if (sameClauses(clauses1, clauses2)) {
+            // every clause is matched; only equal xrefs with different annotations can differ
+            clauses1 = f1.getClauses(OboFormatTag.TAG_XREF);
+            clauses2 = f2.getClauses(OboFormatTag.TAG_XREF);
+            if (clauses1.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+        List<Diff> diffs = getDiffsAsym(ftype, f1, f2, clauses1, clauses2, 1);
+        diffs.addAll(getDiffsAsym(ftype, f2, f1, clauses2, clauses1, 2));
         return diffs;
     }
+
+    /**
+     * Compares frames in batches, on the calling thread or on worker threads, and passes the diffs
+     * to a consumer on the calling thread, in the order in which the frames were added.
+     */
+    private static final class FrameComparer implements AutoCloseable {
+
+        private final Consumer<Diff> diffs;
+        private final int threads;
+        @Nullable
+        private final ExecutorService pool;
+        private final Deque<Future<List<Diff>>> pending = new ArrayDeque<>();
+        private final List<Supplier<List<Diff>>> batch = new ArrayList<>();
+
+        FrameComparer(int threads, Consumer<Diff> diffs) {
+            this.diffs = diffs;
+            this.threads = threads;
+            pool = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        }
+
+        void compare(String ftype, Frame f1, @Nullable Frame f2) {
+            if (f2 == null) {
+                add(() -> Collections.singletonList(new Diff(ftype, "cannot find frame", f1, 1)));
+            } else {
+                add(() -> getDiffs(ftype, f1, f2));
+            }
+        }
+
+        void add(Supplier<List<Diff>> frameDiffs) {
+            ExecutorService p = pool;
+            if (p == null) {
+                frameDiffs.get().forEach(diffs);
+                return;
+            }
+            batch.add(frameDiffs);
+            if (batch.size() == FRAME_BATCH) {
+                submit(p);
+                if (pending.size() > threads * 2) {
+                    take(verifyNotNull(pending.poll()));
+                }
+            }
+        }
+
+        void finish() {
+            ExecutorService p = pool;
+            if (p != null) {
+                submit(p);
+            }
+            while (!pending.isEmpty()) {
+                take(verifyNotNull(pending.poll()));
+            }
+        }
+
+        private void submit(ExecutorService p) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Supplier<List<Diff>>> suppliers = new ArrayList<>(batch);
+            batch.clear();
+            pending.add(p.submit(() -> {
+                List<Diff> list = new ArrayList<>();
+                suppliers.forEach(s -> list.addAll(s.get()));
+                return list;
+            }));
+        }
+
+        private void take(Future<List<Diff>> list) {
+            try {
+                list.get().forEach(diffs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLRuntimeException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new OWLRuntimeException(e.getCause());
+            }
+        }
+
+        @Override
+        public void close() {
+            ExecutorService p = pool;
+            if (p != null) {
+                p.shutdownNow();
+            }
+        }
+    }
 }
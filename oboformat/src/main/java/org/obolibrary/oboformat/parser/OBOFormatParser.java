@@ -18,7 +18,9 @@ import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
@@ -30,6 +32,7 @@ import org.obolibrary.oboformat.model.OBODoc;
 import org.obolibrary.oboformat.model.QualifierValue;
 import org.obolibrary.oboformat.model.Xref;
 import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.obolibrary.oboformat.parser.ParallelFrameParser.ParsedFrame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +51,19 @@ public class OBOFormatParser {
     private boolean followImport;
     private Object location;
     private final ConcurrentHashMap<String, OBODoc> importCache = new ConcurrentHashMap<>();
+    private int parsingThreads = 1;
+    // set on parsers of a chunk of stanzas: parsed frames are collected instead of added
+    @Nullable
+    private final List<ParsedFrame> parsedFrames;
+    // set while parsing only some stanza types, or passing frames to a consumer
+    @Nullable
+    private Set<FrameType> frameTypes;
+    @Nullable
+    private Consumer<Frame> frameConsumer;
+    @Nullable
+    private Consumer<String> skippedTermIds;
+    @Nullable
+    private Set<String> mergedIds;
 
     /**
     *
@@ -76,6 +92,20 @@ public class OBOFormatParser {
             builder.recordStats();
         }
         stringCache = builder.build(key -> key);
+        parsedFrames = null;
+    }
+
+    /**
+     * Parser for a chunk of stanzas, sharing the string cache of the parser that split the input.
+     *
+     * @param s stream over the chunk
+     * @param parent parser that split the input
+     * @param parsedFrames list to collect the parsed frames into
+     */
+    OBOFormatParser(MyStream s, OBOFormatParser parent, List<ParsedFrame> parsedFrames) {
+        stream = s;
+        stringCache = parent.stringCache;
+        this.parsedFrames = parsedFrames;
     }
 
     private static void addOboNamespace(@Nullable Collection<Frame> frames,
@@ -141,6 +171,26 @@ public class OBOFormatParser {
         followImport = followImports;
     }
 
+    /**
+     * @return number of threads parsing stanzas
+     */
+    public int getParsingThreads() {
+        return parsingThreads;
+    }
+
+    /**
+     * Sets the number of threads parsing stanzas. With more than one thread, the header frame is
+     * parsed on the calling thread; the stanzas that follow are split in chunks, parsed on worker
+     * threads and added to the document in their original order, so the resulting document,
+     * including merged duplicate frames and merge errors, is the same as with one thread.
+     * Subclasses always parse on the calling thread, so that their overrides are used.
+     *
+     * @param threads number of threads parsing stanzas
+     */
+    public void setParsingThreads(int threads) {
+        parsingThreads = threads;
+    }
+
     /**
      * Parses a local file or URL to an OBODoc.
      *
@@ -235,6 +285,81 @@ public class OBOFormatParser {
         setReader(new BufferedReader(reader));
         OBODoc obodoc = new OBODoc();
         parseOBODoc(obodoc);
+        return parseImports(obodoc);
+    }
+
+    /**
+     * Parses the header frame and the stanzas of the given types; stanzas of other types are
+     * skipped without being parsed. If a consumer is given, each frame is passed to it as soon as
+     * it is complete, with the default namespace already set, instead of being added to the
+     * returned document; duplicate frames are then passed one by one rather than merged. Stanzas
+     * are parsed on the calling thread.
+     *
+     * @param reader reader
+     * @param types types of the stanzas to parse
+     * @param frames consumer for the parsed frames, or null to add them to the document
+     * @return parsed obo document
+     * @throws IOException if there was a problem reading from the output stream
+     * @throws OBOFormatParserException parser exception
+     */
+    public OBODoc parse(Reader reader, Set<FrameType> types, @Nullable Consumer<Frame> frames)
+        throws IOException {
+        return parse(reader, types, frames, null, null);
+    }
+
+    /**
+     * As {@link #parse(Reader, Set, Consumer)}; in addition, the id line of each skipped term
+     * stanza is parsed and the id passed to the given consumer, so that duplicate term stanzas can
+     * be found without parsing them.
+     *
+     * @param reader reader
+     * @param types types of the stanzas to parse
+     * @param frames consumer for the parsed frames, or null to add them to the document
+     * @param skippedIds consumer for the ids of skipped term stanzas, or null
+     * @return parsed obo document
+     * @throws IOException if there was a problem reading from the output stream
+     * @throws OBOFormatParserException parser exception
+     */
+    public OBODoc parse(Reader reader, Set<FrameType> types, @Nullable Consumer<Frame> frames,
+        @Nullable Consumer<String> skippedIds) throws IOException {
+        return parse(reader, types, frames, skippedIds, null);
+    }
+
+    /**
+     * As {@link #parse(Reader, Set, Consumer)}; in addition, frames whose id is in the given set
+     * are not passed to the consumer but added to the returned document, where duplicate frames
+     * are merged before the default namespace is set, as in a full parse.
+     *
+     * @param reader reader
+     * @param types types of the stanzas to parse
+     * @param frames consumer for the parsed frames, or null to add them to the document
+     * @param merged ids of the frames to add to the returned document
+     * @return parsed obo document, holding the header frame and the frames with the given ids
+     * @throws IOException if there was a problem reading from the output stream
+     * @throws OBOFormatParserException parser exception
+     */
+    public OBODoc parse(Reader reader, Set<FrameType> types, @Nullable Consumer<Frame> frames,
+        Set<String> merged) throws IOException {
+        return parse(reader, types, frames, null, merged);
+    }
+
+    private OBODoc parse(Reader reader, Set<FrameType> types, @Nullable Consumer<Frame> frames,
+        @Nullable Consumer<String> skippedIds, @Nullable Set<String> merged) throws IOException {
+        frameTypes = types;
+        frameConsumer = frames;
+        skippedTermIds = skippedIds;
+        mergedIds = merged;
+        try {
+            return parse(reader);
+        } finally {
+            frameTypes = null;
+            frameConsumer = null;
+            skippedTermIds = null;
+            mergedIds = null;
+        }
+    }
+
+    private OBODoc parseImports(OBODoc obodoc) throws IOException {
         // handle imports
         Frame hf = obodoc.getHeaderFrame();
         List<OBODoc> imports = new LinkedList<>();
@@ -268,9 +393,10 @@ public class OBOFormatParser {
         parseHeaderFrame(h);
         h.freeze();
         parseZeroOrMoreWsOptCmtNl();
-        while (!stream.eof()) {
-            parseEntityFrame(obodoc);
-            parseZeroOrMoreWsOptCmtNl();
+        if (parsingThreads > 1 && getClass() == OBOFormatParser.class && frameTypes == null) {
+            new ParallelFrameParser(this, parsingThreads).parse(obodoc);
+        } else {
+            parseFrames(obodoc, Integer.MAX_VALUE);
         }
         // set OBO namespace in frames
         String defaultOboNamespace =
@@ -282,6 +408,56 @@ public class OBOFormatParser {
         }
     }
 
+    /**
+     * Parses the stanzas from the current position to the end of the stream, or up to the first
+     * stanza starting after the given line.
+     *
+     * @param obodoc document to add the frames to
+     * @param lastLineNo number of the last line to parse stanzas from
+     */
+    void parseFrames(OBODoc obodoc, int lastLineNo) {
+        while (!stream.eof() && stream.lineNo <= lastLineNo) {
+            parseEntityFrame(obodoc);
+            parseZeroOrMoreWsOptCmtNl();
+        }
+    }
+
+    /**
+     * @param obodoc document to add the frame to
+     * @param f frame to add
+     * @param lineNo line number to report if the frame cannot be added
+     * @param line line to report if the frame cannot be added
+     */
+    static void addFrame(OBODoc obodoc, Frame f, int lineNo, @Nullable String line) {
+        try {
+            obodoc.addFrame(f);
+        } catch (FrameMergeException e) {
+            throw new OBOFormatParserException(
+                "Could not add frame " + f + " to document, duplicate frame definition?", e,
+                lineNo, line);
+        }
+    }
+
+    private void addFrame(OBODoc obodoc, Frame f) {
+        f.freeze();
+        List<ParsedFrame> frames = parsedFrames;
+        Consumer<Frame> consumer = frameConsumer;
+        Set<String> merged = mergedIds;
+        if (consumer != null && (merged == null || !merged.contains(f.getId()))) {
+            Frame h = verifyNotNull(obodoc.getHeaderFrame());
+            String defaultOboNamespace =
+                h.getTagValue(OboFormatTag.TAG_DEFAULT_NAMESPACE, String.class);
+            if (defaultOboNamespace != null) {
+                addOboNamespace(Collections.singleton(f), defaultOboNamespace);
+            }
+            consumer.accept(f);
+        } else if (frames == null) {
+            addFrame(obodoc, f, stream.lineNo, stream.line);
+        } else {
+            frames.add(new ParsedFrame(f, stream.lineNo, stream.line));
+        }
+    }
+
     /**
      * @param doc doc
      * @return list of references
@@ -451,7 +627,16 @@ public class OBOFormatParser {
     public void parseEntityFrame(OBODoc obodoc) {
         parseZeroOrMoreWsOptCmtNl();
         String rest = stream.rest();
-        if (rest.startsWith("[Term]")) {
+        Set<FrameType> types = frameTypes;
+        if (types != null && !rest.startsWith("[Instance]")
+            && !types.contains(rest.startsWith("[Term]") ? FrameType.TERM : FrameType.TYPEDEF)) {
+            Consumer<String> ids = skippedTermIds;
+            if (ids != null && rest.startsWith("[Term]")) {
+                skipTermFrame(ids);
+            } else {
+                skipFrame();
+            }
+        } else if (rest.startsWith("[Term]")) {
             parseTermFrame(obodoc);
         } else if (rest.startsWith("[Instance]")) {
             LOG.error("Error: Instance frames are not supported yet. Parsing stopped at line: {}",
@@ -464,6 +649,23 @@ public class OBOFormatParser {
         }
     }
 
+    private void skipFrame() {
+        do {
+            stream.advanceLine();
+        } while (!stream.eof() && ParallelFrameParser.stanzaStart(stream.line()) < 0);
+    }
+
+    private void skipTermFrame(Consumer<String> ids) {
+        stream.consume("[Term]");
+        forceParseNlOrEof();
+        Frame f = new Frame(FrameType.TERM);
+        parseIdLine(f);
+        ids.accept(verifyNotNull(f.getId()));
+        while (!stream.eof() && ParallelFrameParser.stanzaStart(stream.line()) < 0) {
+            stream.advanceLine();
+        }
+    }
+
     /**
      * term-frame ::= nl* '[Term]' nl id-Tag Class-ID EOL { term-frame-clause EOL }.
      *
@@ -485,14 +687,7 @@ public class OBOFormatParser {
                 parseTermFrameClauseEOL(f);
                 parseZeroOrMoreWsOptCmtNl();
             }
-            try {
-                f.freeze();
-                obodoc.addFrame(f);
-            } catch (FrameMergeException e) {
-                throw new OBOFormatParserException(
-                    "Could not add frame " + f + " to document, duplicate frame definition?", e,
-                    stream.lineNo, stream.line);
-            }
+            addFrame(obodoc, f);
         } else {
             error("Expected a [Term] frame, but found unknown stanza type.");
         }
@@ -604,14 +799,7 @@ public class OBOFormatParser {
                 parseTypedefFrameClauseEOL(f);
                 parseZeroOrMoreWsOptCmtNl();
             }
-            try {
-                f.freeze();
-                obodoc.addFrame(f);
-            } catch (FrameMergeException e) {
-                throw new OBOFormatParserException(
-                    "Could not add frame " + f + " to document, duplicate frame definition?", e,
-                    stream.lineNo, stream.line);
-            }
+            addFrame(obodoc, f);
         } else {
             error("Expected a [Typedef] frame, but found unknown stanza type.");
         }
@@ -0,0 +1,171 @@
+package org.obolibrary.oboformat.parser;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatParser.MyStream;
+
+/**
+ * Parses the stanzas of an OBO document on several threads. Every clause is on a single line and a
+ * stanza ends where a line starts with {@code [}, so the calling thread only reads lines and cuts
+ * chunks of whole stanzas, which worker threads parse with their own parser. Each chunk also
+ * carries the line that follows it, so that the frames and errors of a chunk are the same as when
+ * parsing the whole document. The parsed frames are added to the document in document order,
+ * where duplicate frames are merged or rejected as by the sequential parser.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+final class ParallelFrameParser {
+
+    private static final int CHUNK = 256 * 1024;
+    private final OBOFormatParser parser;
+    private final int threads;
+
+    /**
+     * A frame parsed on a worker thread, with the position to report if it cannot be added to the
+     * document.
+     */
+    static final class ParsedFrame {
+
+        final Frame frame;
+        final int lineNo;
+        @Nullable
+        final String line;
+
+        ParsedFrame(Frame frame, int lineNo, @Nullable String line) {
+            this.frame = frame;
+            this.lineNo = lineNo;
+            this.line = line;
+        }
+    }
+
+    /**
+     * @param parser parser positioned after the header frame
+     * @param threads number of worker threads
+     */
+    ParallelFrameParser(OBOFormatParser parser, int threads) {
+        this.parser = parser;
+        this.threads = threads;
+    }
+
+    /**
+     * Parses the stanzas from the current position of the parser stream to the end of the stream.
+     *
+     * @param obodoc document to add the frames to
+     */
+    void parse(OBODoc obodoc) {
+        MyStream stream = parser.stream;
+        if (stream.eof()) {
+            return;
+        }
+        BufferedReader reader = verifyNotNull(stream.reader);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Deque<Future<List<ParsedFrame>>> pending = new ArrayDeque<>();
+        try {
+            String line = stream.line;
+            int lineNo = stream.lineNo;
+            int instanceLineNo = -1;
+            StringBuilder chunk = new StringBuilder();
+            int chunkLineNo = lineNo;
+            while (line != null) {
+                int stanza = stanzaStart(line);
+                if (stanza >= 0 && line.startsWith("[Instance]", stanza)) {
+                    instanceLineNo = lineNo;
+                    break;
+                }
+                if (stanza >= 0 && chunk.length() >= CHUNK) {
+                    pending.add(submit(pool, chunk.toString(), chunkLineNo, lineNo - 1, line));
+                    chunk.setLength(0);
+                    chunkLineNo = lineNo;
+                    if (pending.size() > threads * 2) {
+                        add(obodoc, pending.poll());
+                    }
+                }
+                chunk.append(line).append('\n');
+                line = readLine(reader, lineNo);
+                lineNo++;
+            }
+            if (chunk.length() > 0) {
+                pending.add(submit(pool, chunk.toString(), chunkLineNo, lineNo - 1, line));
+            }
+            while (!pending.isEmpty()) {
+                add(obodoc, pending.poll());
+            }
+            if (instanceLineNo >= 0) {
+                OBOFormatParser.LOG.error(
+                    "Error: Instance frames are not supported yet. Parsing stopped at line: {}",
+                    Integer.valueOf(instanceLineNo));
+            }
+            stream.line = null;
+            stream.lineNo = lineNo;
+            stream.pos = 0;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return index of the {@code [} starting a stanza on the line, or -1 if the line does not
+     *         start a stanza
+     */
+    static int stanzaStart(String line) {
+        int i = 0;
+        while (i < line.length() && line.charAt(i) == ' ') {
+            i++;
+        }
+        return i < line.length() && line.charAt(i) == '[' ? i : -1;
+    }
+
+    @Nullable
+    private static String readLine(BufferedReader reader, int lineNo) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new OBOFormatParserException(e, lineNo, "Error reading from input.");
+        }
+    }
+
+    private Future<List<ParsedFrame>> submit(ExecutorService pool, String text, int firstLineNo,
+        int lastLineNo, @Nullable String nextLine) {
+        String content = nextLine == null ? text : text + nextLine + '\n';
+        return pool.submit(() -> {
+            List<ParsedFrame> frames = new ArrayList<>();
+            MyStream s = new MyStream(new BufferedReader(new StringReader(content)));
+            s.lineNo = firstLineNo - 1;
+            new OBOFormatParser(s, parser, frames).parseFrames(new OBODoc(), lastLineNo);
+            return frames;
+        });
+    }
+
+    private static void add(OBODoc obodoc, Future<List<ParsedFrame>> frames) {
+        try {
+            for (ParsedFrame f : frames.get()) {
+                OBOFormatParser.addFrame(obodoc, f.frame, f.lineNo, f.line);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OBOFormatParserException("Interrupted while parsing frames", e, 0, null);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OBOFormatParserException(e.getCause(), 0, null);
+        }
+    }
+}
@@ -14,18 +14,25 @@ import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Serializable;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -62,6 +69,7 @@ public class OBOFormatWriter {
     private static final Logger LOG = LoggerFactory.getLogger(OBOFormatWriter.class);
     private static final Comparator<Frame> framesComparator = Comparator.comparing(Frame::getId);
     private static final Set<String> TAGSINFORMATIVE = buildTagsInformative();
+    private static final int FRAME_BATCH = 1000;
     /**
      * This comparator sorts clauses with the same tag in the specified write order.
      */
@@ -69,6 +77,7 @@ public class OBOFormatWriter {
     private static Comparator<Clause> clauseListComparator = Comparator
         .comparing(Clause::getTag, OBOFormatConstants.tagPriority).thenComparing(clauseComparator);
     private boolean isCheckStructure = true;
+    private int threads = 1;
 
     private static Set<String> buildTagsInformative() {
         Set<String> set = new HashSet<>();
@@ -545,6 +554,26 @@ public class OBOFormatWriter {
         this.isCheckStructure = isCheckStructure;
     }
 
+    /**
+     * @return number of threads rendering frames
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads rendering frames. With more than one thread, the sorted frames
+     * are rendered in batches on worker threads, each batch into its own buffer, and the buffers
+     * are written in order; the output is the same as with one thread. The name provider is then
+     * called concurrently. Subclasses always render on the calling thread, so that their overrides
+     * are not called concurrently.
+     *
+     * @param threads number of threads rendering frames
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
     /**
      * @param fn the file name to read in
      * @param writer the writer
@@ -640,19 +669,77 @@ public class OBOFormatWriter {
         List<Frame> instanceFrames = new ArrayList<>();
         typeDefFrames.addAll(doc.getInstanceFrames());
         Collections.sort(instanceFrames, framesComparator);
-        for (Frame f : termFrames) {
-            write(f, writer, nameProvider);
-        }
-        for (Frame f : typeDefFrames) {
-            write(f, writer, nameProvider);
-        }
-        for (Frame f : instanceFrames) {
-            write(f, writer, nameProvider);
+        if (threads > 1 && getClass() == OBOFormatWriter.class) {
+            List<Frame> frames = new ArrayList<>(termFrames);
+            frames.addAll(typeDefFrames);
+            frames.addAll(instanceFrames);
+            write(frames, writer, nameProvider);
+        } else {
+            for (Frame f : termFrames) {
+                write(f, writer, nameProvider);
+            }
+            for (Frame f : typeDefFrames) {
+                write(f, writer, nameProvider);
+            }
+            for (Frame f : instanceFrames) {
+                write(f, writer, nameProvider);
+            }
         }
         // to be save always flush writer
         writer.flush();
     }
 
+    /**
+     * Renders the frames in batches on worker threads and writes the batches in order.
+     *
+     * @param frames sorted frames
+     * @param writer the writer
+     * @param nameProvider the name provider
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void write(List<Frame> frames, Writer writer, NameProvider nameProvider)
+        throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        try {
+            for (int i = 0; i < frames.size(); i += FRAME_BATCH) {
+                List<Frame> batch = frames.subList(i, Math.min(i + FRAME_BATCH, frames.size()));
+                pending.add(pool.submit(() -> {
+                    StringWriter buffer = new StringWriter();
+                    for (Frame f : batch) {
+                        write(f, buffer, nameProvider);
+                    }
+                    return buffer.toString();
+                }));
+                if (pending.size() > threads * 2) {
+                    write(pending.poll(), writer);
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll(), writer);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void write(Future<String> text, Writer writer) throws IOException {
+        try {
+            writer.write(text.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing frames", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
     /**
      * Write header.
      *
@@ -40,10 +40,17 @@ public class OBOFormatOWLAPIParser implements OWLParser, Serializable {
     public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology in,
         OWLOntologyLoaderConfiguration config) {
         try {
+            OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(in.getOWLOntologyManager());
+            bridge.setTranslationThreads(config.getParsingThreads());
+            if (config.shouldStreamOBOTranslation()) {
+                // translate term frames as they are parsed, without a full OBO Document
+                bridge.convert(source, in, config);
+                return new OBODocumentFormat();
+            }
             OBOFormatParser p = new OBOFormatParser();
+            p.setParsingThreads(config.getParsingThreads());
             OBODoc obodoc = p.parse(wrapInputAsReader(source, config));
-            // create a translator object and feed it the OBO Document
-            OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(in.getOWLOntologyManager());
+            // feed the OBO Document to the translator
             bridge.convert(obodoc, in);
             return new OBODocumentFormat();
         } catch (OBOFormatParserException | IOException | OWLOntologyInputSourceException e) {
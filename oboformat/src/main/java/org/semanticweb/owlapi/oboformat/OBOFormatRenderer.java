@@ -47,7 +47,10 @@ public class OBOFormatRenderer implements OWLRenderer {
     public static void render(OWLOntology ontology, Writer writer, OWLDocumentFormat format)
         throws OWLOntologyStorageException {
         try {
+            int threads = format.getParameter(OBODocumentFormat.THREADS, Integer.valueOf(1))
+                .intValue();
             OWLAPIOwl2Obo translator = new OWLAPIOwl2Obo(ontology.getOWLOntologyManager());
+            translator.setTranslationThreads(threads);
             final OBODoc result = translator.convert(ontology);
             boolean hasImports = ontology.imports().count() > 0;
             NameProvider nameProvider;
@@ -82,6 +85,7 @@ public class OBOFormatRenderer implements OWLRenderer {
             OBOFormatWriter oboFormatWriter = new OBOFormatWriter();
             oboFormatWriter.setCheckStructure(
                 format.getParameter(OBODocumentFormat.VALIDATION, Boolean.TRUE).booleanValue());
+            oboFormatWriter.setThreads(threads);
             oboFormatWriter.write(result, new PrintWriter(new BufferedWriter(writer)),
                 nameProvider);
         } catch (IOException e) {
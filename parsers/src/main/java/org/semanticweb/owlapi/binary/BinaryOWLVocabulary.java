@@ -0,0 +1,81 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary;
+
+/**
+ * Layout constants for the binary snapshot format. A snapshot is laid out as:
+ * <ol>
+ * <li>magic number and layout version;</li>
+ * <li>string table: namespaces, IRI remainders, literal forms, language tags, node ids;</li>
+ * <li>IRI table: pairs of string table indexes (namespace, remainder);</li>
+ * <li>entity tables for classes, object properties, data properties, annotation properties, named
+ * individuals and datatypes: IRI table indexes;</li>
+ * <li>anonymous individual table: string table indexes of the node ids;</li>
+ * <li>ontology header: ontology IRI and version IRI, imports, ontology annotations;</li>
+ * <li>axiom sections, one per axiom type: axiom type index, axiom count, section length in bytes,
+ * axiom records.</li>
+ * </ol>
+ * All integers are written as unsigned variable length integers. Objects are written as their
+ * {@code typeIndex()} followed by their components; entities, IRIs and anonymous individuals are
+ * written as indexes in their tables. Axiom records omit the type index, which is the same for
+ * the whole section.
+ *
+ * @author ignazio
+ */
+public final class BinaryOWLVocabulary {
+
+    /** Magic number at the start of every snapshot: "OWLB". */
+    public static final int MAGIC = 0x4F574C42;
+    /** Version of the layout. */
+    public static final int VERSION = 1;
+    /** Type index of IRIs. */
+    public static final int IRI_TYPE = 0;
+    /** Type index of anonymous individuals. */
+    public static final int ANONYMOUS_INDIVIDUAL_TYPE = 1007;
+    /** Type index of literals. */
+    public static final int LITERAL_TYPE = 4008;
+    /** Offset of axiom type indexes in object type indexes. */
+    public static final int AXIOM_OFFSET = 2000;
+    private static final int[] ENTITY_TYPES = {1001, 1002, 1004, 1006, 1005, 4001};
+
+    private BinaryOWLVocabulary() {}
+
+    /**
+     * @return number of entity tables
+     */
+    public static int entityTables() {
+        return ENTITY_TYPES.length;
+    }
+
+    /**
+     * @param table entity table position
+     * @return type index of the entities in the table
+     */
+    public static int entityType(int table) {
+        return ENTITY_TYPES[table];
+    }
+
+    /**
+     * @param typeIndex object type index
+     * @return entity table position for the type index, or -1 if the type index does not denote
+     *         an entity
+     */
+    public static int entityTable(int typeIndex) {
+        for (int i = 0; i < ENTITY_TYPES.length; i++) {
+            if (ENTITY_TYPES[i] == typeIndex) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,169 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary.parser;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte source for binary snapshots: either a memory mapped file or a stream.
+ *
+ * @author ignazio
+ */
+abstract class BinaryInput {
+
+    /** Files are mapped in regions of this size; a single mapping cannot exceed 2 GB. */
+    private static final long REGION = 1L << 30;
+
+    /**
+     * @param channel file to map; can be closed once this method returns
+     * @return input reading from the mapped file
+     * @throws IOException if the file cannot be mapped
+     */
+    static BinaryInput map(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int count = (int) ((size + REGION - 1) / REGION);
+        ByteBuffer[] regions = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = i * REGION;
+            regions[i] = channel.map(MapMode.READ_ONLY, start, Math.min(REGION, size - start));
+        }
+        return new MappedInput(regions);
+    }
+
+    /**
+     * @param in stream to read
+     * @return input reading from the stream
+     */
+    static BinaryInput stream(InputStream in) {
+        return new StreamInput(new DataInputStream(in));
+    }
+
+    /**
+     * @return next byte, as an unsigned value
+     * @throws IOException if the input is exhausted
+     */
+    abstract int read() throws IOException;
+
+    abstract void readFully(byte[] bytes) throws IOException;
+
+    abstract void skip(long bytes) throws IOException;
+
+    int readInt() throws IOException {
+        return read() << 24 | read() << 16 | read() << 8 | read();
+    }
+
+    int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = read();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    String readString() throws IOException {
+        byte[] bytes = new byte[readVarInt()];
+        readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class MappedInput extends BinaryInput {
+
+        private final ByteBuffer[] regions;
+        private int current;
+
+        MappedInput(ByteBuffer[] regions) {
+            this.regions = regions;
+        }
+
+        private ByteBuffer region() throws EOFException {
+            while (current < regions.length && !regions[current].hasRemaining()) {
+                current++;
+            }
+            if (current == regions.length) {
+                throw new EOFException();
+            }
+            return regions[current];
+        }
+
+        @Override
+        int read() throws IOException {
+            return region().get() & 0xFF;
+        }
+
+        @Override
+        void readFully(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ByteBuffer region = region();
+                int length = Math.min(bytes.length - offset, region.remaining());
+                region.get(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        @Override
+        void skip(long bytes) throws IOException {
+            long left = bytes;
+            while (left > 0) {
+                ByteBuffer region = region();
+                int length = (int) Math.min(left, region.remaining());
+                region.position(region.position() + length);
+                left -= length;
+            }
+        }
+    }
+
+    private static class StreamInput extends BinaryInput {
+
+        private final DataInputStream in;
+
+        StreamInput(DataInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        int read() throws IOException {
+            return in.readUnsignedByte();
+        }
+
+        @Override
+        void readFully(byte[] bytes) throws IOException {
+            in.readFully(bytes);
+        }
+
+        @Override
+        void skip(long bytes) throws IOException {
+            long left = bytes;
+            while (left > 0) {
+                long skipped = in.skip(left);
+                if (skipped <= 0) {
+                    // skip() can legitimately skip nothing; read to make progress or hit the end
+                    read();
+                    skipped = 1;
+                }
+                left -= skipped;
+            }
+        }
+    }
+}
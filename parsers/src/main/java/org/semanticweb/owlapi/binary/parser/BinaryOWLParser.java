@@ -0,0 +1,116 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary.parser;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat;
+import org.semanticweb.owlapi.formats.BinaryOWLDocumentFormatFactory;
+import org.semanticweb.owlapi.io.AbstractOWLParser;
+import org.semanticweb.owlapi.io.DocumentSources;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+/**
+ * Parser for binary OWL snapshots. Local files are memory mapped, so that loading does not copy
+ * the file through the Java heap; other sources are read as streams.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+public class BinaryOWLParser extends AbstractOWLParser {
+
+    @Override
+    public OWLDocumentFormatFactory getSupportedFormat() {
+        return new BinaryOWLDocumentFormatFactory();
+    }
+
+    @Override
+    public boolean readsImportsWhileParsing() {
+        return false;
+    }
+
+    @Override
+    public OWLDocumentFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration configuration) {
+        try {
+            File file = localFile(documentSource);
+            if (file != null) {
+                try (FileChannel channel =
+                    FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    read(BinaryInput.map(channel), ontology, configuration);
+                }
+            } else {
+                try (InputStream in = input(documentSource, configuration)) {
+                    read(BinaryInput.stream(in), ontology, configuration);
+                }
+            }
+            return new BinaryOWLDocumentFormat();
+        } catch (EOFException e) {
+            // not an I/O failure: the input is too short to be a snapshot, so other parsers must
+            // still be attempted
+            throw new OWLParserException("Input is not a complete binary OWL snapshot: " + e);
+        } catch (IOException | OWLOntologyInputSourceException e) {
+            throw new OWLParserException(e);
+        }
+    }
+
+    private static InputStream input(OWLOntologyDocumentSource documentSource,
+        OWLOntologyLoaderConfiguration configuration) throws OWLOntologyInputSourceException {
+        try {
+            return DocumentSources.wrapInput(documentSource, configuration);
+        } catch (OWLOntologyInputSourceException e) {
+            if (documentSource.getReader().isPresent()) {
+                // character sources are readable, just not by this parser; failing with an
+                // input source exception would stop the other parsers from being attempted
+                throw new OWLParserException("Binary OWL snapshots cannot be read from characters");
+            }
+            throw e;
+        }
+    }
+
+    private static void read(BinaryInput input, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration configuration) throws IOException {
+        new BinaryOWLReader(input, ontology.getOWLOntologyManager()).read(ontology, configuration);
+    }
+
+    @Nullable
+    private static File localFile(OWLOntologyDocumentSource documentSource) {
+        if (!(documentSource instanceof FileDocumentSource
+            || documentSource instanceof IRIDocumentSource)) {
+            // other sources provide their own streams, or decompress the file
+            return null;
+        }
+        IRI iri = documentSource.getDocumentIRI();
+        if (!"file".equals(iri.getScheme())) {
+            return null;
+        }
+        File file = new File(iri.toURI());
+        return file.isFile() ? file : null;
+    }
+}
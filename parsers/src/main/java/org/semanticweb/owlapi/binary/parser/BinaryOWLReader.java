@@ -0,0 +1,521 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary.parser;
+
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.ANONYMOUS_INDIVIDUAL_TYPE;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.AXIOM_OFFSET;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.IRI_TYPE;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.MAGIC;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.VERSION;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.entityTable;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.entityTables;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.entityType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLAnnotationValue;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLPropertyExpression;
+import org.semanticweb.owlapi.model.SWRLDArgument;
+import org.semanticweb.owlapi.model.SWRLIArgument;
+import org.semanticweb.owlapi.model.SetOntologyID;
+import org.semanticweb.owlapi.util.RemappingIndividualProvider;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * Reads a binary snapshot into an ontology. The tables are materialized first, so that every
+ * entity, IRI and anonymous individual is created once; axiom records then refer to them by index.
+ *
+ * @author ignazio
+ */
+class BinaryOWLReader {
+
+    /** Axioms are added to the ontology in batches of this size. */
+    private static final int BATCH = 65536;
+    private static final AxiomType<?>[] TYPES = new AxiomType<?>[AxiomType.AXIOM_TYPES.size()];
+    static {
+        AxiomType.AXIOM_TYPES.forEach(t -> TYPES[t.getIndex()] = t);
+    }
+    private final BinaryInput in;
+    private final OWLDataFactory df;
+    private final RemappingIndividualProvider anonProvider;
+    private String[] strings = new String[0];
+    private IRI[] iris = new IRI[0];
+    private OWLEntity[][] entities = new OWLEntity[0][];
+    private OWLAnonymousIndividual[] anonymousIndividuals = new OWLAnonymousIndividual[0];
+
+    BinaryOWLReader(BinaryInput in, OWLOntologyManager manager) {
+        this.in = in;
+        df = manager.getOWLDataFactory();
+        // node ids are scoped to the document, as in the other parsers
+        anonProvider = new RemappingIndividualProvider(manager.getOntologyConfigurator(), df);
+    }
+
+    void read(OWLOntology ontology, OWLOntologyLoaderConfiguration configuration)
+        throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new OWLParserException("Input is not a binary OWL snapshot");
+        }
+        int version = in.readVarInt();
+        if (version != VERSION) {
+            throw new OWLParserException("Unsupported binary OWL snapshot version: " + version);
+        }
+        readTables();
+        OWLOntologyManager manager = ontology.getOWLOntologyManager();
+        IRI ontologyIRI = readOptionalIRI();
+        IRI versionIRI = readOptionalIRI();
+        if (ontologyIRI != null) {
+            manager.applyChange(new SetOntologyID(ontology,
+                new OWLOntologyID(Optional.of(ontologyIRI), Optional.ofNullable(versionIRI))));
+        }
+        int imports = in.readVarInt();
+        for (int i = 0; i < imports; i++) {
+            OWLImportsDeclaration declaration = df.getOWLImportsDeclaration(iris[in.readVarInt()]);
+            manager.applyChange(new AddImport(ontology, declaration));
+            manager.makeLoadImportRequest(declaration, configuration);
+        }
+        for (OWLAnnotation a : this.<OWLAnnotation>readList()) {
+            manager.applyChange(new AddOntologyAnnotation(ontology, a));
+        }
+        int sections = in.readVarInt();
+        for (int i = 0; i < sections; i++) {
+            AxiomType<?> type = TYPES[in.readVarInt()];
+            int count = in.readVarInt();
+            int length = in.readVarInt();
+            if (!configuration.isLoadAnnotationAxioms() && isAnnotationAxiomType(type)) {
+                // sections carry their length so that they can be skipped without decoding
+                in.skip(length);
+                continue;
+            }
+            List<OWLAxiom> axioms = new ArrayList<>(Math.min(count, BATCH));
+            for (int j = 0; j < count; j++) {
+                axioms.add(readAxiom(type.getIndex()));
+                if (axioms.size() == BATCH) {
+                    ontology.addAxioms(axioms);
+                    axioms.clear();
+                }
+            }
+            ontology.addAxioms(axioms);
+        }
+    }
+
+    private static boolean isAnnotationAxiomType(AxiomType<?> type) {
+        return !type.isLogical() && !AxiomType.DECLARATION.equals(type);
+    }
+
+    private void readTables() throws IOException {
+        strings = new String[in.readVarInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readString();
+        }
+        iris = new IRI[in.readVarInt()];
+        for (int i = 0; i < iris.length; i++) {
+            iris[i] = IRI.create(strings[in.readVarInt()], strings[in.readVarInt()]);
+        }
+        entities = new OWLEntity[entityTables()][];
+        for (int t = 0; t < entities.length; t++) {
+            EntityType<?> type = entityTypeFor(entityType(t));
+            OWLEntity[] table = new OWLEntity[in.readVarInt()];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = df.getOWLEntity(type, iris[in.readVarInt()]);
+            }
+            entities[t] = table;
+        }
+        anonymousIndividuals = new OWLAnonymousIndividual[in.readVarInt()];
+        for (int i = 0; i < anonymousIndividuals.length; i++) {
+            anonymousIndividuals[i] = anonProvider.getOWLAnonymousIndividual(strings[in.readVarInt()]);
+        }
+    }
+
+    private static EntityType<?> entityTypeFor(int typeIndex) {
+        switch (typeIndex) {
+            case 1001:
+                return EntityType.CLASS;
+            case 1002:
+                return EntityType.OBJECT_PROPERTY;
+            case 1004:
+                return EntityType.DATA_PROPERTY;
+            case 1005:
+                return EntityType.NAMED_INDIVIDUAL;
+            case 1006:
+                return EntityType.ANNOTATION_PROPERTY;
+            case 4001:
+                return EntityType.DATATYPE;
+            default:
+                throw new OWLParserException("Not an entity type index: " + typeIndex);
+        }
+    }
+
+    @Nullable
+    private IRI readOptionalIRI() throws IOException {
+        int index = in.readVarInt();
+        return index == 0 ? null : iris[index - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read() throws IOException {
+        return (T) readObject(in.readVarInt());
+    }
+
+    private <T> List<T> readList() throws IOException {
+        int size = in.readVarInt();
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(read());
+        }
+        return list;
+    }
+
+    private OWLDataRange dataRange() throws IOException {
+        return read();
+    }
+
+    private int readInt() throws IOException {
+        return in.readVarInt();
+    }
+
+    private String readString() throws IOException {
+        return strings[in.readVarInt()];
+    }
+
+    private OWLObject readObject(int typeIndex) throws IOException {
+        int table = entityTable(typeIndex);
+        if (table > -1) {
+            return entities[table][in.readVarInt()];
+        }
+        if (typeIndex == IRI_TYPE) {
+            return iris[in.readVarInt()];
+        }
+        if (typeIndex == ANONYMOUS_INDIVIDUAL_TYPE) {
+            return anonymousIndividuals[in.readVarInt()];
+        }
+        if (typeIndex >= AXIOM_OFFSET && typeIndex < AXIOM_OFFSET + TYPES.length) {
+            return readAxiom(typeIndex - AXIOM_OFFSET);
+        }
+        // components are read in the order of the components() method of each type
+        switch (typeIndex) {
+            case 1003:
+                return df.getOWLObjectInverseOf(read());
+            case 3001:
+                return df.getOWLObjectIntersectionOf(this.readList());
+            case 3002:
+                return df.getOWLObjectUnionOf(this.readList());
+            case 3003:
+                return df.getOWLObjectComplementOf(read());
+            case 3004:
+                return df.getOWLObjectOneOf(this.readList());
+            case 3005:
+                return df.getOWLObjectSomeValuesFrom(read(), read());
+            case 3006:
+                return df.getOWLObjectAllValuesFrom(read(), read());
+            case 3007:
+                return df.getOWLObjectHasValue(read(), read());
+            case 3008:
+            case 3009:
+            case 3010:
+                return objectCardinality(typeIndex);
+            case 3011:
+                return df.getOWLObjectHasSelf(read());
+            case 3012:
+                return df.getOWLDataSomeValuesFrom(read(), dataRange());
+            case 3013:
+                return df.getOWLDataAllValuesFrom(read(), dataRange());
+            case 3014:
+                return df.getOWLDataHasValue(read(), (OWLLiteral) read());
+            case 3015:
+            case 3016:
+            case 3017:
+                return dataCardinality(typeIndex);
+            case 4002:
+                return df.getOWLDataComplementOf(dataRange());
+            case 4003:
+                return df.getOWLDataOneOf(this.readList());
+            case 4004:
+                return df.getOWLDataIntersectionOf(this.readList());
+            case 4005:
+                return df.getOWLDataUnionOf(this.readList());
+            case 4006:
+                return df.getOWLDatatypeRestriction(read(), this.readList());
+            case 4007:
+                return df.getOWLFacetRestriction(OWLFacet.values()[readInt()], (OWLLiteral) read());
+            case 4008:
+                return literal();
+            case 5001:
+                return df.getOWLAnnotation(read(), read(), this.readList());
+            case 6001:
+                return classAtom();
+            case 6002:
+                return dataRangeAtom();
+            case 6003:
+                return objectPropertyAtom();
+            case 6004:
+                return dataPropertyAtom();
+            case 6005:
+                return builtInAtom();
+            case 6006:
+                return df.getSWRLVariable((IRI) read());
+            case 6007:
+                return df.getSWRLIndividualArgument(read());
+            case 6008:
+                return df.getSWRLLiteralArgument(read());
+            case 6009:
+                return sameIndividualAtom();
+            case 6010:
+                return differentIndividualsAtom();
+            default:
+                throw new OWLParserException(
+                    "Unexpected object type in binary OWL snapshot: " + typeIndex);
+        }
+    }
+
+    private OWLObject objectCardinality(int typeIndex) throws IOException {
+        OWLObjectPropertyExpression p = read();
+        int cardinality = readInt();
+        OWLClassExpression filler = read();
+        if (typeIndex == 3008) {
+            return df.getOWLObjectMinCardinality(cardinality, p, filler);
+        }
+        if (typeIndex == 3009) {
+            return df.getOWLObjectExactCardinality(cardinality, p, filler);
+        }
+        return df.getOWLObjectMaxCardinality(cardinality, p, filler);
+    }
+
+    private OWLObject dataCardinality(int typeIndex) throws IOException {
+        OWLDataPropertyExpression p = read();
+        int cardinality = readInt();
+        OWLDataRange filler = read();
+        if (typeIndex == 3015) {
+            return df.getOWLDataMinCardinality(cardinality, p, filler);
+        }
+        if (typeIndex == 3016) {
+            return df.getOWLDataExactCardinality(cardinality, p, filler);
+        }
+        return df.getOWLDataMaxCardinality(cardinality, p, filler);
+    }
+
+    private OWLLiteral literal() throws IOException {
+        OWLDatatype datatype = read();
+        String literal = readString();
+        String lang = readString();
+        if (lang.isEmpty()) {
+            return df.getOWLLiteral(literal, datatype);
+        }
+        return df.getOWLLiteral(literal, lang);
+    }
+
+    private OWLObject classAtom() throws IOException {
+        SWRLIArgument argument = read();
+        return df.getSWRLClassAtom(read(), argument);
+    }
+
+    private OWLObject dataRangeAtom() throws IOException {
+        SWRLDArgument argument = read();
+        return df.getSWRLDataRangeAtom(dataRange(), argument);
+    }
+
+    private OWLObject objectPropertyAtom() throws IOException {
+        SWRLIArgument first = read();
+        SWRLIArgument second = read();
+        return df.getSWRLObjectPropertyAtom(read(), first, second);
+    }
+
+    private OWLObject dataPropertyAtom() throws IOException {
+        SWRLIArgument first = read();
+        SWRLDArgument second = read();
+        return df.getSWRLDataPropertyAtom(read(), first, second);
+    }
+
+    private OWLObject builtInAtom() throws IOException {
+        List<SWRLDArgument> arguments = readList();
+        return df.getSWRLBuiltInAtom(read(), arguments);
+    }
+
+    private OWLObject sameIndividualAtom() throws IOException {
+        SWRLIArgument first = read();
+        SWRLIArgument second = read();
+        // the predicate is always owl:sameAs
+        read();
+        return df.getSWRLSameIndividualAtom(first, second);
+    }
+
+    private OWLObject differentIndividualsAtom() throws IOException {
+        SWRLIArgument first = read();
+        SWRLIArgument second = read();
+        // the predicate is always owl:differentFrom
+        read();
+        return df.getSWRLDifferentIndividualsAtom(first, second);
+    }
+
+    /**
+     * Reads the components of an axiom, in the order of the components() method of each axiom
+     * type; annotations always come last. Where the data factory takes arguments in a different
+     * order, the components are read into locals first.
+     */
+    private OWLAxiom readAxiom(int index) throws IOException {
+        switch (index) {
+            case 0:
+                return df.getOWLDeclarationAxiom(read(), this.readList());
+            case 1:
+                return df.getOWLEquivalentClassesAxiom(this.readList(), this.readList());
+            case 2:
+                return df.getOWLSubClassOfAxiom(read(), read(), this.readList());
+            case 3:
+                return df.getOWLDisjointClassesAxiom(this.readList(), this.readList());
+            case 4:
+                return df.getOWLDisjointUnionAxiom(read(), this.readList(), this.readList());
+            case 5:
+                return classAssertion();
+            case 6:
+                return df.getOWLSameIndividualAxiom(this.readList(), this.readList());
+            case 7:
+                return df.getOWLDifferentIndividualsAxiom(this.readList(), this.readList());
+            case 8:
+            case 9:
+            case 10:
+            case 11:
+                return propertyAssertion(index);
+            case 12:
+                return df.getOWLEquivalentObjectPropertiesAxiom(this.readList(), this.readList());
+            case 13:
+                return df.getOWLSubObjectPropertyOfAxiom(read(), read(), this.readList());
+            case 14:
+                return inverseObjectProperties();
+            case 15:
+                return df.getOWLFunctionalObjectPropertyAxiom(read(), this.readList());
+            case 16:
+                return df.getOWLInverseFunctionalObjectPropertyAxiom(read(), this.readList());
+            case 17:
+                return df.getOWLSymmetricObjectPropertyAxiom(read(), this.readList());
+            case 18:
+                return df.getOWLAsymmetricObjectPropertyAxiom(read(), this.readList());
+            case 19:
+                return df.getOWLTransitiveObjectPropertyAxiom(read(), this.readList());
+            case 20:
+                return df.getOWLReflexiveObjectPropertyAxiom(read(), this.readList());
+            case 21:
+                return df.getOWLIrreflexiveObjectPropertyAxiom(read(), this.readList());
+            case 22:
+                return df.getOWLObjectPropertyDomainAxiom(read(), read(), this.readList());
+            case 23:
+                return df.getOWLObjectPropertyRangeAxiom(read(), read(), this.readList());
+            case 24:
+                return df.getOWLDisjointObjectPropertiesAxiom(this.readList(), this.readList());
+            case 25:
+                return df.getOWLSubPropertyChainOfAxiom(this.readList(), read(), this.readList());
+            case 26:
+                return df.getOWLEquivalentDataPropertiesAxiom(this.readList(), this.readList());
+            case 27:
+                return df.getOWLSubDataPropertyOfAxiom(read(), read(), this.readList());
+            case 28:
+                return df.getOWLFunctionalDataPropertyAxiom(read(), this.readList());
+            case 29:
+                return df.getOWLDataPropertyDomainAxiom(read(), read(), this.readList());
+            case 30:
+                return df.getOWLDataPropertyRangeAxiom(read(), dataRange(), this.readList());
+            case 31:
+                return df.getOWLDisjointDataPropertiesAxiom(this.readList(), this.readList());
+            case 32:
+                return df.getOWLHasKeyAxiom(read(), this.readList(), this.readList());
+            case 33:
+                return df.getSWRLRule(this.readList(), this.readList(), this.readList());
+            case 34:
+                return annotationAssertion();
+            case 35:
+                return df.getOWLSubAnnotationPropertyOfAxiom(read(), read(), this.readList());
+            case 36:
+                return df.getOWLAnnotationPropertyRangeAxiom(read(), read(), this.readList());
+            case 37:
+                return df.getOWLAnnotationPropertyDomainAxiom(read(), read(), this.readList());
+            case 38:
+                return df.getOWLDatatypeDefinitionAxiom(read(), dataRange(), this.readList());
+            default:
+                throw new OWLParserException(
+                    "Unexpected axiom type in binary OWL snapshot: " + index);
+        }
+    }
+
+    private OWLAxiom classAssertion() throws IOException {
+        OWLIndividual individual = read();
+        OWLClassExpression ce = read();
+        return df.getOWLClassAssertionAxiom(ce, individual, this.readList());
+    }
+
+    private OWLAxiom propertyAssertion(int index) throws IOException {
+        OWLIndividual subject = read();
+        OWLPropertyExpression property = read();
+        OWLObject object = read();
+        List<OWLAnnotation> annotations = readList();
+        switch (index) {
+            case 8:
+                return df.getOWLObjectPropertyAssertionAxiom(
+                    (OWLObjectPropertyExpression) property, subject, (OWLIndividual) object,
+                    annotations);
+            case 9:
+                return df.getOWLNegativeObjectPropertyAssertionAxiom(
+                    (OWLObjectPropertyExpression) property, subject, (OWLIndividual) object,
+                    annotations);
+            case 10:
+                return df.getOWLDataPropertyAssertionAxiom((OWLDataPropertyExpression) property,
+                    subject, (OWLLiteral) object, annotations);
+            default:
+                return df.getOWLNegativeDataPropertyAssertionAxiom(
+                    (OWLDataPropertyExpression) property, subject, (OWLLiteral) object,
+                    annotations);
+        }
+    }
+
+    private OWLAxiom inverseObjectProperties() throws IOException {
+        List<OWLObjectPropertyExpression> operands = readList();
+        // a property declared inverse of itself has a single operand
+        OWLObjectPropertyExpression second = operands.get(operands.size() - 1);
+        return df.getOWLInverseObjectPropertiesAxiom(operands.get(0), second, this.readList());
+    }
+
+    private OWLAxiom annotationAssertion() throws IOException {
+        OWLAnnotationSubject subject = read();
+        OWLAnnotationProperty property = read();
+        OWLAnnotationValue value = read();
+        return df.getOWLAnnotationAssertionAxiom(property, subject, value, this.readList());
+    }
+}
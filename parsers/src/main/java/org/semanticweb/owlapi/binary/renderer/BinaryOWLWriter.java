@@ -0,0 +1,262 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary.renderer;
+
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.ANONYMOUS_INDIVIDUAL_TYPE;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.IRI_TYPE;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.MAGIC;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.VERSION;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.entityTable;
+import static org.semanticweb.owlapi.binary.BinaryOWLVocabulary.entityTables;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * Writes an ontology in the binary snapshot layout described in
+ * {@link org.semanticweb.owlapi.binary.BinaryOWLVocabulary}. Tables are filled while the axiom
+ * sections are encoded, so the sections are buffered in memory until the tables are complete.
+ *
+ * @author ignazio
+ */
+public class BinaryOWLWriter {
+
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final List<String> stringTable = new ArrayList<>();
+    private final Map<IRI, Integer> iris = new HashMap<>();
+    private final List<IRI> iriTable = new ArrayList<>();
+    private final List<Map<OWLEntity, Integer>> entities = new ArrayList<>();
+    private final List<List<OWLEntity>> entityTable = new ArrayList<>();
+    private final Map<OWLAnonymousIndividual, Integer> anonymousIndividuals = new HashMap<>();
+    private final List<OWLAnonymousIndividual> anonymousTable = new ArrayList<>();
+    private DataOutputStream out = new DataOutputStream(new ByteArrayOutputStream());
+
+    /**
+     * Default constructor.
+     */
+    public BinaryOWLWriter() {
+        for (int i = 0; i < entityTables(); i++) {
+            entities.add(new HashMap<>());
+            entityTable.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * @param ontology ontology to write
+     * @param outputStream destination; not closed by this method
+     * @throws IOException if the output cannot be written
+     */
+    public void write(OWLOntology ontology, OutputStream outputStream) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        out = new DataOutputStream(header);
+        OWLOntologyID id = ontology.getOntologyID();
+        writeOptionalIRI(id.getOntologyIRI());
+        writeOptionalIRI(id.getVersionIRI());
+        List<OWLImportsDeclaration> imports = ontology.importsDeclarations()
+            .sorted().collect(Collectors.toList());
+        writeVarInt(imports.size());
+        for (OWLImportsDeclaration i : imports) {
+            writeVarInt(iri(i.getIRI()));
+        }
+        writeList(ontology.annotationsAsList());
+        List<AxiomType<?>> types = new ArrayList<>();
+        List<ByteArrayOutputStream> sections = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+            int count = ontology.getAxiomCount(type);
+            if (count > 0) {
+                ByteArrayOutputStream section = new ByteArrayOutputStream();
+                out = new DataOutputStream(section);
+                Iterator<? extends OWLAxiom> axioms = ontology.axioms(type).iterator();
+                int written = 0;
+                while (axioms.hasNext()) {
+                    writeComponents(axioms.next());
+                    written++;
+                }
+                types.add(type);
+                sections.add(section);
+                counts.add(Integer.valueOf(written));
+            }
+        }
+        out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        writeVarInt(VERSION);
+        writeVarInt(stringTable.size());
+        for (String s : stringTable) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+        writeVarInt(iriTable.size());
+        for (IRI i : iriTable) {
+            writeVarInt(verifyIndex(strings.get(i.getNamespace())));
+            writeVarInt(verifyIndex(strings.get(i.getRemainder().orElse(""))));
+        }
+        for (List<OWLEntity> table : entityTable) {
+            writeVarInt(table.size());
+            for (OWLEntity e : table) {
+                writeVarInt(verifyIndex(iris.get(e.getIRI())));
+            }
+        }
+        writeVarInt(anonymousTable.size());
+        for (OWLAnonymousIndividual a : anonymousTable) {
+            writeVarInt(verifyIndex(strings.get(a.getID().getID())));
+        }
+        header.writeTo(out);
+        writeVarInt(types.size());
+        for (int i = 0; i < types.size(); i++) {
+            writeVarInt(types.get(i).getIndex());
+            writeVarInt(counts.get(i).intValue());
+            writeVarInt(sections.get(i).size());
+            sections.get(i).writeTo(out);
+        }
+        out.flush();
+    }
+
+    private static int verifyIndex(@Nullable Integer index) {
+        if (index == null) {
+            throw new OWLRuntimeException("Table entry missing while writing binary snapshot");
+        }
+        return index.intValue();
+    }
+
+    private void writeOptionalIRI(Optional<IRI> iri) throws IOException {
+        // zero marks an absent IRI, so indexes are shifted by one
+        writeVarInt(iri.isPresent() ? iri(iri.get()) + 1 : 0);
+    }
+
+    private int string(String s) {
+        return strings.computeIfAbsent(s, x -> {
+            stringTable.add(x);
+            return Integer.valueOf(stringTable.size() - 1);
+        }).intValue();
+    }
+
+    private int iri(IRI i) {
+        Integer index = iris.get(i);
+        if (index == null) {
+            // register the strings first, the IRI table refers to them
+            string(i.getNamespace());
+            string(i.getRemainder().orElse(""));
+            index = Integer.valueOf(iriTable.size());
+            iris.put(i, index);
+            iriTable.add(i);
+        }
+        return index.intValue();
+    }
+
+    private int entity(int table, OWLEntity e) {
+        Integer index = entities.get(table).get(e);
+        if (index == null) {
+            iri(e.getIRI());
+            List<OWLEntity> list = entityTable.get(table);
+            index = Integer.valueOf(list.size());
+            entities.get(table).put(e, index);
+            list.add(e);
+        }
+        return index.intValue();
+    }
+
+    private int anonymousIndividual(OWLAnonymousIndividual a) {
+        Integer index = anonymousIndividuals.get(a);
+        if (index == null) {
+            string(a.getID().getID());
+            index = Integer.valueOf(anonymousTable.size());
+            anonymousIndividuals.put(a, index);
+            anonymousTable.add(a);
+        }
+        return index.intValue();
+    }
+
+    private void writeObject(OWLObject o) throws IOException {
+        writeVarInt(o.typeIndex());
+        int table = entityTable(o.typeIndex());
+        if (table > -1) {
+            writeVarInt(entity(table, (OWLEntity) o));
+        } else if (o.typeIndex() == IRI_TYPE) {
+            writeVarInt(iri((IRI) o));
+        } else if (o.typeIndex() == ANONYMOUS_INDIVIDUAL_TYPE) {
+            writeVarInt(anonymousIndividual((OWLAnonymousIndividual) o));
+        } else {
+            writeComponents(o);
+        }
+    }
+
+    private void writeComponents(OWLObject o) throws IOException {
+        Iterator<?> components = o.components().iterator();
+        while (components.hasNext()) {
+            writeComponent(components.next());
+        }
+    }
+
+    private void writeComponent(Object c) throws IOException {
+        if (c instanceof OWLObject) {
+            writeObject((OWLObject) c);
+        } else if (c instanceof Collection) {
+            writeList((Collection<?>) c);
+        } else if (c instanceof Stream) {
+            writeList(((Stream<?>) c).collect(Collectors.toList()));
+        } else if (c instanceof Integer) {
+            writeVarInt(((Integer) c).intValue());
+        } else if (c instanceof String) {
+            writeVarInt(string((String) c));
+        } else if (c instanceof OWLFacet) {
+            writeVarInt(((OWLFacet) c).ordinal());
+        } else {
+            throw new OWLRuntimeException("Unexpected component in binary snapshot: " + c);
+        }
+    }
+
+    private void writeList(Collection<?> list) throws IOException {
+        writeVarInt(list.size());
+        for (Object o : list) {
+            writeComponent(o);
+        }
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+}
@@ -14,10 +14,14 @@ package org.semanticweb.owlapi.functional.parser;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.Optional;
 
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
 import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormatFactory;
 import org.semanticweb.owlapi.io.AbstractOWLParser;
 import org.semanticweb.owlapi.io.DocumentSources;
+import org.semanticweb.owlapi.io.MappedContent;
+import org.semanticweb.owlapi.io.MappedFileDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
 import org.semanticweb.owlapi.io.OWLParserException;
@@ -37,9 +41,30 @@ public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
         return new FunctionalSyntaxDocumentFormatFactory();
     }
 
+    @Override
+    public boolean readsImportsWhileParsing() {
+        return false;
+    }
+
     @Override
     public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology ontology,
         OWLOntologyLoaderConfiguration config) {
+        if (config.getParsingThreads() > 1) {
+            try {
+                Optional<MappedContent> mapped = MappedFileDocumentSource.map(source);
+                FunctionalSyntaxDocumentFormat format = mapped.isPresent()
+                    ? new ParallelFunctionalSyntaxParser(mapped.get(), config.getParsingThreads())
+                        .parse(ontology, config)
+                    : null;
+                if (format != null) {
+                    return format;
+                }
+            } catch (ParseException e) {
+                throw new OWLParserException(e.getMessage(), e, 0, 0);
+            } catch (IOException e) {
+                throw new OWLParserException(e);
+            }
+        }
         try (Reader r = DocumentSources.wrapInputAsReader(source, config)) {
             OWLFunctionalSyntaxParser parser =
                 new OWLFunctionalSyntaxParser(new CustomTokenizer(r));
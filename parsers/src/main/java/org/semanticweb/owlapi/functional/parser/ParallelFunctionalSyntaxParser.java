@@ -0,0 +1,357 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.functional.parser;
+
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.MappedContent;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAxiom;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.util.RemappingIndividualProvider;
+
+/**
+ * Parses a memory mapped functional syntax file on several threads. Prefixes and the ontology
+ * header are parsed on the calling thread. The axioms that follow are top level units with
+ * balanced parentheses, so the calling thread only scans for their boundaries and hands chunks of
+ * whole axioms to worker threads, each with its own tokenizer and parser. The parsed batches are
+ * added to the ontology in document order.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+final class ParallelFunctionalSyntaxParser {
+
+    private static final int MIN_CHUNK = 4 * 1024;
+    private static final int MAX_CHUNK = 4 * 1024 * 1024;
+    private static final String IMPORT = "Import";
+    private static final String ANNOTATION = "Annotation";
+    private final MappedContent content;
+    private final int threads;
+    private final int chunkSize;
+    private long pos;
+
+    /**
+     * @param content document content, UTF-8 encoded
+     * @param threads number of worker threads
+     */
+    ParallelFunctionalSyntaxParser(MappedContent content, int threads) {
+        this.content = content;
+        this.threads = threads;
+        chunkSize =
+            (int) Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, content.size() / (threads * 8)));
+    }
+
+    /**
+     * @param ontology ontology to fill
+     * @param configuration load configuration
+     * @return document format, with the prefixes declared in the document, or null if the layout
+     *         of the document was not recognised and nothing was parsed; the document must then be
+     *         parsed sequentially
+     */
+    @Nullable
+    FunctionalSyntaxDocumentFormat parse(OWLOntology ontology,
+        OWLOntologyLoaderConfiguration configuration) {
+        RemappingIndividualProvider anonymous = new RemappingIndividualProvider(
+            ontology.getOWLOntologyManager().getOntologyConfigurator(),
+            ontology.getOWLOntologyManager().getOWLDataFactory()) {
+
+            @Override
+            public synchronized OWLAnonymousIndividual getOWLAnonymousIndividual(String nodeId) {
+                // blank node labels are shared between all the chunks of the document
+                return super.getOWLAnonymousIndividual(nodeId);
+            }
+        };
+        long start = bom() ? 3 : 0;
+        long axioms = scanHeader(start);
+        if (axioms < 0) {
+            // the whole document would have to be decoded at once; a reader streams it instead
+            return null;
+        }
+        FunctionalSyntaxDocumentFormat format = parser(content.decode(start, axioms) + ')',
+            ontology, configuration, anonymous).parse();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Deque<Future<List<OWLAxiom>>> pending = new ArrayDeque<>();
+        try {
+            pos = axioms;
+            long chunkStart = pos;
+            while (nextAxiom()) {
+                if (pos - chunkStart >= chunkSize) {
+                    pending.add(submit(pool, chunkStart, pos, format, ontology, configuration,
+                        anonymous));
+                    chunkStart = pos;
+                    if (pending.size() > threads * 2) {
+                        add(ontology, pending.poll());
+                    }
+                }
+            }
+            pending.add(
+                submit(pool, chunkStart, pos, format, ontology, configuration, anonymous));
+            pos++;
+            skipSpace();
+            if (pos < content.size()) {
+                throw new OWLParserException(
+                    "Unexpected content after the ontology at byte offset " + pos);
+            }
+            while (!pending.isEmpty()) {
+                add(ontology, pending.poll());
+            }
+            return format;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static OWLFunctionalSyntaxParser parser(String text, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration configuration, RemappingIndividualProvider anonymous) {
+        OWLFunctionalSyntaxParser parser =
+            new OWLFunctionalSyntaxParser(new CustomTokenizer(new StringReader(text)));
+        parser.setUp(ontology, configuration);
+        parser.anonProvider = anonymous;
+        return parser;
+    }
+
+    private Future<List<OWLAxiom>> submit(ExecutorService pool, long start, long end,
+        FunctionalSyntaxDocumentFormat format, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration configuration, RemappingIndividualProvider anonymous) {
+        // parsers are set up here: setting up reads the manager, whose lock this thread may hold
+        OWLFunctionalSyntaxParser parser = parser("", ontology, configuration, anonymous);
+        parser.setPrefixes(format);
+        return pool.submit(() -> {
+            parser.ReInit(new CustomTokenizer(new StringReader(content.decode(start, end))));
+            List<OWLAxiom> batch = new ArrayList<>();
+            try {
+                while (parser.getToken(1).kind != OWLFunctionalSyntaxParserConstants.EOF) {
+                    OWLAxiom ax = parser.Axiom();
+                    if (!(ax instanceof OWLAnnotationAxiom)
+                        || configuration.isLoadAnnotationAxioms()) {
+                        batch.add(ax);
+                    }
+                }
+            } catch (ParseException e) {
+                throw new OWLParserException(
+                    "In axioms starting at byte offset " + start + ": " + e.getMessage(), e, 0, 0);
+            }
+            return batch;
+        });
+    }
+
+    private static void add(OWLOntology ontology, Future<List<OWLAxiom>> batch) {
+        try {
+            ontology.addAxioms(batch.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLParserException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLParserException(e.getCause());
+        }
+    }
+
+    private boolean bom() {
+        return content.size() > 2 && content.get(0) == (byte) 0xEF
+            && content.get(1) == (byte) 0xBB && content.get(2) == (byte) 0xBF;
+    }
+
+    /**
+     * @return offset of the first axiom, or -1 if the document does not have the expected layout
+     */
+    private long scanHeader(long start) {
+        pos = start;
+        skipSpace();
+        String word = word();
+        while ("Prefix".equals(word)) {
+            if (!skipUnit()) {
+                return -1;
+            }
+            word = word();
+        }
+        skipSpace();
+        if (!"Ontology".equals(word) || peek() != '(') {
+            return -1;
+        }
+        pos++;
+        while (true) {
+            skipSpace();
+            int b = peek();
+            if (b == '<') {
+                pos++;
+                skipIRI();
+            } else if (b == ')' || b == -1) {
+                // no axioms: the header is the whole document
+                return -1;
+            } else {
+                long unit = pos;
+                word = word();
+                if (word.isEmpty()) {
+                    return -1;
+                }
+                skipSpace();
+                if (peek() != '(') {
+                    // abbreviated ontology or version IRI
+                    continue;
+                }
+                if (!IMPORT.equals(word) && !ANNOTATION.equals(word)) {
+                    return unit;
+                }
+                if (!skipUnit()) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves past the next axiom, or to the parenthesis closing the ontology.
+     *
+     * @return true if an axiom was skipped, false if the end of the ontology was reached
+     */
+    private boolean nextAxiom() {
+        skipSpace();
+        int b = peek();
+        if (b == ')') {
+            return false;
+        }
+        long start = pos;
+        skipWord();
+        skipSpace();
+        if (b == -1 || pos == start || peek() != '(') {
+            throw new OWLParserException("Expected an axiom at byte offset " + start);
+        }
+        if (!skipUnit()) {
+            throw new OWLParserException(
+                "Unbalanced parentheses in the axiom starting at byte offset " + start);
+        }
+        return true;
+    }
+
+    private int peek() {
+        return pos < content.size() ? content.get(pos) : -1;
+    }
+
+    private static boolean isSpace(int b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private void skipSpace() {
+        while (pos < content.size()) {
+            byte b = content.get(pos);
+            if (b == '#') {
+                skipComment();
+            } else if (isSpace(b)) {
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void skipComment() {
+        while (pos < content.size() && content.get(pos) != '\n') {
+            pos++;
+        }
+    }
+
+    private String word() {
+        skipSpace();
+        long start = pos;
+        skipWord();
+        return content.decode(start, pos);
+    }
+
+    /** Skips a textual token; the same characters end it as in {@link CustomTokenizer}. */
+    private void skipWord() {
+        while (pos < content.size()) {
+            byte b = content.get(pos);
+            if (isSpace(b) || b == '=' || b == '"' || b == '(' || b == ')' || b == '<'
+                || b == '>' || b == '@' || b == '^') {
+                break;
+            }
+            pos++;
+        }
+    }
+
+    private void skipIRI() {
+        while (pos < content.size() && content.get(pos++) != '>') {
+            // IRIs cannot contain '>'
+        }
+    }
+
+    private void skipString() {
+        while (pos < content.size()) {
+            byte b = content.get(pos++);
+            if (b == '\\') {
+                pos++;
+            } else if (b == '"') {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skips a parenthesised unit; multibyte UTF-8 sequences contain no ASCII bytes, so the bytes
+     * can be scanned without decoding them.
+     *
+     * @return true if the unit is balanced
+     */
+    private boolean skipUnit() {
+        skipSpace();
+        if (peek() != '(') {
+            return false;
+        }
+        int depth = 0;
+        // comments start only where a token can start
+        boolean tokenStart = true;
+        while (pos < content.size()) {
+            byte b = content.get(pos++);
+            if (b == '(') {
+                depth++;
+                tokenStart = true;
+            } else if (b == ')') {
+                depth--;
+                if (depth == 0) {
+                    return true;
+                }
+                tokenStart = true;
+            } else if (b == '"') {
+                skipString();
+                tokenStart = true;
+            } else if (b == '<') {
+                skipIRI();
+                tokenStart = true;
+            } else if (b == '#' && tokenStart) {
+                skipComment();
+            } else {
+                tokenStart = isSpace(b) || b == '=' || b == '@' || b == '^' || b == '>';
+            }
+        }
+        return false;
+    }
+}
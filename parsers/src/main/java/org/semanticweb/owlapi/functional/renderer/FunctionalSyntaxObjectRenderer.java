@@ -355,7 +355,18 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
     }
 
     private void write(IRI iri) {
-        String qname = prefixManager.map(p -> p.getPrefixIRIIgnoreQName(iri)).orElse(null);
+        PrefixManager p = prefixManager.orElse(null);
+        String remainder = iri.getRemainder().orElse("");
+        if (p instanceof DefaultPrefixManager && !remainder.isEmpty()) {
+            // prefix name and remainder are written as they are, without building the short form
+            String prefixName = ((DefaultPrefixManager) p).getNamespacePrefixName(iri);
+            if (prefixName != null) {
+                write(prefixName);
+                write(remainder);
+                return;
+            }
+        }
+        String qname = p == null ? null : p.getPrefixIRIIgnoreQName(iri);
         if (qname != null) {
             boolean lastCharIsColon = qname.charAt(qname.length() - 1) == ':';
             if (!lastCharIsColon) {
@@ -368,7 +379,8 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
 
     private void writeFullIRI(IRI iri) {
         write("<");
-        write(iri.toString());
+        write(iri.getNamespace());
+        iri.getRemainder().ifPresent(this::write);
         write(">");
     }
 
@@ -1289,7 +1301,11 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
     @Override
     public void visit(OWLLiteral node) {
         write("\"");
-        write(EscapeUtils.escapeString(node.getLiteral()));
+        try {
+            EscapeUtils.escapeString(node.getLiteral(), writer);
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
         write("\"");
         if (node.hasLang()) {
             write("@");
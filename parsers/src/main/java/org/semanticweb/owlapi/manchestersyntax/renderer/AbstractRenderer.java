@@ -133,8 +133,36 @@ public class AbstractRenderer {
         }
     }
 
+    /**
+     * Writes part of a string, without copying it to a new string.
+     *
+     * @param s string to write
+     * @param start index of the first character to write
+     * @param end index after the last character to write
+     */
+    protected void write(String s, int start, int end) {
+        int indexOfNewLine = s.indexOf('\n', start);
+        if (indexOfNewLine != -1 && indexOfNewLine < end) {
+            lastNewLinePos = currentPos + indexOfNewLine - start;
+        }
+        currentPos += end - start;
+        try {
+            writer.write(s, start, end - start);
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+
     protected void write(char ch) {
-        write(Character.toString(ch));
+        if (ch == '\n') {
+            lastNewLinePos = currentPos;
+        }
+        currentPos++;
+        try {
+            writer.write(ch);
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
     }
 
     protected void writeSpace() {
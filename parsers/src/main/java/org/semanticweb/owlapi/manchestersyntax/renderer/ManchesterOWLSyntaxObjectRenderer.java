@@ -444,7 +444,10 @@ public class ManchesterOWLSyntaxObjectRenderer extends AbstractRenderer
 
     @Override
     public void visit(IRI iri) {
-        write(iri.toQuotedString());
+        write('<');
+        write(iri.getNamespace());
+        iri.getRemainder().ifPresent(this::write);
+        write('>');
     }
 
     @Override
@@ -526,17 +529,18 @@ public class ManchesterOWLSyntaxObjectRenderer extends AbstractRenderer
     }
 
     private void writeLiteral(String literal) {
-        write("\"");
+        write('"');
+        int start = 0;
         for (int i = 0; i < literal.length(); i++) {
             char ch = literal.charAt(i);
-            if (ch == '"') {
-                write('\\');
-            } else if (ch == '\\') {
+            if (ch == '"' || ch == '\\') {
+                write(literal, start, i);
                 write('\\');
+                start = i;
             }
-            write(ch);
         }
-        write("\"");
+        write(literal, start, literal.length());
+        write('"');
     }
 
     @Override
@@ -91,6 +91,17 @@ public class ManchesterOWLSyntaxPrefixNameShortFormProvider implements ShortForm
     @Override
     public String getShortForm(OWLEntity entity) {
         IRI iri = entity.getIRI();
+        String remainder = iri.getRemainder().orElse("");
+        String prefixName = prefixManager.getNamespacePrefixName(iri);
+        if (prefixName != null && !remainder.isEmpty() && !prefixName.equals(iri.getNamespace())) {
+            // the common case: no need to build the prefixed form and strip the default prefix
+            if (":".equals(prefixName)) {
+                return remainder;
+            }
+            if (prefixName.charAt(0) != ':') {
+                return prefixName + remainder;
+            }
+        }
         String sf = prefixManager.getPrefixIRIIgnoreQName(iri);
         if (sf == null || Objects.equals(iri.toString(), sf)) {
             // prefix creation failed
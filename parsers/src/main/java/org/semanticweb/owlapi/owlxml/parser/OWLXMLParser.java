@@ -42,6 +42,11 @@ public class OWLXMLParser extends AbstractOWLParser {
         return new OWLXMLDocumentFormatFactory();
     }
 
+    @Override
+    public boolean readsImportsWhileParsing() {
+        return false;
+    }
+
     @Override
     public OWLDocumentFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology,
         OWLOntologyLoaderConfiguration configuration) {
@@ -18,6 +18,7 @@ import static org.semanticweb.owlapi.model.AxiomType.DISJOINT_CLASSES;
 import static org.semanticweb.owlapi.model.AxiomType.DISJOINT_DATA_PROPERTIES;
 import static org.semanticweb.owlapi.model.AxiomType.DISJOINT_OBJECT_PROPERTIES;
 import static org.semanticweb.owlapi.model.AxiomType.HAS_KEY;
+import static org.semanticweb.owlapi.model.AxiomType.SAME_INDIVIDUAL;
 import static org.semanticweb.owlapi.model.AxiomType.SUB_PROPERTY_CHAIN_OF;
 import static org.semanticweb.owlapi.model.AxiomType.SWRL_RULE;
 import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
@@ -137,7 +138,7 @@ public abstract class RDFRendererBase {
             .map(a -> a.getIRI()));
     protected final IndividualAppearance occurrences;
     protected final AxiomAppearance axiomOccurrences;
-    protected final Set<OWLAxiom> translatedAxioms = new HashSet<>();
+    protected final Set<OWLAxiom> translatedAxioms;
     protected final OWLOntologyWriterConfiguration config;
     protected final Set<RDFResource> pending = new HashSet<>();
     @Nullable
@@ -148,7 +149,8 @@ public abstract class RDFRendererBase {
     private final AtomicInteger nextBlankNodeId = new AtomicInteger(1);
     private final Deque<RDFResourceBlankNode> nodesToRenderSeparately = new LinkedList<>();
     private final Set<RDFResourceBlankNode> renderedNodes = new HashSet<>();
-    private final Map<Object, Integer> blankNodeMap = new IdentityHashMap<>();
+    private final Map<Object, Integer> blankNodeMap;
+    private final boolean streaming;
     private final OWLObjectDesharer desharer;
 
     /**
@@ -178,6 +180,14 @@ public abstract class RDFRendererBase {
             axiomOccurrences = x -> x.annotations().anyMatch(a -> !a.annotationsAsList().isEmpty());
         }
         punned = ontology.getPunnedIRIs(EXCLUDED);
+        streaming = config.shouldStreamRDFRendering();
+        if (streaming) {
+            blankNodeMap = new FrameBlankNodes();
+            translatedAxioms = new FrameAxioms();
+        } else {
+            blankNodeMap = new IdentityHashMap<>();
+            translatedAxioms = new HashSet<>();
+        }
     }
 
     /** Hooks for subclasses */
@@ -491,6 +501,12 @@ public abstract class RDFRendererBase {
     }
 
     protected void createGraph(List<? extends OWLObject> objects) {
+        if (streaming) {
+            // the previous graph has been written out, its blank nodes cannot be referred to again
+            blankNodeMap.clear();
+            translatedAxioms.clear();
+            renderedNodes.clear();
+        }
         objects.sort(null);
         RDFTranslator translator = new RDFTranslator(ontology.getOWLOntologyManager(), ontology,
             format, shouldInsertDeclarations(), occurrences, axiomOccurrences, nextBlankNodeId,
@@ -767,4 +783,69 @@ public abstract class RDFRendererBase {
             }
         }
     }
+
+    /**
+     * Blank node ids for streaming rendering. Only anonymous individuals, keyed by their node id,
+     * keep their ids across frames; {@link #clear()} forgets all other nodes.
+     */
+    private static final class FrameBlankNodes extends IdentityHashMap<Object, Integer> {
+
+        private static final long serialVersionUID = 1L;
+        private final Map<Object, Integer> individuals = new IdentityHashMap<>();
+
+        FrameBlankNodes() {}
+
+        @Override
+        @Nullable
+        public Integer get(@Nullable Object key) {
+            Integer id = super.get(key);
+            return id == null ? individuals.get(key) : id;
+        }
+
+        @Override
+        @Nullable
+        public Integer put(Object key, Integer value) {
+            if (key instanceof String) {
+                return individuals.put(key, value);
+            }
+            return super.put(key, value);
+        }
+    }
+
+    /**
+     * Translated axioms for streaming rendering. Most axioms are collected by a single frame;
+     * axioms that can also be collected by the frames of anonymous individuals or by the general
+     * axioms are remembered across frames, {@link #clear()} forgets all others.
+     */
+    private static final class FrameAxioms extends HashSet<OWLAxiom> {
+
+        private static final long serialVersionUID = 1L;
+        private final Set<OWLAxiom> shared = new HashSet<>();
+
+        FrameAxioms() {}
+
+        private static boolean isShared(OWLAxiom ax) {
+            if (ax.isOfType(DIFFERENT_INDIVIDUALS, SAME_INDIVIDUAL)) {
+                return true;
+            }
+            if (ax instanceof OWLObjectPropertyAssertionAxiom
+                && ((OWLObjectPropertyAssertionAxiom) ax).getProperty().isAnonymous()) {
+                return true;
+            }
+            return ax.anonymousIndividuals().findAny().isPresent();
+        }
+
+        @Override
+        public boolean add(OWLAxiom ax) {
+            if (isShared(ax)) {
+                return shared.add(ax);
+            }
+            return super.add(ax);
+        }
+
+        @Override
+        public boolean contains(@Nullable Object o) {
+            return super.contains(o) || shared.contains(o);
+        }
+    }
 }
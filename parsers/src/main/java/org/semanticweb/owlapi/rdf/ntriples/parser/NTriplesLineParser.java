@@ -0,0 +1,330 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.parser;
+
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.NodeID;
+
+/**
+ * Parses N-Triples statements one line at a time. N-Quads lines are accepted as well: the graph
+ * label is checked and ignored, since ontologies do not have named graphs. IRIs are looked up in a
+ * map shared by all the lines of a document, so that each IRI is created once.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+final class NTriplesLineParser {
+
+    /**
+     * Receives the parsed triples.
+     */
+    interface Sink {
+
+        /**
+         * @param subject subject
+         * @param predicate predicate
+         * @param object object
+         */
+        void resource(IRI subject, IRI predicate, IRI object);
+
+        /**
+         * @param subject subject
+         * @param predicate predicate
+         * @param lexicalValue lexical form
+         * @param language language tag, or null
+         * @param datatype datatype, or null for plain literals
+         */
+        void literal(IRI subject, IRI predicate, String lexicalValue, @Nullable String language,
+            @Nullable IRI datatype);
+    }
+
+    private final Map<String, IRI> iris;
+    private final StringBuilder unescaped = new StringBuilder();
+    private String text = "";
+    private int pos;
+    private int end;
+    private int lineStart;
+    private int line;
+
+    /**
+     * @param iris IRIs created so far, keyed by IRI string or blank node label; must be thread
+     *        safe if shared between parsers
+     */
+    NTriplesLineParser(Map<String, IRI> iris) {
+        this.iris = iris;
+    }
+
+    /**
+     * Parses all the lines in a text.
+     *
+     * @param content text to parse
+     * @param firstLine number of the first line in the text, for error messages
+     * @param sink triple sink
+     */
+    void parseLines(String content, int firstLine, Sink sink) {
+        int start = 0;
+        int lineNumber = firstLine;
+        while (start < content.length()) {
+            int newLine = content.indexOf('\n', start);
+            int lineEnd = newLine < 0 ? content.length() : newLine;
+            parseLine(content, start, lineEnd, lineNumber++, sink);
+            start = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Parses one line; empty lines and comments produce no triples.
+     *
+     * @param content text containing the line
+     * @param start start of the line
+     * @param lineEnd end of the line, exclusive
+     * @param lineNumber line number, for error messages
+     * @param sink triple sink
+     * @throws OWLParserException if the line is not a valid statement
+     */
+    void parseLine(String content, int start, int lineEnd, int lineNumber, Sink sink) {
+        text = content;
+        pos = start;
+        end = lineEnd;
+        lineStart = start;
+        line = lineNumber;
+        skipSpace();
+        if (pos == end || text.charAt(pos) == '#') {
+            return;
+        }
+        IRI subject = resource();
+        skipSpace();
+        expect('<');
+        IRI predicate = iri();
+        skipSpace();
+        if (peek() == '"') {
+            pos++;
+            String lexical = string();
+            String language = null;
+            IRI datatype = null;
+            if (peek() == '@') {
+                pos++;
+                language = language();
+            } else if (peek() == '^') {
+                pos++;
+                expect('^');
+                expect('<');
+                datatype = iri();
+            }
+            end();
+            sink.literal(subject, predicate, lexical, language, datatype);
+        } else {
+            IRI object = resource();
+            end();
+            sink.resource(subject, predicate, object);
+        }
+    }
+
+    private OWLParserException error(String message) {
+        return new OWLParserException(message + " in line " + line, line, pos - lineStart + 1);
+    }
+
+    private int peek() {
+        return pos < end ? text.charAt(pos) : -1;
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    private void skipSpace() {
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (c != ' ' && c != '\t' && c != '\r') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    /** Parses the optional graph label, the final dot and an optional comment. */
+    private void end() {
+        skipSpace();
+        if (peek() == '<' || peek() == '_') {
+            // N-Quads graph label
+            resource();
+            skipSpace();
+        }
+        expect('.');
+        skipSpace();
+        if (pos < end && text.charAt(pos) != '#') {
+            throw error("Unexpected content after the end of the statement");
+        }
+    }
+
+    private IRI resource() {
+        int c = peek();
+        if (c == '<') {
+            pos++;
+            return iri();
+        }
+        if (c == '_') {
+            pos++;
+            expect(':');
+            return blankNode();
+        }
+        throw error("Expected an IRI or a blank node");
+    }
+
+    private IRI iri() {
+        int start = pos;
+        boolean escaped = false;
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (c == '>') {
+                String value = escaped ? unescape(start, pos) : text.substring(start, pos);
+                pos++;
+                return iris.computeIfAbsent(value, IRI::create);
+            }
+            if (c == '\\') {
+                escaped = true;
+                pos++;
+            }
+            pos++;
+        }
+        throw error("Unterminated IRI");
+    }
+
+    private IRI blankNode() {
+        int start = pos;
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (c == ' ' || c == '\t' || c == '\r' || c == '<' || c == '"') {
+                break;
+            }
+            pos++;
+        }
+        // labels can contain dots, but cannot end with one
+        while (pos > start && text.charAt(pos - 1) == '.') {
+            pos--;
+        }
+        if (pos == start) {
+            throw error("Empty blank node label");
+        }
+        String id = "_:" + text.substring(start, pos);
+        return iris.computeIfAbsent(id, k -> IRI
+            .create(NodeID.isAnonymousNodeID(k) ? k : NodeID.getIRIFromNodeID(k)));
+    }
+
+    private String string() {
+        int start = pos;
+        boolean escaped = false;
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (c == '"') {
+                String value = escaped ? unescape(start, pos) : text.substring(start, pos);
+                pos++;
+                return value;
+            }
+            if (c == '\\') {
+                escaped = true;
+                pos++;
+            }
+            pos++;
+        }
+        throw error("Unterminated string");
+    }
+
+    private String language() {
+        int start = pos;
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                || c == '-')) {
+                break;
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw error("Empty language tag");
+        }
+        return text.substring(start, pos);
+    }
+
+    private String unescape(int start, int stop) {
+        unescaped.setLength(0);
+        for (int i = start; i < stop; i++) {
+            char c = text.charAt(i);
+            if (c != '\\') {
+                unescaped.append(c);
+                continue;
+            }
+            char e = text.charAt(++i);
+            switch (e) {
+                case 't':
+                    unescaped.append('\t');
+                    break;
+                case 'b':
+                    unescaped.append('\b');
+                    break;
+                case 'n':
+                    unescaped.append('\n');
+                    break;
+                case 'r':
+                    unescaped.append('\r');
+                    break;
+                case 'f':
+                    unescaped.append('\f');
+                    break;
+                case '"':
+                case '\'':
+                case '\\':
+                    unescaped.append(e);
+                    break;
+                case 'u':
+                    unescaped.appendCodePoint(hex(i + 1, 4, stop));
+                    i += 4;
+                    break;
+                case 'U':
+                    unescaped.appendCodePoint(hex(i + 1, 8, stop));
+                    i += 8;
+                    break;
+                default:
+                    pos = i;
+                    throw error("Invalid escape sequence \\" + e);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    private int hex(int start, int length, int stop) {
+        if (start + length > stop) {
+            pos = start;
+            throw error("Truncated unicode escape");
+        }
+        int codePoint = -1;
+        try {
+            codePoint = Integer.parseInt(text.substring(start, start + length), 16);
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        if (!Character.isValidCodePoint(codePoint)) {
+            pos = start;
+            throw error("Invalid unicode escape");
+        }
+        return codePoint;
+    }
+}
@@ -0,0 +1,106 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.formats.NativeNTriplesDocumentFormat;
+import org.semanticweb.owlapi.formats.NativeNTriplesDocumentFormatFactory;
+import org.semanticweb.owlapi.io.AbstractOWLParser;
+import org.semanticweb.owlapi.io.DocumentSources;
+import org.semanticweb.owlapi.io.MappedContent;
+import org.semanticweb.owlapi.io.MappedFileDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyInputSourceException;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.rdf.ntriples.parser.NTriplesLineParser.Sink;
+import org.semanticweb.owlapi.rdf.rdfxml.parser.OWLRDFConsumer;
+
+/**
+ * Parses N-Triples and N-Quads documents straight into an {@link OWLRDFConsumer}, without going
+ * through Rio. If more than one parsing thread is configured and the source is a local file, the
+ * file is memory mapped and parsed on several threads.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+public class NTriplesOntologyParser extends AbstractOWLParser {
+
+    @Override
+    public OWLDocumentFormatFactory getSupportedFormat() {
+        return new NativeNTriplesDocumentFormatFactory();
+    }
+
+    @Override
+    public OWLDocumentFormat parse(OWLOntologyDocumentSource source, OWLOntology ontology,
+        OWLOntologyLoaderConfiguration config) {
+        OWLRDFConsumer consumer = new OWLRDFConsumer(ontology, config);
+        NativeNTriplesDocumentFormat format = new NativeNTriplesDocumentFormat();
+        consumer.setOntologyFormat(format);
+        consumer.startModel(source.getDocumentIRI());
+        Sink sink = new Sink() {
+
+            @Override
+            public void resource(IRI subject, IRI predicate, IRI object) {
+                consumer.statementWithResourceValue(subject, predicate, object);
+            }
+
+            @Override
+            public void literal(IRI subject, IRI predicate, String lexicalValue,
+                @Nullable String language, @Nullable IRI datatype) {
+                consumer.statementWithLiteralValue(subject, predicate, lexicalValue, language,
+                    datatype);
+            }
+        };
+        try {
+            Optional<MappedContent> mapped = config.getParsingThreads() > 1
+                ? MappedFileDocumentSource.map(source) : Optional.empty();
+            if (mapped.isPresent()) {
+                new ParallelNTriplesParser(mapped.get(), config.getParsingThreads()).parse(sink);
+            } else {
+                parse(source, config, sink);
+            }
+            consumer.endModel();
+        } catch (IOException | OWLOntologyInputSourceException e) {
+            throw new OWLParserException(e);
+        } finally {
+            consumer.discardSpilledTriples();
+        }
+        return format;
+    }
+
+    private static void parse(OWLOntologyDocumentSource source,
+        OWLOntologyLoaderConfiguration config, Sink sink)
+        throws IOException, OWLOntologyInputSourceException {
+        NTriplesLineParser parser = new NTriplesLineParser(new HashMap<>());
+        try (BufferedReader r =
+            new BufferedReader(DocumentSources.wrapInputAsReader(source, config))) {
+            int lineNumber = 1;
+            String line = r.readLine();
+            while (line != null) {
+                parser.parseLine(line, 0, line.length(), lineNumber++, sink);
+                line = r.readLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.parser;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.MappedContent;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.rdf.ntriples.parser.NTriplesLineParser.Sink;
+
+/**
+ * Parses a memory mapped N-Triples file on several threads. Every statement is on its own line,
+ * so the calling thread splits the bytes into chunks on line breaks, counting lines as it goes, and
+ * hands each chunk with its first line number to a worker thread, which decodes it and parses it
+ * into a batch of triples. IRIs are shared by
+ * all workers. The batches are passed to the sink in document order, on the calling thread.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+final class ParallelNTriplesParser {
+
+    private static final int MIN_CHUNK = 4 * 1024;
+    private static final int MAX_CHUNK = 4 * 1024 * 1024;
+    private final MappedContent content;
+    private final int threads;
+    private final int chunkSize;
+
+    /**
+     * @param content document content, UTF-8 encoded
+     * @param threads number of worker threads
+     */
+    ParallelNTriplesParser(MappedContent content, int threads) {
+        this.content = content;
+        this.threads = threads;
+        chunkSize =
+            (int) Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, content.size() / (threads * 8)));
+    }
+
+    /**
+     * @param sink receiver for all the triples in the document
+     */
+    void parse(Sink sink) {
+        Map<String, IRI> iris = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Deque<Future<Batch>> pending = new ArrayDeque<>();
+        try {
+            long start = bom() ? 3 : 0;
+            int line = 1;
+            while (start < content.size()) {
+                long chunkEnd = lineEnd(Math.min(content.size(), start + chunkSize));
+                pending.add(submit(pool, start, chunkEnd, line, iris));
+                line += lineBreaks(start, chunkEnd);
+                start = chunkEnd;
+                if (pending.size() > threads * 2) {
+                    replay(pending.poll(), sink);
+                }
+            }
+            while (!pending.isEmpty()) {
+                replay(pending.poll(), sink);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return offset after the first line break at or after the offset, or the end of the content;
+     *         bytes of multibyte UTF-8 sequences are never '\n'
+     */
+    private long lineEnd(long offset) {
+        long pos = offset;
+        while (pos < content.size()) {
+            if (content.get(pos++) == '\n') {
+                return pos;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * @return number of line breaks between the offsets
+     */
+    private int lineBreaks(long start, long end) {
+        int count = 0;
+        for (long pos = start; pos < end; pos++) {
+            if (content.get(pos) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Future<Batch> submit(ExecutorService pool, long start, long end, int firstLine,
+        Map<String, IRI> iris) {
+        return pool.submit(() -> {
+            Batch batch = new Batch();
+            new NTriplesLineParser(iris).parseLines(content.decode(start, end), firstLine, batch);
+            return batch;
+        });
+    }
+
+    private static void replay(Future<Batch> batch, Sink sink) {
+        try {
+            batch.get().replay(sink);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLParserException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLParserException(e.getCause());
+        }
+    }
+
+    private boolean bom() {
+        return content.size() > 2 && content.get(0) == (byte) 0xEF
+            && content.get(1) == (byte) 0xBB && content.get(2) == (byte) 0xBF;
+    }
+
+    /**
+     * Triples parsed by a worker, stored as subject, predicate, object, language and datatype in
+     * one array; the object is an IRI or a lexical form.
+     */
+    private static final class Batch implements Sink {
+
+        private Object[] triples = new Object[1024 * 5];
+        private int size;
+
+        Batch() {}
+
+        private void add(IRI subject, IRI predicate, Object object, @Nullable String language,
+            @Nullable IRI datatype) {
+            if (size == triples.length) {
+                triples = Arrays.copyOf(triples, size * 2);
+            }
+            triples[size++] = subject;
+            triples[size++] = predicate;
+            triples[size++] = object;
+            triples[size++] = language;
+            triples[size++] = datatype;
+        }
+
+        @Override
+        public void resource(IRI subject, IRI predicate, IRI object) {
+            add(subject, predicate, object, null, null);
+        }
+
+        @Override
+        public void literal(IRI subject, IRI predicate, String lexicalValue,
+            @Nullable String language, @Nullable IRI datatype) {
+            add(subject, predicate, lexicalValue, language, datatype);
+        }
+
+        void replay(Sink sink) {
+            for (int i = 0; i < size; i += 5) {
+                IRI subject = (IRI) triples[i];
+                IRI predicate = (IRI) triples[i + 1];
+                Object object = triples[i + 2];
+                if (object instanceof IRI) {
+                    sink.resource(subject, predicate, (IRI) object);
+                } else {
+                    sink.literal(subject, predicate, (String) object, (String) triples[i + 3],
+                        (IRI) triples[i + 4]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.ntriples.renderer;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.RDFLiteral;
+import org.semanticweb.owlapi.io.RDFNode;
+import org.semanticweb.owlapi.io.RDFResource;
+import org.semanticweb.owlapi.io.RDFResourceBlankNode;
+import org.semanticweb.owlapi.io.RDFTriple;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.rdf.RDFRendererBase;
+import org.semanticweb.owlapi.rdf.model.RDFGraph;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+/**
+ * Writes the graphs produced for each frame as N-Triples: the triples of each rendered subject are
+ * written one per line, followed by the triples of the blank nodes they refer to. IRIs and
+ * literals are escaped one character at a time straight into the writer, without building
+ * intermediate strings. Blank node labels are the node ids used in RDF/XML.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+public class NTriplesRenderer extends RDFRendererBase {
+
+    private final PrintWriter writer;
+    /** Subjects already written from the current graph. */
+    private final Set<RDFResource> rendered = new HashSet<>();
+    @Nullable
+    private RDFGraph renderedGraph;
+
+    /**
+     * @param ontology ontology
+     * @param writer writer
+     * @param format format
+     */
+    public NTriplesRenderer(OWLOntology ontology, Writer writer, OWLDocumentFormat format) {
+        super(ontology, format, ontology.getOWLOntologyManager().getOntologyWriterConfiguration());
+        this.writer =
+            writer instanceof PrintWriter ? (PrintWriter) writer : new PrintWriter(writer);
+    }
+
+    @Override
+    protected void beginDocument() {
+        renderedGraph = null;
+        rendered.clear();
+    }
+
+    @Override
+    protected void endDocument() {
+        writer.flush();
+        renderedGraph = null;
+        rendered.clear();
+    }
+
+    @Override
+    protected void writeAnnotationPropertyComment(OWLAnnotationProperty prop) {
+        // N-Triples output has no comments
+    }
+
+    @Override
+    protected void writeDataPropertyComment(OWLDataProperty prop) {
+        // N-Triples output has no comments
+    }
+
+    @Override
+    protected void writeObjectPropertyComment(OWLObjectProperty prop) {
+        // N-Triples output has no comments
+    }
+
+    @Override
+    protected void writeClassComment(OWLClass cls) {
+        // N-Triples output has no comments
+    }
+
+    @Override
+    protected void writeDatatypeComment(OWLDatatype datatype) {
+        // N-Triples output has no comments
+    }
+
+    @Override
+    protected void writeIndividualComments(OWLNamedIndividual ind) {
+        // N-Triples output has no comments
+    }
+
+    @Override
+    protected void writeBanner(String name) {
+        // N-Triples output has no comments
+    }
+
+    @Override
+    protected void render(RDFResource node, boolean root) {
+        RDFGraph current = getRDFGraph();
+        if (current != renderedGraph) {
+            renderedGraph = current;
+            rendered.clear();
+        }
+        if (!rendered.add(node)) {
+            return;
+        }
+        for (RDFTriple triple : current.getTriplesForSubject(node)) {
+            write(triple.getSubject());
+            writer.write(' ');
+            writeIRI(triple.getPredicate().getIRI());
+            writer.write(' ');
+            write(triple.getObject());
+            writer.write(" .\n");
+            if (triple.getObject().isAnonymous()) {
+                render((RDFResource) triple.getObject(), false);
+            }
+        }
+    }
+
+    private void write(RDFNode node) {
+        if (node.isLiteral()) {
+            writeLiteral((RDFLiteral) node);
+        } else if (node.isAnonymous()) {
+            writer.write("_:");
+            writer.write(((RDFResourceBlankNode) node).getNodeIDValue());
+        } else {
+            writeIRI(node.getIRI());
+        }
+    }
+
+    private void writeIRI(IRI iri) {
+        writer.write('<');
+        for (int i = 0; i < iri.length(); i++) {
+            char c = iri.charAt(i);
+            if (c <= ' ' || c == '<' || c == '>' || c == '"' || c == '{' || c == '}' || c == '|'
+                || c == '^' || c == '`' || c == '\\') {
+                writeUnicodeEscape(c);
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('>');
+    }
+
+    private void writeLiteral(RDFLiteral literal) {
+        writer.write('"');
+        String lexical = literal.getLexicalValue();
+        for (int i = 0; i < lexical.length(); i++) {
+            char c = lexical.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                default:
+                    writer.write(c);
+            }
+        }
+        writer.write('"');
+        IRI datatype = literal.getDatatype();
+        if (literal.hasLang()) {
+            writer.write('@');
+            writer.write(literal.getLang());
+        } else if (!OWL2Datatype.RDF_PLAIN_LITERAL.getIRI().equals(datatype)
+            && !OWL2Datatype.XSD_STRING.getIRI().equals(datatype)) {
+            writer.write("^^");
+            writeIRI(datatype);
+        }
+    }
+
+    private void writeUnicodeEscape(char c) {
+        writer.write("\\u");
+        String hex = Integer.toHexString(c);
+        for (int i = hex.length(); i < 4; i++) {
+            writer.write('0');
+        }
+        writer.write(hex.toUpperCase());
+    }
+}
@@ -139,6 +139,7 @@ import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
 import org.semanticweb.owlapi.model.OWLDataRange;
 import org.semanticweb.owlapi.model.OWLDatatype;
@@ -149,6 +150,7 @@ import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyID;
@@ -341,17 +343,14 @@ public class OWLRDFConsumer
      */
     private final Map<IRI, OWLObjectPropertyExpression> translatedProperties = createMap();
     /**
-     * Subject, predicate, object
+     * Resource and literal triples by subject and predicate, for all predicates not in the single
+     * valued maps.
      */
-    private final Map<IRI, Map<IRI, Collection<IRI>>> resTriplesBySubject = createMap();
+    private final TripleIndex triplesBySubject = new TripleIndex();
     /**
      * Predicate, subject, object
      */
     private final Map<IRI, Map<IRI, IRI>> singleValuedResTriplesByPredicate = createMap();
-    /**
-     * Literal triples
-     */
-    private final Map<IRI, Map<IRI, Collection<OWLLiteral>>> litTriplesBySubject = createMap();
     // Resource triples
     /**
      * Predicate, subject, object
@@ -389,6 +388,34 @@ public class OWLRDFConsumer
      * The parsed all triples.
      */
     private boolean parsedAllTriples = false;
+    /**
+     * True if the triples of a named subject are translated as soon as the input moves on to a
+     * different subject.
+     */
+    private final boolean streaming;
+    /**
+     * Subject of the last triple seen in streaming mode.
+     */
+    @Nullable
+    private IRI currentSubject;
+    /**
+     * Number of triples left untranslated by completed subjects in streaming mode.
+     */
+    private int pendingTriples;
+    /**
+     * Completed subjects that still have untranslated triples in streaming mode.
+     */
+    private final Set<IRI> pendingSubjects = createLinkedSet();
+    /**
+     * Kinds of the predicates used by streaming translation, when first used; a predicate whose
+     * kind changes later in the document must be translated again.
+     */
+    private final Map<IRI, Integer> streamedPredicates = createMap();
+    /**
+     * Triples moved out of memory in streaming mode; created on first use.
+     */
+    @Nullable
+    private TripleSpill spill;
 
     /**
      * @param ontology the ontology
@@ -411,6 +438,7 @@ public class OWLRDFConsumer
         anonProvider = new RemappingIndividualProvider(
             ontology.getOWLOntologyManager().getOntologyConfigurator(), df);
         this.configuration = configuration;
+        streaming = configuration.shouldStreamRDFTranslation();
         handlerAccessor = new HandlerAccessor(this);
         translatorAccessor = new TranslatorAccessor(this);
         BUILT_IN_AP_IRIS.forEach(annPropertyIRIs::add);
@@ -1352,16 +1380,14 @@ public class OWLRDFConsumer
         // if info logging is disabled or all collections are empty, do not
         // output anything
         if (LOGGER.isInfoEnabled()
-            && singleValuedResTriplesByPredicate.size() + singleValuedLitTriplesByPredicate.size()
-                + resTriplesBySubject.size() + litTriplesBySubject.size() > 0) {
+            && (singleValuedResTriplesByPredicate.size()
+                + singleValuedLitTriplesByPredicate.size() > 0 || !triplesBySubject.isEmpty())) {
             singleValuedResTriplesByPredicate
                 .forEach((p, map) -> map.forEach((s, o) -> printTriple(s, p, o)));
             singleValuedLitTriplesByPredicate
                 .forEach((p, map) -> map.forEach((s, o) -> printTriple(s, p, o)));
-            resTriplesBySubject
-                .forEach((p, map) -> map.forEach((s, o) -> o.forEach(x -> printTriple(s, p, x))));
-            litTriplesBySubject
-                .forEach((p, map) -> map.forEach((s, o) -> o.forEach(x -> printTriple(s, p, x))));
+            triplesBySubject.forEachResource(OWLRDFConsumer::printTriple);
+            triplesBySubject.forEachLiteral(OWLRDFConsumer::printTriple);
         }
     }
 
@@ -1381,6 +1407,27 @@ public class OWLRDFConsumer
 
     @Override
     public void endModel() {
+        try {
+            translateRemainingTriples();
+        } finally {
+            discardSpilledTriples();
+        }
+    }
+
+    /**
+     * Deletes the triples spilled to disk by streaming translation, if any. Parsing normally
+     * releases them in {@link #endModel()}; parsers must also call this when parsing fails before
+     * the end of the model. Calling it more than once has no effect.
+     */
+    public void discardSpilledTriples() {
+        TripleSpill s = spill;
+        spill = null;
+        if (s != null) {
+            s.close();
+        }
+    }
+
+    private void translateRemainingTriples() {
         parsedAllTriples = true;
         // We are now left with triples that could not be consumed during
         // streaming parsing
@@ -1503,8 +1550,7 @@ public class OWLRDFConsumer
         listRestTripleMap.clear();
         // XXX clean new members
         translatorAccessor.cleanup();
-        resTriplesBySubject.clear();
-        litTriplesBySubject.clear();
+        triplesBySubject.clear();
         singleValuedLitTriplesByPredicate.clear();
         singleValuedResTriplesByPredicate.clear();
         guessedDeclarations.clear();
@@ -1543,6 +1589,7 @@ public class OWLRDFConsumer
         IRI subjectIRI = getIRI(remapOnlyIfRemapped(subject));
         IRI predicateIRI = getIRI(predicate);
         predicateIRI = getSynonym(predicateIRI);
+        nextSubject(subjectIRI);
         handlerAccessor.handleStreaming(subjectIRI, predicateIRI, object,
             datatype == null ? null : getIRI(datatype), language);
     }
@@ -1551,6 +1598,7 @@ public class OWLRDFConsumer
     public void statementWithLiteralValue(IRI subject, IRI predicate, String object,
         @Nullable String language, @Nullable IRI datatype) {
         tripleLogger.logTriple(subject, predicate, object, language, datatype);
+        nextSubject(subject);
         handlerAccessor.handleStreaming(subject, getSynonym(predicate), object, datatype, language);
     }
 
@@ -1560,15 +1608,219 @@ public class OWLRDFConsumer
         IRI subjectIRI = getIRI(subject);
         IRI predicateIRI = getSynonym(getIRI(predicate));
         IRI objectIRI = getSynonym(getIRI(object));
+        nextSubject(subjectIRI);
         handlerAccessor.handleStreaming(subjectIRI, predicateIRI, objectIRI);
     }
 
     @Override
     public void statementWithResourceValue(IRI subject, IRI predicate, IRI object) {
         tripleLogger.logTriple(subject, predicate, object);
+        nextSubject(subject);
         handlerAccessor.handleStreaming(subject, getSynonym(predicate), getSynonym(object));
     }
 
+    // Streaming translation
+
+    /**
+     * In streaming mode, a change of subject means the previous subject is complete: its triples
+     * with non reserved predicates can be translated with the same handlers used at the end of
+     * parsing, and released. Blank nodes, reified axioms and annotations, and the ontology header
+     * are left for the end of parsing, since other triples may refer to them. Translation relies on
+     * the type of the predicate, so it is only attempted for predicates already typed; documents
+     * are expected to declare properties before using them, as the OWL API renderers do.
+     *
+     * @param subject subject of the triple being parsed
+     */
+    private void nextSubject(IRI subject) {
+        if (!streaming || subject.equals(currentSubject)) {
+            return;
+        }
+        IRI completed = currentSubject;
+        currentSubject = subject;
+        if (completed != null) {
+            translateCompletedSubject(completed);
+        }
+    }
+
+    private void translateCompletedSubject(IRI subject) {
+        if (isAnonymousNode(subject) || isAxiom(subject) || isAnnotation(subject)
+            || isOntology(subject)) {
+            return;
+        }
+        iterateStreamable(subject, (s, p, o) -> {
+            if (isTypedProperty(p)) {
+                recordPropertyKind(p);
+                handlerAccessor.apply(s, p, o);
+            }
+        }, (s, p, o) -> {
+            if (isTypedProperty(p)) {
+                recordPropertyKind(p);
+                handlerAccessor.apply(s, p, o);
+            }
+        });
+        int[] left = new int[1];
+        iterateStreamable(subject, (s, p, o) -> left[0]++, (s, p, o) -> left[0]++);
+        if (left[0] > 0 && pendingSubjects.add(subject)) {
+            pendingTriples += left[0];
+            int threshold = configuration.getRDFSpillThreshold();
+            if (threshold > 0 && pendingTriples > threshold) {
+                spillPendingTriples();
+            }
+        }
+    }
+
+    private boolean isTypedProperty(IRI p) {
+        return annPropertyIRIs.contains(p) || objectPropertyIRIs.contains(p)
+            || dataPropertyIRIs.contains(p);
+    }
+
+    private int propertyKind(IRI p) {
+        return (annPropertyIRIs.contains(p) ? 1 : 0) | (objectPropertyIRIs.contains(p) ? 2 : 0)
+            | (dataPropertyIRIs.contains(p) ? 4 : 0);
+    }
+
+    private void recordPropertyKind(IRI p) {
+        // -1 never matches a kind, so a predicate whose kind changed during parsing is retranslated
+        streamedPredicates.merge(p, Integer.valueOf(propertyKind(p)),
+            (a, b) -> a.equals(b) ? a : Integer.valueOf(-1));
+    }
+
+    /**
+     * A predicate used before all its types were declared might have been translated differently
+     * with the whole document available. The assertions created by streaming translation for such
+     * predicates are turned back into triples, which are translated at the end of parsing.
+     */
+    private void retranslateChangedPredicates() {
+        Set<IRI> changed = createSet();
+        streamedPredicates.forEach((p, kind) -> {
+            if (kind.intValue() != propertyKind(p)) {
+                changed.add(p);
+            }
+        });
+        streamedPredicates.clear();
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<OWLAxiom> undone = new ArrayList<>();
+        for (OWLAnnotationAxiom ax : parsedAnnotationAxioms) {
+            if (ax instanceof OWLAnnotationAssertionAxiom && !ax.isAnnotated()) {
+                OWLAnnotationAssertionAxiom a = (OWLAnnotationAssertionAxiom) ax;
+                IRI p = a.getProperty().getIRI();
+                if (changed.contains(p) && a.getSubject().isIRI()) {
+                    IRI s = (IRI) a.getSubject();
+                    if (a.getValue().isLiteral()) {
+                        undone.add(ax);
+                        addTriple(s, p, (OWLLiteral) a.getValue());
+                    } else if (a.getValue().isIRI()) {
+                        undone.add(ax);
+                        addTriple(s, p, (IRI) a.getValue());
+                    }
+                }
+            }
+        }
+        parsedAnnotationAxioms.removeAll(createSet(undone));
+        undone.clear();
+        for (IRI p : changed) {
+            ontology.referencingAxioms(df.getOWLObjectProperty(p))
+                .filter(ax -> ax instanceof OWLObjectPropertyAssertionAxiom && !ax.isAnnotated())
+                .map(ax -> (OWLObjectPropertyAssertionAxiom) ax)
+                .filter(ax -> ax.getSubject().isNamed() && ax.getObject().isNamed())
+                .forEach(ax -> {
+                    undone.add(ax);
+                    addTriple(ax.getSubject().asOWLNamedIndividual().getIRI(), p,
+                        ax.getObject().asOWLNamedIndividual().getIRI());
+                });
+            ontology.referencingAxioms(df.getOWLDataProperty(p))
+                .filter(ax -> ax instanceof OWLDataPropertyAssertionAxiom && !ax.isAnnotated())
+                .map(ax -> (OWLDataPropertyAssertionAxiom) ax)
+                .filter(ax -> ax.getSubject().isNamed()).forEach(ax -> {
+                    undone.add(ax);
+                    addTriple(ax.getSubject().asOWLNamedIndividual().getIRI(), p, ax.getObject());
+                });
+        }
+        ontology.remove(undone);
+    }
+
+    /**
+     * Visits the triples of a subject that streaming translation can handle: non reserved (or
+     * built in annotation) predicates, with a named or literal object.
+     */
+    private void iterateStreamable(IRI subject, ResourceTripleIterator resources,
+        LiteralTripleIterator literals) {
+        triplesBySubject.forEachResource(subject, (s, p, o) -> {
+            if (isStreamable(p) && !isAnonymousNode(o)) {
+                resources.handleResourceTriple(s, p, o);
+            }
+        });
+        triplesBySubject.forEachLiteral(subject, (s, p, o) -> {
+            if (isStreamable(p)) {
+                literals.handleLiteralTriple(s, p, o);
+            }
+        });
+    }
+
+    private static boolean isStreamable(IRI predicate) {
+        return !predicate.isReservedVocabulary() || BUILT_IN_AP_IRIS.contains(predicate);
+    }
+
+    /**
+     * Moves the untranslated triples of completed subjects to disk; they are read back when the
+     * whole document has been parsed and all property types are known.
+     */
+    private void spillPendingTriples() {
+        TripleSpill out = spill;
+        if (out == null) {
+            out = new TripleSpill(df);
+            spill = out;
+        }
+        TripleSpill target = out;
+        for (IRI subject : pendingSubjects) {
+            iterateStreamable(subject, (s, p, o) -> {
+                target.write(s, p, o);
+                isTriplePresent(s, p, o, true);
+            }, (s, p, o) -> {
+                target.write(s, p, o);
+                isTriplePresent(s, p, o, true);
+            });
+        }
+        pendingSubjects.clear();
+        pendingTriples = 0;
+    }
+
+    /**
+     * Called at the end of parsing, once property ranges have been translated and property types
+     * are final: the last subject is complete, and spilled triples are read back. Replayed triples
+     * are translated straight away if possible, and otherwise left for the end of parsing like any
+     * other triple.
+     */
+    protected void completeStreamedSubjects() {
+        if (!streaming) {
+            return;
+        }
+        IRI last = currentSubject;
+        if (last != null) {
+            translateCompletedSubject(last);
+            currentSubject = null;
+        }
+        retranslateChangedPredicates();
+        pendingSubjects.clear();
+        pendingTriples = 0;
+        TripleSpill in = spill;
+        if (in == null) {
+            return;
+        }
+        spill = null;
+        try (TripleSpill s = in) {
+            s.replay((x, p, o) -> {
+                addTriple(x, p, o);
+                handlerAccessor.apply(x, p, o);
+            }, (x, p, o) -> {
+                addTriple(x, p, o);
+                handlerAccessor.apply(x, p, o);
+            });
+        }
+    }
+
     /**
      * A convenience method to obtain an {@code OWLLiteral}.
      *
@@ -1872,14 +2124,7 @@ public class OWLRDFConsumer
      */
     protected Set<IRI> getPredicatesBySubject(IRI subject) {
         Set<IRI> iris = createLinkedSet();
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            iris.addAll(predObjMap.keySet());
-        }
-        Map<IRI, Collection<OWLLiteral>> predObjMapLit = litTriplesBySubject.get(subject);
-        if (predObjMapLit != null) {
-            iris.addAll(predObjMapLit.keySet());
-        }
+        triplesBySubject.predicates(subject, iris);
         return iris;
     }
 
@@ -1914,24 +2159,7 @@ public class OWLRDFConsumer
             }
             return obj;
         }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null && !objects.isEmpty()) {
-                IRI object = objects.iterator().next();
-                if (consume) {
-                    objects.remove(object);
-                }
-                if (objects.isEmpty()) {
-                    predObjMap.remove(predicate);
-                    if (predObjMap.isEmpty()) {
-                        resTriplesBySubject.remove(subject);
-                    }
-                }
-                return object;
-            }
-        }
-        return null;
+        return triplesBySubject.firstResource(subject, predicate, consume);
     }
 
     /**
@@ -1950,13 +2178,7 @@ public class OWLRDFConsumer
                 result.add(obj);
             }
         }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                result.addAll(objects);
-            }
-        }
+        triplesBySubject.resources(subject, predicate, result);
         return result;
     }
 
@@ -1992,21 +2214,7 @@ public class OWLRDFConsumer
             }
             return obj;
         }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null && !objects.isEmpty()) {
-                OWLLiteral object = objects.iterator().next();
-                if (consume) {
-                    objects.remove(object);
-                }
-                if (objects.isEmpty()) {
-                    predObjMap.remove(predicate);
-                }
-                return object;
-            }
-        }
-        return null;
+        return triplesBySubject.firstLiteral(subject, predicate, consume);
     }
 
     /**
@@ -2025,13 +2233,7 @@ public class OWLRDFConsumer
                 result.add(obj);
             }
         }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                result.addAll(objects);
-            }
-        }
+        triplesBySubject.literals(subject, predicate, result);
         return result;
     }
 
@@ -2053,23 +2255,10 @@ public class OWLRDFConsumer
             }
             return obj != null;
         }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null && objects.contains(object)) {
-                if (consume) {
-                    objects.remove(object);
-                    if (objects.isEmpty()) {
-                        predObjMap.remove(predicate);
-                        if (predObjMap.isEmpty()) {
-                            resTriplesBySubject.remove(subject);
-                        }
-                    }
-                }
-                return true;
-            }
+        if (consume) {
+            return triplesBySubject.remove(subject, predicate, object);
         }
-        return false;
+        return triplesBySubject.contains(subject, predicate, object);
     }
 
     /**
@@ -2091,23 +2280,10 @@ public class OWLRDFConsumer
             }
             return obj != null;
         }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null && objects.contains(object)) {
-                if (consume) {
-                    objects.remove(object);
-                    if (objects.isEmpty()) {
-                        predObjMap.remove(predicate);
-                        if (predObjMap.isEmpty()) {
-                            litTriplesBySubject.remove(subject);
-                        }
-                    }
-                }
-                return true;
-            }
+        if (consume) {
+            return triplesBySubject.remove(subject, predicate, object);
         }
-        return false;
+        return triplesBySubject.contains(subject, predicate, object);
     }
 
     /**
@@ -2126,15 +2302,8 @@ public class OWLRDFConsumer
         if (litPredMap != null) {
             return litPredMap.containsKey(subject);
         }
-        Map<IRI, Collection<IRI>> resPredObjMap = resTriplesBySubject.get(subject);
-        if (resPredObjMap != null && resPredObjMap.containsKey(predicate)) {
-            return true;
-        }
-        Map<IRI, Collection<OWLLiteral>> litPredObjMap = litTriplesBySubject.get(subject);
-        if (litPredObjMap != null) {
-            return litPredObjMap.containsKey(predicate);
-        }
-        return false;
+        return triplesBySubject.hasResources(subject, predicate)
+            || triplesBySubject.hasLiterals(subject, predicate);
     }
 
     /**
@@ -2260,7 +2429,7 @@ public class OWLRDFConsumer
     }
 
     protected boolean isAxiomIRI(IRI s) {
-        return contains(resTriplesBySubject, s, OWLRDFVocabulary.RDF_TYPE.getIRI(),
+        return triplesBySubject.contains(s, OWLRDFVocabulary.RDF_TYPE.getIRI(),
             OWLRDFVocabulary.OWL_AXIOM.getIRI());
     }
 
@@ -2287,9 +2456,7 @@ public class OWLRDFConsumer
      * @param iterator the iterator
      */
     protected void iterateResources(ResourceTripleIterator iterator) {
-        new ArrayList<>(resTriplesBySubject.entrySet()).forEach(
-            e -> new ArrayList<>(e.getValue().entrySet()).forEach(p -> new ArrayList<>(p.getValue())
-                .forEach(object -> iterator.handleResourceTriple(e.getKey(), p.getKey(), object))));
+        triplesBySubject.forEachResource(iterator);
     }
 
     /**
@@ -2298,9 +2465,7 @@ public class OWLRDFConsumer
      * @param iterator the iterator
      */
     protected void iterateLiterals(LiteralTripleIterator iterator) {
-        new ArrayList<>(litTriplesBySubject.entrySet()).forEach(
-            e -> new ArrayList<>(e.getValue().entrySet()).forEach(p -> new ArrayList<>(p.getValue())
-                .forEach(object -> iterator.handleLiteralTriple(e.getKey(), p.getKey(), object))));
+        triplesBySubject.forEachLiteral(iterator);
     }
 
     @Override
@@ -2331,8 +2496,7 @@ public class OWLRDFConsumer
         if (subjObjMap != null) {
             subjObjMap.put(subject, object);
         } else {
-            resTriplesBySubject.computeIfAbsent(subject, x -> createMap())
-                .computeIfAbsent(predicate, x -> createLinkedSet()).add(object);
+            triplesBySubject.add(subject, predicate, object);
         }
     }
 
@@ -2341,8 +2505,7 @@ public class OWLRDFConsumer
         if (subjObjMap != null) {
             subjObjMap.put(subject, con);
         } else {
-            litTriplesBySubject.computeIfAbsent(subject, x -> createMap())
-                .computeIfAbsent(predicate, x -> createLinkedSet()).add(con);
+            triplesBySubject.add(subject, predicate, con);
         }
     }
 }
@@ -45,6 +45,7 @@ public class RDFXMLParser extends AbstractOWLParser {
     public OWLDocumentFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology,
         OWLOntologyLoaderConfiguration configuration) {
         InputSource is = null;
+        OWLRDFConsumer consumer = new OWLRDFConsumer(ontology, configuration);
         try {
             is = getInputSource(documentSource, configuration);
             final RDFXMLDocumentFormat format = new RDFXMLDocumentFormat();
@@ -59,7 +60,6 @@ public class RDFXMLParser extends AbstractOWLParser {
                     }
                 }
             };
-            OWLRDFConsumer consumer = new OWLRDFConsumer(ontology, configuration);
             consumer.setIRIProvider(parser);
             consumer.setOntologyFormat(format);
             parser.parse(is, consumer);
@@ -68,6 +68,7 @@ public class RDFXMLParser extends AbstractOWLParser {
             | IOException e) {
             throw new OWLRDFXMLParserException(e);
         } finally {
+            consumer.discardSpilledTriples();
             if (is != null) {
                 try (InputStream byteStream = is.getByteStream();
                     Reader characterStream = is.getCharacterStream()) {
@@ -474,6 +474,8 @@ public class TripleHandlers {
                     propertyRangeHandler.handleTriple(s, p, o);
                 }
             });
+            // Ranges can type properties, so triples translated while streaming are checked now
+            consumer.completeStreamedSubjects();
             // Now handle non-reserved predicate triples
             consumeNonReservedPredicateTriples();
             // Now axiom annotations
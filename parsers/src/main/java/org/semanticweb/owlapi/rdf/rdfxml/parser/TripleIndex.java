@@ -0,0 +1,515 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.rdfxml.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+import com.carrotsearch.hppcrt.lists.IntArrayList;
+import com.carrotsearch.hppcrt.maps.IntObjectHashMap;
+import com.carrotsearch.hppcrt.maps.ObjectIntHashMap;
+
+/**
+ * Triples buffered by {@link OWLRDFConsumer}, indexed by subject and predicate. Nodes are
+ * dictionary encoded: each distinct IRI is given an int id once, and the indexes hold ids in
+ * primitive maps and lists, so that a buffered triple costs a few ints rather than hash entries and
+ * linked sets. Objects of literal triples are kept as literals. Objects of a subject and predicate
+ * keep insertion order and contain no duplicates, like the linked sets they replace; short lists
+ * are scanned, and lists that grow past {@link #LIST_LIMIT} objects become linked sets.
+ * <p>
+ * Ids are reference counted: once no buffered triple uses a node, its id is released and given to
+ * the next new node, so the dictionary only grows with the triples still buffered.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+final class TripleIndex {
+
+    /** Number of objects of a subject and predicate kept in a list. */
+    static final int LIST_LIMIT = 8;
+    /** Node ids; zero, the default value, marks nodes never seen. */
+    private final ObjectIntHashMap<IRI> ids = new ObjectIntHashMap<>();
+    /** Nodes by id; id 1 is at position 0. Released ids hold null. */
+    private final List<IRI> nodes = new ArrayList<>();
+    /** Number of triples using each node, by id; id 1 is at position 0. */
+    private int[] references = new int[16];
+    /** Released ids, reused before new ids are created. */
+    private final IntArrayList released = new IntArrayList();
+    /** Ids whose count dropped to zero during a visit; released when the visit ends. */
+    private final IntArrayList unused = new IntArrayList();
+    private int visits;
+    private final IntObjectHashMap<IntObjectHashMap<Objects>> resources = new IntObjectHashMap<>();
+    private final IntObjectHashMap<IntObjectHashMap<Collection<OWLLiteral>>> literals =
+        new IntObjectHashMap<>();
+
+    private int id(IRI node) {
+        int id = ids.get(node);
+        if (id == 0) {
+            if (released.isEmpty()) {
+                nodes.add(node);
+                id = nodes.size();
+                if (id > references.length) {
+                    references = Arrays.copyOf(references, references.length * 2);
+                }
+            } else {
+                id = released.get(released.size() - 1);
+                released.remove(released.size() - 1);
+                nodes.set(id - 1, node);
+            }
+            ids.put(node, id);
+        }
+        return id;
+    }
+
+    private IRI node(int id) {
+        return nodes.get(id - 1);
+    }
+
+    private void retain(int id) {
+        references[id - 1]++;
+    }
+
+    private void release(int id) {
+        if (--references[id - 1] == 0) {
+            if (visits > 0) {
+                // visitors still hold copies of this id
+                unused.add(id);
+            } else {
+                forget(id);
+            }
+        }
+    }
+
+    private void forget(int id) {
+        ids.remove(node(id));
+        nodes.set(id - 1, null);
+        released.add(id);
+    }
+
+    private void startVisit() {
+        visits++;
+    }
+
+    private void endVisit() {
+        if (--visits == 0) {
+            for (int i = 0; i < unused.size(); i++) {
+                int id = unused.get(i);
+                // the node may have been used again during the visit
+                if (references[id - 1] == 0 && nodes.get(id - 1) != null) {
+                    forget(id);
+                }
+            }
+            unused.clear();
+        }
+    }
+
+    @Nullable
+    private Objects objects(IRI s, IRI p) {
+        IntObjectHashMap<Objects> predicates = resources.get(ids.get(s));
+        return predicates == null ? null : predicates.get(ids.get(p));
+    }
+
+    @Nullable
+    private Collection<OWLLiteral> literals(IRI s, IRI p) {
+        IntObjectHashMap<Collection<OWLLiteral>> predicates = literals.get(ids.get(s));
+        return predicates == null ? null : predicates.get(ids.get(p));
+    }
+
+    /**
+     * @return true if no triples are buffered
+     */
+    boolean isEmpty() {
+        return resources.isEmpty() && literals.isEmpty();
+    }
+
+    /**
+     * Removes all triples and forgets all node ids.
+     */
+    void clear() {
+        resources.clear();
+        literals.clear();
+        ids.clear();
+        nodes.clear();
+        released.clear();
+        unused.clear();
+        references = new int[16];
+    }
+
+    void add(IRI s, IRI p, IRI o) {
+        int subject = id(s);
+        IntObjectHashMap<Objects> predicates = resources.get(subject);
+        if (predicates == null) {
+            predicates = new IntObjectHashMap<>(4);
+            resources.put(subject, predicates);
+        }
+        int predicate = id(p);
+        Objects objects = predicates.get(predicate);
+        if (objects == null) {
+            objects = new Objects();
+            predicates.put(predicate, objects);
+        }
+        int object = id(o);
+        if (objects.add(object)) {
+            retain(subject);
+            retain(predicate);
+            retain(object);
+        }
+    }
+
+    void add(IRI s, IRI p, OWLLiteral o) {
+        int subject = id(s);
+        IntObjectHashMap<Collection<OWLLiteral>> predicates = literals.get(subject);
+        if (predicates == null) {
+            predicates = new IntObjectHashMap<>(4);
+            literals.put(subject, predicates);
+        }
+        int predicate = id(p);
+        Collection<OWLLiteral> objects = predicates.get(predicate);
+        if (objects == null) {
+            // most subject and predicate pairs have a single object
+            objects = new ArrayList<>(1);
+            predicates.put(predicate, objects);
+        } else if (objects.size() == LIST_LIMIT && objects instanceof List) {
+            objects = new LinkedHashSet<>(objects);
+            predicates.put(predicate, objects);
+        }
+        if (objects instanceof List ? !objects.contains(o) && objects.add(o) : objects.add(o)) {
+            retain(subject);
+            retain(predicate);
+        }
+    }
+
+    boolean contains(IRI s, IRI p, IRI o) {
+        Objects objects = objects(s, p);
+        return objects != null && objects.contains(ids.get(o));
+    }
+
+    boolean contains(IRI s, IRI p, OWLLiteral o) {
+        Collection<OWLLiteral> objects = literals(s, p);
+        return objects != null && objects.contains(o);
+    }
+
+    /**
+     * @return true if the triple was present
+     */
+    boolean remove(IRI s, IRI p, IRI o) {
+        Objects objects = objects(s, p);
+        int object = ids.get(o);
+        if (objects == null || !objects.remove(object)) {
+            return false;
+        }
+        int subject = ids.get(s);
+        int predicate = ids.get(p);
+        if (objects.isEmpty()) {
+            removeEmpty(resources, subject, predicate);
+        }
+        release(subject);
+        release(predicate);
+        release(object);
+        return true;
+    }
+
+    /**
+     * @return true if the triple was present
+     */
+    boolean remove(IRI s, IRI p, OWLLiteral o) {
+        Collection<OWLLiteral> objects = literals(s, p);
+        if (objects == null || !objects.remove(o)) {
+            return false;
+        }
+        int subject = ids.get(s);
+        int predicate = ids.get(p);
+        if (objects.isEmpty()) {
+            removeEmpty(literals, subject, predicate);
+        }
+        release(subject);
+        release(predicate);
+        return true;
+    }
+
+    private static <T> void removeEmpty(IntObjectHashMap<IntObjectHashMap<T>> index, int subject,
+        int predicate) {
+        IntObjectHashMap<T> predicates = index.get(subject);
+        predicates.remove(predicate);
+        if (predicates.isEmpty()) {
+            index.remove(subject);
+        }
+    }
+
+    /**
+     * @param consume true if the triple should be removed
+     * @return the first object of the subject and predicate, if any
+     */
+    @Nullable
+    IRI firstResource(IRI s, IRI p, boolean consume) {
+        Objects objects = objects(s, p);
+        if (objects == null || objects.isEmpty()) {
+            return null;
+        }
+        IRI object = node(objects.first());
+        if (consume) {
+            remove(s, p, object);
+        }
+        return object;
+    }
+
+    /**
+     * @param consume true if the triple should be removed
+     * @return the first literal of the subject and predicate, if any
+     */
+    @Nullable
+    OWLLiteral firstLiteral(IRI s, IRI p, boolean consume) {
+        Collection<OWLLiteral> objects = literals(s, p);
+        if (objects == null || objects.isEmpty()) {
+            return null;
+        }
+        OWLLiteral object = objects.iterator().next();
+        if (consume) {
+            remove(s, p, object);
+        }
+        return object;
+    }
+
+    void resources(IRI s, IRI p, Collection<IRI> destination) {
+        Objects objects = objects(s, p);
+        if (objects != null) {
+            for (int o : objects.toArray()) {
+                destination.add(node(o));
+            }
+        }
+    }
+
+    void literals(IRI s, IRI p, Collection<OWLLiteral> destination) {
+        Collection<OWLLiteral> objects = literals(s, p);
+        if (objects != null) {
+            destination.addAll(objects);
+        }
+    }
+
+    boolean hasResources(IRI s, IRI p) {
+        return objects(s, p) != null;
+    }
+
+    boolean hasLiterals(IRI s, IRI p) {
+        return literals(s, p) != null;
+    }
+
+    /**
+     * @param s subject
+     * @param destination collection to which the predicates of all triples for the subject are
+     *        added
+     */
+    void predicates(IRI s, Collection<IRI> destination) {
+        int subject = ids.get(s);
+        IntObjectHashMap<Objects> res = resources.get(subject);
+        if (res != null) {
+            for (int p : res.keys().toArray()) {
+                destination.add(node(p));
+            }
+        }
+        IntObjectHashMap<Collection<OWLLiteral>> lit = literals.get(subject);
+        if (lit != null) {
+            for (int p : lit.keys().toArray()) {
+                destination.add(node(p));
+            }
+        }
+    }
+
+    /**
+     * Visits all resource triples. Handlers can consume triples while they are visited: subjects
+     * are listed before the visit starts, and the triples of each subject are copied when the
+     * visit reaches it. Ids are not reused until the visit ends.
+     *
+     * @param iterator visitor
+     */
+    void forEachResource(ResourceTripleIterator iterator) {
+        startVisit();
+        try {
+            for (int s : resources.keys().toArray()) {
+                forEachResource(s, iterator);
+            }
+        } finally {
+            endVisit();
+        }
+    }
+
+    /**
+     * @param s subject whose resource triples should be visited
+     * @param iterator visitor
+     */
+    void forEachResource(IRI s, ResourceTripleIterator iterator) {
+        int subject = ids.get(s);
+        if (subject != 0) {
+            startVisit();
+            try {
+                forEachResource(subject, iterator);
+            } finally {
+                endVisit();
+            }
+        }
+    }
+
+    private void forEachResource(int subject, ResourceTripleIterator iterator) {
+        IntObjectHashMap<Objects> predicates = resources.get(subject);
+        if (predicates == null) {
+            return;
+        }
+        IRI s = node(subject);
+        for (int p : predicates.keys().toArray()) {
+            Objects objects = predicates.get(p);
+            if (objects != null) {
+                IRI predicate = node(p);
+                for (int o : objects.toArray()) {
+                    iterator.handleResourceTriple(s, predicate, node(o));
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits all literal triples; see {@link #forEachResource(ResourceTripleIterator)}.
+     *
+     * @param iterator visitor
+     */
+    void forEachLiteral(LiteralTripleIterator iterator) {
+        startVisit();
+        try {
+            for (int s : literals.keys().toArray()) {
+                forEachLiteral(s, iterator);
+            }
+        } finally {
+            endVisit();
+        }
+    }
+
+    /**
+     * @param s subject whose literal triples should be visited
+     * @param iterator visitor
+     */
+    void forEachLiteral(IRI s, LiteralTripleIterator iterator) {
+        int subject = ids.get(s);
+        if (subject != 0) {
+            startVisit();
+            try {
+                forEachLiteral(subject, iterator);
+            } finally {
+                endVisit();
+            }
+        }
+    }
+
+    private void forEachLiteral(int subject, LiteralTripleIterator iterator) {
+        IntObjectHashMap<Collection<OWLLiteral>> predicates = literals.get(subject);
+        if (predicates == null) {
+            return;
+        }
+        IRI s = node(subject);
+        for (int p : predicates.keys().toArray()) {
+            Collection<OWLLiteral> objects = predicates.get(p);
+            if (objects != null) {
+                IRI predicate = node(p);
+                for (OWLLiteral o : new ArrayList<>(objects)) {
+                    iterator.handleLiteralTriple(s, predicate, o);
+                }
+            }
+        }
+    }
+
+    /**
+     * Object ids of a subject and predicate, in insertion order. Kept in a list while short; a list
+     * that grows past {@link #LIST_LIMIT} ids becomes a linked set, so that lookups and removals
+     * do not scan.
+     */
+    private static final class Objects {
+
+        @Nullable
+        private IntArrayList list = new IntArrayList(1);
+        @Nullable
+        private LinkedHashSet<Integer> set;
+
+        boolean add(int id) {
+            IntArrayList l = list;
+            if (l == null) {
+                return set().add(Integer.valueOf(id));
+            }
+            if (l.contains(id)) {
+                return false;
+            }
+            l.add(id);
+            if (l.size() > LIST_LIMIT) {
+                LinkedHashSet<Integer> s = new LinkedHashSet<>();
+                for (int o : l.toArray()) {
+                    s.add(Integer.valueOf(o));
+                }
+                set = s;
+                list = null;
+            }
+            return true;
+        }
+
+        private LinkedHashSet<Integer> set() {
+            LinkedHashSet<Integer> s = set;
+            assert s != null;
+            return s;
+        }
+
+        boolean contains(int id) {
+            IntArrayList l = list;
+            return l == null ? set().contains(Integer.valueOf(id)) : l.contains(id);
+        }
+
+        boolean remove(int id) {
+            IntArrayList l = list;
+            if (l == null) {
+                return set().remove(Integer.valueOf(id));
+            }
+            int index = l.indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            l.remove(index);
+            return true;
+        }
+
+        boolean isEmpty() {
+            IntArrayList l = list;
+            return l == null ? set().isEmpty() : l.isEmpty();
+        }
+
+        int first() {
+            IntArrayList l = list;
+            return l == null ? set().iterator().next().intValue() : l.get(0);
+        }
+
+        int[] toArray() {
+            IntArrayList l = list;
+            if (l != null) {
+                return l.toArray();
+            }
+            int[] ids = new int[set().size()];
+            int i = 0;
+            for (Integer id : set()) {
+                ids[i++] = id.intValue();
+            }
+            return ids;
+        }
+    }
+}
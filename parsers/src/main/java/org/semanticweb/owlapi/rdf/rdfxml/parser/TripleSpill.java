@@ -0,0 +1,149 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.rdfxml.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+/**
+ * Temporary file holding triples that streaming translation could not translate yet. Triples are
+ * appended while parsing and read back once, in order, when the whole document has been seen.
+ * Input and output errors are reported as {@link OWLParserException}, so that the load is aborted.
+ *
+ * @author ignazio
+ * @since 5.1.21
+ */
+final class TripleSpill implements AutoCloseable {
+
+    private static final int RESOURCE = 0;
+    private static final int LITERAL = 1;
+    private final OWLDataFactory df;
+    private final Path file;
+    private final DataOutputStream out;
+    private int size;
+
+    /**
+     * @param df data factory used to rebuild literals
+     */
+    TripleSpill(OWLDataFactory df) {
+        this.df = df;
+        try {
+            file = Files.createTempFile("owlapi-triples", ".spill");
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        } catch (IOException e) {
+            throw new OWLParserException("Cannot create file for spilled triples", e);
+        }
+    }
+
+    /**
+     * @return number of triples written so far
+     */
+    int size() {
+        return size;
+    }
+
+    void write(IRI s, IRI p, IRI o) {
+        try {
+            out.writeByte(RESOURCE);
+            writeString(s.toString());
+            writeString(p.toString());
+            writeString(o.toString());
+        } catch (IOException e) {
+            throw new OWLParserException("Cannot spill triples", e);
+        }
+        size++;
+    }
+
+    void write(IRI s, IRI p, OWLLiteral o) {
+        try {
+            out.writeByte(LITERAL);
+            writeString(s.toString());
+            writeString(p.toString());
+            writeString(o.getLiteral());
+            writeString(o.getDatatype().getIRI().toString());
+            writeString(o.getLang());
+        } catch (IOException e) {
+            throw new OWLParserException("Cannot spill triples", e);
+        }
+        size++;
+    }
+
+    /**
+     * Reads back all triples written, in the order they were written.
+     *
+     * @param resources destination for resource triples
+     * @param literals destination for literal triples
+     */
+    void replay(ResourceTripleIterator resources, LiteralTripleIterator literals) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new OWLParserException("Cannot spill triples", e);
+        }
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            for (int i = 0; i < size; i++) {
+                int kind = in.readUnsignedByte();
+                IRI s = IRI.create(readString(in));
+                IRI p = IRI.create(readString(in));
+                if (kind == RESOURCE) {
+                    resources.handleResourceTriple(s, p, IRI.create(readString(in)));
+                } else {
+                    String literal = readString(in);
+                    IRI datatype = IRI.create(readString(in));
+                    String lang = readString(in);
+                    literals.handleLiteralTriple(s, p, lang.isEmpty()
+                        ? df.getOWLLiteral(literal, df.getOWLDatatype(datatype))
+                        : df.getOWLLiteral(literal, lang));
+                }
+            }
+        } catch (IOException e) {
+            throw new OWLParserException("Cannot read spilled triples", e);
+        }
+    }
+
+    private void writeString(String s) throws IOException {
+        // writeUTF() is limited to 64 KB, literals can be longer
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // the file is temporary, failing to remove it does not affect the ontology
+            file.toFile().deleteOnExit();
+        }
+    }
+}
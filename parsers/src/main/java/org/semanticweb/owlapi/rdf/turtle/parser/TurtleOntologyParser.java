@@ -41,12 +41,12 @@ public class TurtleOntologyParser extends AbstractOWLParser {
     @Override
     public OWLDocumentFormat parse(OWLOntologyDocumentSource source,
         OWLOntology ontology, OWLOntologyLoaderConfiguration config) {
+        OWLRDFConsumerAdapter consumer = new OWLRDFConsumerAdapter(
+            ontology, config);
         try (Reader r = DocumentSources.wrapInputAsReader(source, config)) {
             TurtleParser parser;
             parser = new TurtleParser(r, new ConsoleTripleHandler(),
                 source.getDocumentIRI());
-            OWLRDFConsumerAdapter consumer = new OWLRDFConsumerAdapter(
-                ontology, config);
             TurtleDocumentFormat format = new TurtleDocumentFormat();
             consumer.setOntologyFormat(format);
             consumer.startModel(source.getDocumentIRI());
@@ -56,6 +56,8 @@ public class TurtleOntologyParser extends AbstractOWLParser {
             return format;
         } catch (ParseException | IOException | OWLOntologyInputSourceException e) {
             throw new TurtleParserException(e);
+        } finally {
+            consumer.discardSpilledTriples();
         }
     }
 }
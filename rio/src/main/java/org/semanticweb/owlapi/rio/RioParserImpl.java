@@ -107,9 +107,9 @@ public class RioParserImpl extends AbstractOWLParser implements RioParser {
     @Override
     public OWLDocumentFormat parse(final OWLOntologyDocumentSource documentSource,
         final OWLOntology ontology, final OWLOntologyLoaderConfiguration configuration) {
+        RioOWLRDFConsumerAdapter consumer =
+            new RioOWLRDFConsumerAdapter(ontology, CHECKER, configuration);
         try {
-            RioOWLRDFConsumerAdapter consumer =
-                new RioOWLRDFConsumerAdapter(ontology, CHECKER, configuration);
             consumer.setOntologyFormat(owlFormatFactory.createFormat());
             String baseUri = "urn:default:baseUri:";
             // Override the default baseUri for non-anonymous ontologies
@@ -146,6 +146,8 @@ public class RioParserImpl extends AbstractOWLParser implements RioParser {
         } catch (RDFParseException | UnsupportedRDFormatException | OWLOntologyInputSourceException
             | IOException e) {
             throw new OWLParserException(e);
+        } finally {
+            consumer.discardSpilledTriples();
         }
     }
 